@@ -0,0 +1,65 @@
+package com.roshka.sifen.jmh;
+
+import com.roshka.sifen.core.CDCBuilder;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.test.de.DEFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el cálculo del CDC de {@link CDCBuilder} con la concatenación utilizada anteriormente, basada en
+ * String.format para el relleno e Integer.parseInt por dígito para el dígito verificador, y mide
+ * {@link DocumentoElectronico#obtenerCDC()}, que además asigna el CDC y su dígito verificador al DE.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CDCBenchmark {
+    private static final String RUC = "80089752";
+    private static final LocalDate FECHA = LocalDate.of(2024, 5, 10);
+
+    private final CDCBuilder builder = new CDCBuilder()
+            .tipoDocumento(1).ruc(RUC, "2").establecimiento("001").puntoExpedicion("002")
+            .tipoContribuyente(2).fechaEmision(FECHA).tipoEmision(1).codigoSeguridad("123456789");
+    private final DocumentoElectronico de = DEFixtures.createFacturaElectronica("0000008", 1);
+    private int numero;
+
+    private String numeroDocumento() {
+        numero = numero == 9999999 ? 1 : numero + 1;
+        return String.valueOf(1000000 + numero % 9000000);
+    }
+
+    @Benchmark
+    public String anterior() {
+        String cdc = String.format("%2s", "1").replace(' ', '0') +
+                String.format("%8s", RUC).replace(' ', '0') +
+                "2" + "001" + "002" + numeroDocumento() + 2 +
+                FECHA.format(DateTimeFormatter.ofPattern("yyyyMMdd")) +
+                1 + "123456789";
+
+        int baseMax = 11, k = 2, total = 0;
+        for (int i = cdc.length() - 1; i >= 0; i--) {
+            k = k > baseMax ? 2 : k;
+            total += Integer.parseInt(cdc.substring(i, i + 1)) * k;
+            k++;
+        }
+        return cdc + String.valueOf((total % 11) > 1 ? 11 - (total % 11) : 0);
+    }
+
+    @Benchmark
+    public String builder() {
+        return builder.numeroDocumento(numeroDocumento()).generar();
+    }
+
+    @Benchmark
+    public String obtenerCDC() throws Exception {
+        de.getgTimb().setdNumDoc(numeroDocumento());
+        return de.obtenerCDC();
+    }
+}
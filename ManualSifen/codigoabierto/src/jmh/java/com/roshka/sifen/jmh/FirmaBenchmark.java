@@ -0,0 +1,72 @@
+package com.roshka.sifen.jmh;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.helpers.SignatureHelper;
+import com.roshka.sifen.internal.helpers.SoapHelper;
+import com.roshka.sifen.test.de.DEFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.w3c.dom.Node;
+
+import javax.xml.crypto.dsig.Reference;
+import javax.xml.crypto.dsig.SignedInfo;
+import javax.xml.soap.SOAPElement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide {@link SignatureHelper#signDocument(SifenConfig, Node, String, byte[])} sobre un DE ya construido: con el
+ * resumen calculado a partir del árbol DOM (motor SAAJ) y con el resumen recibido ya calculado (motor STREAMING).
+ * La firma agregada se quita luego de cada operación, para firmar siempre el mismo árbol.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FirmaBenchmark {
+    @Param({"1", "100"})
+    public int cantidadItems;
+
+    private SifenConfig sifenConfig;
+    private Node rDE;
+    private String id;
+    private byte[] digestValue;
+
+    @Setup
+    public void setup() throws Exception {
+        sifenConfig = DEFixtures.createSifenConfig();
+        DocumentoElectronico de = DEFixtures.createFacturaElectronica("0000008", cantidadItems);
+
+        SOAPElement rLoteDE = SoapHelper.createSoapMessage().getSOAPBody().addChildElement("rLoteDE");
+        de.setupDE(GenerationCtx.getDefaultFromConfig(sifenConfig), rLoteDE, sifenConfig);
+        rDE = rLoteDE.getFirstChild();
+        id = de.getId();
+
+        // Se quita la firma generada por setupDE, dejando el DE listo para volver a firmarse
+        for (Node child = rDE.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if ("Signature".equals(child.getLocalName())) {
+                rDE.removeChild(child);
+                break;
+            }
+        }
+        digestValue = ((Reference) firmar(null).getReferences().get(0)).getDigestValue();
+    }
+
+    private SignedInfo firmar(byte[] digest) throws Exception {
+        SignedInfo signedInfo = SignatureHelper.signDocument(sifenConfig, rDE, id, digest);
+        rDE.removeChild(rDE.getLastChild());
+        return signedInfo;
+    }
+
+    @Benchmark
+    public SignedInfo resumenDesdeDOM() throws Exception {
+        return firmar(null);
+    }
+
+    @Benchmark
+    public SignedInfo resumenCalculado() throws Exception {
+        return firmar(digestValue);
+    }
+}
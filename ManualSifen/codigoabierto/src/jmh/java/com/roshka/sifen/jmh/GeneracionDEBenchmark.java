@@ -0,0 +1,51 @@
+package com.roshka.sifen.jmh;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.test.de.DEFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la generación del XML de una factura electrónica, firma digital incluida, con el motor SAAJ y con el
+ * motor STREAMING.<br>
+ * Para medir la memoria asignada por documento, ejecutar con el perfilador de GC:
+ * <pre>./gradlew jmh -PjmhArgs="GeneracionDEBenchmark -prof gc"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneracionDEBenchmark {
+    @Param({"1", "100", "500"})
+    public int cantidadItems;
+
+    private DocumentoElectronico de;
+    private GenerationCtx saaj;
+    private GenerationCtx streaming;
+
+    @Setup
+    public void setup() throws Exception {
+        SifenConfig sifenConfig = DEFixtures.createSifenConfig();
+        saaj = GenerationCtx.getDefaultFromConfig(sifenConfig);
+        saaj.setMotorXml(SifenConfig.MotorXml.SAAJ);
+        streaming = GenerationCtx.getDefaultFromConfig(sifenConfig);
+        streaming.setMotorXml(SifenConfig.MotorXml.STREAMING);
+
+        de = DEFixtures.createFacturaElectronica("0000008", cantidadItems);
+    }
+
+    @Benchmark
+    public String motorSaaj() throws Exception {
+        return de.generarXml(saaj, saaj.getSifenConfig());
+    }
+
+    @Benchmark
+    public String motorStreaming() throws Exception {
+        return de.generarXml(streaming, streaming.getSifenConfig());
+    }
+}
@@ -0,0 +1,71 @@
+package com.roshka.sifen.jmh;
+
+import com.roshka.sifen.core.fields.util.IVAUtil;
+import com.roshka.sifen.core.types.CMondT;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el cálculo de la base gravada y la liquidación del IVA de 1000 ítems con el realizado anteriormente en
+ * TgCamIVA, que creaba las constantes en cada ítem y dividía siempre con {@link BigDecimal}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IVABenchmark {
+    private static final int ITEMS = 1000;
+
+    @Param({"PYG", "USD"})
+    public String moneda;
+
+    private CMondT cMoneOpe;
+    private BigDecimal[] totales;
+    private BigDecimal[] tasas;
+    private final BigDecimal dPropIVA = BigDecimal.valueOf(100);
+
+    @Setup
+    public void setup() {
+        cMoneOpe = CMondT.valueOf(moneda);
+        Random random = new Random(11L);
+        totales = new BigDecimal[ITEMS];
+        tasas = new BigDecimal[ITEMS];
+        for (int i = 0; i < ITEMS; i++) {
+            totales[i] = BigDecimal.valueOf(1000 + random.nextInt(5000000), cMoneOpe == CMondT.PYG ? 0 : 2);
+            tasas[i] = BigDecimal.valueOf(i % 3 == 0 ? 5 : 10);
+        }
+    }
+
+    @Benchmark
+    public void anterior(Blackhole bh) {
+        for (int i = 0; i < ITEMS; i++) {
+            int scale = cMoneOpe.name().equals("PYG") ? 0 : 2;
+            BigDecimal dTotOpeItem = totales[i].setScale(scale, RoundingMode.HALF_UP);
+            BigDecimal propIVA = dPropIVA.divide(BigDecimal.valueOf(100), scale, RoundingMode.HALF_UP);
+            if (tasas[i].equals(BigDecimal.valueOf(10))) {
+                bh.consume(dTotOpeItem.multiply(propIVA).divide(BigDecimal.valueOf(1.1), scale, RoundingMode.HALF_UP));
+                bh.consume(dTotOpeItem.multiply(propIVA).divide(BigDecimal.valueOf(11), scale, RoundingMode.HALF_UP));
+            } else if (tasas[i].equals(BigDecimal.valueOf(5))) {
+                bh.consume(dTotOpeItem.multiply(propIVA).divide(BigDecimal.valueOf(1.05), scale, RoundingMode.HALF_UP));
+                bh.consume(dTotOpeItem.multiply(propIVA).divide(BigDecimal.valueOf(21), scale, RoundingMode.HALF_UP));
+            }
+        }
+    }
+
+    @Benchmark
+    public void kernel(Blackhole bh) {
+        for (int i = 0; i < ITEMS; i++) {
+            int scale = IVAUtil.escala(cMoneOpe);
+            BigDecimal montoGravado = IVAUtil.montoGravado(totales[i].setScale(scale, RoundingMode.HALF_UP), dPropIVA, scale);
+            bh.consume(IVAUtil.baseGravada(montoGravado, tasas[i], scale));
+            bh.consume(IVAUtil.liquidacion(montoGravado, tasas[i], scale));
+        }
+    }
+}
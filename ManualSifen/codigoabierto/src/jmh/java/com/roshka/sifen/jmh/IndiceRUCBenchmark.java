@@ -0,0 +1,56 @@
+package com.roshka.sifen.jmh;
+
+import com.roshka.sifen.core.IndiceRUC;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la búsqueda de un RUC en un índice local de un millón de contribuyentes, construido a partir de una
+ * exportación sintética con el formato de la DNIT.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndiceRUCBenchmark {
+    private static final int CANTIDAD = 1_000_000;
+
+    private Path directorio;
+    private IndiceRUC indice;
+
+    @Setup
+    public void setup() throws Exception {
+        directorio = Files.createTempDirectory("indice-ruc");
+        Path exportacion = directorio.resolve("ruc0.txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(exportacion, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < CANTIDAD; i++) {
+                writer.write((1_000_000 + i * 7) + "|CONTRIBUYENTE NÚMERO " + i + "|" + (i % 10) + "|COD" + i + "|ACTIVO|\n");
+            }
+        }
+        Path archivo = directorio.resolve("ruc.idx");
+        IndiceRUC.construir(Collections.singletonList(exportacion), archivo);
+        indice = new IndiceRUC(archivo);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(directorio.resolve("ruc0.txt"));
+        Files.deleteIfExists(directorio.resolve("ruc.idx"));
+        Files.deleteIfExists(directorio);
+    }
+
+    @Benchmark
+    public IndiceRUC.Contribuyente buscar() {
+        int i = ThreadLocalRandom.current().nextInt(CANTIDAD);
+        return indice.buscar(String.valueOf(1_000_000 + i * 7));
+    }
+}
@@ -0,0 +1,52 @@
+package com.roshka.sifen.jmh;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.helpers.LoteHelper;
+import com.roshka.sifen.test.de.DEFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la generación y firma de un lote de 50 Documentos Electrónicos según la cantidad de hilos utilizados.
+ * <pre>./gradlew jmh -PjmhArgs="LoteDEBenchmark"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoteDEBenchmark {
+    @Param({"1", "2", "4"})
+    public int paralelismo;
+
+    @Param({"SAAJ", "STREAMING"})
+    public SifenConfig.MotorXml motorXml;
+
+    private SifenConfig sifenConfig;
+    private GenerationCtx generationCtx;
+    private List<DocumentoElectronico> DEList;
+
+    @Setup
+    public void setup() throws Exception {
+        sifenConfig = DEFixtures.createSifenConfig();
+        sifenConfig.setParalelismoLote(paralelismo);
+        generationCtx = GenerationCtx.getDefaultFromConfig(sifenConfig);
+        generationCtx.setMotorXml(motorXml);
+
+        DEList = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            DEList.add(DEFixtures.createFacturaElectronica(String.format("%07d", i), 10));
+        }
+    }
+
+    @Benchmark
+    public List<String> lote() throws Exception {
+        return LoteHelper.buildLote(generationCtx, DEList, sifenConfig);
+    }
+}
@@ -0,0 +1,101 @@
+package com.roshka.sifen.jmh;
+
+import com.roshka.sifen.internal.util.SifenUtil;
+import org.openjdk.jmh.annotations.*;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.File;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Compara la compresión de un lote de Documentos Electrónicos (rLoteDE) a ZIP en Base64: el método anterior, que
+ * pasaba por una cadena de texto y un archivo temporal, contra la compresión en memoria de los fragmentos de texto de
+ * cada DE, utilizada por la Recepción de Lote al generar los lotes en paralelo.<br>
+ * Para medir la memoria asignada por lote, ejecutar con el perfilador de GC:
+ * <pre>./gradlew jmh -PjmhArgs="LoteZipBenchmark -prof gc"</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoteZipBenchmark {
+    @Param({"1", "10", "50"})
+    public int cantidadDE;
+
+    private Element rLoteDE;
+    private List<String> partes;
+
+    @Setup
+    public void setup() throws Exception {
+        DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
+        builderFactory.setNamespaceAware(true);
+
+        Document source;
+        try (InputStream is = LoteZipBenchmark.class.getResourceAsStream("/tests/factura-simple-00.xml")) {
+            source = builderFactory.newDocumentBuilder().parse(is);
+        }
+        Node rDE = source.getElementsByTagNameNS("*", "rDE").item(0);
+
+        Document lote = builderFactory.newDocumentBuilder().newDocument();
+        rLoteDE = lote.createElement("rLoteDE");
+        lote.appendChild(rLoteDE);
+        for (int i = 0; i < cantidadDE; i++) {
+            rLoteDE.appendChild(lote.importNode(rDE, true));
+        }
+
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        StringWriter fragmento = new StringWriter();
+        transformer.transform(new DOMSource(rDE), new StreamResult(fragmento));
+        partes = new ArrayList<>();
+        partes.add("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        partes.add("<rLoteDE>");
+        for (int i = 0; i < cantidadDE; i++) {
+            partes.add(fragmento.toString());
+        }
+        partes.add("</rLoteDE>");
+    }
+
+    @Benchmark
+    public String archivoTemporal() throws Exception {
+        StringWriter sw = new StringWriter();
+        TransformerFactory.newInstance().newTransformer().transform(new DOMSource(rLoteDE), new StreamResult(sw));
+
+        File zip = File.createTempFile("DE_", ".zip");
+        try {
+            try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip.toPath()))) {
+                out.putNextEntry(new ZipEntry("DE.xml"));
+                out.write(sw.toString().getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+            byte[] zipFile = Files.readAllBytes(zip.toPath());
+            return new String(Base64.getEncoder().encode(zipFile), StandardCharsets.UTF_8);
+        } finally {
+            zip.delete();
+        }
+    }
+
+    @Benchmark
+    public String desdePartes() throws Exception {
+        return SifenUtil.compressXmlToZipBase64(partes);
+    }
+}
@@ -0,0 +1,38 @@
+package com.roshka.sifen.jmh;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.test.de.DEFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la construcción de un {@link DocumentoElectronico} a partir de su XML firmado, el camino utilizado para
+ * reimprimir o auditar documentos ya emitidos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseoDEBenchmark {
+    @Param({"1", "100"})
+    public int cantidadItems;
+
+    private String xml;
+
+    @Setup
+    public void setup() throws Exception {
+        SifenConfig sifenConfig = DEFixtures.createSifenConfig();
+        xml = DEFixtures.createFacturaElectronica("0000008", cantidadItems)
+                .generarXml(GenerationCtx.getDefaultFromConfig(sifenConfig), sifenConfig);
+    }
+
+    @Benchmark
+    public DocumentoElectronico parseo() throws Exception {
+        return new DocumentoElectronico(xml);
+    }
+}
@@ -0,0 +1,44 @@
+package com.roshka.sifen.jmh;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.helpers.SoapHelper;
+import com.roshka.sifen.test.de.DEFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import javax.xml.soap.SOAPElement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide {@link DocumentoElectronico#setupDE(GenerationCtx, SOAPElement, SifenConfig)}: la construcción del árbol DOM
+ * del DE y su firma digital, sin la serialización del mensaje, tal como se realiza para cada DE de un lote.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SetupDEBenchmark {
+    @Param({"1", "10", "100", "1000"})
+    public int cantidadItems;
+
+    private SifenConfig sifenConfig;
+    private GenerationCtx generationCtx;
+    private DocumentoElectronico de;
+
+    @Setup
+    public void setup() throws Exception {
+        sifenConfig = DEFixtures.createSifenConfig();
+        generationCtx = GenerationCtx.getDefaultFromConfig(sifenConfig);
+        de = DEFixtures.createFacturaElectronica("0000008", cantidadItems);
+    }
+
+    @Benchmark
+    public SOAPElement setupDE() throws Exception {
+        SOAPElement rLoteDE = SoapHelper.createSoapMessage().getSOAPBody().addChildElement("rLoteDE");
+        de.setupDE(generationCtx, rLoteDE, sifenConfig);
+        return rLoteDE;
+    }
+}
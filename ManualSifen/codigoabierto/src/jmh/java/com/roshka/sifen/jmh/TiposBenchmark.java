@@ -0,0 +1,45 @@
+package com.roshka.sifen.jmh;
+
+import com.roshka.sifen.core.types.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la resolución de los tipos de un ítem al parsear un DE (unidad de medida, afectación del IVA, país y
+ * moneda) con el recorrido lineal de los valores utilizado anteriormente. El camino completo de parseo se mide en
+ * {@link ParseoDEBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TiposBenchmark {
+    private final short uniMed = TcUniMed.UNI.getVal();
+    private final short afecIVA = TiAfecIVA.GRAVADO.getVal();
+    private final String pais = "PRY";
+    private final String moneda = "USD";
+
+    @Benchmark
+    public Object[] anterior() {
+        return new Object[]{
+                Arrays.stream(TcUniMed.values()).filter(e -> e.getVal() == uniMed).findFirst().orElse(null),
+                Arrays.stream(TiAfecIVA.values()).filter(e -> e.getVal() == afecIVA).findFirst().orElse(null),
+                Arrays.stream(PaisType.values()).filter(e -> e.name().equalsIgnoreCase(pais)).findFirst().orElse(null),
+                Arrays.stream(CMondT.values()).filter(e -> e.name().equalsIgnoreCase(moneda)).findFirst().orElse(null)
+        };
+    }
+
+    @Benchmark
+    public Object[] tabla() {
+        return new Object[]{
+                TcUniMed.getByVal(uniMed),
+                TiAfecIVA.getByVal(afecIVA),
+                PaisType.getByName(pais),
+                CMondT.getByName(moneda)
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.roshka.sifen.jmh;
+
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.fields.request.de.AcumuladorTotales;
+import com.roshka.sifen.core.fields.request.de.TgCamItem;
+import com.roshka.sifen.test.de.DEFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el cálculo de los totales del grupo F (TgTotSub) de una factura electrónica, con el mismo
+ * {@link AcumuladorTotales} que se utiliza al generar el XML.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TotalesBenchmark {
+    @Param({"1", "100", "1000"})
+    public int cantidadItems;
+
+    private DocumentoElectronico de;
+
+    @Setup
+    public void setup() {
+        de = DEFixtures.createFacturaElectronica("0000008", cantidadItems);
+    }
+
+    @Benchmark
+    public BigDecimal totales() {
+        AcumuladorTotales totales = new AcumuladorTotales(de.getgTimb().getiTiDE(), de.getgDatGralOpe().getgOpeCom());
+        for (TgCamItem gCamItem : de.getgDtipDE().getgCamItemList()) {
+            totales.agregarItem(gCamItem);
+        }
+        return totales.getdTotGralOpe();
+    }
+}
@@ -0,0 +1,39 @@
+package com.roshka.sifen.jmh;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.ValidezFirmaDigital;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.helpers.SignatureHelper;
+import com.roshka.sifen.test.de.DEFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide la validación de la firma digital de un DE recibido como XML, el camino utilizado para verificar los
+ * documentos recibidos de los proveedores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidacionFirmaBenchmark {
+    @Param({"1", "100"})
+    public int cantidadItems;
+
+    private String xml;
+
+    @Setup
+    public void setup() throws Exception {
+        SifenConfig sifenConfig = DEFixtures.createSifenConfig();
+        xml = DEFixtures.createFacturaElectronica("0000008", cantidadItems)
+                .generarXml(GenerationCtx.getDefaultFromConfig(sifenConfig), sifenConfig);
+    }
+
+    @Benchmark
+    public ValidezFirmaDigital validarDesdeXml() {
+        return SignatureHelper.validateSignature(xml, "XML");
+    }
+}
@@ -0,0 +1,366 @@
+package com.roshka.sifen;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.beans.response.RespuestaRecepcionLoteDE;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.core.types.TTiDE;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.Logger;
+
+/**
+ * Agrupa los Documentos Electrónicos enviados de a uno en lotes, que luego se envían a Sifen mediante
+ * {@link Sifen#recepcionLoteDE(List, SifenConfig)}.<br>
+ * Según el Manual Técnico, todos los DE de un lote deben ser del mismo tipo y del mismo emisor, por lo que se forma un
+ * lote por cada combinación de tipo de documento ({@code iTiDE}) y RUC del emisor. Cada lote se envía apenas alcanza
+ * el tamaño máximo (como máximo {@value #TAMANO_MAXIMO_LOTE} DE) o, si no llega a completarse, cuando transcurre la
+ * demora máxima desde que se agregó su primer DE. Cada llamada a {@link #recepcionDE(DocumentoElectronico)} devuelve
+ * un {@link CompletableFuture} asociado al CDC del documento, que se completa con la respuesta de Sifen al envío del
+ * lote en el que fue incluido.<br>
+ * La aprobación o el rechazo de cada DE no forma parte de esa respuesta; debe consultarse luego con
+ * {@link Sifen#consultaLoteDE(String)}, utilizando el número de lote recibido.<br>
+ * Los lotes se envían a través de un {@link SifenAsync}, por lo que nunca bloquean al hilo que agrega los documentos.
+ */
+public class AgrupadorLoteDE implements AutoCloseable {
+    private final static Logger logger = Logger.getLogger(AgrupadorLoteDE.class.toString());
+    public static final int TAMANO_MAXIMO_LOTE = 50;
+    public static final long DEMORA_MAXIMA_DEFECTO = 1000;
+
+    private final SifenConfig sifenConfig;
+    private final SifenAsync sifenAsync;
+    private final boolean ownedSifenAsync;
+    private final int tamanoLote;
+    private final long demoraMaxima;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private final Map<BatchKey, Batch> batches = new HashMap<>();
+    private boolean closed;
+
+    private final Set<CompletableFuture<Void>> lotesEnCurso = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Crea una instancia que utiliza la configuración global de Sifen, lotes de {@value #TAMANO_MAXIMO_LOTE} DE y una
+     * demora máxima de {@value #DEMORA_MAXIMA_DEFECTO} milisegundos.
+     */
+    public AgrupadorLoteDE() {
+        this(null);
+    }
+
+    /**
+     * Crea una instancia con lotes de {@value #TAMANO_MAXIMO_LOTE} DE y una demora máxima de
+     * {@value #DEMORA_MAXIMA_DEFECTO} milisegundos.
+     *
+     * @param sifenConfig Configuración de Sifen a ser utilizada en los envíos. Si es nula, se utiliza la configuración
+     *                    global establecida al momento de cada envío.
+     */
+    public AgrupadorLoteDE(SifenConfig sifenConfig) {
+        this(sifenConfig, TAMANO_MAXIMO_LOTE, DEMORA_MAXIMA_DEFECTO);
+    }
+
+    /**
+     * Crea una instancia que envía los lotes con un {@link SifenAsync} propio.
+     *
+     * @param sifenConfig  Configuración de Sifen a ser utilizada en los envíos. Si es nula, se utiliza la configuración
+     *                     global establecida al momento de cada envío.
+     * @param tamanoLote   Cantidad de DE a partir de la cual se envía el lote, entre 1 y {@value #TAMANO_MAXIMO_LOTE}.
+     * @param demoraMaxima Tiempo máximo, en milisegundos, que un DE espera a que se complete su lote.
+     */
+    public AgrupadorLoteDE(SifenConfig sifenConfig, int tamanoLote, long demoraMaxima) {
+        this(null, sifenConfig, tamanoLote, demoraMaxima);
+    }
+
+    /**
+     * Crea una instancia que envía los lotes con el {@link SifenAsync} recibido, el cual no es cerrado por
+     * {@link #close()}.
+     *
+     * @param sifenAsync   Instancia a través de la que se envían los lotes. Si es nula, se crea una propia.
+     * @param sifenConfig  Configuración de Sifen a ser utilizada en los envíos. Si es nula, se utiliza la configuración
+     *                     global establecida al momento de cada envío.
+     * @param tamanoLote   Cantidad de DE a partir de la cual se envía el lote, entre 1 y {@value #TAMANO_MAXIMO_LOTE}.
+     * @param demoraMaxima Tiempo máximo, en milisegundos, que un DE espera a que se complete su lote.
+     */
+    public AgrupadorLoteDE(SifenAsync sifenAsync, SifenConfig sifenConfig, int tamanoLote, long demoraMaxima) {
+        if (tamanoLote <= 0 || tamanoLote > TAMANO_MAXIMO_LOTE) {
+            throw new IllegalArgumentException("El tamaño del lote debe estar entre 1 y " + TAMANO_MAXIMO_LOTE + ".");
+        }
+        if (demoraMaxima <= 0) {
+            throw new IllegalArgumentException("La demora máxima debe ser mayor a cero.");
+        }
+
+        this.sifenConfig = sifenConfig;
+        this.tamanoLote = tamanoLote;
+        this.demoraMaxima = demoraMaxima;
+        this.ownedSifenAsync = sifenAsync == null;
+        this.sifenAsync = sifenAsync != null ? sifenAsync : new SifenAsync();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sifen-agrupador-lote");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Agrega el Documento Electrónico al lote en formación de su tipo y emisor.
+     *
+     * @param de Documento Electrónico a enviar.
+     * @return Future que se completa con el CDC del documento y la respuesta de Sifen al envío de su lote o, en caso
+     * de error, con la {@link SifenException} correspondiente.
+     */
+    public CompletableFuture<RecepcionEnLote> recepcionDE(DocumentoElectronico de) {
+        CompletableFuture<RecepcionEnLote> future = new CompletableFuture<>();
+
+        String cdc;
+        try {
+            cdc = de.obtenerCDC();
+        } catch (SifenException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        BatchKey key = new BatchKey(de);
+        Batch full = null;
+        synchronized (lock) {
+            if (closed) {
+                future.completeExceptionally(new IllegalStateException("El agrupador de lotes ya fue cerrado."));
+                return future;
+            }
+
+            Batch batch = batches.computeIfAbsent(key, k -> new Batch());
+            batch.pending.add(new PendingDE(de, cdc, future));
+            if (batch.pending.size() >= tamanoLote) {
+                full = takeBatch(key);
+            } else if (batch.pending.size() == 1) {
+                batch.timer = scheduler.schedule(() -> flush(key, batch), demoraMaxima, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (full != null) {
+            send(full);
+        }
+        return future;
+    }
+
+    /**
+     * Envía inmediatamente los lotes en formación.
+     */
+    public void enviarLote() {
+        List<Batch> pending;
+        synchronized (lock) {
+            pending = takeAllBatches();
+        }
+        for (Batch batch : pending) {
+            send(batch);
+        }
+    }
+
+    /**
+     * @return Cantidad de documentos que esperan a que se envíe su lote.
+     */
+    public int getDocumentosEnEspera() {
+        synchronized (lock) {
+            int count = 0;
+            for (Batch batch : batches.values()) {
+                count += batch.pending.size();
+            }
+            return count;
+        }
+    }
+
+    public int getTamanoLote() {
+        return tamanoLote;
+    }
+
+    public long getDemoraMaxima() {
+        return demoraMaxima;
+    }
+
+    /**
+     * Envía los lotes en formación y deja de aceptar documentos. Si el {@link SifenAsync} fue creado por esta instancia,
+     * se cierra una vez que finalizan los envíos en curso.
+     */
+    @Override
+    public void close() {
+        List<Batch> pending;
+        synchronized (lock) {
+            if (closed)
+                return;
+            closed = true;
+            pending = takeAllBatches();
+        }
+
+        for (Batch batch : pending) {
+            send(batch);
+        }
+        scheduler.shutdown();
+
+        if (ownedSifenAsync) {
+            // Todo lote retirado antes del cierre ya fue registrado con el bloqueo tomado, aunque otro hilo aún lo esté
+            // enviando
+            CompletableFuture.allOf(lotesEnCurso.toArray(new CompletableFuture<?>[0]))
+                    .whenComplete((result, e) -> sifenAsync.close());
+        }
+    }
+
+    /**
+     * Envía el lote recibido si, al vencer su demora, todavía es el lote en formación de su tipo y emisor.
+     */
+    private void flush(BatchKey key, Batch scheduled) {
+        Batch pending = null;
+        synchronized (lock) {
+            if (batches.get(key) == scheduled) {
+                pending = takeBatch(key);
+            }
+        }
+        if (pending != null) {
+            send(pending);
+        }
+    }
+
+    /**
+     * Retira el lote en formación de la clave, cancelando su demora, y lo registra como lote en curso. Debe invocarse
+     * con el bloqueo tomado, para que {@link #close()} espere a todo lote retirado antes de cerrar el
+     * {@link SifenAsync}, aunque todavía no haya sido enviado.
+     */
+    private Batch takeBatch(BatchKey key) {
+        Batch taken = batches.remove(key);
+        if (taken.timer != null) {
+            taken.timer.cancel(false);
+            taken.timer = null;
+        }
+        lotesEnCurso.add(taken.sent);
+        return taken;
+    }
+
+    /**
+     * Retira todos los lotes en formación. Debe invocarse con el bloqueo tomado.
+     */
+    private List<Batch> takeAllBatches() {
+        List<Batch> taken = new ArrayList<>(batches.size());
+        for (BatchKey key : new ArrayList<>(batches.keySet())) {
+            taken.add(takeBatch(key));
+        }
+        return taken;
+    }
+
+    private void send(Batch batch) {
+        List<PendingDE> pending = batch.pending;
+        List<DocumentoElectronico> deList = new ArrayList<>(pending.size());
+        for (PendingDE p : pending) {
+            deList.add(p.de);
+        }
+
+        logger.info("Enviando lote de " + deList.size() + " DE");
+        CompletableFuture<RespuestaRecepcionLoteDE> lote;
+        try {
+            lote = sifenConfig != null
+                    ? sifenAsync.recepcionLoteDE(deList, sifenConfig)
+                    : sifenAsync.recepcionLoteDE(deList);
+        } catch (RuntimeException e) {
+            lote = new CompletableFuture<>();
+            lote.completeExceptionally(e);
+        }
+
+        lote.whenComplete((respuesta, e) -> {
+            try {
+                for (PendingDE p : pending) {
+                    if (e != null) {
+                        p.future.completeExceptionally(e);
+                    } else {
+                        p.future.complete(new RecepcionEnLote(p.cdc, deList.size(), respuesta));
+                    }
+                }
+            } finally {
+                lotesEnCurso.remove(batch.sent);
+                batch.sent.complete(null);
+            }
+        });
+    }
+
+    /**
+     * Resultado del envío de un Documento Electrónico dentro de un lote.
+     */
+    public static class RecepcionEnLote {
+        private final String cdc;
+        private final int cantidadDocumentos;
+        private final RespuestaRecepcionLoteDE respuesta;
+
+        RecepcionEnLote(String cdc, int cantidadDocumentos, RespuestaRecepcionLoteDE respuesta) {
+            this.cdc = cdc;
+            this.cantidadDocumentos = cantidadDocumentos;
+            this.respuesta = respuesta;
+        }
+
+        /**
+         * @return CDC del Documento Electrónico.
+         */
+        public String getCdc() {
+            return cdc;
+        }
+
+        /**
+         * @return Cantidad de documentos del lote en el que fue enviado el DE.
+         */
+        public int getCantidadDocumentos() {
+            return cantidadDocumentos;
+        }
+
+        /**
+         * @return Respuesta de Sifen al envío del lote, compartida por todos los DE del lote.
+         */
+        public RespuestaRecepcionLoteDE getRespuesta() {
+            return respuesta;
+        }
+    }
+
+    /**
+     * Identifica al lote en formación de un DE: tipo de documento y RUC del emisor.
+     */
+    private static class BatchKey {
+        private final TTiDE iTiDE;
+        private final String dRucEm;
+
+        private BatchKey(DocumentoElectronico de) {
+            this.iTiDE = de.getgTimb() != null ? de.getgTimb().getiTiDE() : null;
+            this.dRucEm = de.getgDatGralOpe() != null && de.getgDatGralOpe().getgEmis() != null
+                    ? de.getgDatGralOpe().getgEmis().getdRucEm() : null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            BatchKey batchKey = (BatchKey) o;
+            return iTiDE == batchKey.iTiDE && Objects.equals(dRucEm, batchKey.dRucEm);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(iTiDE, dRucEm);
+        }
+    }
+
+    /**
+     * Lote en formación, con la demora que lo envía si no llega a completarse. {@code sent} se completa una vez que
+     * finaliza su envío.
+     */
+    private static class Batch {
+        private final List<PendingDE> pending = new ArrayList<>();
+        private final CompletableFuture<Void> sent = new CompletableFuture<>();
+        private ScheduledFuture<?> timer;
+    }
+
+    private static class PendingDE {
+        private final DocumentoElectronico de;
+        private final String cdc;
+        private final CompletableFuture<RecepcionEnLote> future;
+
+        private PendingDE(DocumentoElectronico de, String cdc, CompletableFuture<RecepcionEnLote> future) {
+            this.de = de;
+            this.cdc = cdc;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.roshka.sifen;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.response.RespuestaConsultaRUC;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.core.fields.response.ruc.TxContRuc;
+import com.roshka.sifen.internal.util.SifenExceptionUtil;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché de las respuestas de {@link Sifen#consultaRUC(String, SifenConfig)}, para no consultar a Sifen cada vez que
+ * se valida el RUC de un mismo contribuyente.<br>
+ * Se guardan las respuestas "RUC encontrado" ({@value #RUC_ENCONTRADO}) durante el tiempo de vida indicado, y las
+ * respuestas "RUC inexistente" ({@value #RUC_INEXISTENTE}) durante el tiempo de vida negativo, normalmente menor.
+ * Las demás respuestas y los errores no se guardan. Cuando la caché llega a su tamaño máximo, se descarta el RUC
+ * consultado hace más tiempo.<br>
+ * Si varios hilos consultan a la vez un mismo RUC que no está en la caché, se realiza una única consulta a Sifen y
+ * todos reciben su resultado. Todos los que consultan un mismo RUC reciben la misma instancia de la respuesta, por lo
+ * que esta no debe modificarse.
+ */
+public class CacheConsultaRUC {
+    public static final String RUC_INEXISTENTE = "0500";
+    public static final String RUC_ENCONTRADO = "0502";
+    public static final long TIEMPO_VIDA_DEFECTO = TimeUnit.HOURS.toMillis(1);
+    public static final long TIEMPO_VIDA_NEGATIVO_DEFECTO = TimeUnit.MINUTES.toMillis(5);
+    public static final int TAMANO_MAXIMO_DEFECTO = 10_000;
+
+    private final SifenConfig sifenConfig;
+    private final long tiempoVida;
+    private final long tiempoVidaNegativo;
+    private final int tamanoMaximo;
+
+    // Ordenado por acceso, para descartar el RUC consultado hace más tiempo
+    private final Map<String, Entrada> entradas;
+    private final Map<String, CompletableFuture<RespuestaConsultaRUC>> enCurso = new ConcurrentHashMap<>();
+
+    private final AtomicLong aciertos = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    private final AtomicLong consultasAgrupadas = new AtomicLong();
+    private final AtomicLong descartes = new AtomicLong();
+
+    /**
+     * Crea una instancia que utiliza la configuración global de Sifen, con un tiempo de vida de
+     * {@value #TIEMPO_VIDA_DEFECTO} milisegundos, un tiempo de vida negativo de
+     * {@value #TIEMPO_VIDA_NEGATIVO_DEFECTO} milisegundos y hasta {@value #TAMANO_MAXIMO_DEFECTO} RUC.
+     */
+    public CacheConsultaRUC() {
+        this(null);
+    }
+
+    /**
+     * Crea una instancia con los tiempos de vida y el tamaño por defecto.
+     *
+     * @param sifenConfig Configuración de Sifen a ser utilizada en las consultas. Si es nula, se utiliza la
+     *                    configuración global establecida al momento de cada consulta.
+     */
+    public CacheConsultaRUC(SifenConfig sifenConfig) {
+        this(sifenConfig, TIEMPO_VIDA_DEFECTO, TIEMPO_VIDA_NEGATIVO_DEFECTO, TAMANO_MAXIMO_DEFECTO);
+    }
+
+    /**
+     * @param sifenConfig        Configuración de Sifen a ser utilizada en las consultas. Si es nula, se utiliza la
+     *                           configuración global establecida al momento de cada consulta.
+     * @param tiempoVida         Tiempo, en milisegundos, durante el cual se guarda un RUC encontrado.
+     * @param tiempoVidaNegativo Tiempo, en milisegundos, durante el cual se guarda un RUC inexistente. Con 0, los RUC
+     *                           inexistentes no se guardan.
+     * @param tamanoMaximo       Cantidad máxima de RUC guardados.
+     */
+    public CacheConsultaRUC(SifenConfig sifenConfig, long tiempoVida, long tiempoVidaNegativo, int tamanoMaximo) {
+        if (tiempoVida < 0 || tiempoVidaNegativo < 0) {
+            throw new IllegalArgumentException("Los tiempos de vida no pueden ser negativos.");
+        }
+        if (tamanoMaximo < 1) {
+            throw new IllegalArgumentException("El tamaño máximo debe ser mayor a cero.");
+        }
+
+        this.sifenConfig = sifenConfig;
+        this.tiempoVida = tiempoVida;
+        this.tiempoVidaNegativo = tiempoVidaNegativo;
+        this.tamanoMaximo = tamanoMaximo;
+        this.entradas = new EntradasLRU(tamanoMaximo, descartes);
+    }
+
+    /**
+     * Retorna la respuesta a la consulta del RUC, consultando a Sifen solo si no se encuentra en la caché o si ya
+     * venció.
+     *
+     * @param ruc RUC de un contribuyente a ser consultado en Sifen, sin el DV.
+     * @return La respuesta a la consulta proveída por Sifen, en forma de clase.
+     * @throws SifenException Si la consulta no pudo ser realizada.
+     * @see Sifen#consultaRUC(String, SifenConfig)
+     */
+    public RespuestaConsultaRUC consultaRUC(String ruc) throws SifenException {
+        RespuestaConsultaRUC respuesta = buscar(ruc);
+        if (respuesta != null) {
+            aciertos.incrementAndGet();
+            return respuesta;
+        }
+
+        CompletableFuture<RespuestaConsultaRUC> consulta = new CompletableFuture<>();
+        CompletableFuture<RespuestaConsultaRUC> existente = enCurso.putIfAbsent(ruc, consulta);
+        if (existente != null) {
+            consultasAgrupadas.incrementAndGet();
+            return esperar(existente);
+        }
+
+        try {
+            // Otro hilo pudo haber completado la consulta entre la búsqueda y el registro
+            respuesta = buscar(ruc);
+            if (respuesta != null) {
+                aciertos.incrementAndGet();
+            } else {
+                fallos.incrementAndGet();
+                respuesta = Sifen.consultaRUC(ruc, sifenConfig != null ? sifenConfig : Sifen.getSifenConfig());
+                guardar(ruc, respuesta);
+            }
+            consulta.complete(respuesta);
+            return respuesta;
+        } catch (SifenException | RuntimeException e) {
+            consulta.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(ruc, consulta);
+        }
+    }
+
+    /**
+     * @param ruc RUC de un contribuyente a ser consultado en Sifen, sin el DV.
+     * @return Datos del contribuyente, o null si el RUC no fue encontrado.
+     * @throws SifenException Si la consulta no pudo ser realizada.
+     */
+    public TxContRuc consultaContribuyente(String ruc) throws SifenException {
+        return consultaRUC(ruc).getxContRUC();
+    }
+
+    /**
+     * Descarta el RUC de la caché, para que la próxima consulta se realice a Sifen.
+     *
+     * @param ruc RUC del contribuyente, sin el DV.
+     */
+    public void invalidar(String ruc) {
+        synchronized (entradas) {
+            entradas.remove(ruc);
+        }
+    }
+
+    /**
+     * Descarta todos los RUC de la caché. Las métricas no se reinician.
+     */
+    public void limpiar() {
+        synchronized (entradas) {
+            entradas.clear();
+        }
+    }
+
+    private RespuestaConsultaRUC buscar(String ruc) {
+        synchronized (entradas) {
+            Entrada entrada = entradas.get(ruc);
+            if (entrada == null) {
+                return null;
+            }
+            if (System.nanoTime() - entrada.vencimiento >= 0) {
+                entradas.remove(ruc);
+                return null;
+            }
+            return entrada.respuesta;
+        }
+    }
+
+    private void guardar(String ruc, RespuestaConsultaRUC respuesta) {
+        long vida;
+        if (RUC_ENCONTRADO.equals(respuesta.getdCodRes())) {
+            vida = tiempoVida;
+        } else if (RUC_INEXISTENTE.equals(respuesta.getdCodRes())) {
+            vida = tiempoVidaNegativo;
+        } else {
+            return;
+        }
+        if (vida == 0) {
+            return;
+        }
+
+        Entrada entrada = new Entrada(respuesta, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(vida));
+        synchronized (entradas) {
+            entradas.put(ruc, entrada);
+        }
+    }
+
+    private static RespuestaConsultaRUC esperar(CompletableFuture<RespuestaConsultaRUC> consulta) throws SifenException {
+        try {
+            return consulta.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw SifenExceptionUtil.unexpectedError("La espera de la consulta de RUC fue interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SifenException) {
+                throw (SifenException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw SifenExceptionUtil.unexpectedError("Ocurrió un error al consultar el RUC", e.getCause());
+        }
+    }
+
+    /**
+     * @return Cantidad de consultas respondidas desde la caché.
+     */
+    public long getAciertos() {
+        return aciertos.get();
+    }
+
+    /**
+     * @return Cantidad de consultas realizadas a Sifen.
+     */
+    public long getFallos() {
+        return fallos.get();
+    }
+
+    /**
+     * @return Cantidad de consultas que esperaron el resultado de una consulta en curso del mismo RUC, en lugar de
+     * consultar a Sifen.
+     */
+    public long getConsultasAgrupadas() {
+        return consultasAgrupadas.get();
+    }
+
+    /**
+     * @return Cantidad de RUC descartados por superar el tamaño máximo.
+     */
+    public long getDescartes() {
+        return descartes.get();
+    }
+
+    /**
+     * @return Proporción de consultas que no llegaron a Sifen, entre 0 y 1.
+     */
+    public double getTasaAciertos() {
+        long evitadas = aciertos.get() + consultasAgrupadas.get();
+        long total = evitadas + fallos.get();
+        return total == 0 ? 0 : (double) evitadas / total;
+    }
+
+    /**
+     * @return Cantidad de RUC guardados, incluyendo los vencidos que aún no fueron descartados.
+     */
+    public int getTamano() {
+        synchronized (entradas) {
+            return entradas.size();
+        }
+    }
+
+    public int getTamanoMaximo() {
+        return tamanoMaximo;
+    }
+
+    /**
+     * Entradas en orden de acceso, que descarta la menos utilizada al superar el tamaño máximo.
+     */
+    private static class EntradasLRU extends LinkedHashMap<String, Entrada> {
+        private static final long serialVersionUID = 1L;
+
+        private final int tamanoMaximo;
+        private final AtomicLong descartes;
+
+        private EntradasLRU(int tamanoMaximo, AtomicLong descartes) {
+            super(16, 0.75f, true);
+            this.tamanoMaximo = tamanoMaximo;
+            this.descartes = descartes;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entrada> eldest) {
+            if (size() > tamanoMaximo) {
+                descartes.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static class Entrada {
+        private final RespuestaConsultaRUC respuesta;
+        private final long vencimiento;
+
+        private Entrada(RespuestaConsultaRUC respuesta, long vencimiento) {
+            this.respuesta = respuesta;
+            this.vencimiento = vencimiento;
+        }
+    }
+}
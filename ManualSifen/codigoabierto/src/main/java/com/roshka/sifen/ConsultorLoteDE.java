@@ -0,0 +1,298 @@
+package com.roshka.sifen;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.response.RespuestaConsultaLoteDE;
+import com.roshka.sifen.core.fields.response.batch.TgResProcLote;
+import com.roshka.sifen.internal.util.SifenExceptionUtil;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.Logger;
+
+/**
+ * Realiza el seguimiento de los lotes enviados a Sifen, consultando su estado con
+ * {@link Sifen#consultaLoteDE(String, SifenConfig)} hasta que concluya su procesamiento.<br>
+ * Cada DE a seguir se registra con el número de lote y su CDC, y recibe un {@link CompletableFuture} que se completa
+ * con su resultado ({@link TgResProcLote}) o, si el lote no puede consultarse, con la
+ * {@link com.roshka.sifen.core.exceptions.SifenException} correspondiente.<br>
+ * Todos los DE de un mismo lote comparten una única consulta. Mientras el lote sigue en procesamiento, el intervalo
+ * entre consultas se duplica, hasta la demora máxima, y se le aplica una variación aleatoria para que los lotes
+ * registrados al mismo tiempo no se consulten juntos. Las consultas se realizan a través de un {@link SifenAsync},
+ * cuyo límite de peticiones en curso acota la cantidad de consultas simultáneas.
+ */
+public class ConsultorLoteDE implements AutoCloseable {
+    private final static Logger logger = Logger.getLogger(ConsultorLoteDE.class.toString());
+    public static final String LOTE_EN_PROCESAMIENTO = "0361";
+    public static final String LOTE_CONCLUIDO = "0362";
+    public static final long DEMORA_INICIAL_DEFECTO = 10_000;
+    public static final long DEMORA_MAXIMA_DEFECTO = 300_000;
+    public static final int MAXIMO_ERRORES_CONSECUTIVOS = 5;
+
+    private final SifenConfig sifenConfig;
+    private final SifenAsync sifenAsync;
+    private final boolean ownedSifenAsync;
+    private final long demoraInicial;
+    private final long demoraMaxima;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private final Map<String, LotePendiente> lotes = new HashMap<>();
+    private boolean closed;
+
+    /**
+     * Crea una instancia que utiliza la configuración global de Sifen y las demoras por defecto.
+     */
+    public ConsultorLoteDE() {
+        this(null);
+    }
+
+    /**
+     * Crea una instancia con una demora inicial de {@value #DEMORA_INICIAL_DEFECTO} milisegundos y una demora máxima
+     * de {@value #DEMORA_MAXIMA_DEFECTO} milisegundos.
+     *
+     * @param sifenConfig Configuración de Sifen a ser utilizada en las consultas. Si es nula, se utiliza la
+     *                    configuración global establecida al momento de cada consulta.
+     */
+    public ConsultorLoteDE(SifenConfig sifenConfig) {
+        this(sifenConfig, DEMORA_INICIAL_DEFECTO, DEMORA_MAXIMA_DEFECTO);
+    }
+
+    /**
+     * Crea una instancia que realiza las consultas con un {@link SifenAsync} propio.
+     *
+     * @param sifenConfig   Configuración de Sifen a ser utilizada en las consultas. Si es nula, se utiliza la
+     *                      configuración global establecida al momento de cada consulta.
+     * @param demoraInicial Tiempo, en milisegundos, entre el registro de un lote y su primera consulta.
+     * @param demoraMaxima  Tiempo máximo, en milisegundos, entre dos consultas de un mismo lote.
+     */
+    public ConsultorLoteDE(SifenConfig sifenConfig, long demoraInicial, long demoraMaxima) {
+        this(null, sifenConfig, demoraInicial, demoraMaxima);
+    }
+
+    /**
+     * Crea una instancia que realiza las consultas con el {@link SifenAsync} recibido, el cual no es cerrado por
+     * {@link #close()}.
+     *
+     * @param sifenAsync    Instancia a través de la que se realizan las consultas. Si es nula, se crea una propia.
+     * @param sifenConfig   Configuración de Sifen a ser utilizada en las consultas. Si es nula, se utiliza la
+     *                      configuración global establecida al momento de cada consulta.
+     * @param demoraInicial Tiempo, en milisegundos, entre el registro de un lote y su primera consulta.
+     * @param demoraMaxima  Tiempo máximo, en milisegundos, entre dos consultas de un mismo lote.
+     */
+    public ConsultorLoteDE(SifenAsync sifenAsync, SifenConfig sifenConfig, long demoraInicial, long demoraMaxima) {
+        if (demoraInicial <= 0) {
+            throw new IllegalArgumentException("La demora inicial debe ser mayor a cero.");
+        }
+        if (demoraMaxima < demoraInicial) {
+            throw new IllegalArgumentException("La demora máxima no puede ser menor a la demora inicial.");
+        }
+
+        this.sifenConfig = sifenConfig;
+        this.demoraInicial = demoraInicial;
+        this.demoraMaxima = demoraMaxima;
+        this.ownedSifenAsync = sifenAsync == null;
+        this.sifenAsync = sifenAsync != null ? sifenAsync : new SifenAsync();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sifen-consultor-lote");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Registra un DE para su seguimiento.
+     *
+     * @param nroLote Número de lote devuelto por Sifen al recibir el lote (dProtConsLote).
+     * @param cdc     CDC del Documento Electrónico.
+     * @return Future que se completa con el resultado del procesamiento del DE.
+     */
+    public CompletableFuture<TgResProcLote> seguimiento(String nroLote, String cdc) {
+        return seguimiento(nroLote, Collections.singletonList(cdc)).get(cdc);
+    }
+
+    /**
+     * Registra el DE enviado por un {@link AgrupadorLoteDE} para su seguimiento.
+     *
+     * @param recepcion Resultado del envío del DE dentro de su lote.
+     * @return Future que se completa con el resultado del procesamiento del DE.
+     */
+    public CompletableFuture<TgResProcLote> seguimiento(AgrupadorLoteDE.RecepcionEnLote recepcion) {
+        return seguimiento(recepcion.getRespuesta().getdProtConsLote(), recepcion.getCdc());
+    }
+
+    /**
+     * Registra varios DE de un mismo lote para su seguimiento.
+     *
+     * @param nroLote Número de lote devuelto por Sifen al recibir el lote (dProtConsLote).
+     * @param cdcs    CDC de los Documentos Electrónicos.
+     * @return Un future por cada CDC, que se completa con el resultado del procesamiento del DE.
+     */
+    public Map<String, CompletableFuture<TgResProcLote>> seguimiento(String nroLote, Collection<String> cdcs) {
+        Map<String, CompletableFuture<TgResProcLote>> futures = new LinkedHashMap<>();
+        synchronized (lock) {
+            if (closed) {
+                for (String cdc : cdcs) {
+                    CompletableFuture<TgResProcLote> future = new CompletableFuture<>();
+                    future.completeExceptionally(new IllegalStateException("El consultor de lotes ya fue cerrado."));
+                    futures.put(cdc, future);
+                }
+                return futures;
+            }
+
+            LotePendiente lote = lotes.get(nroLote);
+            boolean nuevo = lote == null;
+            if (nuevo) {
+                lote = new LotePendiente(nroLote, demoraInicial);
+                lotes.put(nroLote, lote);
+            }
+
+            for (String cdc : cdcs) {
+                futures.put(cdc, lote.cdcs.computeIfAbsent(cdc, k -> new CompletableFuture<>()));
+            }
+
+            if (nuevo) {
+                schedule(lote);
+            }
+        }
+        return futures;
+    }
+
+    /**
+     * @return Cantidad de lotes cuyo procesamiento aún no concluyó.
+     */
+    public int getLotesPendientes() {
+        synchronized (lock) {
+            return lotes.size();
+        }
+    }
+
+    public long getDemoraInicial() {
+        return demoraInicial;
+    }
+
+    public long getDemoraMaxima() {
+        return demoraMaxima;
+    }
+
+    /**
+     * Detiene las consultas y cancela los futures de los DE cuyo lote aún no concluyó.
+     */
+    @Override
+    public void close() {
+        List<LotePendiente> pendientes;
+        synchronized (lock) {
+            if (closed)
+                return;
+            closed = true;
+            pendientes = new ArrayList<>(lotes.values());
+            lotes.clear();
+        }
+
+        scheduler.shutdownNow();
+        for (LotePendiente lote : pendientes) {
+            for (CompletableFuture<TgResProcLote> future : lote.cdcs.values()) {
+                future.cancel(false);
+            }
+        }
+
+        if (ownedSifenAsync) {
+            sifenAsync.close();
+        }
+    }
+
+    /**
+     * Programa la próxima consulta del lote. Debe invocarse con el bloqueo tomado.
+     */
+    private void schedule(LotePendiente lote) {
+        // Se espera entre la mitad y el total de la demora actual
+        long demora = lote.demora / 2 + ThreadLocalRandom.current().nextLong(lote.demora / 2 + 1);
+        lote.demora = Math.min(lote.demora * 2, demoraMaxima);
+        scheduler.schedule(() -> poll(lote), demora, TimeUnit.MILLISECONDS);
+    }
+
+    private void poll(LotePendiente lote) {
+        synchronized (lock) {
+            if (lotes.get(lote.nroLote) != lote)
+                return;
+
+            // Si todos los futures fueron cancelados, no tiene sentido seguir consultando
+            if (lote.cdcs.values().stream().allMatch(CompletableFuture::isDone)) {
+                lotes.remove(lote.nroLote);
+                return;
+            }
+        }
+
+        CompletableFuture<RespuestaConsultaLoteDE> consulta = sifenConfig != null
+                ? sifenAsync.consultaLoteDE(lote.nroLote, sifenConfig)
+                : sifenAsync.consultaLoteDE(lote.nroLote);
+        consulta.whenComplete((respuesta, e) -> handleResponse(lote, respuesta, e));
+    }
+
+    private void handleResponse(LotePendiente lote, RespuestaConsultaLoteDE respuesta, Throwable e) {
+        Throwable error = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+
+        synchronized (lock) {
+            if (lotes.get(lote.nroLote) != lote)
+                return;
+
+            if (error != null) {
+                lote.errores++;
+                if (lote.errores < MAXIMO_ERRORES_CONSECUTIVOS) {
+                    logger.warning("Error al consultar el lote " + lote.nroLote + ", se reintentará: " + error.getLocalizedMessage());
+                    schedule(lote);
+                    return;
+                }
+            } else if (LOTE_EN_PROCESAMIENTO.equals(respuesta.getdCodResLot())) {
+                lote.errores = 0;
+                schedule(lote);
+                return;
+            }
+
+            lotes.remove(lote.nroLote);
+        }
+
+        if (error != null) {
+            fail(lote, error);
+        } else if (LOTE_CONCLUIDO.equals(respuesta.getdCodResLot())) {
+            resolve(lote, respuesta);
+        } else {
+            fail(lote, SifenExceptionUtil.batchQueryError("No se pudo obtener el resultado del lote " + lote.nroLote + ": "
+                    + respuesta.getdCodResLot() + " - " + respuesta.getdMsgResLot()));
+        }
+    }
+
+    private void resolve(LotePendiente lote, RespuestaConsultaLoteDE respuesta) {
+        Map<String, TgResProcLote> resultados = new HashMap<>();
+        for (TgResProcLote resultado : respuesta.getgResProcLoteList()) {
+            resultados.put(resultado.getId(), resultado);
+        }
+
+        for (Map.Entry<String, CompletableFuture<TgResProcLote>> entry : lote.cdcs.entrySet()) {
+            TgResProcLote resultado = resultados.get(entry.getKey());
+            if (resultado != null) {
+                entry.getValue().complete(resultado);
+            } else {
+                entry.getValue().completeExceptionally(SifenExceptionUtil.batchQueryError(
+                        "El DE " + entry.getKey() + " no figura en el resultado del lote " + lote.nroLote));
+            }
+        }
+    }
+
+    private void fail(LotePendiente lote, Throwable error) {
+        for (CompletableFuture<TgResProcLote> future : lote.cdcs.values()) {
+            future.completeExceptionally(error);
+        }
+    }
+
+    private static class LotePendiente {
+        private final String nroLote;
+        private final Map<String, CompletableFuture<TgResProcLote>> cdcs = new ConcurrentHashMap<>();
+        private long demora;
+        private int errores;
+
+        private LotePendiente(String nroLote, long demora) {
+            this.nroLote = nroLote;
+            this.demora = demora;
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package com.roshka.sifen;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.helpers.LoteHelper;
+import com.roshka.sifen.internal.helpers.ParallelHelper;
+import com.roshka.sifen.internal.util.SifenExceptionUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Genera y firma grandes cantidades de Documentos Electrónicos y los guarda en un directorio, sin enviarlos a Sifen;
+ * por ejemplo, para la emisión en contingencia o para reemitir los documentos de un período.<br>
+ * Cada DE se guarda como un archivo {@code <CDC>.xml} en UTF-8 con su elemento rDE firmado, el mismo que luego se
+ * incluye en un lote. Opcionalmente, los documentos se agrupan en archivos ZIP de hasta {@link #getTamanoLoteZip()}
+ * DE ({@code lote-000001.zip}, {@code lote-000002.zip}, etc.), con una entrada {@code <CDC>.xml} por documento.<br>
+ * Los documentos se toman del {@link Stream} o del {@link Iterator} a medida que hay lugar para procesarlos, por lo
+ * que como máximo hay dos grupos (un DE o un ZIP) por hilo pendientes de generación o de escritura; de cada documento
+ * generado solo se conserva su CDC. Un documento que no puede generarse no detiene la generación de los demás; se
+ * informa a través de {@link Progreso#fallido(DocumentoElectronico, SifenException)} y se cuenta en el
+ * {@link Resumen}. Cada archivo se escribe primero con la extensión {@code .tmp} y se renombra al finalizar, por lo que
+ * nunca queda un archivo incompleto con el nombre definitivo.<br>
+ * Un archivo existente nunca se reemplaza: si el archivo de destino ya existe (por ejemplo, de una generación
+ * anterior), o si un CDC se repite dentro de la misma generación, los documentos afectados se informan como fallidos.
+ */
+public class GeneradorMasivoDE {
+    private final static Logger logger = Logger.getLogger(GeneradorMasivoDE.class.toString());
+    private static final byte[] XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>".getBytes(StandardCharsets.UTF_8);
+
+    private final SifenConfig sifenConfig;
+    private final GenerationCtx generationCtx;
+    private final Path directorio;
+    private final int paralelismo;
+    private final int tamanoLoteZip;
+    private volatile Progreso progreso = new Progreso() {
+    };
+
+    /**
+     * Crea una instancia que guarda un archivo XML por documento, utilizando {@link SifenConfig#getParalelismoLote()}
+     * hilos.
+     *
+     * @param sifenConfig Configuración de Sifen a ser utilizada para generar y firmar los documentos.
+     * @param directorio  Directorio de destino. Se crea si no existe.
+     */
+    public GeneradorMasivoDE(SifenConfig sifenConfig, Path directorio) {
+        this(sifenConfig, directorio, sifenConfig.getParalelismoLote(), 0);
+    }
+
+    /**
+     * @param sifenConfig   Configuración de Sifen a ser utilizada para generar y firmar los documentos.
+     * @param directorio    Directorio de destino. Se crea si no existe.
+     * @param paralelismo   Cantidad de hilos que generan y firman documentos.
+     * @param tamanoLoteZip Cantidad máxima de documentos por archivo ZIP, o 0 para guardar un archivo XML por
+     *                      documento.
+     */
+    public GeneradorMasivoDE(SifenConfig sifenConfig, Path directorio, int paralelismo, int tamanoLoteZip) {
+        this(GenerationCtx.getDefaultFromConfig(sifenConfig), sifenConfig, directorio, paralelismo, tamanoLoteZip);
+    }
+
+    /**
+     * @param generationCtx Contexto de generación de los documentos.
+     * @param sifenConfig   Configuración de Sifen a ser utilizada para generar y firmar los documentos.
+     * @param directorio    Directorio de destino. Se crea si no existe.
+     * @param paralelismo   Cantidad de hilos que generan y firman documentos.
+     * @param tamanoLoteZip Cantidad máxima de documentos por archivo ZIP, o 0 para guardar un archivo XML por
+     *                      documento.
+     */
+    public GeneradorMasivoDE(GenerationCtx generationCtx, SifenConfig sifenConfig, Path directorio, int paralelismo, int tamanoLoteZip) {
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("El paralelismo debe ser mayor a cero.");
+        }
+        if (tamanoLoteZip < 0) {
+            throw new IllegalArgumentException("El tamaño de los lotes ZIP no puede ser negativo.");
+        }
+
+        this.generationCtx = generationCtx;
+        this.sifenConfig = sifenConfig;
+        this.directorio = directorio;
+        this.paralelismo = paralelismo;
+        this.tamanoLoteZip = tamanoLoteZip;
+    }
+
+    /**
+     * @param progreso Receptor de los avisos de progreso. Sus métodos se invocan desde los hilos de generación.
+     */
+    public void setProgreso(Progreso progreso) {
+        this.progreso = progreso;
+    }
+
+    /**
+     * Genera, firma y guarda todos los documentos del stream, que se cierra al finalizar.
+     *
+     * @param documentos Documentos Electrónicos a generar.
+     * @return Resumen de la generación.
+     * @throws SifenException Si el directorio de destino no pudo crearse o si la generación fue interrumpida.
+     */
+    public Resumen generar(Stream<DocumentoElectronico> documentos) throws SifenException {
+        try (Stream<DocumentoElectronico> stream = documentos) {
+            return generar(stream.iterator());
+        }
+    }
+
+    /**
+     * Genera, firma y guarda todos los documentos del iterador. Retorna una vez que todos los archivos fueron escritos.
+     *
+     * @param documentos Documentos Electrónicos a generar.
+     * @return Resumen de la generación.
+     * @throws SifenException Si el directorio de destino no pudo crearse o si la generación fue interrumpida.
+     */
+    public Resumen generar(Iterator<DocumentoElectronico> documentos) throws SifenException {
+        try {
+            Files.createDirectories(directorio);
+        } catch (IOException e) {
+            throw SifenExceptionUtil.invalidConfiguration("No se pudo crear el directorio de destino: " + directorio, e);
+        }
+
+        long inicio = System.nanoTime();
+        Contadores contadores = new Contadores();
+        try {
+            ParallelHelper.forEach(new Grupos(documentos, tamanoLoteZip > 0 ? tamanoLoteZip : 1), paralelismo,
+                    "sifen-generador", grupo -> procesar(grupo.lote, grupo.documentos, contadores));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw SifenExceptionUtil.requestPreparationError("La generación masiva fue interrumpida", e);
+        }
+
+        Resumen resumen = new Resumen(contadores.generados.get(), contadores.fallidos.get(), contadores.archivos.get(),
+                contadores.bytes.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        logger.info("Generación masiva finalizada: " + resumen);
+        return resumen;
+    }
+
+    private void procesar(int lote, List<DocumentoElectronico> grupo, Contadores contadores) {
+        List<DocumentoElectronico> generados = new ArrayList<>(grupo.size());
+        List<byte[]> fragmentos = new ArrayList<>(grupo.size());
+        for (DocumentoElectronico de : grupo) {
+            try {
+                byte[] fragmento = LoteHelper.buildFragment(generationCtx, de, sifenConfig).getBytes(StandardCharsets.UTF_8);
+                if (!contadores.cdcs.add(de.getId())) {
+                    fallido(de, SifenExceptionUtil.requestPreparationError("El CDC " + de.getId() +
+                            " se repite en la generación; el documento no se guarda", null), contadores);
+                    continue;
+                }
+                fragmentos.add(fragmento);
+                generados.add(de);
+            } catch (SifenException e) {
+                fallido(de, e, contadores);
+            } catch (RuntimeException e) {
+                fallido(de, SifenExceptionUtil.requestPreparationError("Ocurrió un error al generar el documento", e), contadores);
+            }
+        }
+        if (generados.isEmpty()) {
+            return;
+        }
+
+        Path archivo = tamanoLoteZip > 0
+                ? directorio.resolve(String.format("lote-%06d.zip", lote))
+                : directorio.resolve(generados.get(0).getId() + ".xml");
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + "." + lote + ".tmp");
+        try {
+            try (OutputStream os = Files.newOutputStream(temporal)) {
+                if (tamanoLoteZip > 0) {
+                    ZipOutputStream zip = new ZipOutputStream(os);
+                    for (int i = 0; i < generados.size(); i++) {
+                        zip.putNextEntry(new ZipEntry(generados.get(i).getId() + ".xml"));
+                        zip.write(XML_DECLARATION);
+                        zip.write(fragmentos.get(i));
+                        zip.closeEntry();
+                    }
+                    zip.finish();
+                } else {
+                    os.write(XML_DECLARATION);
+                    os.write(fragmentos.get(0));
+                }
+            }
+            Files.move(temporal, archivo);
+            contadores.bytes.addAndGet(Files.size(archivo));
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(temporal);
+            } catch (IOException ignored) {
+            }
+            SifenException error = e instanceof FileAlreadyExistsException
+                    ? SifenExceptionUtil.unexpectedError("El archivo " + archivo + " ya existe y no se reemplaza", e)
+                    : SifenExceptionUtil.unexpectedError("No se pudo escribir el archivo " + archivo, e);
+            for (DocumentoElectronico de : generados) {
+                fallido(de, error, contadores);
+            }
+            return;
+        }
+
+        contadores.archivos.incrementAndGet();
+        for (DocumentoElectronico de : generados) {
+            contadores.generados.incrementAndGet();
+            try {
+                progreso.generado(de, archivo);
+            } catch (RuntimeException e) {
+                logger.warning("El receptor del progreso lanzó una excepción: " + e);
+            }
+        }
+    }
+
+    private void fallido(DocumentoElectronico de, SifenException e, Contadores contadores) {
+        contadores.fallidos.incrementAndGet();
+        try {
+            progreso.fallido(de, e);
+        } catch (RuntimeException re) {
+            logger.warning("El receptor del progreso lanzó una excepción: " + re);
+        }
+    }
+
+    public Path getDirectorio() {
+        return directorio;
+    }
+
+    public int getParalelismo() {
+        return paralelismo;
+    }
+
+    public int getTamanoLoteZip() {
+        return tamanoLoteZip;
+    }
+
+    /**
+     * Receptor de los avisos de progreso de la generación. Sus métodos se invocan desde los hilos de generación, por
+     * lo que deben ser rápidos y seguros para el uso concurrente.
+     */
+    public interface Progreso {
+        /**
+         * Se invoca cuando el documento fue generado, firmado y escrito.
+         *
+         * @param de      Documento Electrónico, con su CDC ya asignado.
+         * @param archivo Archivo XML del documento, o archivo ZIP que lo contiene.
+         */
+        default void generado(DocumentoElectronico de, Path archivo) {
+        }
+
+        /**
+         * Se invoca cuando el documento no pudo generarse o escribirse, cuando su archivo ya existía, o cuando su CDC
+         * se repite dentro de la generación.
+         *
+         * @param de    Documento Electrónico.
+         * @param error Error ocurrido.
+         */
+        default void fallido(DocumentoElectronico de, SifenException error) {
+        }
+    }
+
+    /**
+     * Resultado de una generación masiva.
+     */
+    public static class Resumen {
+        private final long generados;
+        private final long fallidos;
+        private final long archivos;
+        private final long bytesEscritos;
+        private final long duracionMillis;
+
+        Resumen(long generados, long fallidos, long archivos, long bytesEscritos, long duracionMillis) {
+            this.generados = generados;
+            this.fallidos = fallidos;
+            this.archivos = archivos;
+            this.bytesEscritos = bytesEscritos;
+            this.duracionMillis = duracionMillis;
+        }
+
+        /**
+         * @return Cantidad de documentos generados y escritos.
+         */
+        public long getGenerados() {
+            return generados;
+        }
+
+        /**
+         * @return Cantidad de documentos que no pudieron generarse o escribirse.
+         */
+        public long getFallidos() {
+            return fallidos;
+        }
+
+        /**
+         * @return Cantidad de archivos (XML o ZIP) escritos.
+         */
+        public long getArchivos() {
+            return archivos;
+        }
+
+        public long getBytesEscritos() {
+            return bytesEscritos;
+        }
+
+        public long getDuracionMillis() {
+            return duracionMillis;
+        }
+
+        /**
+         * @return Documentos generados por segundo, durante toda la generación.
+         */
+        public double getDocumentosPorSegundo() {
+            return duracionMillis > 0 ? generados * 1000.0 / duracionMillis : generados;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d DE generados, %d fallidos, %d archivos (%d bytes) en %d ms, %.1f DE/s",
+                    generados, fallidos, archivos, bytesEscritos, duracionMillis, getDocumentosPorSegundo());
+        }
+    }
+
+    /**
+     * Agrupa los documentos del iterador en grupos de hasta el tamaño indicado, numerados desde 1.
+     */
+    private static class Grupos implements Iterator<Grupo> {
+        private final Iterator<DocumentoElectronico> documentos;
+        private final int tamano;
+        private int lote;
+
+        private Grupos(Iterator<DocumentoElectronico> documentos, int tamano) {
+            this.documentos = documentos;
+            this.tamano = tamano;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return documentos.hasNext();
+        }
+
+        @Override
+        public Grupo next() {
+            List<DocumentoElectronico> grupo = new ArrayList<>(tamano);
+            while (grupo.size() < tamano && documentos.hasNext()) {
+                grupo.add(documentos.next());
+            }
+            if (grupo.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return new Grupo(++lote, grupo);
+        }
+    }
+
+    private static class Grupo {
+        private final int lote;
+        private final List<DocumentoElectronico> documentos;
+
+        private Grupo(int lote, List<DocumentoElectronico> documentos) {
+            this.lote = lote;
+            this.documentos = documentos;
+        }
+    }
+
+    private static class Contadores {
+        private final AtomicLong generados = new AtomicLong();
+        private final AtomicLong fallidos = new AtomicLong();
+        private final AtomicLong archivos = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+        private final Set<String> cdcs = ConcurrentHashMap.newKeySet();
+    }
+}
@@ -1,5 +1,7 @@
 package com.roshka.sifen;
 
+import com.roshka.sifen.core.AtomicDIdGenerator;
+import com.roshka.sifen.core.DIdGenerator;
 import com.roshka.sifen.core.SifenConfig;
 import com.roshka.sifen.core.beans.DocumentoElectronico;
 import com.roshka.sifen.core.beans.EventosDE;
@@ -7,7 +9,9 @@ import com.roshka.sifen.core.beans.ValidezFirmaDigital;
 import com.roshka.sifen.core.beans.response.*;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.helpers.SSLContextHelper;
 import com.roshka.sifen.internal.helpers.SignatureHelper;
+import com.roshka.sifen.internal.helpers.SigningCredentialsCache;
 import com.roshka.sifen.internal.request.*;
 import com.roshka.sifen.internal.util.SifenExceptionUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
@@ -22,7 +26,7 @@ import java.util.logging.Logger;
 public class Sifen {
     private final static Logger logger = Logger.getLogger(Sifen.class.toString());
     private static SifenConfig sifenConfig = null;
-    private static long dId = 1;
+    private static volatile DIdGenerator dIdGenerator = new AtomicDIdGenerator();
 
     /**
      * Establece la configuración necesaria para el funcionamiento correcto de todas las funcionalidades. Solo
@@ -49,6 +53,28 @@ public class Sifen {
         return sifenConfig;
     }
 
+    /**
+     * Reemplaza el generador de los identificadores de control de envío (dId) de las peticiones. Por defecto se
+     * utiliza {@link AtomicDIdGenerator} con el nodo 0; si varias instancias de la aplicación envían peticiones,
+     * cada una debe utilizar un número de nodo distinto, o un generador compartido entre todas.
+     *
+     * @param generador Generador a utilizar.
+     * @throws SifenException Si el generador es nulo.
+     */
+    public static void setDIdGenerator(DIdGenerator generador) throws SifenException {
+        if (generador == null) {
+            throw SifenExceptionUtil.invalidConfiguration("El generador de dId no debe ser nulo.");
+        }
+        dIdGenerator = generador;
+    }
+
+    /**
+     * @return El generador de dId utilizado.
+     */
+    public static DIdGenerator getDIdGenerator() {
+        return dIdGenerator;
+    }
+
     /**
      * Realiza una consulta a Sifen y devuelve como resultado los datos y el estado del RUC de un contribuyente.
      *
@@ -90,7 +116,7 @@ public class Sifen {
 
         validateConfiguration(sifenConfig);
         logger.info("Preparando petición 'Consulta de RUC'");
-        ReqConsRuc reqConsRuc = new ReqConsRuc(dId++, sifenConfig);
+        ReqConsRuc reqConsRuc = new ReqConsRuc(nextDId(), sifenConfig);
         reqConsRuc.setdRUCCons(ruc);
 
         return (RespuestaConsultaRUC) reqConsRuc.makeRequest(generationCtx, sifenConfig.getPathConsultaRUC());
@@ -138,7 +164,7 @@ public class Sifen {
 
         validateConfiguration(sifenConfig);
         logger.info("Preparando petición 'Consulta de DE'");
-        ReqConsDe reqConsDe = new ReqConsDe(dId++, sifenConfig);
+        ReqConsDe reqConsDe = new ReqConsDe(nextDId(), sifenConfig);
         reqConsDe.setdCDC(cdc);
 
         return (RespuestaConsultaDE) reqConsDe.makeRequest(generationCtx, sifenConfig.getPathConsulta());
@@ -186,7 +212,7 @@ public class Sifen {
 
         validateConfiguration(sifenConfig);
         logger.info("Preparando petición 'Consulta de Resultado de Lote de DE'");
-        ReqConsLoteDe reqConsLoteDe = new ReqConsLoteDe(dId++, sifenConfig);
+        ReqConsLoteDe reqConsLoteDe = new ReqConsLoteDe(nextDId(), sifenConfig);
         reqConsLoteDe.setdProtConsLote(nroLote);
 
         return (RespuestaConsultaLoteDE) reqConsLoteDe.makeRequest(generationCtx, sifenConfig.getPathConsultaLote());
@@ -224,7 +250,7 @@ public class Sifen {
 
         validateConfiguration(sifenConfig);
         logger.info("Preparando petición 'Recepción de DE'");
-        ReqRecDe reqRecDe = new ReqRecDe(dId++, sifenConfig);
+        ReqRecDe reqRecDe = new ReqRecDe(nextDId(), sifenConfig);
         reqRecDe.setDE(de);
 
         return (RespuestaRecepcionDE) reqRecDe.makeRequest(generationCtx, sifenConfig.getPathRecibe());
@@ -275,7 +301,7 @@ public class Sifen {
 
         validateConfiguration(sifenConfig);
         logger.info("Preparando petición 'Recepción de Lote de DE'");
-        ReqRecLoteDe reqRecLoteDe = new ReqRecLoteDe(dId++, sifenConfig);
+        ReqRecLoteDe reqRecLoteDe = new ReqRecLoteDe(nextDId(), sifenConfig);
         reqRecLoteDe.setDEList(deList);
 
         return (RespuestaRecepcionLoteDE) reqRecLoteDe.makeRequest(generationCtx, sifenConfig.getPathRecibeLote());
@@ -315,7 +341,7 @@ public class Sifen {
 
         validateConfiguration(sifenConfig);
         logger.info("Preparando petición 'Recepción de Eventos'");
-        ReqRecEventoDe reqRecEventoDe = new ReqRecEventoDe(dId++, sifenConfig);
+        ReqRecEventoDe reqRecEventoDe = new ReqRecEventoDe(nextDId(), sifenConfig);
         reqRecEventoDe.setEventoDE(eventosDE);
 
         return (RespuestaRecepcionEvento) reqRecEventoDe.makeRequest(generationCtx, sifenConfig.getPathEvento());
@@ -354,6 +380,25 @@ public class Sifen {
         return SignatureHelper.validateSignature(archivoXml);
     }
 
+    /**
+     * Descarta los certificados cargados en memoria, tanto los utilizados para la firma digital como para la conexión
+     * con Sifen. Debe invocarse luego de reemplazar el certificado por uno con la misma ruta y contraseña, si no se
+     * desea esperar a que el cambio en el archivo sea detectado.
+     */
+    public static void limpiarCacheCertificados() {
+        SigningCredentialsCache.invalidateAll();
+        SSLContextHelper.invalidateContext();
+        logger.info("Caché de certificados descartada");
+    }
+
+    private static long nextDId() throws SifenException {
+        long dId = dIdGenerator.generar();
+        if (dId < 1 || dId > DIdGenerator.DID_MAXIMO) {
+            throw SifenExceptionUtil.invalidConfiguration("El generador de dId retornó un valor fuera de rango: " + dId);
+        }
+        return dId;
+    }
+
     private static void validateConfiguration(SifenConfig sifenConfig) throws SifenException {
         if (sifenConfig.getAmbiente() == null) {
             throw SifenExceptionUtil.invalidConfiguration("Error en la configuración de Sifen: Tipo de ambiente no establecido.");
@@ -0,0 +1,341 @@
+package com.roshka.sifen;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.beans.EventosDE;
+import com.roshka.sifen.core.beans.response.*;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.util.SifenExceptionUtil;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Versión asíncrona de las operaciones de {@link Sifen}. Cada operación devuelve inmediatamente un
+ * {@link CompletableFuture}, que se completa con la respuesta de Sifen o, en caso de error, con la
+ * {@link SifenException} correspondiente.<br>
+ * La cantidad de peticiones en curso está acotada; las peticiones que superan el límite quedan en espera, sin
+ * bloquear al hilo que las realizó. El límite no debería superar a
+ * {@link SifenConfig#getHttpPoolMaxConexionesPorHost()}, ya que las peticiones por encima de ese valor esperarían una
+ * conexión libre.<br>
+ * Si no se especifica un ejecutor, se utilizan hilos virtuales cuando la versión de Java lo permite (21 o superior) y,
+ * en caso contrario, un pool de hilos del mismo tamaño que el límite de peticiones en curso.
+ */
+public class SifenAsync implements AutoCloseable {
+    private final static Logger logger = Logger.getLogger(SifenAsync.class.toString());
+    public static final int MAXIMO_PETICIONES_EN_CURSO_DEFECTO = 10;
+
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final int maximoPeticionesEnCurso;
+
+    private final Queue<PendingCall<?>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Crea una instancia con el ejecutor por defecto y un máximo de {@value #MAXIMO_PETICIONES_EN_CURSO_DEFECTO}
+     * peticiones en curso.
+     */
+    public SifenAsync() {
+        this(MAXIMO_PETICIONES_EN_CURSO_DEFECTO);
+    }
+
+    /**
+     * Crea una instancia con el ejecutor por defecto.
+     *
+     * @param maximoPeticionesEnCurso Cantidad máxima de peticiones ejecutándose al mismo tiempo.
+     */
+    public SifenAsync(int maximoPeticionesEnCurso) {
+        this(null, maximoPeticionesEnCurso);
+    }
+
+    /**
+     * Crea una instancia que ejecuta las peticiones en el ejecutor recibido. El ejecutor no es cerrado por
+     * {@link #close()}.
+     *
+     * @param executor                Ejecutor en el que se realizan las peticiones. Si es nulo, se utiliza el
+     *                                ejecutor por defecto.
+     * @param maximoPeticionesEnCurso Cantidad máxima de peticiones ejecutándose al mismo tiempo.
+     */
+    public SifenAsync(Executor executor, int maximoPeticionesEnCurso) {
+        if (maximoPeticionesEnCurso <= 0) {
+            throw new IllegalArgumentException("La cantidad máxima de peticiones en curso debe ser mayor a cero.");
+        }
+
+        this.maximoPeticionesEnCurso = maximoPeticionesEnCurso;
+        if (executor != null) {
+            this.executor = executor;
+            this.ownedExecutor = null;
+        } else {
+            this.ownedExecutor = createDefaultExecutor(maximoPeticionesEnCurso);
+            this.executor = this.ownedExecutor;
+        }
+    }
+
+    /**
+     * @see Sifen#consultaRUC(String)
+     */
+    public CompletableFuture<RespuestaConsultaRUC> consultaRUC(String ruc) {
+        SifenConfig sifenConfig = Sifen.getSifenConfig();
+        return submit(sifenConfig, () -> Sifen.consultaRUC(ruc, sifenConfig));
+    }
+
+    /**
+     * @see Sifen#consultaRUC(String, SifenConfig)
+     */
+    public CompletableFuture<RespuestaConsultaRUC> consultaRUC(String ruc, SifenConfig sifenConfig) {
+        return submit(sifenConfig, () -> Sifen.consultaRUC(ruc, sifenConfig));
+    }
+
+    /**
+     * @see Sifen#consultaRUC(String, SifenConfig, GenerationCtx)
+     */
+    public CompletableFuture<RespuestaConsultaRUC> consultaRUC(String ruc, SifenConfig sifenConfig, GenerationCtx generationCtx) {
+        return submit(sifenConfig, () -> Sifen.consultaRUC(ruc, sifenConfig, generationCtx));
+    }
+
+    /**
+     * @see Sifen#consultaDE(String)
+     */
+    public CompletableFuture<RespuestaConsultaDE> consultaDE(String cdc) {
+        SifenConfig sifenConfig = Sifen.getSifenConfig();
+        return submit(sifenConfig, () -> Sifen.consultaDE(cdc, sifenConfig));
+    }
+
+    /**
+     * @see Sifen#consultaDE(String, SifenConfig)
+     */
+    public CompletableFuture<RespuestaConsultaDE> consultaDE(String cdc, SifenConfig sifenConfig) {
+        return submit(sifenConfig, () -> Sifen.consultaDE(cdc, sifenConfig));
+    }
+
+    /**
+     * @see Sifen#consultaDE(String, SifenConfig, GenerationCtx)
+     */
+    public CompletableFuture<RespuestaConsultaDE> consultaDE(String cdc, SifenConfig sifenConfig, GenerationCtx generationCtx) {
+        return submit(sifenConfig, () -> Sifen.consultaDE(cdc, sifenConfig, generationCtx));
+    }
+
+    /**
+     * @see Sifen#consultaLoteDE(String)
+     */
+    public CompletableFuture<RespuestaConsultaLoteDE> consultaLoteDE(String nroLote) {
+        SifenConfig sifenConfig = Sifen.getSifenConfig();
+        return submit(sifenConfig, () -> Sifen.consultaLoteDE(nroLote, sifenConfig));
+    }
+
+    /**
+     * @see Sifen#consultaLoteDE(String, SifenConfig)
+     */
+    public CompletableFuture<RespuestaConsultaLoteDE> consultaLoteDE(String nroLote, SifenConfig sifenConfig) {
+        return submit(sifenConfig, () -> Sifen.consultaLoteDE(nroLote, sifenConfig));
+    }
+
+    /**
+     * @see Sifen#consultaLoteDE(String, SifenConfig, GenerationCtx)
+     */
+    public CompletableFuture<RespuestaConsultaLoteDE> consultaLoteDE(String nroLote, SifenConfig sifenConfig, GenerationCtx generationCtx) {
+        return submit(sifenConfig, () -> Sifen.consultaLoteDE(nroLote, sifenConfig, generationCtx));
+    }
+
+    /**
+     * @see Sifen#recepcionDE(DocumentoElectronico)
+     */
+    public CompletableFuture<RespuestaRecepcionDE> recepcionDE(DocumentoElectronico de) {
+        SifenConfig sifenConfig = Sifen.getSifenConfig();
+        return submit(sifenConfig, () -> Sifen.recepcionDE(de, sifenConfig));
+    }
+
+    /**
+     * @see Sifen#recepcionDE(DocumentoElectronico, SifenConfig)
+     */
+    public CompletableFuture<RespuestaRecepcionDE> recepcionDE(DocumentoElectronico de, SifenConfig sifenConfig) {
+        return submit(sifenConfig, () -> Sifen.recepcionDE(de, sifenConfig));
+    }
+
+    /**
+     * @see Sifen#recepcionDE(DocumentoElectronico, SifenConfig, GenerationCtx)
+     */
+    public CompletableFuture<RespuestaRecepcionDE> recepcionDE(DocumentoElectronico de, SifenConfig sifenConfig, GenerationCtx generationCtx) {
+        return submit(sifenConfig, () -> Sifen.recepcionDE(de, sifenConfig, generationCtx));
+    }
+
+    /**
+     * @see Sifen#recepcionLoteDE(List)
+     */
+    public CompletableFuture<RespuestaRecepcionLoteDE> recepcionLoteDE(List<DocumentoElectronico> deList) {
+        SifenConfig sifenConfig = Sifen.getSifenConfig();
+        return submit(sifenConfig, () -> Sifen.recepcionLoteDE(deList, sifenConfig));
+    }
+
+    /**
+     * @see Sifen#recepcionLoteDE(List, SifenConfig)
+     */
+    public CompletableFuture<RespuestaRecepcionLoteDE> recepcionLoteDE(List<DocumentoElectronico> deList, SifenConfig sifenConfig) {
+        return submit(sifenConfig, () -> Sifen.recepcionLoteDE(deList, sifenConfig));
+    }
+
+    /**
+     * @see Sifen#recepcionLoteDE(List, SifenConfig, GenerationCtx)
+     */
+    public CompletableFuture<RespuestaRecepcionLoteDE> recepcionLoteDE(List<DocumentoElectronico> deList, SifenConfig sifenConfig, GenerationCtx generationCtx) {
+        return submit(sifenConfig, () -> Sifen.recepcionLoteDE(deList, sifenConfig, generationCtx));
+    }
+
+    /**
+     * @see Sifen#recepcionEvento(EventosDE)
+     */
+    public CompletableFuture<RespuestaRecepcionEvento> recepcionEvento(EventosDE eventosDE) {
+        SifenConfig sifenConfig = Sifen.getSifenConfig();
+        return submit(sifenConfig, () -> Sifen.recepcionEvento(eventosDE, sifenConfig));
+    }
+
+    /**
+     * @see Sifen#recepcionEvento(EventosDE, SifenConfig)
+     */
+    public CompletableFuture<RespuestaRecepcionEvento> recepcionEvento(EventosDE eventosDE, SifenConfig sifenConfig) {
+        return submit(sifenConfig, () -> Sifen.recepcionEvento(eventosDE, sifenConfig));
+    }
+
+    /**
+     * @see Sifen#recepcionEvento(EventosDE, SifenConfig, GenerationCtx)
+     */
+    public CompletableFuture<RespuestaRecepcionEvento> recepcionEvento(EventosDE eventosDE, SifenConfig sifenConfig, GenerationCtx generationCtx) {
+        return submit(sifenConfig, () -> Sifen.recepcionEvento(eventosDE, sifenConfig, generationCtx));
+    }
+
+    /**
+     * @return Cantidad de peticiones ejecutándose en este momento. Una petición deja de contarse antes de que se
+     * complete su future, por lo que las etapas que dependen de él ya no la incluyen.
+     */
+    public int getPeticionesEnCurso() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return Cantidad de peticiones en espera de un lugar para ejecutarse.
+     */
+    public int getPeticionesEnEspera() {
+        return pending.size();
+    }
+
+    public int getMaximoPeticionesEnCurso() {
+        return maximoPeticionesEnCurso;
+    }
+
+    /**
+     * Cierra el ejecutor por defecto, si es que fue creado por esta instancia. Las peticiones en espera no son
+     * ejecutadas.
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Encola la operación y la despacha apenas exista un lugar libre. Nunca bloquea al hilo que la invoca.
+     */
+    <T> CompletableFuture<T> submit(SifenConfig sifenConfig, SifenCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (sifenConfig == null) {
+            future.completeExceptionally(SifenExceptionUtil.invalidConfiguration("Falta establecer la configuración de Sifen."));
+            return future;
+        }
+
+        pending.add(new PendingCall<>(future, call));
+        dispatch();
+        return future;
+    }
+
+    private void dispatch() {
+        while (!pending.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= maximoPeticionesEnCurso)
+                return;
+            if (!inFlight.compareAndSet(current, current + 1))
+                continue;
+
+            PendingCall<?> task = pending.poll();
+            if (task == null) {
+                // Otro hilo despachó la última tarea; se libera el lugar y se verifica nuevamente
+                inFlight.decrementAndGet();
+                continue;
+            }
+
+            try {
+                executor.execute(() -> {
+                    Runnable completion = null;
+                    try {
+                        completion = task.execute();
+                    } finally {
+                        // El lugar se libera antes de completar el future, para que quien espera el resultado ya
+                        // vea la petición como finalizada
+                        inFlight.decrementAndGet();
+                        dispatch();
+                    }
+                    completion.run();
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.decrementAndGet();
+                logger.warning("El ejecutor rechazó la petición: " + e.getLocalizedMessage());
+                task.fail(e);
+            }
+        }
+    }
+
+    private static ExecutorService createDefaultExecutor(int maximoPeticionesEnCurso) {
+        try {
+            // Java 21+: un hilo virtual por petición, sin ocupar hilos de plataforma durante la espera de la respuesta
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            return Executors.newFixedThreadPool(maximoPeticionesEnCurso, runnable -> {
+                Thread thread = new Thread(runnable, "sifen-async-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @FunctionalInterface
+    interface SifenCall<T> {
+        T call() throws SifenException;
+    }
+
+    private static class PendingCall<T> {
+        private final CompletableFuture<T> future;
+        private final SifenCall<T> call;
+
+        private PendingCall(CompletableFuture<T> future, SifenCall<T> call) {
+            this.future = future;
+            this.call = call;
+        }
+
+        /**
+         * Realiza la petición y retorna la acción que completa el future con su resultado.
+         */
+        private Runnable execute() {
+            // Si fue cancelada mientras esperaba, no se realiza la petición
+            if (future.isDone())
+                return () -> {
+                };
+
+            try {
+                T result = call.call();
+                return () -> future.complete(result);
+            } catch (Throwable e) {
+                return () -> future.completeExceptionally(e);
+            }
+        }
+
+        private void fail(Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+}
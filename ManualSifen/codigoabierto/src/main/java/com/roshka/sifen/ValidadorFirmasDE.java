@@ -0,0 +1,203 @@
+package com.roshka.sifen;
+
+import com.roshka.sifen.core.beans.ValidezFirmaDigital;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.helpers.ParallelHelper;
+import com.roshka.sifen.internal.helpers.SignatureHelper;
+import com.roshka.sifen.internal.util.SifenExceptionUtil;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Valida en paralelo la firma digital de grandes cantidades de Documentos Electrónicos, por ejemplo, de los documentos
+ * recibidos de los proveedores.<br>
+ * Cada documento se valida igual que con {@link Sifen#validarFirmaDE(java.io.File)} o
+ * {@link Sifen#validarFirmaDEDesdeXml(String)}, y su resultado se devuelve junto con el tiempo que tomó su validación.
+ * Los resultados se devuelven en el mismo orden en que se recibieron los documentos. Los documentos se toman del
+ * {@link Stream} a medida que hay lugar para validarlos, por lo que no es necesario tenerlos todos en memoria.
+ */
+public class ValidadorFirmasDE {
+    private final static Logger logger = Logger.getLogger(ValidadorFirmasDE.class.toString());
+
+    private final int paralelismo;
+
+    /**
+     * Crea una instancia que utiliza un hilo por procesador.
+     */
+    public ValidadorFirmasDE() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param paralelismo Cantidad de hilos que validan documentos.
+     */
+    public ValidadorFirmasDE(int paralelismo) {
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("El paralelismo debe ser mayor a cero.");
+        }
+        this.paralelismo = paralelismo;
+    }
+
+    /**
+     * Valida todos los archivos con extensión .xml del directorio (sin incluir subdirectorios), en orden alfabético.
+     *
+     * @param directorio Directorio con los Documentos Electrónicos.
+     * @return Resultado de cada documento.
+     * @throws SifenException Si el directorio no pudo leerse o si la validación fue interrumpida.
+     */
+    public List<Resultado> validarDirectorio(Path directorio) throws SifenException {
+        List<Path> archivos;
+        try (Stream<Path> contenido = Files.list(directorio)) {
+            archivos = contenido
+                    .filter(p -> p.getFileName().toString().toLowerCase().endsWith(".xml") && Files.isRegularFile(p))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw SifenExceptionUtil.unexpectedError("No se pudo leer el directorio " + directorio, e);
+        }
+        return validarArchivos(archivos.stream());
+    }
+
+    /**
+     * @param archivos Archivos XML de los Documentos Electrónicos. El stream se cierra al finalizar.
+     * @return Resultado de cada documento; el origen es la ruta del archivo.
+     * @throws SifenException Si la validación fue interrumpida.
+     */
+    public List<Resultado> validarArchivos(Stream<Path> archivos) throws SifenException {
+        try (Stream<Path> stream = archivos) {
+            Iterator<Path> iterator = stream.iterator();
+            return validar(new Iterator<Tarea>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Tarea next() {
+                    Path archivo = iterator.next();
+                    return new Tarea(archivo.toString(), () -> SignatureHelper.validateSignature(archivo.toFile()));
+                }
+            });
+        }
+    }
+
+    /**
+     * @param xmls Contenido XML de los Documentos Electrónicos. El stream se cierra al finalizar.
+     * @return Resultado de cada documento; el origen es la posición del documento en el stream, comenzando por 1.
+     * @throws SifenException Si la validación fue interrumpida.
+     */
+    public List<Resultado> validarXml(Stream<String> xmls) throws SifenException {
+        try (Stream<String> stream = xmls) {
+            Iterator<String> iterator = stream.iterator();
+            return validar(new Iterator<Tarea>() {
+                private int posicion;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Tarea next() {
+                    String xml = iterator.next();
+                    return new Tarea(String.valueOf(++posicion), () -> SignatureHelper.validateSignature(xml, "XML"));
+                }
+            });
+        }
+    }
+
+    private List<Resultado> validar(Iterator<Tarea> tareas) throws SifenException {
+        long inicio = System.nanoTime();
+        List<Resultado> resultados;
+        try {
+            resultados = ParallelHelper.map(tareas, paralelismo, "sifen-validador", Tarea::ejecutar);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw SifenExceptionUtil.unexpectedError("La validación de firmas fue interrumpida", e);
+        } catch (ExecutionException e) {
+            throw SifenExceptionUtil.unexpectedError("Ocurrió un error al validar las firmas", e.getCause());
+        }
+
+        long validos = resultados.stream().filter(r -> r.getValidez().isValido()).count();
+        long duracionMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        logger.info("Validación de firmas finalizada: " + resultados.size() + " DE, " + validos + " válidos, " +
+                (resultados.size() - validos) + " inválidos, en " + duracionMillis + " ms");
+        return resultados;
+    }
+
+    public int getParalelismo() {
+        return paralelismo;
+    }
+
+    private static class Tarea {
+        private final String origen;
+        private final Supplier<ValidezFirmaDigital> validacion;
+
+        private Tarea(String origen, Supplier<ValidezFirmaDigital> validacion) {
+            this.origen = origen;
+            this.validacion = validacion;
+        }
+
+        private Resultado ejecutar() {
+            long inicio = System.nanoTime();
+            ValidezFirmaDigital validez;
+            try {
+                validez = validacion.get();
+            } catch (RuntimeException e) {
+                logger.warning("Ocurrió un error al validar la firma de " + origen + ": " + e);
+                validez = ValidezFirmaDigital.create(false, "Ocurrió un error al validar la firma " +
+                        "digital del Documento Electrónico.");
+            }
+            return new Resultado(origen, validez, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicio));
+        }
+    }
+
+    /**
+     * Resultado de la validación de un documento.
+     */
+    public static class Resultado {
+        private final String origen;
+        private final ValidezFirmaDigital validez;
+        private final long duracionMicros;
+
+        Resultado(String origen, ValidezFirmaDigital validez, long duracionMicros) {
+            this.origen = origen;
+            this.validez = validez;
+            this.duracionMicros = duracionMicros;
+        }
+
+        /**
+         * @return Ruta del archivo, o posición del documento en el stream.
+         */
+        public String getOrigen() {
+            return origen;
+        }
+
+        public ValidezFirmaDigital getValidez() {
+            return validez;
+        }
+
+        /**
+         * @return Tiempo de lectura y validación del documento, en microsegundos.
+         */
+        public long getDuracionMicros() {
+            return duracionMicros;
+        }
+
+        @Override
+        public String toString() {
+            return origen + ": " + (validez.isValido() ? "válido" : validez.getMotivoInvalidez()) +
+                    " (" + duracionMicros + " µs)";
+        }
+    }
+}
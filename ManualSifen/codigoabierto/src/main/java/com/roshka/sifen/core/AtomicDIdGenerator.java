@@ -0,0 +1,48 @@
+package com.roshka.sifen.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generador de dId por defecto, sin bloqueos.<br>
+ * Cada dId se compone del número de nodo en los 2 primeros dígitos y de una secuencia de 13 dígitos que nunca queda
+ * por detrás del reloj, en milisegundos: {@code nodo * 10^13 + max(anterior + 1, ahora)}. De esta forma los dId no
+ * se repiten entre hilos, entre nodos con distinto número, ni luego de reiniciar la aplicación, salvo que antes del
+ * reinicio se haya generado en promedio más de un dId por milisegundo.
+ */
+public class AtomicDIdGenerator implements DIdGenerator {
+    /**
+     * Número de nodo máximo admitido.
+     */
+    public static final int NODO_MAXIMO = 99;
+
+    private static final long SEQUENCE_LIMIT = 10_000_000_000_000L;
+
+    private final long nodeOffset;
+    private final AtomicLong sequence;
+
+    /**
+     * Crea un generador para el nodo 0.
+     */
+    public AtomicDIdGenerator() {
+        this(0);
+    }
+
+    /**
+     * @param nodo Número de nodo, entre 0 y {@link #NODO_MAXIMO}. Cada instancia de la aplicación que comparta el
+     *             mismo RUC debe utilizar un número distinto.
+     */
+    public AtomicDIdGenerator(int nodo) {
+        if (nodo < 0 || nodo > NODO_MAXIMO) {
+            throw new IllegalArgumentException("El número de nodo debe estar entre 0 y " + NODO_MAXIMO + ".");
+        }
+        this.nodeOffset = nodo * SEQUENCE_LIMIT;
+        this.sequence = new AtomicLong(System.currentTimeMillis() - 1);
+    }
+
+    @Override
+    public long generar() {
+        long now = System.currentTimeMillis();
+        long next = sequence.updateAndGet(last -> Math.max(last + 1, now));
+        return nodeOffset + next % SEQUENCE_LIMIT;
+    }
+}
@@ -0,0 +1,191 @@
+package com.roshka.sifen.core;
+
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.internal.util.SifenUtil;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Constructor del CDC (Código de Control) de los Documentos Electrónicos, pensado para calcular muchos CDC seguidos,
+ * por ejemplo, para asignar números de antemano o para conciliar documentos.<br>
+ * El CDC se arma sobre un buffer que se reutiliza entre llamadas, y el dígito verificador se calcula directamente
+ * sobre sus caracteres. Cada instancia debe utilizarse desde un solo hilo a la vez.
+ * <pre>
+ * CDCBuilder builder = new CDCBuilder()
+ *         .tipoDocumento(1).ruc("80089752", "2").tipoContribuyente(2).tipoEmision(1);
+ * for (int i = 1; i &lt;= 1000; i++) {
+ *     String cdc = builder.establecimiento("001").puntoExpedicion("001")
+ *             .numeroDocumento(SifenUtil.leftPad(String.valueOf(i), '0', 7))
+ *             .fechaEmision(fecha).codigoSeguridad(codigos[i])
+ *             .generar();
+ * }
+ * </pre>
+ */
+public class CDCBuilder {
+    /**
+     * Longitud del CDC, incluyendo el dígito verificador.
+     */
+    public static final int LONGITUD_CDC = 44;
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private final StringBuilder cdc = new StringBuilder(LONGITUD_CDC);
+
+    private int tipoDocumento;
+    private String ruc;
+    private String dvRuc;
+    private String establecimiento;
+    private String puntoExpedicion;
+    private String numeroDocumento;
+    private int tipoContribuyente;
+    private LocalDate fechaEmision;
+    private int tipoEmision;
+    private String codigoSeguridad;
+
+    /**
+     * Establece todos los campos del CDC a partir del Documento Electrónico.
+     *
+     * @param de Documento Electrónico.
+     * @return Este mismo constructor.
+     * @throws NullPointerException Si falta alguno de los grupos o de los tipos necesarios para el CDC.
+     */
+    public CDCBuilder desde(DocumentoElectronico de) {
+        return this.tipoDocumento(de.getgTimb().getiTiDE().getVal())
+                .ruc(de.getgDatGralOpe().getgEmis().getdRucEm(), de.getgDatGralOpe().getgEmis().getdDVEmi())
+                .establecimiento(de.getgTimb().getdEst())
+                .puntoExpedicion(de.getgTimb().getdPunExp())
+                .numeroDocumento(de.getgTimb().getdNumDoc())
+                .tipoContribuyente(de.getgDatGralOpe().getgEmis().getiTipCont().getVal())
+                .fechaEmision(de.getgDatGralOpe().getdFeEmiDE())
+                .tipoEmision(de.getgOpeDE().getiTipEmi().getVal())
+                .codigoSeguridad(de.getgOpeDE().getdCodSeg());
+    }
+
+    /**
+     * @param iTiDE Tipo de Documento Electrónico (C002).
+     */
+    public CDCBuilder tipoDocumento(int iTiDE) {
+        this.tipoDocumento = iTiDE;
+        return this;
+    }
+
+    /**
+     * @param dRucEm RUC del emisor, sin el dígito verificador (D101).
+     * @param dDVEmi Dígito verificador del RUC del emisor (D102).
+     */
+    public CDCBuilder ruc(String dRucEm, String dDVEmi) {
+        this.ruc = dRucEm;
+        this.dvRuc = dDVEmi;
+        return this;
+    }
+
+    /**
+     * @param dEst Establecimiento, de 3 dígitos (C005).
+     */
+    public CDCBuilder establecimiento(String dEst) {
+        this.establecimiento = dEst;
+        return this;
+    }
+
+    /**
+     * @param dPunExp Punto de expedición, de 3 dígitos (C006).
+     */
+    public CDCBuilder puntoExpedicion(String dPunExp) {
+        this.puntoExpedicion = dPunExp;
+        return this;
+    }
+
+    /**
+     * @param dNumDoc Número del documento, de 7 dígitos (C007).
+     */
+    public CDCBuilder numeroDocumento(String dNumDoc) {
+        this.numeroDocumento = dNumDoc;
+        return this;
+    }
+
+    /**
+     * @param iTipCont Tipo de contribuyente del emisor (D103).
+     */
+    public CDCBuilder tipoContribuyente(int iTipCont) {
+        this.tipoContribuyente = iTipCont;
+        return this;
+    }
+
+    /**
+     * @param dFeEmiDE Fecha de emisión del DE (D002).
+     */
+    public CDCBuilder fechaEmision(LocalDate dFeEmiDE) {
+        this.fechaEmision = dFeEmiDE;
+        return this;
+    }
+
+    /**
+     * @param dFeEmiDE Fecha y hora de emisión del DE (D002). Solamente se utiliza la fecha.
+     */
+    public CDCBuilder fechaEmision(LocalDateTime dFeEmiDE) {
+        this.fechaEmision = dFeEmiDE.toLocalDate();
+        return this;
+    }
+
+    /**
+     * @param iTipEmi Tipo de emisión (B002).
+     */
+    public CDCBuilder tipoEmision(int iTipEmi) {
+        this.tipoEmision = iTipEmi;
+        return this;
+    }
+
+    /**
+     * @param dCodSeg Código de seguridad, de 9 dígitos (B004).
+     */
+    public CDCBuilder codigoSeguridad(String dCodSeg) {
+        this.codigoSeguridad = dCodSeg;
+        return this;
+    }
+
+    /**
+     * Genera el CDC con los campos establecidos. Los campos se mantienen, por lo que solo es necesario cambiar los que
+     * varían de un documento a otro.
+     *
+     * @return CDC de 44 dígitos, con el dígito verificador al final.
+     * @throws NumberFormatException Si alguno de los campos contiene caracteres que no son dígitos.
+     */
+    public String generar() {
+        cdc.setLength(0);
+        if (tipoDocumento >= 0 && tipoDocumento < 10) {
+            cdc.append('0');
+        }
+        cdc.append(tipoDocumento);
+        SifenUtil.appendLeftPad(cdc, ruc, '0', 8);
+        cdc.append(dvRuc)
+                .append(establecimiento)
+                .append(puntoExpedicion)
+                .append(numeroDocumento)
+                .append(tipoContribuyente);
+        appendFecha();
+        cdc.append(tipoEmision)
+                .append(codigoSeguridad);
+
+        cdc.append(SifenUtil.calculateDv(cdc));
+        return cdc.toString();
+    }
+
+    private void appendFecha() {
+        int year = fechaEmision.getYear();
+        if (year < 1 || year > 9999) {
+            cdc.append(fechaEmision.format(DATE_FORMATTER));
+            return;
+        }
+        appendDigits(year, 4);
+        appendDigits(fechaEmision.getMonthValue(), 2);
+        appendDigits(fechaEmision.getDayOfMonth(), 2);
+    }
+
+    private void appendDigits(int value, int digits) {
+        for (int divisor = digits == 4 ? 1000 : 10; divisor > 0; divisor /= 10) {
+            cdc.append((char) ('0' + value / divisor % 10));
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.roshka.sifen.core;
+
+/**
+ * Fuente de los identificadores de control de envío (dId) de las peticiones a Sifen.<br>
+ * Las implementaciones deben ser seguras para su uso desde varios hilos, y retornar valores entre 1 y
+ * {@link #DID_MAXIMO}, ya que Sifen admite hasta 15 dígitos. Para que los dId sean únicos entre varios nodos, por
+ * ejemplo, puede implementarse sobre una secuencia de base de datos.
+ *
+ * @see AtomicDIdGenerator
+ */
+@FunctionalInterface
+public interface DIdGenerator {
+    /**
+     * Valor máximo de un dId: 15 dígitos.
+     */
+    long DID_MAXIMO = 999_999_999_999_999L;
+
+    /**
+     * @return El siguiente dId a utilizar.
+     */
+    long generar();
+}
@@ -0,0 +1,599 @@
+package com.roshka.sifen.core;
+
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.util.SifenExceptionUtil;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Índice local de los RUC publicados por la DNIT, para validar un RUC y obtener la razón social y el estado del
+ * contribuyente sin consultar a Sifen.<br>
+ * El índice se construye con {@link #construir(List, Path)} a partir de los archivos de la exportación de RUC de la
+ * DNIT ({@code ruc0.txt} a {@code ruc9.txt}, o los ZIP que los contienen), cuyas líneas tienen el formato
+ * {@code RUC|RAZÓN SOCIAL|DV|CÓDIGO|ESTADO|}, en UTF-8. El resultado es un archivo con los RUC ordenados, que se abre
+ * mapeado en memoria: las búsquedas se resuelven con una búsqueda binaria sobre el archivo, sin cargarlo en el heap.
+ * <br>
+ * Una misma instancia puede utilizarse desde varios hilos. Cuando se publica una nueva exportación,
+ * {@link #actualizar(List)} reconstruye el índice en un archivo versionado nuevo ({@code ruc.idx.1},
+ * {@code ruc.idx.2}, etc.) y pasa a utilizarlo; las búsquedas en curso continúan sobre el índice anterior hasta que el
+ * nuevo está listo. Un archivo mapeado no se reemplaza ni se modifica, ya que en Windows no es posible hacerlo mientras
+ * esté abierto: las versiones anteriores se eliminan luego, cuando ya no están en uso.
+ * <pre>
+ * IndiceRUC indice = new IndiceRUC(Paths.get("ruc.idx"));
+ * indice.actualizar(archivosDnit); // Solo reconstruye si alguno de los archivos es más nuevo que el índice
+ * IndiceRUC.Contribuyente c = indice.buscar("80089752");
+ * </pre>
+ */
+public class IndiceRUC {
+    private final static Logger logger = Logger.getLogger(IndiceRUC.class.toString());
+
+    /*
+     * Formato del archivo (enteros big-endian):
+     *  - Cabecera: "SIFENRUC", versión, cantidad de RUC, posición de la tabla de estados y 4 bytes reservados.
+     *  - RUC ordenados, un int por RUC.
+     *  - Posición del registro de cada RUC, un int por RUC.
+     *  - Registros: DV (1 byte), índice del estado (1 byte), longitud de la razón social (2 bytes) y razón social.
+     *  - Tabla de estados: cantidad (1 byte) y, por cada estado, longitud (2 bytes) y texto.
+     */
+    private static final byte[] MAGIC = "SIFENRUC".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 24;
+    private static final int MAX_NAME_LENGTH = 0xFFFF;
+    private static final int MAX_ESTADOS = 0xFF;
+    private static final int MAX_LINEAS_REGISTRADAS = 20;
+
+    private final Path archivo;
+    private volatile Mapa mapa;
+
+    /**
+     * Abre la última versión del índice, si existe: el archivo versionado más reciente ({@code archivo.N}) o, si no
+     * hay versiones, el archivo indicado. Si no existe ninguno, el índice está vacío hasta que se construya con
+     * {@link #actualizar(List)}.
+     *
+     * @param archivo Archivo del índice.
+     * @throws SifenException Si el archivo existe pero no pudo leerse o no es un índice de RUC.
+     */
+    public IndiceRUC(Path archivo) throws SifenException {
+        this.archivo = archivo;
+        Path actual = buscarArchivoActual();
+        this.mapa = actual != null ? Mapa.abrir(actual) : Mapa.VACIO;
+    }
+
+    /**
+     * Busca un RUC en el índice.
+     *
+     * @param ruc RUC del contribuyente, sin el DV. Si se incluye el DV separado por un guion, este se ignora.
+     * @return Datos del contribuyente, o null si el RUC no se encuentra en el índice o no es numérico.
+     */
+    public Contribuyente buscar(String ruc) {
+        int numero = parseRuc(ruc);
+        return numero < 0 ? null : mapa.buscar(numero);
+    }
+
+    /**
+     * Verifica que el RUC exista en el índice y que su DV sea el indicado.
+     *
+     * @param rucConDv RUC y DV, separados por un guion. Por ejemplo: "80089752-2".
+     * @return true si el RUC existe y el DV coincide.
+     */
+    public boolean esValido(String rucConDv) {
+        int guion = rucConDv == null ? -1 : rucConDv.indexOf('-');
+        if (guion < 0) {
+            return false;
+        }
+        Contribuyente contribuyente = buscar(rucConDv.substring(0, guion));
+        return contribuyente != null && rucConDv.substring(guion + 1).trim().equals(String.valueOf(contribuyente.getDv()));
+    }
+
+    /**
+     * @return Cantidad de RUC en el índice.
+     */
+    public int getCantidad() {
+        return mapa.cantidad;
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    /**
+     * @return Archivo en uso por el índice: la última versión construida, o null si el índice está vacío.
+     */
+    public Path getArchivoActual() {
+        return mapa.archivo;
+    }
+
+    /**
+     * Reconstruye el índice si alguno de los archivos de la exportación es más nuevo que el índice, y luego lo
+     * recarga. El índice nuevo se escribe en una versión nueva del archivo; las versiones anteriores se eliminan si ya
+     * no están en uso.
+     *
+     * @param archivosExportacion Archivos de la exportación de RUC de la DNIT, en texto o en ZIP.
+     * @return true si el índice fue reconstruido.
+     * @throws SifenException Si algún archivo no pudo leerse o el índice no pudo escribirse.
+     */
+    public boolean actualizar(List<Path> archivosExportacion) throws SifenException {
+        synchronized (this) {
+            try {
+                Path actual = buscarArchivoActual();
+                if (actual != null) {
+                    long indice = Files.getLastModifiedTime(actual).toMillis();
+                    boolean desactualizado = false;
+                    for (Path exportacion : archivosExportacion) {
+                        desactualizado |= Files.getLastModifiedTime(exportacion).toMillis() > indice;
+                    }
+                    if (!desactualizado) {
+                        recargar();
+                        return false;
+                    }
+                }
+            } catch (IOException e) {
+                throw SifenExceptionUtil.unexpectedError("No se pudo leer la fecha de los archivos de RUC", e);
+            }
+
+            construir(archivosExportacion, siguienteVersion());
+            recargar();
+            return true;
+        }
+    }
+
+    /**
+     * Vuelve a abrir el índice si hay una versión más nueva que la que está en uso, por ejemplo, porque otra instancia
+     * u otro proceso lo reconstruyó. Luego intenta eliminar las versiones anteriores.
+     *
+     * @return true si el índice fue recargado.
+     * @throws SifenException Si el archivo no pudo leerse o no es un índice de RUC.
+     */
+    public boolean recargar() throws SifenException {
+        synchronized (this) {
+            Path actual = buscarArchivoActual();
+            boolean recargado = false;
+            if (actual != null && !mapa.esActual(actual)) {
+                mapa = Mapa.abrir(actual);
+                logger.info("Índice de RUC cargado desde " + actual + ": " + mapa.cantidad + " contribuyentes");
+                recargado = true;
+            }
+            eliminarVersionesAnteriores();
+            return recargado;
+        }
+    }
+
+    /**
+     * @return La versión más reciente del índice; si no hay versiones, el archivo del índice; o null si no existe
+     * ninguno.
+     */
+    private Path buscarArchivoActual() throws SifenException {
+        long version = ultimaVersion();
+        if (version > 0) {
+            return archivoVersion(version);
+        }
+        return Files.isRegularFile(archivo) ? archivo : null;
+    }
+
+    private Path siguienteVersion() throws SifenException {
+        return archivoVersion(ultimaVersion() + 1);
+    }
+
+    private Path archivoVersion(long version) {
+        return archivo.resolveSibling(archivo.getFileName() + "." + version);
+    }
+
+    private long ultimaVersion() throws SifenException {
+        SortedMap<Long, Path> versiones = listarVersiones();
+        return versiones.isEmpty() ? 0 : versiones.lastKey();
+    }
+
+    private SortedMap<Long, Path> listarVersiones() throws SifenException {
+        SortedMap<Long, Path> versiones = new TreeMap<>();
+        Path directorio = archivo.toAbsolutePath().getParent();
+        String prefijo = archivo.getFileName() + ".";
+        if (!Files.isDirectory(directorio)) {
+            return versiones;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directorio, prefijo + "*")) {
+            for (Path path : stream) {
+                String sufijo = path.getFileName().toString().substring(prefijo.length());
+                if (!sufijo.isEmpty() && sufijo.length() < 19 && sufijo.chars().allMatch(Character::isDigit) && Files.isRegularFile(path)) {
+                    versiones.put(Long.parseLong(sufijo), archivo.resolveSibling(path.getFileName()));
+                }
+            }
+        } catch (IOException e) {
+            throw SifenExceptionUtil.unexpectedError("No se pudieron listar las versiones del índice de RUC " + archivo, e);
+        }
+        return versiones;
+    }
+
+    /**
+     * Elimina las versiones anteriores a la que está en uso. Si alguna sigue mapeada por otra instancia (en Windows
+     * no puede eliminarse), se vuelve a intentar en la siguiente recarga.
+     */
+    private void eliminarVersionesAnteriores() throws SifenException {
+        Path actual = mapa.archivo;
+        if (actual == null) {
+            return;
+        }
+        List<Path> anteriores = new ArrayList<>();
+        for (Path version : listarVersiones().values()) {
+            if (version.equals(actual)) {
+                break;
+            }
+            anteriores.add(version);
+        }
+        if (!actual.equals(archivo) && Files.isRegularFile(archivo)) {
+            anteriores.add(archivo);
+        }
+        for (Path anterior : anteriores) {
+            try {
+                Files.deleteIfExists(anterior);
+            } catch (IOException e) {
+                logger.fine("La versión anterior del índice de RUC " + anterior + " sigue en uso, se eliminará luego: " + e.getLocalizedMessage());
+            }
+        }
+    }
+
+    /**
+     * Construye el archivo del índice a partir de la exportación de RUC de la DNIT. Las líneas que no tienen un RUC
+     * numérico o un DV se omiten, y se registran en el log. Si un RUC se repite, se conserva el último.<br>
+     * El índice se escribe primero en un archivo temporal, que luego reemplaza al archivo de destino. En Windows, el
+     * destino no puede ser un archivo abierto por un {@link IndiceRUC}; para reconstruir un índice en uso, utilizar
+     * {@link #actualizar(List)}, que escribe una versión nueva.
+     *
+     * @param archivosExportacion Archivos de la exportación, en texto o en ZIP (se leen las entradas .txt).
+     * @param destino             Archivo del índice.
+     * @return Cantidad de RUC en el índice.
+     * @throws SifenException Si algún archivo no pudo leerse o el índice no pudo escribirse.
+     */
+    public static int construir(List<Path> archivosExportacion, Path destino) throws SifenException {
+        long inicio = System.currentTimeMillis();
+        Path absoluto = destino.toAbsolutePath();
+        Path registros = null;
+        Path temporal = null;
+        try {
+            registros = Files.createTempFile(absoluto.getParent(), "ruc", ".dat");
+            temporal = Files.createTempFile(absoluto.getParent(), "ruc", ".tmp");
+
+            Lector lector = new Lector();
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(registros), 1 << 16))) {
+                lector.salida = out;
+                for (Path exportacion : archivosExportacion) {
+                    lector.leer(exportacion);
+                }
+            }
+
+            // RUC en los 32 bits altos y posición en los bajos: al ordenar, un RUC repetido queda con su última línea al final
+            long[] pares = Arrays.copyOf(lector.pares, lector.cantidad);
+            Arrays.sort(pares);
+            int cantidad = 0;
+            for (int i = 0; i < pares.length; i++) {
+                if (i + 1 < pares.length && (pares[i] >>> 32) == (pares[i + 1] >>> 32)) continue;
+                pares[cantidad++] = pares[i];
+            }
+
+            long posicionEstados = HEADER_LENGTH + 8L * cantidad + lector.posicion;
+            if (posicionEstados > Integer.MAX_VALUE) {
+                throw SifenExceptionUtil.unexpectedError("La exportación de RUC es demasiado grande para el índice", null);
+            }
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporal), 1 << 16))) {
+                out.write(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(cantidad);
+                out.writeInt((int) posicionEstados);
+                out.writeInt(0);
+                for (int i = 0; i < cantidad; i++) {
+                    out.writeInt((int) (pares[i] >>> 32));
+                }
+                int base = HEADER_LENGTH + 8 * cantidad;
+                for (int i = 0; i < cantidad; i++) {
+                    out.writeInt(base + (int) pares[i]);
+                }
+                Files.copy(registros, out);
+                out.writeByte(lector.estados.size());
+                for (String estado : lector.estados.keySet()) {
+                    byte[] bytes = estado.getBytes(StandardCharsets.UTF_8);
+                    out.writeShort(bytes.length);
+                    out.write(bytes);
+                }
+            }
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            String resumen = "Índice de RUC construido en " + destino + ": " + cantidad + " contribuyentes, " +
+                    lector.omitidas + " líneas omitidas, en " + (System.currentTimeMillis() - inicio) + " ms";
+            if (lector.omitidas > 0) {
+                logger.warning(resumen);
+            } else {
+                logger.info(resumen);
+            }
+            return cantidad;
+        } catch (IOException e) {
+            throw SifenExceptionUtil.unexpectedError("No se pudo construir el índice de RUC " + destino, e);
+        } finally {
+            eliminar(registros);
+            eliminar(temporal);
+        }
+    }
+
+    private static void eliminar(Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * @return El RUC como número, o -1 si no es numérico o no entra en el índice.
+     */
+    private static int parseRuc(CharSequence ruc) {
+        if (ruc == null) return -1;
+        int inicio = 0, fin = ruc.length();
+        while (inicio < fin && ruc.charAt(inicio) == ' ') inicio++;
+        while (fin > inicio && ruc.charAt(fin - 1) == ' ') fin--;
+        for (int i = inicio; i < fin; i++) {
+            if (ruc.charAt(i) == '-') {
+                fin = i;
+                break;
+            }
+        }
+        if (inicio == fin || fin - inicio > 10) return -1;
+
+        long numero = 0;
+        for (int i = inicio; i < fin; i++) {
+            int digito = Character.digit(ruc.charAt(i), 10);
+            if (digito < 0) return -1;
+            numero = numero * 10 + digito;
+        }
+        return numero > Integer.MAX_VALUE ? -1 : (int) numero;
+    }
+
+    /**
+     * Lee las líneas de la exportación y escribe un registro por cada línea válida.
+     */
+    private static class Lector {
+        private DataOutputStream salida;
+        private final Map<String, Integer> estados = new LinkedHashMap<>();
+        private long[] pares = new long[1 << 16];
+        private int cantidad;
+        private long posicion;
+        private long omitidas;
+
+        private void leer(Path exportacion) throws IOException, SifenException {
+            if (exportacion.getFileName().toString().toLowerCase().endsWith(".zip")) {
+                try (InputStream is = Files.newInputStream(exportacion); ZipInputStream zip = new ZipInputStream(is)) {
+                    ZipEntry entrada;
+                    while ((entrada = zip.getNextEntry()) != null) {
+                        if (!entrada.isDirectory() && entrada.getName().toLowerCase().endsWith(".txt")) {
+                            leer(new BufferedReader(new InputStreamReader(zip, StandardCharsets.UTF_8), 1 << 16),
+                                    exportacion.getFileName() + "!" + entrada.getName());
+                        }
+                    }
+                }
+            } else {
+                try (BufferedReader reader = Files.newBufferedReader(exportacion, StandardCharsets.UTF_8)) {
+                    leer(reader, exportacion.getFileName().toString());
+                }
+            }
+        }
+
+        private void leer(BufferedReader reader, String origen) throws IOException, SifenException {
+            String linea;
+            long numeroLinea = 0;
+            while ((linea = reader.readLine()) != null) {
+                numeroLinea++;
+                // RUC|RAZÓN SOCIAL|DV|CÓDIGO|ESTADO|
+                int p1 = linea.indexOf('|');
+                int p2 = p1 < 0 ? -1 : linea.indexOf('|', p1 + 1);
+                int p3 = p2 < 0 ? -1 : linea.indexOf('|', p2 + 1);
+                int p4 = p3 < 0 ? -1 : linea.indexOf('|', p3 + 1);
+                if (p4 < 0) {
+                    omitir(origen, numeroLinea, "no tiene el formato RUC|RAZÓN SOCIAL|DV|CÓDIGO|ESTADO|", linea);
+                    continue;
+                }
+                int p5 = linea.indexOf('|', p4 + 1);
+
+                int ruc = parseRuc(linea.substring(0, p1));
+                String dv = linea.substring(p2 + 1, p3).trim();
+                if (ruc < 0) {
+                    omitir(origen, numeroLinea, "el RUC no es numérico o supera el máximo del índice (" + Integer.MAX_VALUE + ")", linea);
+                    continue;
+                }
+                if (dv.length() != 1 || !Character.isDigit(dv.charAt(0))) {
+                    omitir(origen, numeroLinea, "el DV no es un dígito", linea);
+                    continue;
+                }
+                String estado = linea.substring(p4 + 1, p5 < 0 ? linea.length() : p5).trim();
+                byte[] razonSocial = linea.substring(p1 + 1, p2).trim().getBytes(StandardCharsets.UTF_8);
+                int longitud = Math.min(razonSocial.length, MAX_NAME_LENGTH);
+
+                Integer indiceEstado = estados.get(estado);
+                if (indiceEstado == null) {
+                    if (estados.size() == MAX_ESTADOS) {
+                        throw SifenExceptionUtil.unexpectedError("La exportación de RUC tiene demasiados estados distintos", null);
+                    }
+                    indiceEstado = estados.size();
+                    estados.put(estado, indiceEstado);
+                }
+
+                if (cantidad == pares.length) {
+                    pares = Arrays.copyOf(pares, pares.length * 2);
+                }
+                if (posicion > Integer.MAX_VALUE) {
+                    throw SifenExceptionUtil.unexpectedError("La exportación de RUC es demasiado grande para el índice", null);
+                }
+                pares[cantidad++] = ((long) ruc << 32) | posicion;
+
+                salida.writeByte(dv.charAt(0) - '0');
+                salida.writeByte(indiceEstado);
+                salida.writeShort(longitud);
+                salida.write(razonSocial, 0, longitud);
+                posicion += 4 + longitud;
+            }
+        }
+
+        /**
+         * Cuenta una línea omitida. Las primeras se registran como advertencias, y las demás con el nivel FINE, para no
+         * llenar el log con una exportación dañada.
+         */
+        private void omitir(String origen, long numeroLinea, String motivo, String linea) {
+            omitidas++;
+            String mensaje = "Línea " + numeroLinea + " de " + origen + " omitida del índice de RUC, " + motivo + ": " + linea;
+            if (omitidas <= MAX_LINEAS_REGISTRADAS) {
+                logger.warning(mensaje);
+            } else {
+                logger.fine(mensaje);
+            }
+        }
+    }
+
+    /**
+     * Archivo del índice mapeado en memoria. Solo se realizan lecturas absolutas sobre el buffer compartido, que no
+     * modifican su estado, por lo que puede consultarse desde varios hilos.
+     */
+    private static class Mapa {
+        private static final Mapa VACIO = new Mapa(null, null, 0, new String[0], -1, -1);
+
+        private final Path archivo;
+        private final ByteBuffer buffer;
+        private final int cantidad;
+        private final String[] estados;
+        private final long modificado;
+        private final long tamano;
+
+        private Mapa(Path archivo, ByteBuffer buffer, int cantidad, String[] estados, long modificado, long tamano) {
+            this.archivo = archivo;
+            this.buffer = buffer;
+            this.cantidad = cantidad;
+            this.estados = estados;
+            this.modificado = modificado;
+            this.tamano = tamano;
+        }
+
+        private static Mapa abrir(Path archivo) throws SifenException {
+            try (FileChannel channel = FileChannel.open(archivo, StandardOpenOption.READ)) {
+                BasicFileAttributes atributos = Files.readAttributes(archivo, BasicFileAttributes.class);
+                long tamano = channel.size();
+                if (tamano < HEADER_LENGTH || tamano > Integer.MAX_VALUE) {
+                    throw SifenExceptionUtil.unexpectedError("El archivo " + archivo + " no es un índice de RUC válido", null);
+                }
+
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, tamano);
+                byte[] magic = new byte[MAGIC.length];
+                buffer.get(magic);
+                if (!Arrays.equals(magic, MAGIC) || buffer.getInt(8) != VERSION) {
+                    throw SifenExceptionUtil.unexpectedError("El archivo " + archivo + " no es un índice de RUC válido", null);
+                }
+                int cantidad = buffer.getInt(12);
+                int posicionEstados = buffer.getInt(16);
+
+                ByteBuffer tabla = buffer.duplicate();
+                tabla.position(posicionEstados);
+                String[] estados = new String[tabla.get() & 0xFF];
+                for (int i = 0; i < estados.length; i++) {
+                    byte[] bytes = new byte[tabla.getShort() & 0xFFFF];
+                    tabla.get(bytes);
+                    estados[i] = new String(bytes, StandardCharsets.UTF_8);
+                }
+
+                return new Mapa(archivo, buffer, cantidad, estados, atributos.lastModifiedTime().toMillis(), tamano);
+            } catch (IOException | RuntimeException e) {
+                throw SifenExceptionUtil.unexpectedError("No se pudo abrir el índice de RUC " + archivo, e);
+            }
+        }
+
+        private boolean esActual(Path archivo) {
+            if (!archivo.equals(this.archivo)) {
+                return false;
+            }
+            try {
+                BasicFileAttributes atributos = Files.readAttributes(archivo, BasicFileAttributes.class);
+                return atributos.lastModifiedTime().toMillis() == modificado && atributos.size() == tamano;
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        private Contribuyente buscar(int ruc) {
+            int desde = 0, hasta = cantidad - 1;
+            while (desde <= hasta) {
+                int medio = (desde + hasta) >>> 1;
+                int valor = buffer.getInt(HEADER_LENGTH + 4 * medio);
+                if (valor < ruc) {
+                    desde = medio + 1;
+                } else if (valor > ruc) {
+                    hasta = medio - 1;
+                } else {
+                    int posicion = buffer.getInt(HEADER_LENGTH + 4 * cantidad + 4 * medio);
+                    int dv = buffer.get(posicion);
+                    String estado = estados[buffer.get(posicion + 1) & 0xFF];
+                    byte[] razonSocial = new byte[buffer.getShort(posicion + 2) & 0xFFFF];
+                    ByteBuffer registro = buffer.duplicate();
+                    registro.position(posicion + 4);
+                    registro.get(razonSocial);
+                    return new Contribuyente(String.valueOf(ruc), dv, new String(razonSocial, StandardCharsets.UTF_8), estado);
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Datos de un contribuyente según la exportación de RUC de la DNIT.
+     */
+    public static class Contribuyente {
+        private final String ruc;
+        private final int dv;
+        private final String razonSocial;
+        private final String estado;
+
+        private Contribuyente(String ruc, int dv, String razonSocial, String estado) {
+            this.ruc = ruc;
+            this.dv = dv;
+            this.razonSocial = razonSocial;
+            this.estado = estado;
+        }
+
+        /**
+         * @return RUC, sin el DV.
+         */
+        public String getRuc() {
+            return ruc;
+        }
+
+        public int getDv() {
+            return dv;
+        }
+
+        /**
+         * @return RUC y DV separados por un guion, por ejemplo, "80089752-2".
+         */
+        public String getRucConDv() {
+            return ruc + "-" + dv;
+        }
+
+        public String getRazonSocial() {
+            return razonSocial;
+        }
+
+        /**
+         * @return Estado del contribuyente tal como figura en la exportación, por ejemplo, "ACTIVO".
+         */
+        public String getEstado() {
+            return estado;
+        }
+
+        @Override
+        public String toString() {
+            return getRucConDv() + " " + razonSocial + " (" + estado + ")";
+        }
+    }
+}
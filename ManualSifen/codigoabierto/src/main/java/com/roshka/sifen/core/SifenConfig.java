@@ -34,6 +34,11 @@ import static com.roshka.sifen.internal.Constants.SDK_CURRENT_VERSION;
  *
  *      <li>tipoCertificadoCliente (TipoCertificadoCliente): Tipo de archivo del certificado. Solo PFX es soportado
  *      actualmente.</li>
+ *
+ *      <li>motorXml (MotorXml): Motor utilizado para generar el XML de los Documentos Electrónicos. Por defecto SAAJ.</li>
+ *
+ *      <li>capturaPeticion (CapturaPeticion): Define cuándo se conserva el XML enviado en la respuesta
+ *      ({@code getRequestSent()}). Por defecto SIEMPRE.</li>
  * </ul>
  */
 public class SifenConfig {
@@ -49,6 +54,20 @@ public class SifenConfig {
      */
     public enum TipoAmbiente {DEV, PROD}
 
+    /**
+     * Enum con los motores disponibles para la generación del XML de los Documentos Electrónicos. SAAJ construye
+     * el árbol DOM del mensaje SOAP, mientras que STREAMING escribe el XML directamente, sin pasar por DOM. Ambos
+     * generan exactamente el mismo XML.
+     */
+    public enum MotorXml {SAAJ, STREAMING}
+
+    /**
+     * Enum con los modos de captura del XML enviado en cada petición. NINGUNA no lo conserva, EN_ERROR lo conserva
+     * solamente si la respuesta tiene un código de estado HTTP distinto de 2xx, y SIEMPRE lo conserva en todas las
+     * respuestas. El XML se conserva tal como fue enviado, y se convierte a texto recién al consultarlo.
+     */
+    public enum CapturaPeticion {NINGUNA, EN_ERROR, SIEMPRE}
+
     // Atributos
     private static final String SIFEN_AMBIENTE_KEY = "sifen.ambiente";
     private TipoAmbiente ambiente;
@@ -70,6 +89,11 @@ public class SifenConfig {
     private static final String SIFEN_HABILITAR_NOTA_TECNICA_13_KEY = "sifen.habilitar_nota_tecnica_13";
     private boolean habilitarNotaTecnica13;
 
+    private static final String SIFEN_MOTOR_XML_KEY = "sifen.xml.motor";
+    private MotorXml motorXml;
+
+    private static final String SIFEN_CAPTURA_PETICION_KEY = "sifen.peticion.captura";
+    private CapturaPeticion capturaPeticion;
 
     private static final String SIFEN_USAR_CERTIFICADO_CLIENTE_KEY = "sifen.certificado_cliente.usar";
     private boolean usarCertificadoCliente;
@@ -89,6 +113,16 @@ public class SifenConfig {
     private final int httpReadTimeout;
     private final String userAgent;
 
+    private static final String SIFEN_HTTP_POOL_HABILITADO_KEY = "sifen.http.pool.habilitado";
+    private boolean httpPoolHabilitado;
+    private static final String SIFEN_HTTP_POOL_MAX_CONEXIONES_KEY = "sifen.http.pool.max_conexiones_por_host";
+    private int httpPoolMaxConexionesPorHost;
+    private static final String SIFEN_HTTP_POOL_TIEMPO_INACTIVIDAD_KEY = "sifen.http.pool.tiempo_inactividad";
+    private long httpPoolTiempoInactividad;
+
+    private static final String SIFEN_LOTE_PARALELISMO_KEY = "sifen.lote.paralelismo";
+    private int paralelismoLote;
+
     // Valores Finales
     private final String URL_BASE_DEV = "https://sifen-test.set.gov.py";
     private final String URL_BASE_PROD = "https://sifen.set.gov.py";
@@ -116,8 +150,14 @@ public class SifenConfig {
         this.httpConnectTimeout = 15 * 1000; // 15 Segundos
         this.httpReadTimeout = 45 * 1000; // 45 Segundos
         this.userAgent = "rshk-jsifenlib" + "/" + SDK_CURRENT_VERSION + " (LVEA)";
+        this.httpPoolHabilitado = true;
+        this.httpPoolMaxConexionesPorHost = 10;
+        this.httpPoolTiempoInactividad = 30 * 1000; // 30 Segundos
+        this.paralelismoLote = Runtime.getRuntime().availableProcessors();
 
         this.habilitarNotaTecnica13 = false;
+        this.motorXml = MotorXml.SAAJ;
+        this.capturaPeticion = CapturaPeticion.SIEMPRE;
     }
 
     public SifenConfig(TipoAmbiente tipoAmbiente, TipoCertificadoCliente tipoCertificadoCliente, String certificadoCliente,
@@ -186,6 +226,50 @@ public class SifenConfig {
             throw SifenExceptionUtil.invalidConfiguration("El valor de la propiedad " + SIFEN_HABILITAR_NOTA_TECNICA_13_KEY + " no es válido.", e);
         }
 
+        try {
+            if (propiedades.containsKey(SIFEN_MOTOR_XML_KEY)) {
+                sifenConfig.setMotorXml(MotorXml.valueOf(propiedades.getProperty(SIFEN_MOTOR_XML_KEY).trim()));
+            }
+        } catch (IllegalArgumentException e) {
+            throw SifenExceptionUtil.invalidConfiguration("El valor de la propiedad " + SIFEN_MOTOR_XML_KEY + " no es válido.", e);
+        }
+
+        try {
+            if (propiedades.containsKey(SIFEN_CAPTURA_PETICION_KEY)) {
+                sifenConfig.setCapturaPeticion(CapturaPeticion.valueOf(propiedades.getProperty(SIFEN_CAPTURA_PETICION_KEY).trim()));
+            }
+        } catch (IllegalArgumentException e) {
+            throw SifenExceptionUtil.invalidConfiguration("El valor de la propiedad " + SIFEN_CAPTURA_PETICION_KEY + " no es válido.", e);
+        }
+
+        if (propiedades.containsKey(SIFEN_HTTP_POOL_HABILITADO_KEY)) {
+            sifenConfig.setHttpPoolHabilitado(Boolean.parseBoolean(propiedades.getProperty(SIFEN_HTTP_POOL_HABILITADO_KEY).trim()));
+        }
+
+        try {
+            if (propiedades.containsKey(SIFEN_HTTP_POOL_MAX_CONEXIONES_KEY)) {
+                sifenConfig.setHttpPoolMaxConexionesPorHost(Integer.parseInt(propiedades.getProperty(SIFEN_HTTP_POOL_MAX_CONEXIONES_KEY).trim()));
+            }
+        } catch (IllegalArgumentException e) {
+            throw SifenExceptionUtil.invalidConfiguration("El valor de la propiedad " + SIFEN_HTTP_POOL_MAX_CONEXIONES_KEY + " no es válido.", e);
+        }
+
+        try {
+            if (propiedades.containsKey(SIFEN_HTTP_POOL_TIEMPO_INACTIVIDAD_KEY)) {
+                sifenConfig.setHttpPoolTiempoInactividad(Long.parseLong(propiedades.getProperty(SIFEN_HTTP_POOL_TIEMPO_INACTIVIDAD_KEY).trim()));
+            }
+        } catch (IllegalArgumentException e) {
+            throw SifenExceptionUtil.invalidConfiguration("El valor de la propiedad " + SIFEN_HTTP_POOL_TIEMPO_INACTIVIDAD_KEY + " no es válido.", e);
+        }
+
+        try {
+            if (propiedades.containsKey(SIFEN_LOTE_PARALELISMO_KEY)) {
+                sifenConfig.setParalelismoLote(Integer.parseInt(propiedades.getProperty(SIFEN_LOTE_PARALELISMO_KEY).trim()));
+            }
+        } catch (IllegalArgumentException e) {
+            throw SifenExceptionUtil.invalidConfiguration("El valor de la propiedad " + SIFEN_LOTE_PARALELISMO_KEY + " no es válido.", e);
+        }
+
         return sifenConfig;
     }
 
@@ -265,7 +349,13 @@ public class SifenConfig {
                 ", httpConnectTimeout=" + httpConnectTimeout +
                 ", httpReadTimeout=" + httpReadTimeout +
                 ", userAgent='" + userAgent + '\'' +
+                ", httpPoolHabilitado=" + httpPoolHabilitado +
+                ", httpPoolMaxConexionesPorHost=" + httpPoolMaxConexionesPorHost +
+                ", httpPoolTiempoInactividad=" + httpPoolTiempoInactividad +
+                ", paralelismoLote=" + paralelismoLote +
                 ", habilitarNotaTecnica13=" + habilitarNotaTecnica13 +
+                ", motorXml=" + motorXml +
+                ", capturaPeticion=" + capturaPeticion +
                 ", URL_BASE_DEV='" + URL_BASE_DEV + '\'' +
                 ", URL_BASE_PROD='" + URL_BASE_PROD + '\'' +
                 ", URL_CONSULTA_QR_DEV='" + URL_CONSULTA_QR_DEV + '\'' +
@@ -398,6 +488,70 @@ public class SifenConfig {
         return userAgent;
     }
 
+    public boolean isHttpPoolHabilitado() {
+        return httpPoolHabilitado;
+    }
+
+    /**
+     * Establece si las peticiones utilizan el pool de conexiones persistentes (por defecto) o una conexión
+     * {@link java.net.HttpURLConnection} por petición. Sin el pool, se aplican todas las opciones de red de la JVM,
+     * por ejemplo, un proxy que requiere autenticación.
+     *
+     * @param httpPoolHabilitado Verdadero para utilizar el pool de conexiones.
+     */
+    public void setHttpPoolHabilitado(boolean httpPoolHabilitado) {
+        this.httpPoolHabilitado = httpPoolHabilitado;
+    }
+
+    public int getHttpPoolMaxConexionesPorHost() {
+        return httpPoolMaxConexionesPorHost;
+    }
+
+    /**
+     * Establece la cantidad máxima de conexiones simultáneas hacia un mismo host de Sifen.
+     *
+     * @param httpPoolMaxConexionesPorHost Cantidad de conexiones, mayor a cero.
+     */
+    public void setHttpPoolMaxConexionesPorHost(int httpPoolMaxConexionesPorHost) {
+        if (httpPoolMaxConexionesPorHost <= 0) {
+            throw new IllegalArgumentException("La cantidad máxima de conexiones debe ser mayor a cero.");
+        }
+        this.httpPoolMaxConexionesPorHost = httpPoolMaxConexionesPorHost;
+    }
+
+    public long getHttpPoolTiempoInactividad() {
+        return httpPoolTiempoInactividad;
+    }
+
+    /**
+     * Establece el tiempo, en milisegundos, luego del cual se cierra una conexión persistente que no fue utilizada.
+     *
+     * @param httpPoolTiempoInactividad Tiempo en milisegundos, mayor a cero.
+     */
+    public void setHttpPoolTiempoInactividad(long httpPoolTiempoInactividad) {
+        if (httpPoolTiempoInactividad <= 0) {
+            throw new IllegalArgumentException("El tiempo de inactividad debe ser mayor a cero.");
+        }
+        this.httpPoolTiempoInactividad = httpPoolTiempoInactividad;
+    }
+
+    public int getParalelismoLote() {
+        return paralelismoLote;
+    }
+
+    /**
+     * Establece la cantidad de Documentos Electrónicos de un lote que se generan y firman en paralelo. Por defecto,
+     * la cantidad de procesadores disponibles.
+     *
+     * @param paralelismoLote Cantidad de hilos, mayor a cero. Con 1, el lote se genera en el hilo que lo envía.
+     */
+    public void setParalelismoLote(int paralelismoLote) {
+        if (paralelismoLote <= 0) {
+            throw new IllegalArgumentException("El paralelismo del lote debe ser mayor a cero.");
+        }
+        this.paralelismoLote = paralelismoLote;
+    }
+
     public String getIdCSC() {
         return idCSC;
     }
@@ -421,4 +575,20 @@ public class SifenConfig {
     public void setHabilitarNotaTecnica13(boolean habilitarNotaTecnica13) {
         this.habilitarNotaTecnica13 = habilitarNotaTecnica13;
     }
+
+    public MotorXml getMotorXml() {
+        return motorXml;
+    }
+
+    public void setMotorXml(MotorXml motorXml) {
+        this.motorXml = motorXml == null ? MotorXml.SAAJ : motorXml;
+    }
+
+    public CapturaPeticion getCapturaPeticion() {
+        return capturaPeticion;
+    }
+
+    public void setCapturaPeticion(CapturaPeticion capturaPeticion) {
+        this.capturaPeticion = capturaPeticion == null ? CapturaPeticion.SIEMPRE : capturaPeticion;
+    }
 }
@@ -1,6 +1,7 @@
 package com.roshka.sifen.core.beans;
 
 import com.roshka.sifen.Sifen;
+import com.roshka.sifen.core.CDCBuilder;
 import com.roshka.sifen.core.SifenConfig;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.core.fields.request.de.*;
@@ -9,11 +10,16 @@ import com.roshka.sifen.internal.Constants;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
 import com.roshka.sifen.internal.helpers.SignatureHelper;
 import com.roshka.sifen.internal.helpers.SoapHelper;
+import com.roshka.sifen.internal.helpers.XmlHelper;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenExceptionUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.xml.LightXmlElement;
+import com.roshka.sifen.internal.xml.SoapXmlElement;
+import com.roshka.sifen.internal.xml.StreamingSignature;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
@@ -23,14 +29,15 @@ import org.xml.sax.SAXException;
 import javax.xml.crypto.dsig.Reference;
 import javax.xml.crypto.dsig.SignedInfo;
 import javax.xml.namespace.QName;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.soap.*;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.StringReader;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -38,6 +45,7 @@ import java.util.Base64;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.logging.Logger;
+import java.util.regex.Pattern;
 
 import static com.roshka.sifen.internal.Constants.SIFEN_CURRENT_VERSION;
 
@@ -61,6 +69,10 @@ public class DocumentoElectronico extends SifenObjectBase {
     private String enlaceQR;
     private final static Logger logger = Logger.getLogger(DocumentoElectronico.class.toString());
 
+    private static final Pattern WHITESPACE_BETWEEN_TAGS = Pattern.compile(">[\\s\r\n]*<");
+    private static final ThreadLocal<CDCBuilder> CDC_BUILDER = ThreadLocal.withInitial(CDCBuilder::new);
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
     /**
      * Constructor base del Documento Electrónico.
      */
@@ -75,45 +87,31 @@ public class DocumentoElectronico extends SifenObjectBase {
      *                        no pudo ser encontrado.
      */
     public DocumentoElectronico(String xml) throws SifenException {
-        xml = xml.replaceAll(">[\\s\r\n]*<", "><");
-
-        // Parseamos el xml
-        Document xmlDocument;
-        try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            xmlDocument = builder.parse(new InputSource(new StringReader(xml)));
-        } catch (ParserConfigurationException | IOException | SAXException e) {
-            throw SifenExceptionUtil.xmlParsingError("Se produjo un error al parsear el archivo XML. Formato incorrecto.");
-        }
-
-        // Obtenemos el nodo principal
-        Node mainNode = xmlDocument.getElementsByTagName("DE").item(0);
-
-        SifenObjectFactory.getFromNode(mainNode, this);
+        SifenObjectFactory.getFromNode(parseMainNode(xml), this);
         this.obtenerCDC();
     }
 
     public DocumentoElectronico(String xml, String CDCrecibido) throws SifenException {
-        xml = xml.replaceAll(">[\\s\r\n]*<", "><");
+        SifenObjectFactory.getFromNode(parseMainNode(xml), this);
+        this.obtenerCDC(CDCrecibido);
+    }
+
+    /**
+     * Parsea el XML y retorna el nodo DE.
+     */
+    private static Node parseMainNode(String xml) throws SifenException {
+        xml = WHITESPACE_BETWEEN_TAGS.matcher(xml).replaceAll("><");
 
         // Parseamos el xml
         Document xmlDocument;
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(true);
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            xmlDocument = builder.parse(new InputSource(new StringReader(xml)));
+            xmlDocument = XmlHelper.getDocumentBuilder().parse(new InputSource(new StringReader(xml)));
         } catch (ParserConfigurationException | IOException | SAXException e) {
             throw SifenExceptionUtil.xmlParsingError("Se produjo un error al parsear el archivo XML. Formato incorrecto.");
         }
 
         // Obtenemos el nodo principal
-        Node mainNode = xmlDocument.getElementsByTagName("DE").item(0);
-
-        SifenObjectFactory.getFromNode(mainNode, this);
-        this.obtenerCDC(CDCrecibido);
+        return xmlDocument.getElementsByTagName("DE").item(0);
     }
 
     /**
@@ -125,26 +123,16 @@ public class DocumentoElectronico extends SifenObjectBase {
      */
     public String obtenerCDC() throws SifenException {
         // Se intenta la generación del CDC
-        String CDC;
+        CDCBuilder builder = CDC_BUILDER.get();
         try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd");
-            CDC = SifenUtil.leftPad(String.valueOf(this.getgTimb().getiTiDE().getVal()), '0', 2) +
-                    SifenUtil.leftPad(this.getgDatGralOpe().getgEmis().getdRucEm(), '0', 8) +
-                    this.getgDatGralOpe().getgEmis().getdDVEmi() +
-                    this.getgTimb().getdEst() +
-                    this.getgTimb().getdPunExp() +
-                    this.getgTimb().getdNumDoc() +
-                    this.getgDatGralOpe().getgEmis().getiTipCont().getVal() +
-                    this.getgDatGralOpe().getdFeEmiDE().format(formatter) +
-                    this.getgOpeDE().getiTipEmi().getVal() +
-                    this.getgOpeDE().getdCodSeg();
+            builder.desde(this);
         } catch (Exception e) {
             throw SifenExceptionUtil.fieldNotFound("Se produjo un error al generar el CDC. Verificar si todos los campos necesarios están presentes.");
         }
 
         // Se setean los valores generados en sus lugares correspondientes dentro de la clase
-        this.dDVId = SifenUtil.generateDv(CDC);
-        this.Id = CDC + this.dDVId;
+        this.Id = builder.generar();
+        this.dDVId = this.Id.substring(this.Id.length() - 1);
 
         return this.Id;
     }
@@ -183,8 +171,12 @@ public class DocumentoElectronico extends SifenObjectBase {
 
         String xml = null;
         try {
-            SOAPMessage message = this.setupSOAPElements(generationCtx, 1, sifenConfig);
-            xml = ResponseUtil.getXmlFromMessage(message, true);
+            if (generationCtx.getMotorXml() == SifenConfig.MotorXml.STREAMING) {
+                xml = this.setupXml(generationCtx, 1, sifenConfig);
+            } else {
+                SOAPMessage message = this.setupSOAPElements(generationCtx, 1, sifenConfig);
+                xml = ResponseUtil.getXmlFromMessage(message, true);
+            }
         } catch (SOAPException e) {
             logger.warning("Se produjo un error al generar el XML.");
             e.printStackTrace();
@@ -220,14 +212,12 @@ public class DocumentoElectronico extends SifenObjectBase {
         // Obtenemos el xml en string
         String xml = this.generarXml(generationCtx, sifenConfig);
 
-        // Creamos o modificamos el archivo, y escribimos en él el xml.
+        // Creamos o modificamos el archivo, y escribimos en él el xml, siempre en UTF-8 (la codificación declarada).
         boolean res = false;
-        try {
-            FileWriter fileWriter = new FileWriter(rutaDestino, false);
-            fileWriter.write(xml);
-            fileWriter.close();
+        try (Writer writer = Files.newBufferedWriter(Paths.get(rutaDestino), StandardCharsets.UTF_8)) {
+            writer.write(xml);
             res = true;
-        } catch (IOException e) {
+        } catch (IOException | InvalidPathException e) {
             logger.warning("Se produjo un error al escribir en el archivo especificado.");
             e.printStackTrace();
         }
@@ -258,6 +248,71 @@ public class DocumentoElectronico extends SifenObjectBase {
         return message;
     }
 
+    /**
+     * Método interno, no usar.<br>
+     * Genera el mismo XML que {@link #setupSOAPElements(GenerationCtx, long, SifenConfig)}, ya serializado, sin
+     * construir el árbol DOM del mensaje SOAP.
+     *
+     * @param dId         -
+     * @param sifenConfig -
+     * @return -
+     * @throws SOAPException  -
+     * @throws SifenException -
+     */
+    public String setupXml(GenerationCtx generationCtx, long dId, SifenConfig sifenConfig) throws SOAPException, SifenException {
+        StringBuilder out = new StringBuilder(16384);
+        out.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>")
+                .append("<env:Envelope xmlns:env=\"").append(SOAPConstants.URI_NS_SOAP_1_2_ENVELOPE).append("\">")
+                .append("<env:Header/><env:Body>")
+                .append("<rEnviDe xmlns=\"").append(Constants.SIFEN_NS_URI).append("\">")
+                .append("<dId>").append(dId).append("</dId>")
+                .append("<xDE>");
+        this.writeDE(generationCtx, out, sifenConfig, this.obtenerCDC(), false);
+        out.append("</xDE></rEnviDe></env:Body></env:Envelope>");
+        return out.toString();
+    }
+
+    /**
+     * Método interno, no usar.<br>
+     * Escribe el elemento rDE, firmado y con el enlace del QR, sin pasar por SAAJ.
+     *
+     * @param out              -
+     * @param sifenConfig      -
+     * @param receivedCDC      -
+     * @param declareNamespace Si el espacio de nombres de Sifen debe declararse en el rDE, es decir, si no fue
+     *                         declarado ya por el elemento padre.
+     * @throws SOAPException  -
+     * @throws SifenException -
+     */
+    public void writeDE(GenerationCtx generationCtx, StringBuilder out, SifenConfig sifenConfig, String receivedCDC, boolean declareNamespace) throws SOAPException, SifenException {
+        this.obtenerCDC(receivedCDC);
+
+        LightXmlElement DE = new LightXmlElement("DE");
+        DE.setAttribute("Id", this.getId());
+        this.setupDEBody(generationCtx, DE);
+
+        // Firma Digital del XML
+        StreamingSignature signature = StreamingSignature.sign(sifenConfig, DE, this.getId());
+
+        // Preparación de la URL del QR
+        this.enlaceQR = this.generateQRLink(signature.getSignedInfo(), sifenConfig);
+
+        out.append("<rDE");
+        if (declareNamespace) {
+            out.append(" xmlns=\"").append(Constants.SIFEN_NS_URI).append('"');
+        }
+        out.append(" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xsi:schemaLocation=\"")
+                .append(Constants.SIFEN_NS_URI_RECEP_DE).append("\">")
+                .append("<dVerFor>").append(SIFEN_CURRENT_VERSION).append("</dVerFor>");
+        DE.write(out);
+        out.append(signature.getXml());
+
+        LightXmlElement gCamFuFD = new LightXmlElement("gCamFuFD");
+        gCamFuFD.addChildElement("dCarQR").setTextContent(this.enlaceQR);
+        gCamFuFD.write(out);
+        out.append("</rDE>");
+    }
+
     /**
      * Método interno, no usar.
      *
@@ -269,8 +324,6 @@ public class DocumentoElectronico extends SifenObjectBase {
 //    INICIO CAMBIO AM
 //    se realizo un overload del metodo  setupDE para que reciba receivedCDC
     public void setupDE(GenerationCtx generationCtx, SOAPElement parentNode, SifenConfig sifenConfig, String receivedCDC) throws SOAPException, SifenException {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
-
         SOAPElement rDE = parentNode.addChildElement(new QName(Constants.SIFEN_NS_URI, "rDE"));
 
         rDE.addNamespaceDeclaration("xsi", "http://www.w3.org/2001/XMLSchema-instance");
@@ -284,8 +337,25 @@ public class DocumentoElectronico extends SifenObjectBase {
         Attr idAttribute = DE.getAttributeNode("Id");
         DE.setIdAttributeNode(idAttribute, true);
 
+        this.setupDEBody(generationCtx, new SoapXmlElement(DE));
+
+        // Firma Digital del XML
+        SignedInfo signedInfo = SignatureHelper.signDocument(sifenConfig, rDE, this.getId());
+
+        // Preparación de la URL del QR
+        this.enlaceQR = this.generateQRLink(signedInfo, sifenConfig);
+        SOAPElement gCamFuFD = rDE.addChildElement("gCamFuFD");
+        gCamFuFD.addChildElement("dCarQR").setTextContent(this.enlaceQR);
+    }
+
+    //    FIN CAMBIO
+    public void setupDE(GenerationCtx generationCtx, SOAPElement parentNode, SifenConfig sifenConfig) throws SOAPException, SifenException {
+        this.setupDE(generationCtx, parentNode, sifenConfig, this.obtenerCDC());
+    }
+
+    private void setupDEBody(GenerationCtx generationCtx, XmlElement DE) throws SOAPException, SifenException {
         DE.addChildElement("dDVId").setTextContent(this.getdDVId());
-        DE.addChildElement("dFecFirma").setTextContent(this.getdFecFirma().format(formatter));
+        DE.addChildElement("dFecFirma").setTextContent(this.getdFecFirma().format(DATE_TIME_FORMATTER));
         DE.addChildElement("dSisFact").setTextContent(String.valueOf(this.getdSisFact()));
 
         // Se prepara el cuerpo del documento electrónico
@@ -317,19 +387,6 @@ public class DocumentoElectronico extends SifenObjectBase {
                 gCamDEAsoc.setupSOAPElements(DE, this.gDatGralOpe.getgOpeCom() != null ? this.gDatGralOpe.getgOpeCom().getiTipTra() : null, withholdingExists);
             }
         }
-
-        // Firma Digital del XML
-        SignedInfo signedInfo = SignatureHelper.signDocument(sifenConfig, rDE, this.getId());
-
-        // Preparación de la URL del QR
-        this.enlaceQR = this.generateQRLink(signedInfo, sifenConfig);
-        SOAPElement gCamFuFD = rDE.addChildElement("gCamFuFD");
-        gCamFuFD.addChildElement("dCarQR").setTextContent(this.enlaceQR);
-    }
-
-    //    FIN CAMBIO
-    public void setupDE(GenerationCtx generationCtx, SOAPElement parentNode, SifenConfig sifenConfig) throws SOAPException, SifenException {
-        this.setupDE(generationCtx, parentNode, sifenConfig, this.obtenerCDC());
     }
 
     /**
@@ -378,12 +435,11 @@ public class DocumentoElectronico extends SifenObjectBase {
     }
 
     private String generateQRLink(SignedInfo signedInfo, SifenConfig sifenConfig) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
         LinkedHashMap<String, String> queryParams = new LinkedHashMap<>();
 
         queryParams.put("nVersion", SIFEN_CURRENT_VERSION);
         queryParams.put("Id", this.getId());
-        queryParams.put("dFeEmiDE", SifenUtil.bytesToHex(this.getgDatGralOpe().getdFeEmiDE().format(formatter).getBytes(StandardCharsets.UTF_8)));
+        queryParams.put("dFeEmiDE", SifenUtil.bytesToHex(this.getgDatGralOpe().getdFeEmiDE().format(DATE_TIME_FORMATTER).getBytes(StandardCharsets.UTF_8)));
 
         if (this.getgDatGralOpe().getgDatRec().getiNatRec().getVal() == 1) {
             queryParams.put("dRucRec", this.getgDatGralOpe().getgDatRec().getdRucRec());
@@ -30,6 +30,14 @@ public class RespuestaConsultaDE extends BaseResponse {
         }
     }
 
+    /**
+     * La respuesta bruta de la consulta contiene el XML del DE desescapado.
+     */
+    @Override
+    protected String decodeRespuestaBruta(byte[] respuestaBruta) {
+        return ResponseUtil.getUnescapedXml(respuestaBruta);
+    }
+
     public LocalDateTime getdFecProc() {
         return dFecProc;
     }
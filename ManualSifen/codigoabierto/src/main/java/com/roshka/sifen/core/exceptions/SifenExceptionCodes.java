@@ -26,6 +26,8 @@ public class SifenExceptionCodes {
     public static final String XML_PARSING_ERROR_MESSAGE = "Error al parsear el XML";
     public static final String INVALID_SIGNATURE_ERROR_CODE = "i404";
     public static final String INVALID_SIGNATURE_ERROR_MESSAGE = "La firma del Documento Electrónico es inválida";
+    public static final String BATCH_QUERY_ERROR_CODE = "i500";
+    public static final String BATCH_QUERY_ERROR_MESSAGE = "Error en la consulta del lote";
 
     private static final Map<String, String> errorMessages;
 
@@ -41,6 +43,7 @@ public class SifenExceptionCodes {
         errorMessages.put(FIELD_NOT_FOUND_CODE, FIELD_NOT_FOUND_MESSAGE);
         errorMessages.put(XML_PARSING_ERROR_CODE, XML_PARSING_ERROR_MESSAGE);
         errorMessages.put(INVALID_SIGNATURE_ERROR_CODE, INVALID_SIGNATURE_ERROR_MESSAGE);
+        errorMessages.put(BATCH_QUERY_ERROR_CODE, BATCH_QUERY_ERROR_MESSAGE);
     }
 
     public static String getErrorMessage(String code) {
@@ -0,0 +1,414 @@
+package com.roshka.sifen.core.fields.request.de;
+
+import com.roshka.sifen.core.fields.util.IVAUtil;
+import com.roshka.sifen.core.fields.util.RedondeoUtil;
+import com.roshka.sifen.core.types.CMondT;
+import com.roshka.sifen.core.types.TTImp;
+import com.roshka.sifen.core.types.TTiDE;
+import com.roshka.sifen.core.types.TdCondTiCam;
+import com.roshka.sifen.internal.util.SifenUtil;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Acumula los subtotales y totales del Documento Electrónico (grupo F, {@link TgTotSub}) a medida que se agregan,
+ * quitan o modifican ítems, de modo que puedan mostrarse sin generar el XML, por ejemplo, en un punto de venta.<br>
+ * Cada ítem se calcula una sola vez, al agregarlo o al actualizarlo, y se guarda su aporte a cada subtotal. Agregar un
+ * ítem solo suma su aporte; quitarlo o actualizarlo vuelve a sumar los aportes ya calculados de los demás ítems, sin
+ * recalcularlos. Los totales que dependen de los subtotales (redondeo, IVA total, total en guaraníes, etc.) se
+ * calculan al consultarlos. Los valores son los mismos que se obtienen al generar el XML del DE con esos ítems.<br>
+ * Si se modifica un ítem ya agregado, debe llamarse a {@link #actualizarItem(TgCamItem)}. No es seguro utilizar una
+ * instancia desde varios hilos a la vez.
+ */
+public class AcumuladorTotales {
+    private final TTiDE iTiDE;
+    private final TTImp iTImp;
+    private final CMondT cMoneOpe;
+    private final TdCondTiCam dCondTiCam;
+    private final BigDecimal dTiCam;
+    private final TgOpeCom gOpeCom;
+    private final int scale;
+
+    private final Map<TgCamItem, Aporte> aportes = new IdentityHashMap<>();
+    private BigDecimal dComi = BigDecimal.ZERO;
+
+    // Sumas de los aportes de los ítems
+    private BigDecimal dSubExe;
+    private BigDecimal dSubExo;
+    private BigDecimal dSub5;
+    private BigDecimal dSub10;
+    private BigDecimal dTotOpeItems;
+    private BigDecimal dTotDesc;
+    private BigDecimal dTotDescGlotem;
+    private BigDecimal dTotAntItem;
+    private BigDecimal dTotAnt;
+    private BigDecimal dIVA5;
+    private BigDecimal dIVA10;
+    private BigDecimal dBaseGrav5;
+    private BigDecimal dBaseGrav10;
+    private BigDecimal dTotOpeGs;
+
+    // Totales derivados, calculados al consultarlos
+    private boolean calculado;
+    private BigDecimal dTotOpe;
+    private BigDecimal dPorcDescTotal;
+    private BigDecimal dDescTotal;
+    private BigDecimal dAnticipo;
+    private BigDecimal dRedon;
+    private BigDecimal dTotGralOpe;
+    private BigDecimal dIVAComi;
+    private BigDecimal dTotIVA;
+    private BigDecimal dTBasGraIVA;
+    private BigDecimal dTotalGs;
+
+    /**
+     * @param iTiDE   Tipo de Documento Electrónico.
+     * @param gOpeCom Campos inherentes a la operación comercial del DE (tipo de impuesto, moneda y tipo de cambio).
+     */
+    public AcumuladorTotales(TTiDE iTiDE, TgOpeCom gOpeCom) {
+        this.iTiDE = iTiDE;
+        this.gOpeCom = gOpeCom;
+        this.iTImp = gOpeCom.getiTImp();
+        this.cMoneOpe = gOpeCom.getcMoneOpe();
+        this.dCondTiCam = gOpeCom.getdCondTiCam();
+        this.dTiCam = gOpeCom.getdTiCam();
+        this.scale = IVAUtil.escala(cMoneOpe);
+        this.sumarAportes();
+    }
+
+    /**
+     * Calcula los valores del ítem y agrega su aporte a los totales.
+     *
+     * @param gCamItem Ítem a agregar.
+     * @throws IllegalArgumentException Si el ítem ya fue agregado.
+     */
+    public void agregarItem(TgCamItem gCamItem) {
+        if (aportes.containsKey(gCamItem)) {
+            throw new IllegalArgumentException("El ítem ya fue agregado");
+        }
+        gCamItem.calcularValores(iTiDE, gOpeCom);
+        this.agregarItemCalculado(gCamItem);
+    }
+
+    /**
+     * Agrega el aporte de un ítem cuyos valores ya fueron calculados, por ejemplo, al generar su XML.
+     */
+    void agregarItemCalculado(TgCamItem gCamItem) {
+        Aporte aporte = new Aporte(gCamItem);
+        aportes.put(gCamItem, aporte);
+        this.sumar(aporte);
+    }
+
+    /**
+     * Quita el aporte del ítem a los totales.
+     *
+     * @param gCamItem Ítem a quitar.
+     * @return true si el ítem había sido agregado.
+     */
+    public boolean quitarItem(TgCamItem gCamItem) {
+        if (aportes.remove(gCamItem) == null) {
+            return false;
+        }
+        this.sumarAportes();
+        return true;
+    }
+
+    /**
+     * Vuelve a calcular los valores de un ítem que fue modificado luego de agregarlo, y actualiza su aporte. Si el
+     * ítem no había sido agregado, se agrega.
+     *
+     * @param gCamItem Ítem modificado.
+     */
+    public void actualizarItem(TgCamItem gCamItem) {
+        if (aportes.remove(gCamItem) == null) {
+            this.agregarItem(gCamItem);
+            return;
+        }
+        gCamItem.calcularValores(iTiDE, gOpeCom);
+        aportes.put(gCamItem, new Aporte(gCamItem));
+        this.sumarAportes();
+    }
+
+    /**
+     * @return Ítems agregados, en ningún orden en particular.
+     */
+    public List<TgCamItem> getItems() {
+        return new ArrayList<>(aportes.keySet());
+    }
+
+    /**
+     * @param dComi Comisión de la operación (F016). Por defecto es cero.
+     */
+    public void setdComi(BigDecimal dComi) {
+        this.dComi = dComi;
+        this.calculado = false;
+    }
+
+    private void sumarAportes() {
+        dSubExe = BigDecimal.ZERO;
+        dSubExo = BigDecimal.ZERO;
+        dSub5 = BigDecimal.ZERO;
+        dSub10 = BigDecimal.ZERO;
+        dTotOpeItems = BigDecimal.ZERO;
+        dTotDesc = BigDecimal.ZERO;
+        dTotDescGlotem = BigDecimal.ZERO;
+        dTotAntItem = BigDecimal.ZERO;
+        dTotAnt = BigDecimal.ZERO;
+        dIVA5 = BigDecimal.ZERO;
+        dIVA10 = BigDecimal.ZERO;
+        dBaseGrav5 = BigDecimal.ZERO;
+        dBaseGrav10 = BigDecimal.ZERO;
+        dTotOpeGs = BigDecimal.ZERO;
+        for (Aporte aporte : aportes.values()) {
+            this.sumar(aporte);
+        }
+        this.calculado = false;
+    }
+
+    private void sumar(Aporte aporte) {
+        switch (aporte.tipo) {
+            case Aporte.GRAVADO_10:
+                dSub10 = dSub10.add(aporte.dTotOpeItem);
+                dIVA10 = dIVA10.add(aporte.dLiqIVAItem);
+                dBaseGrav10 = dBaseGrav10.add(aporte.dBasGravIVA);
+                break;
+            case Aporte.GRAVADO_5:
+                dSub5 = dSub5.add(aporte.dTotOpeItem);
+                dIVA5 = dIVA5.add(aporte.dLiqIVAItem);
+                dBaseGrav5 = dBaseGrav5.add(aporte.dBasGravIVA);
+                break;
+            case Aporte.EXONERADO:
+                dSubExo = dSubExo.add(aporte.dTotOpeItem);
+                break;
+            case Aporte.EXENTO:
+                dSubExe = dSubExe.add(aporte.dTotOpeItem);
+                break;
+        }
+
+        dTotOpeItems = dTotOpeItems.add(aporte.dTotOpeItem);
+        dTotDesc = dTotDesc.add(aporte.dDesc);
+        dTotDescGlotem = dTotDescGlotem.add(aporte.dDescGlo);
+        dTotAntItem = dTotAntItem.add(aporte.dAntItem);
+        dTotAnt = dTotAnt.add(aporte.dAnt);
+        if (aporte.dTotOpeGs != null) {
+            dTotOpeGs = dTotOpeGs.add(aporte.dTotOpeGs);
+        }
+        this.calculado = false;
+    }
+
+    private void calcularTotales() {
+        if (calculado) {
+            return;
+        }
+
+        dTotOpe = BigDecimal.ZERO;
+        if (iTiDE.getVal() == 4) {
+            dTotOpe = dTotOpeItems;
+        } else if (iTImp.getVal() == 1 || iTImp.getVal() == 3 || iTImp.getVal() == 4 || iTImp.getVal() == 5) {
+            dTotOpe = dSub10.add(dSub5).add(dSubExo).add(dSubExe);
+        }
+
+        dDescTotal = dTotDesc.add(dTotDescGlotem);
+        BigDecimal totalSinDescuento = dTotOpe.add(dDescTotal);
+        dPorcDescTotal = totalSinDescuento.signum() == 0
+                ? BigDecimal.ZERO
+                : dDescTotal.multiply(IVAUtil.CIEN).divide(totalSinDescuento, 2, RoundingMode.HALF_UP);
+        dAnticipo = dTotAntItem.add(dTotAnt);
+
+        BigDecimal redondeo = RedondeoUtil.redondeoOficialSET(cMoneOpe, dTotOpe);
+        dTotGralOpe = dTotOpe.subtract(redondeo).add(SifenUtil.coalesce(dComi, BigDecimal.ZERO));
+        dRedon = redondeo.abs();
+
+        dIVAComi = BigDecimal.ZERO;
+        if (dComi != null) {
+            dIVAComi = IVAUtil.ivaComision(dComi, scale);
+        }
+
+        dTotIVA = dIVA5.add(dIVA10).add(dIVAComi);
+        dTBasGraIVA = dBaseGrav5.add(dBaseGrav10);
+
+        dTotalGs = BigDecimal.ZERO;
+        if (cMoneOpe != CMondT.PYG) {
+            if (dCondTiCam.getVal() == 1) {
+                dTotalGs = dTotGralOpe.multiply(dTiCam);
+            } else if (dCondTiCam.getVal() == 2) {
+                dTotalGs = dTotOpeGs;
+            }
+        }
+        calculado = true;
+    }
+
+    public BigDecimal getdSubExe() {
+        return dSubExe;
+    }
+
+    public BigDecimal getdSubExo() {
+        return dSubExo;
+    }
+
+    public BigDecimal getdSub5() {
+        return dSub5;
+    }
+
+    public BigDecimal getdSub10() {
+        return dSub10;
+    }
+
+    public BigDecimal getdTotOpe() {
+        this.calcularTotales();
+        return dTotOpe;
+    }
+
+    public BigDecimal getdTotDesc() {
+        return dTotDesc;
+    }
+
+    public BigDecimal getdTotDescGlotem() {
+        return dTotDescGlotem;
+    }
+
+    public BigDecimal getdTotAntItem() {
+        return dTotAntItem;
+    }
+
+    public BigDecimal getdTotAnt() {
+        return dTotAnt;
+    }
+
+    public BigDecimal getdPorcDescTotal() {
+        this.calcularTotales();
+        return dPorcDescTotal;
+    }
+
+    public BigDecimal getdDescTotal() {
+        this.calcularTotales();
+        return dDescTotal;
+    }
+
+    public BigDecimal getdAnticipo() {
+        this.calcularTotales();
+        return dAnticipo;
+    }
+
+    public BigDecimal getdRedon() {
+        this.calcularTotales();
+        return dRedon;
+    }
+
+    public BigDecimal getdComi() {
+        return dComi;
+    }
+
+    public BigDecimal getdTotGralOpe() {
+        this.calcularTotales();
+        return dTotGralOpe;
+    }
+
+    public BigDecimal getdIVA5() {
+        return dIVA5;
+    }
+
+    public BigDecimal getdIVA10() {
+        return dIVA10;
+    }
+
+    /**
+     * @return Liquidación del IVA por redondeo al 5%. Siempre es cero.
+     */
+    public BigDecimal getdLiqTotIVA5() {
+        return BigDecimal.ZERO;
+    }
+
+    /**
+     * @return Liquidación del IVA por redondeo al 10%. Siempre es cero.
+     */
+    public BigDecimal getdLiqTotIVA10() {
+        return BigDecimal.ZERO;
+    }
+
+    public BigDecimal getdIVAComi() {
+        this.calcularTotales();
+        return dIVAComi;
+    }
+
+    public BigDecimal getdTotIVA() {
+        this.calcularTotales();
+        return dTotIVA;
+    }
+
+    public BigDecimal getdBaseGrav5() {
+        return dBaseGrav5;
+    }
+
+    public BigDecimal getdBaseGrav10() {
+        return dBaseGrav10;
+    }
+
+    public BigDecimal getdTBasGraIVA() {
+        this.calcularTotales();
+        return dTBasGraIVA;
+    }
+
+    public BigDecimal getdTotalGs() {
+        this.calcularTotales();
+        return dTotalGs;
+    }
+
+    /**
+     * Aporte de un ítem a cada subtotal, con los mismos criterios que se utilizan al generar el grupo F.
+     */
+    private final class Aporte {
+        static final int NINGUNO = 0;
+        static final int GRAVADO_10 = 1;
+        static final int GRAVADO_5 = 2;
+        static final int EXONERADO = 3;
+        static final int EXENTO = 4;
+
+        final int tipo;
+        final BigDecimal dTotOpeItem;
+        final BigDecimal dLiqIVAItem;
+        final BigDecimal dBasGravIVA;
+        final BigDecimal dDesc;
+        final BigDecimal dDescGlo;
+        final BigDecimal dAntItem;
+        final BigDecimal dAnt;
+        final BigDecimal dTotOpeGs;
+
+        Aporte(TgCamItem gCamItem) {
+            TgValorRestaItem gValorRestaItem = gCamItem.getgValorItem().getgValorRestaItem();
+            TgCamIVA gCamIVA = gCamItem.getgCamIVA();
+
+            this.dTotOpeItem = gValorRestaItem.getdTotOpeItem().setScale(scale, RoundingMode.HALF_UP);
+
+            int tipo = NINGUNO;
+            if (gCamIVA != null) {
+                short iAfecIVA = gCamIVA.getiAfecIVA().getVal();
+                if (iAfecIVA == 1 || iAfecIVA == 4) {
+                    if (IVAUtil.esTasa10(gCamIVA.getdTasaIVA())) {
+                        tipo = GRAVADO_10;
+                    } else if (IVAUtil.esTasa5(gCamIVA.getdTasaIVA())) {
+                        tipo = GRAVADO_5;
+                    }
+                } else if (iAfecIVA == 2) {
+                    tipo = EXONERADO;
+                } else if (iAfecIVA == 3) {
+                    tipo = EXENTO;
+                }
+            }
+            this.tipo = tipo;
+            this.dLiqIVAItem = tipo == GRAVADO_10 || tipo == GRAVADO_5 ? gCamIVA.getdLiqIVAItem() : null;
+            this.dBasGravIVA = tipo == GRAVADO_10 || tipo == GRAVADO_5 ? gCamIVA.getdBasGravIVA() : null;
+
+            this.dDesc = SifenUtil.coalesce(gValorRestaItem.getdDescItem().multiply(gCamItem.getdCantProSer()), BigDecimal.ZERO);
+            this.dDescGlo = SifenUtil.coalesce(gValorRestaItem.getdDescGloItem(), BigDecimal.ZERO);
+            this.dAntItem = SifenUtil.coalesce(gValorRestaItem.getdAntPreUniIt(), BigDecimal.ZERO);
+            this.dAnt = SifenUtil.coalesce(gValorRestaItem.getdAntGloPreUniIt(), BigDecimal.ZERO);
+            this.dTotOpeGs = cMoneOpe != CMondT.PYG && dCondTiCam.getVal() == 2 ? gValorRestaItem.getdTotOpeGs() : null;
+        }
+    }
+}
@@ -5,9 +5,9 @@ import com.roshka.sifen.core.types.TTiDE;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -18,10 +18,10 @@ public class TdDatGralOpe extends SifenObjectBase {
     private TgEmis gEmis;
     private TgDatRec gDatRec;
 
-    public void setupSOAPElements(SOAPElement DE, TTiDE iTiDE) throws SOAPException {
+    public void setupSOAPElements(XmlElement DE, TTiDE iTiDE) throws SOAPException {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
 
-        SOAPElement gDatGralOpe = DE.addChildElement("gDatGralOpe");
+        XmlElement gDatGralOpe = DE.addChildElement("gDatGralOpe");
         gDatGralOpe.addChildElement("dFeEmiDE").setTextContent(this.dFeEmiDE.format(formatter));
         if (iTiDE.getVal() != 7)
             this.gOpeCom.setupSOAPElements(gDatGralOpe, iTiDE);
@@ -6,9 +6,9 @@ import com.roshka.sifen.core.types.TiNatVen;
 import com.roshka.sifen.core.types.TiTipDoc;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 
 /**
@@ -33,8 +33,8 @@ public class TgCamAE extends SifenObjectBase {
     private int cCiuProv;
     private String dDesCiuProv;
 
-    public void setupSOAPElements(SOAPElement gDtipDE) throws SOAPException {
-        SOAPElement gCamAE = gDtipDE.addChildElement("gCamAE");
+    public void setupSOAPElements(XmlElement gDtipDE) throws SOAPException {
+        XmlElement gCamAE = gDtipDE.addChildElement("gCamAE");
         gCamAE.addChildElement("iNatVen").setTextContent(String.valueOf(this.iNatVen.getVal()));
         gCamAE.addChildElement("dDesNatVen").setTextContent(this.iNatVen.getDescripcion());
         gCamAE.addChildElement("iTipIDVen").setTextContent(String.valueOf(this.iTipIDVen.getVal()));
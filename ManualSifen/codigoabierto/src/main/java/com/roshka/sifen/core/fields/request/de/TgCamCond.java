@@ -5,9 +5,9 @@ import com.roshka.sifen.core.types.TiCondOpe;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.util.ArrayList;
 import java.util.List;
@@ -18,8 +18,8 @@ public class TgCamCond extends SifenObjectBase {
     private List<TgPaConEIni> gPaConEIniList;
     private TgPagCred gPagCred;
 
-    public void setupSOAPElements(SOAPElement gDtipDE) throws SOAPException {
-        SOAPElement gCamCond = gDtipDE.addChildElement("gCamCond");
+    public void setupSOAPElements(XmlElement gDtipDE) throws SOAPException {
+        XmlElement gCamCond = gDtipDE.addChildElement("gCamCond");
         gCamCond.addChildElement("iCondOpe").setTextContent(String.valueOf(this.iCondOpe.getVal()));
         gCamCond.addChildElement("dDCondOpe").setTextContent(this.iCondOpe.getDescripcion());
 
@@ -8,9 +8,9 @@ import com.roshka.sifen.core.types.TiTipDocAso;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.math.BigInteger;
 import java.time.LocalDate;
@@ -30,8 +30,8 @@ public class TgCamDEAsoc extends SifenObjectBase {
     private BigInteger dNumCons;
     private String dNumControl;
 
-    public void setupSOAPElements(SOAPElement DE, TTipTra iTipTra, boolean withholdingExists) throws SOAPException {
-        SOAPElement gCamDEAsoc = DE.addChildElement("gCamDEAsoc");
+    public void setupSOAPElements(XmlElement DE, TTipTra iTipTra, boolean withholdingExists) throws SOAPException {
+        XmlElement gCamDEAsoc = DE.addChildElement("gCamDEAsoc");
         gCamDEAsoc.addChildElement("iTipDocAso").setTextContent(String.valueOf(this.iTipDocAso.getVal()));
         gCamDEAsoc.addChildElement("dDesTipDocAso").setTextContent(this.iTipDocAso.getDescripcion());
 
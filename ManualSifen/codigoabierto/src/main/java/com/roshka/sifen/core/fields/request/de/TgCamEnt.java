@@ -4,9 +4,9 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.core.types.TDepartamento;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 
 public class TgCamEnt extends SifenObjectBase {
@@ -21,8 +21,8 @@ public class TgCamEnt extends SifenObjectBase {
     private String dDesCiuEnt;
     private String dTelEnt;
 
-    public void setupSOAPElements(SOAPElement gTransp) throws SOAPException {
-        SOAPElement gCamEnt = gTransp.addChildElement("gCamEnt");
+    public void setupSOAPElements(XmlElement gTransp) throws SOAPException {
+        XmlElement gCamEnt = gTransp.addChildElement("gCamEnt");
         gCamEnt.addChildElement("dDirLocEnt").setTextContent(this.dDirLocEnt);
         gCamEnt.addChildElement("dNumCasEnt").setTextContent(String.valueOf(this.dNumCasEnt));
 
@@ -3,9 +3,9 @@ package com.roshka.sifen.core.fields.request.de;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 
 public class TgCamEsp extends SifenObjectBase {
@@ -14,8 +14,8 @@ public class TgCamEsp extends SifenObjectBase {
     private TgGrupSup gGrupSup;
     private TgGrupAdi gGrupAdi;
 
-    public void setupSOAPElements(SOAPElement gDtipDE) throws SOAPException {
-        SOAPElement gCamEsp = gDtipDE.addChildElement("gCamEsp");
+    public void setupSOAPElements(XmlElement gDtipDE) throws SOAPException {
+        XmlElement gCamEsp = gDtipDE.addChildElement("gCamEsp");
         if (this.gGrupEner != null)
             this.gGrupEner.setupSOAPElements(gCamEsp);
 
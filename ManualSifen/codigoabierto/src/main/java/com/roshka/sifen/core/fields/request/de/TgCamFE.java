@@ -7,9 +7,9 @@ import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.time.LocalDate;
 import java.util.Objects;
@@ -20,8 +20,8 @@ public class TgCamFE extends SifenObjectBase {
     private LocalDate dFecEmNR;
     private TgCompPub gCompPub;
 
-    public void setupSOAPElements(SOAPElement gDtipDE, TiTiOpe iTiOpe) throws SOAPException {
-        SOAPElement gCamFE = gDtipDE.addChildElement("gCamFE");
+    public void setupSOAPElements(XmlElement gDtipDE, TiTiOpe iTiOpe) throws SOAPException {
+        XmlElement gCamFE = gDtipDE.addChildElement("gCamFE");
         gCamFE.addChildElement("iIndPres").setTextContent(String.valueOf(this.iIndPres.getVal()));
         gCamFE.addChildElement("dDesIndPres").setTextContent(SifenUtil.coalesce(this.iIndPres.getDescripcion(), this.dDesIndPres));
 
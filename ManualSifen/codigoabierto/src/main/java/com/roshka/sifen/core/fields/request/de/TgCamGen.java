@@ -5,9 +5,9 @@ import com.roshka.sifen.core.types.TTiDE;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 
 public class TgCamGen extends SifenObjectBase {
@@ -16,8 +16,8 @@ public class TgCamGen extends SifenObjectBase {
     private String dAsiento;
     private TgCamCarg gCamCarg;
 
-    public void setupSOAPElements(SOAPElement DE, TTiDE iTiDE) throws SOAPException {
-        SOAPElement gCamGen = DE.addChildElement("gCamGen");
+    public void setupSOAPElements(XmlElement DE, TTiDE iTiDE) throws SOAPException {
+        XmlElement gCamGen = DE.addChildElement("gCamGen");
         if (this.dOrdCompra != null)
             gCamGen.addChildElement("dOrdCompra").setTextContent(this.dOrdCompra);
 
@@ -1,14 +1,15 @@
 package com.roshka.sifen.core.fields.request.de;
 
 import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.core.fields.util.IVAUtil;
 import com.roshka.sifen.core.types.CMondT;
 import com.roshka.sifen.core.types.TiAfecIVA;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -21,39 +22,24 @@ public class TgCamIVA extends SifenObjectBase {
     private BigDecimal dLiqIVAItem;
     private BigDecimal dBasExe;
 
-    public void setupSOAPElements(GenerationCtx generationCtx, SOAPElement gCamItem, CMondT cMoneOpe, BigDecimal dTotOpeItem) throws SOAPException {
-        SOAPElement gCamIVA = gCamItem.addChildElement("gCamIVA");
+    public void setupSOAPElements(GenerationCtx generationCtx, XmlElement gCamItem, CMondT cMoneOpe, BigDecimal dTotOpeItem) throws SOAPException {
+        XmlElement gCamIVA = gCamItem.addChildElement("gCamIVA");
         gCamIVA.addChildElement("iAfecIVA").setTextContent(String.valueOf(this.iAfecIVA.getVal()));
         gCamIVA.addChildElement("dDesAfecIVA").setTextContent(this.iAfecIVA.getDescripcion());
         gCamIVA.addChildElement("dPropIVA").setTextContent(String.valueOf(this.dPropIVA));
         gCamIVA.addChildElement("dTasaIVA").setTextContent(String.valueOf(this.dTasaIVA));
-        int scale = cMoneOpe.name().equals("PYG") ? 0 : 2;
-        dTotOpeItem = dTotOpeItem.setScale(scale, RoundingMode.HALF_UP);
-
-        BigDecimal hundred = BigDecimal.valueOf(100);
-        BigDecimal propIVA = this.dPropIVA.divide(hundred, scale, RoundingMode.HALF_UP);
-        if (this.iAfecIVA.getVal() == 1 || this.iAfecIVA.getVal() == 4) {
-            if (this.dTasaIVA.equals(BigDecimal.valueOf(10))) {
-                this.dBasGravIVA = dTotOpeItem.multiply(propIVA).divide(BigDecimal.valueOf(1.1), scale, RoundingMode.HALF_UP);
-                this.dLiqIVAItem = dTotOpeItem.multiply(propIVA).divide(BigDecimal.valueOf(11), scale, RoundingMode.HALF_UP);
-            } else if (this.dTasaIVA.equals(BigDecimal.valueOf(5))) {
-                this.dBasGravIVA = dTotOpeItem.multiply(propIVA).divide(BigDecimal.valueOf(1.05), scale, RoundingMode.HALF_UP);
-                this.dLiqIVAItem = dTotOpeItem.multiply(propIVA).divide(BigDecimal.valueOf(21), scale, RoundingMode.HALF_UP);
-            }
-        } else {
-            this.dBasGravIVA = BigDecimal.ZERO;
-            this.dLiqIVAItem = BigDecimal.ZERO;
-        }
-
+        this.calcularValores(cMoneOpe, dTotOpeItem);
 
         gCamIVA.addChildElement("dBasGravIVA").setTextContent(String.valueOf(this.dBasGravIVA));
         gCamIVA.addChildElement("dLiqIVAItem").setTextContent(String.valueOf(this.dLiqIVAItem));
 
         if (generationCtx.isHabilitarNotaTecnica13()) {
             if (this.iAfecIVA.getVal() == 4) {
+                int scale = IVAUtil.escala(cMoneOpe);
+                dTotOpeItem = dTotOpeItem.setScale(scale, RoundingMode.HALF_UP);
                 // Actualización: https://ekuatia.set.gov.py/portal/ekuatia/detail?content-id=/repository/collaboration/sites/ekuatia/documents/documentacion/documentacion-tecnica/NT_E_KUATIA_013_MT_V150.pdf
                 // E737 = [100 * EA008 * (100 – E733)] / [10000 + (E734 * E733)]
-                this.dBasExe = (dTotOpeItem.multiply(hundred.subtract(dPropIVA)).multiply(hundred)).divide((this.dTasaIVA.multiply(dPropIVA)).add(BigDecimal.valueOf(10000)), scale, RoundingMode.HALF_UP);
+                this.dBasExe = (dTotOpeItem.multiply(IVAUtil.CIEN.subtract(dPropIVA)).multiply(IVAUtil.CIEN)).divide((this.dTasaIVA.multiply(dPropIVA)).add(BigDecimal.valueOf(10000)), scale, RoundingMode.HALF_UP);
             } else {
                 this.dBasExe = BigDecimal.valueOf(0);
             }
@@ -62,6 +48,23 @@ public class TgCamIVA extends SifenObjectBase {
 
     }
 
+    /**
+     * Calcula la base gravada y la liquidación del IVA del ítem, sin generar el XML.
+     */
+    void calcularValores(CMondT cMoneOpe, BigDecimal dTotOpeItem) {
+        int scale = IVAUtil.escala(cMoneOpe);
+        if (this.iAfecIVA.getVal() == 1 || this.iAfecIVA.getVal() == 4) {
+            if (IVAUtil.esTasa10(this.dTasaIVA) || IVAUtil.esTasa5(this.dTasaIVA)) {
+                BigDecimal montoGravado = IVAUtil.montoGravado(dTotOpeItem.setScale(scale, RoundingMode.HALF_UP), this.dPropIVA, scale);
+                this.dBasGravIVA = IVAUtil.baseGravada(montoGravado, this.dTasaIVA, scale);
+                this.dLiqIVAItem = IVAUtil.liquidacion(montoGravado, this.dTasaIVA, scale);
+            }
+        } else {
+            this.dBasGravIVA = BigDecimal.ZERO;
+            this.dLiqIVAItem = BigDecimal.ZERO;
+        }
+    }
+
     @Override
     public void setValueFromChildNode(Node value) throws SifenException {
         switch (value.getLocalName()) {
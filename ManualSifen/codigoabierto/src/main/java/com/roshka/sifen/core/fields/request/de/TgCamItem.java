@@ -7,9 +7,9 @@ import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.math.BigDecimal;
 
@@ -35,7 +35,7 @@ public class TgCamItem extends SifenObjectBase {
     private TgRasMerc gRasMerc;
     private TgVehNuevo gVehNuevo;
 
-    public void setupSOAPElements(GenerationCtx generationCtx, SOAPElement gDtipDE, TTiDE iTiDE, TdDatGralOpe gDatGralOpe) throws SOAPException {
+    public void setupSOAPElements(GenerationCtx generationCtx, XmlElement gDtipDE, TTiDE iTiDE, TdDatGralOpe gDatGralOpe) throws SOAPException {
         TiTiOpe iTiOpe = gDatGralOpe.getgDatRec().getiTiOpe();
         TTipTra iTipTra = null;
         TdCondTiCam dCondTiCam = null;
@@ -48,7 +48,7 @@ public class TgCamItem extends SifenObjectBase {
             cMoneOpe = gDatGralOpe.getgOpeCom().getcMoneOpe();
         }
 
-        SOAPElement gCamItem = gDtipDE.addChildElement("gCamItem");
+        XmlElement gCamItem = gDtipDE.addChildElement("gCamItem");
         gCamItem.addChildElement("dCodInt").setTextContent(this.dCodInt);
 
         if (this.dParAranc != 0)
@@ -109,6 +109,28 @@ public class TgCamItem extends SifenObjectBase {
             this.gVehNuevo.setupSOAPElements(gCamItem);
     }
 
+    /**
+     * Calcula los mismos valores que se calculan al generar el XML del ítem (totales del ítem y liquidación del IVA),
+     * sin generarlo.
+     */
+    void calcularValores(TTiDE iTiDE, TgOpeCom gOpeCom) {
+        TdCondTiCam dCondTiCam = null;
+        TTImp iTImp = null;
+        CMondT cMoneOpe = null;
+        if (gOpeCom != null) {
+            dCondTiCam = gOpeCom.getdCondTiCam();
+            iTImp = gOpeCom.getiTImp();
+            cMoneOpe = gOpeCom.getcMoneOpe();
+        }
+
+        if (iTiDE.getVal() != 7) {
+            this.gValorItem.calcularValores(iTiDE, dCondTiCam, iTImp, this.dCantProSer, cMoneOpe);
+        }
+
+        if (iTImp != null && (iTImp.getVal() == 1 || iTImp.getVal() == 3 || iTImp.getVal() == 4 || iTImp.getVal() == 5) && iTiDE.getVal() != 4 && iTiDE.getVal() != 7)
+            this.gCamIVA.calcularValores(cMoneOpe, this.gValorItem.getgValorRestaItem().getdTotOpeItem());
+    }
+
     @Override
     public void setValueFromChildNode(Node value) throws SifenException {
         switch (value.getLocalName()) {
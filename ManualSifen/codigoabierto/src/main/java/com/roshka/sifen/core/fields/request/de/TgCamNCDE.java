@@ -4,16 +4,16 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.core.types.TiMotEmi;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 
 public class TgCamNCDE extends SifenObjectBase {
     private TiMotEmi iMotEmi;
 
-    public void setupSOAPElements(SOAPElement gDtipDE) throws SOAPException {
-        SOAPElement gCamNCDE = gDtipDE.addChildElement("gCamNCDE");
+    public void setupSOAPElements(XmlElement gDtipDE) throws SOAPException {
+        XmlElement gCamNCDE = gDtipDE.addChildElement("gCamNCDE");
         gCamNCDE.addChildElement("iMotEmi").setTextContent(String.valueOf(this.iMotEmi.getVal()));
         gCamNCDE.addChildElement("dDesMotEmi").setTextContent(this.iMotEmi.getDescripcion());
     }
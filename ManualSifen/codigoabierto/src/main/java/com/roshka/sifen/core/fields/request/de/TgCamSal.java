@@ -4,9 +4,9 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.core.types.TDepartamento;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 
 public class TgCamSal extends SifenObjectBase {
@@ -21,8 +21,8 @@ public class TgCamSal extends SifenObjectBase {
     private String dDesCiuSal;
     private String dTelSal;
 
-    public void setupSOAPElements(SOAPElement gTransp) throws SOAPException {
-        SOAPElement gCamSal = gTransp.addChildElement("gCamSal");
+    public void setupSOAPElements(XmlElement gTransp) throws SOAPException {
+        XmlElement gCamSal = gTransp.addChildElement("gCamSal");
         gCamSal.addChildElement("dDirLocSal").setTextContent(this.dDirLocSal);
         gCamSal.addChildElement("dNumCasSal").setTextContent(String.valueOf(this.dNumCasSal));
 
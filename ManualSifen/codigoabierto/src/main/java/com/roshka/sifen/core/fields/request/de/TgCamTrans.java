@@ -6,9 +6,9 @@ import com.roshka.sifen.core.types.TiNatRec;
 import com.roshka.sifen.core.types.TiTipDoc;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 
 public class TgCamTrans extends SifenObjectBase {
@@ -28,8 +28,8 @@ public class TgCamTrans extends SifenObjectBase {
     private short dDVAg;
     private String dDirAge;
 
-    public void setupSOAPElements(SOAPElement gTransp) throws SOAPException {
-        SOAPElement gCamTrans = gTransp.addChildElement("gCamTrans");
+    public void setupSOAPElements(XmlElement gTransp) throws SOAPException {
+        XmlElement gCamTrans = gTransp.addChildElement("gCamTrans");
         gCamTrans.addChildElement("iNatTrans").setTextContent(String.valueOf(this.iNatTrans.getVal()));
         gCamTrans.addChildElement("dNomTrans").setTextContent(this.dNomTrans);
 
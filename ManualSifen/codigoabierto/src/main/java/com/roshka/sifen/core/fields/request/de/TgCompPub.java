@@ -3,9 +3,9 @@ package com.roshka.sifen.core.fields.request.de;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.time.LocalDate;
 
@@ -16,8 +16,8 @@ public class TgCompPub extends SifenObjectBase {
     private int dSecCont;
     private LocalDate dFeCodCont;
 
-    public void setupSOAPElements(SOAPElement gCamFE) throws SOAPException {
-        SOAPElement gCompPub = gCamFE.addChildElement("gCompPub");
+    public void setupSOAPElements(XmlElement gCamFE) throws SOAPException {
+        XmlElement gCompPub = gCamFE.addChildElement("gCompPub");
         gCompPub.addChildElement("dModCont").setTextContent(this.dModCont);
         gCompPub.addChildElement("dEntCont").setTextContent(String.valueOf(this.dEntCont));
         gCompPub.addChildElement("dAnoCont").setTextContent(String.valueOf(this.dAnoCont));
@@ -4,9 +4,9 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.core.types.CMondT;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -16,8 +16,8 @@ public class TgCuotas extends SifenObjectBase {
     private BigDecimal dMonCuota;
     private LocalDate dVencCuo;
 
-    public void setupSOAPElements(SOAPElement gPagCred) throws SOAPException {
-        SOAPElement gCuotas = gPagCred.addChildElement("gCuotas");
+    public void setupSOAPElements(XmlElement gPagCred) throws SOAPException {
+        XmlElement gCuotas = gPagCred.addChildElement("gCuotas");
         gCuotas.addChildElement("cMoneCuo").setTextContent(this.cMoneCuo.name());
         gCuotas.addChildElement("dDMoneCuo").setTextContent(this.cMoneCuo.getDescripcion());
         gCuotas.addChildElement("dMonCuota").setTextContent(String.valueOf(this.dMonCuota));
@@ -6,9 +6,9 @@ import com.roshka.sifen.core.types.TiTiOpe;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.util.ArrayList;
 import java.util.List;
@@ -23,10 +23,10 @@ public class TgDtipDE extends SifenObjectBase {
     private TgCamEsp gCamEsp;
     private TgTransp gTransp;
 
-    public void setupSOAPElements(GenerationCtx generationCtx, SOAPElement DE, TTiDE iTiDE, TdDatGralOpe gDatGralOpe) throws SOAPException {
+    public void setupSOAPElements(GenerationCtx generationCtx, XmlElement DE, TTiDE iTiDE, TdDatGralOpe gDatGralOpe) throws SOAPException {
         TiTiOpe iTiOpe = gDatGralOpe.getgDatRec().getiTiOpe();
 
-        SOAPElement gDtipDE = DE.addChildElement("gDtipDE");
+        XmlElement gDtipDE = DE.addChildElement("gDtipDE");
         if (iTiDE.getVal() == 1)
             this.gCamFE.setupSOAPElements(gDtipDE, iTiOpe);
         else if (iTiDE.getVal() == 4)
@@ -8,9 +8,9 @@ import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.util.ArrayList;
 import java.util.List;
@@ -37,8 +37,8 @@ public class TgEmis extends SifenObjectBase {
     private List<TgActEco> gActEcoList;
     private TgRespDE gRespDE;
 
-    public void setupSOAPElements(SOAPElement gDatGralOpe) throws SOAPException {
-        SOAPElement gEmis = gDatGralOpe.addChildElement("gEmis");
+    public void setupSOAPElements(XmlElement gDatGralOpe) throws SOAPException {
+        XmlElement gEmis = gDatGralOpe.addChildElement("gEmis");
         gEmis.addChildElement("dRucEm").setTextContent(this.dRucEm);
         gEmis.addChildElement("dDVEmi").setTextContent(this.dDVEmi);
         gEmis.addChildElement("iTipCont").setTextContent(String.valueOf(this.iTipCont.getVal()));
@@ -69,7 +69,7 @@ public class TgEmis extends SifenObjectBase {
             gEmis.addChildElement("dDenSuc").setTextContent(this.dDenSuc);
 
         for (TgActEco gActEco : this.gActEcoList) {
-            SOAPElement gActEcoElement = gEmis.addChildElement("gActEco");
+            XmlElement gActEcoElement = gEmis.addChildElement("gActEco");
             gActEcoElement.addChildElement("cActEco").setTextContent(gActEco.getcActEco());
             gActEcoElement.addChildElement("dDesActEco").setTextContent(gActEco.getdDesActEco());
         }
@@ -3,9 +3,9 @@ package com.roshka.sifen.core.fields.request.de;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.math.BigDecimal;
 
@@ -17,8 +17,8 @@ public class TgGrupEner extends SifenObjectBase {
     private BigDecimal dLecAct;
     private BigDecimal dConKwh;
 
-    public void setupSOAPElements(SOAPElement gCamEsp) throws SOAPException {
-        SOAPElement gGrupEner = gCamEsp.addChildElement("gGrupEner");
+    public void setupSOAPElements(XmlElement gCamEsp) throws SOAPException {
+        XmlElement gGrupEner = gCamEsp.addChildElement("gGrupEner");
         if (this.dNroMed != null)
             gGrupEner.addChildElement("dNroMed").setTextContent(this.dNroMed);
 
@@ -3,9 +3,9 @@ package com.roshka.sifen.core.fields.request.de;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -20,10 +20,10 @@ public class TgGrupPolSeg extends SifenObjectBase {
     private LocalDateTime dFecFinVig;
     private String dCodInt;
 
-    public void setupSOAPElements(SOAPElement gGrupSeg) throws SOAPException {
+    public void setupSOAPElements(XmlElement gGrupSeg) throws SOAPException {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
 
-        SOAPElement gGrupPolSeg = gGrupSeg.addChildElement("gGrupPolSeg");
+        XmlElement gGrupPolSeg = gGrupSeg.addChildElement("gGrupPolSeg");
         gGrupPolSeg.addChildElement("dPoliza").setTextContent(this.dPoliza);
         gGrupPolSeg.addChildElement("dUnidVig").setTextContent(this.dUnidVig);
         gGrupPolSeg.addChildElement("dVigencia").setTextContent(String.valueOf(this.dVigencia));
@@ -4,9 +4,9 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.util.ArrayList;
 import java.util.List;
@@ -15,8 +15,8 @@ public class TgGrupSeg extends SifenObjectBase {
     private String dCodEmpSeg;
     private List<TgGrupPolSeg> gGrupPolSegList;
 
-    public void setupSOAPElements(SOAPElement gCamEsp) throws SOAPException {
-        SOAPElement gGrupSeg = gCamEsp.addChildElement("gGrupSeg");
+    public void setupSOAPElements(XmlElement gCamEsp) throws SOAPException {
+        XmlElement gGrupSeg = gCamEsp.addChildElement("gGrupSeg");
         if (this.dCodEmpSeg != null)
             gGrupSeg.addChildElement("dCodEmpSeg").setTextContent(this.dCodEmpSeg);
 
@@ -3,9 +3,9 @@ package com.roshka.sifen.core.fields.request.de;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.math.BigDecimal;
 
@@ -16,8 +16,8 @@ public class TgGrupSup extends SifenObjectBase {
     private BigDecimal dDonac;
     private String dDesDonac;
 
-    public void setupSOAPElements(SOAPElement gCamEsp) throws SOAPException {
-        SOAPElement gGrupSup = gCamEsp.addChildElement("gGrupSup");
+    public void setupSOAPElements(XmlElement gCamEsp) throws SOAPException {
+        XmlElement gGrupSup = gCamEsp.addChildElement("gGrupSup");
         if (this.dNomCaj != null)
             gGrupSup.addChildElement("dNomCaj").setTextContent(this.dNomCaj);
 
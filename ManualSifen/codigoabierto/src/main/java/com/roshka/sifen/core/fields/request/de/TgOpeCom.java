@@ -4,9 +4,9 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.core.types.*;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.math.BigDecimal;
 
@@ -18,8 +18,8 @@ public class TgOpeCom extends SifenObjectBase {
     private BigDecimal dTiCam;
     private TiCondAnt iCondAnt;
 
-    public void setupSOAPElements(SOAPElement gDatGralOpe, TTiDE iTiDE) throws SOAPException {
-        SOAPElement gOpeCom = gDatGralOpe.addChildElement("gOpeCom");
+    public void setupSOAPElements(XmlElement gDatGralOpe, TTiDE iTiDE) throws SOAPException {
+        XmlElement gOpeCom = gDatGralOpe.addChildElement("gOpeCom");
         if (iTiDE.getVal() == 1 || iTiDE.getVal() == 4) {
             gOpeCom.addChildElement("iTipTra").setTextContent(String.valueOf(this.iTipTra.getVal()));
             gOpeCom.addChildElement("dDesTipTra").setTextContent(this.iTipTra.getDescripcion());
@@ -6,9 +6,9 @@ import com.roshka.sifen.core.types.TTipEmi;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 
 public class TgOpeDE extends SifenObjectBase {
@@ -21,8 +21,8 @@ public class TgOpeDE extends SifenObjectBase {
         this.dCodSeg = SifenUtil.generateRandomNumber();
     }
 
-    public void setupSOAPElements(SOAPElement DE, TTiDE iTiDE) throws SOAPException {
-        SOAPElement gOpeDE = DE.addChildElement("gOpeDE");
+    public void setupSOAPElements(XmlElement DE, TTiDE iTiDE) throws SOAPException {
+        XmlElement gOpeDE = DE.addChildElement("gOpeDE");
         gOpeDE.addChildElement("iTipEmi").setTextContent(String.valueOf(this.iTipEmi.getVal()));
         gOpeDE.addChildElement("dDesTipEmi").setTextContent(this.iTipEmi.getDescripcion());
         gOpeDE.addChildElement("dCodSeg").setTextContent(this.dCodSeg);
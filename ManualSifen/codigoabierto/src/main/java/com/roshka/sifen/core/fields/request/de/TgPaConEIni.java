@@ -6,9 +6,9 @@ import com.roshka.sifen.core.types.TiTiPago;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.math.BigDecimal;
 
@@ -21,8 +21,8 @@ public class TgPaConEIni extends SifenObjectBase {
     private TgPagTarCD gPagTarCD;
     private TgPagCheq gPagCheq;
 
-    public void setupSOAPElements(SOAPElement gCamCond) throws SOAPException {
-        SOAPElement gPaConEIni = gCamCond.addChildElement("gPaConEIni");
+    public void setupSOAPElements(XmlElement gCamCond) throws SOAPException {
+        XmlElement gPaConEIni = gCamCond.addChildElement("gPaConEIni");
         gPaConEIni.addChildElement("iTiPago").setTextContent(String.valueOf(this.iTiPago.getVal()));
         gPaConEIni.addChildElement("dDesTiPag").setTextContent(this.iTiPago.getDescripcion());
         gPaConEIni.addChildElement("dMonTiPag").setTextContent(String.valueOf(this.dMonTiPag));
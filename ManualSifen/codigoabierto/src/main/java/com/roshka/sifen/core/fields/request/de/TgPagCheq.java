@@ -4,17 +4,17 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 
 public class TgPagCheq extends SifenObjectBase {
     private String dNumCheq;
     private String dBcoEmi;
 
-    public void setupSOAPElements(SOAPElement gPaConEIni) throws SOAPException {
-        SOAPElement gPagCheq = gPaConEIni.addChildElement("gPagCheq");
+    public void setupSOAPElements(XmlElement gPaConEIni) throws SOAPException {
+        XmlElement gPagCheq = gPaConEIni.addChildElement("gPagCheq");
         gPagCheq.addChildElement("dNumCheq").setTextContent(this.dNumCheq);
         gPagCheq.addChildElement("dBcoEmi").setTextContent(this.dBcoEmi);
     }
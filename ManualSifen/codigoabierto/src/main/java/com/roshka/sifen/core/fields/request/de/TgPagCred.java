@@ -5,9 +5,9 @@ import com.roshka.sifen.core.types.TiCondCred;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -20,8 +20,8 @@ public class TgPagCred extends SifenObjectBase {
     private BigDecimal dMonEnt;
     private List<TgCuotas> gCuotasList;
 
-    public void setupSOAPElements(SOAPElement gCamCond) throws SOAPException {
-        SOAPElement gPagCred = gCamCond.addChildElement("gPagCred");
+    public void setupSOAPElements(XmlElement gCamCond) throws SOAPException {
+        XmlElement gPagCred = gCamCond.addChildElement("gPagCred");
         gPagCred.addChildElement("iCondCred").setTextContent(String.valueOf(this.iCondCred.getVal()));
         gPagCred.addChildElement("dDCondCred").setTextContent(this.iCondCred.getDescripcion());
 
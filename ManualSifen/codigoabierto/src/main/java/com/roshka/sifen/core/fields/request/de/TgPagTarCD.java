@@ -5,9 +5,9 @@ import com.roshka.sifen.core.types.TiDenTarj;
 import com.roshka.sifen.core.types.TiForProPa;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 
 public class TgPagTarCD extends SifenObjectBase {
@@ -21,8 +21,8 @@ public class TgPagTarCD extends SifenObjectBase {
     private String dNomTit;
     private short dNumTarj;
 
-    public void setupSOAPElements(SOAPElement gPaConEIni) throws SOAPException {
-        SOAPElement gPagTarCD = gPaConEIni.addChildElement("gPagTarCD");
+    public void setupSOAPElements(XmlElement gPaConEIni) throws SOAPException {
+        XmlElement gPagTarCD = gPaConEIni.addChildElement("gPagTarCD");
         gPagTarCD.addChildElement("iDenTarj").setTextContent(String.valueOf(this.iDenTarj.getVal()));
         gPagTarCD.addChildElement("dDesDenTarj").setTextContent(this.iDenTarj.getDescripcion());
 
@@ -3,9 +3,9 @@ package com.roshka.sifen.core.fields.request.de;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.time.LocalDate;
 
@@ -21,8 +21,8 @@ public class TgRasMerc extends SifenObjectBase {
     private String dNumReg;
     private String dNumRegEntCom;
 
-    public void setupSOAPElements(SOAPElement gCamItem) throws SOAPException {
-        SOAPElement gRasMerc = gCamItem.addChildElement("gRasMerc");
+    public void setupSOAPElements(XmlElement gCamItem) throws SOAPException {
+        XmlElement gRasMerc = gCamItem.addChildElement("gRasMerc");
         if (this.dNumLote != null)
             gRasMerc.addChildElement("dNumLote").setTextContent(this.dNumLote);
 
@@ -5,9 +5,9 @@ import com.roshka.sifen.core.types.TTiDE;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.time.LocalDate;
 
@@ -20,8 +20,8 @@ public class TgTimb extends SifenObjectBase {
     private String dSerieNum;   // número de serie del timbrado (opcional)
     private LocalDate dFeIniT;  // fecha de inicio de vigencia del timbrado
 
-    public void setupSOAPElements(SOAPElement DE) throws SOAPException {
-        SOAPElement gTimb = DE.addChildElement("gTimb");
+    public void setupSOAPElements(XmlElement DE) throws SOAPException {
+        XmlElement gTimb = DE.addChildElement("gTimb");
         gTimb.addChildElement("iTiDE").setTextContent(String.valueOf(this.iTiDE.getVal()));
         gTimb.addChildElement("dDesTiDE").setTextContent(this.iTiDE.getDescripcion());
         gTimb.addChildElement("dNumTim").setTextContent(String.valueOf(this.dNumTim));
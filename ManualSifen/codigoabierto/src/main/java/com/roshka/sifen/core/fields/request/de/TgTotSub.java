@@ -1,20 +1,16 @@
 package com.roshka.sifen.core.fields.request.de;
 
 import com.roshka.sifen.core.exceptions.SifenException;
-import com.roshka.sifen.core.fields.util.RedondeoUtil;
 import com.roshka.sifen.core.types.CMondT;
 import com.roshka.sifen.core.types.TTImp;
 import com.roshka.sifen.core.types.TTiDE;
-import com.roshka.sifen.core.types.TdCondTiCam;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
-import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 
 import static com.roshka.sifen.core.fields.util.FieldFormatUtil.formattdCRed;
 
@@ -45,79 +41,18 @@ public class TgTotSub extends SifenObjectBase {
     private BigDecimal dTBasGraIVA = BigDecimal.ZERO;
     private BigDecimal dTotalGs = BigDecimal.ZERO;
 
-    public void setupSOAPElements(SOAPElement DE, TTiDE iTiDE, TgDtipDE gDtipDE, TgOpeCom gOpeCom) throws SOAPException {
-        resetValues();
-
+    public void setupSOAPElements(XmlElement DE, TTiDE iTiDE, TgDtipDE gDtipDE, TgOpeCom gOpeCom) throws SOAPException {
         TTImp iTImp = gOpeCom.getiTImp();
         CMondT cMoneOpe = gOpeCom.getcMoneOpe();
-        TdCondTiCam dCondTiCam = gOpeCom.getdCondTiCam();
-        BigDecimal dTiCam = gOpeCom.getdTiCam();
-
-        int scale = cMoneOpe == CMondT.PYG ? 0 : 2;
 
-        SOAPElement gTotSub = DE.addChildElement("gTotSub");
+        XmlElement gTotSub = DE.addChildElement("gTotSub");
 
-        // CALCULOS
+        // CALCULOS: los valores de los ítems ya fueron calculados al generar sus grupos
+        AcumuladorTotales totales = new AcumuladorTotales(iTiDE, gOpeCom);
         for (TgCamItem gCamItem : gDtipDE.getgCamItemList()) {
-            TgCamIVA gCamIVA = gCamItem.getgCamIVA();
-            BigDecimal dTotOpeItem = gCamItem.getgValorItem().getgValorRestaItem().getdTotOpeItem();
-
-            dTotOpeItem = dTotOpeItem.setScale(scale, RoundingMode.HALF_UP);
-            if (gCamIVA != null) {
-                BigDecimal dLiqIVAItem = gCamIVA.getdLiqIVAItem();
-                BigDecimal dBasGravIVA = gCamIVA.getdBasGravIVA();
-
-                if (gCamIVA.getiAfecIVA().getVal() == 1 || gCamIVA.getiAfecIVA().getVal() == 4) {
-                    if (gCamIVA.getdTasaIVA().equals(BigDecimal.valueOf(10))) {
-                        this.dSub10 = this.dSub10.add(dTotOpeItem);
-                        this.dIVA10 = this.dIVA10.add(dLiqIVAItem);
-                        this.dBaseGrav10 = this.dBaseGrav10.add(dBasGravIVA);
-                        this.dLiqTotIVA10 = BigDecimal.ZERO;
-                    } else if (gCamIVA.getdTasaIVA().equals(BigDecimal.valueOf(5))) {
-                        this.dSub5 = this.dSub5.add(dTotOpeItem);
-                        this.dIVA5 = this.dIVA5.add(dLiqIVAItem);
-                        this.dBaseGrav5 = this.dBaseGrav5.add(dBasGravIVA);
-                        this.dLiqTotIVA5 = BigDecimal.ZERO;
-                    }
-                } else if (gCamIVA.getiAfecIVA().getVal() == 2) {
-                    this.dSubExo = this.dSubExo.add(dTotOpeItem);
-                } else if (gCamIVA.getiAfecIVA().getVal() == 3) {
-                    this.dSubExe = this.dSubExe.add(dTotOpeItem);
-                }
-            }
-
-            if (iTiDE.getVal() == 4)
-                this.dTotOpe = this.dTotOpe.add(dTotOpeItem);
-
-            this.dTotDesc = this.dTotDesc.add(SifenUtil.coalesce(gCamItem.getgValorItem().getgValorRestaItem().getdDescItem().multiply(gCamItem.getdCantProSer()), BigDecimal.ZERO));
-            this.dTotDescGlotem = this.dTotDescGlotem.add(SifenUtil.coalesce(gCamItem.getgValorItem().getgValorRestaItem().getdDescGloItem(), BigDecimal.ZERO));
-            this.dTotAntItem = this.dTotAntItem.add(SifenUtil.coalesce(gCamItem.getgValorItem().getgValorRestaItem().getdAntPreUniIt(), BigDecimal.ZERO));
-            this.dTotAnt = this.dTotAnt.add(SifenUtil.coalesce(gCamItem.getgValorItem().getgValorRestaItem().getdAntGloPreUniIt(), BigDecimal.ZERO));
-
-            if (!cMoneOpe.name().equals("PYG") && dCondTiCam.getVal() == 2)
-                this.dTotalGs = this.dTotalGs.add(gCamItem.getgValorItem().getgValorRestaItem().getdTotOpeGs());
+            totales.agregarItemCalculado(gCamItem);
         }
-
-        if (iTiDE.getVal() != 4 && (iTImp.getVal() == 1 || iTImp.getVal() == 3 || iTImp.getVal() == 4 || iTImp.getVal() == 5)) {
-            this.dTotOpe = this.dSub10.add(this.dSub5).add(this.dSubExo).add(this.dSubExe);
-        }
-        this.dDescTotal = this.dTotDesc.add(this.dTotDescGlotem);
-        this.dPorcDescTotal = this.dDescTotal.multiply(BigDecimal.valueOf(100)).divide(this.dTotOpe.add(this.dDescTotal), 2, RoundingMode.HALF_UP);
-        this.dAnticipo = this.dTotAntItem.add(this.dTotAnt);
-
-        this.dRedon = RedondeoUtil.redondeoOficialSET(cMoneOpe, this.dTotOpe);
-        this.dTotGralOpe = this.dTotOpe.subtract(this.dRedon).add(SifenUtil.coalesce(this.dComi, BigDecimal.ZERO));
-        this.dRedon = this.dRedon.abs();
-
-        if (this.dComi != null) {
-            this.dIVAComi = this.dComi.divide(BigDecimal.valueOf(1.1), scale, RoundingMode.HALF_UP);
-        }
-
-        this.dTotIVA = this.dIVA5.add(this.dIVA10).subtract(this.dLiqTotIVA5).subtract(this.dLiqTotIVA10).add(this.dIVAComi);
-        this.dTBasGraIVA = this.dBaseGrav5.add(this.dBaseGrav10);
-
-        if (!cMoneOpe.name().equals("PYG") && dCondTiCam.getVal() == 1)
-            this.dTotalGs = this.dTotGralOpe.multiply(dTiCam);
+        this.setTotales(totales);
 
         // INSERCIONES
         if (iTiDE.getVal() != 4) {
@@ -171,7 +106,7 @@ public class TgTotSub extends SifenObjectBase {
                 gTotSub.addChildElement("dTBasGraIVA").setTextContent(String.valueOf(this.dTBasGraIVA));
             }
 
-            if (!cMoneOpe.name().equals("PYG"))
+            if (cMoneOpe != CMondT.PYG)
                 gTotSub.addChildElement("dTotalGs").setTextContent(String.valueOf(this.dTotalGs));
         }
     }
@@ -257,32 +192,37 @@ public class TgTotSub extends SifenObjectBase {
         }
     }
 
-    private void resetValues() {
-        dSubExe = BigDecimal.ZERO;
-        dSubExo = BigDecimal.ZERO;
-        dSub5 = BigDecimal.ZERO;
-        dSub10 = BigDecimal.ZERO;
-        dTotOpe = BigDecimal.ZERO;
-        dTotDesc = BigDecimal.ZERO;
-        dTotDescGlotem = BigDecimal.ZERO;
-        dTotAntItem = BigDecimal.ZERO;
-        dTotAnt = BigDecimal.ZERO;
-        dPorcDescTotal = BigDecimal.ZERO;
-        dDescTotal = BigDecimal.ZERO;
-        dAnticipo = BigDecimal.ZERO;
-        dRedon = BigDecimal.ZERO;
-        dComi = BigDecimal.ZERO;
-        dTotGralOpe = BigDecimal.ZERO;
-        dIVA5 = BigDecimal.ZERO;
-        dIVA10 = BigDecimal.ZERO;
-        dLiqTotIVA5 = BigDecimal.ZERO;
-        dLiqTotIVA10 = BigDecimal.ZERO;
-        dIVAComi = BigDecimal.ZERO;
-        dTotIVA = BigDecimal.ZERO;
-        dBaseGrav5 = BigDecimal.ZERO;
-        dBaseGrav10 = BigDecimal.ZERO;
-        dTBasGraIVA = BigDecimal.ZERO;
-        dTotalGs = BigDecimal.ZERO;
+    /**
+     * Establece todos los subtotales y totales a partir de los acumulados.
+     *
+     * @param totales Totales acumulados de los ítems del DE.
+     */
+    public void setTotales(AcumuladorTotales totales) {
+        dSubExe = totales.getdSubExe();
+        dSubExo = totales.getdSubExo();
+        dSub5 = totales.getdSub5();
+        dSub10 = totales.getdSub10();
+        dTotOpe = totales.getdTotOpe();
+        dTotDesc = totales.getdTotDesc();
+        dTotDescGlotem = totales.getdTotDescGlotem();
+        dTotAntItem = totales.getdTotAntItem();
+        dTotAnt = totales.getdTotAnt();
+        dPorcDescTotal = totales.getdPorcDescTotal();
+        dDescTotal = totales.getdDescTotal();
+        dAnticipo = totales.getdAnticipo();
+        dRedon = totales.getdRedon();
+        dComi = totales.getdComi();
+        dTotGralOpe = totales.getdTotGralOpe();
+        dIVA5 = totales.getdIVA5();
+        dIVA10 = totales.getdIVA10();
+        dLiqTotIVA5 = totales.getdLiqTotIVA5();
+        dLiqTotIVA10 = totales.getdLiqTotIVA10();
+        dIVAComi = totales.getdIVAComi();
+        dTotIVA = totales.getdTotIVA();
+        dBaseGrav5 = totales.getdBaseGrav5();
+        dBaseGrav10 = totales.getdBaseGrav10();
+        dTBasGraIVA = totales.getdTBasGraIVA();
+        dTotalGs = totales.getdTotalGs();
     }
 
     public BigDecimal getdSubExe() {
@@ -5,9 +5,9 @@ import com.roshka.sifen.core.types.*;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -28,8 +28,8 @@ public class TgTransp extends SifenObjectBase {
     private List<TgVehTras> gVehTrasList;
     private TgCamTrans gCamTrans;
 
-    public void setupSOAPElements(SOAPElement gDtipDE, TTiDE iTiDE, TiMotivTras iMotEmiNR) throws SOAPException {
-        SOAPElement gTransp = gDtipDE.addChildElement("gTransp");
+    public void setupSOAPElements(XmlElement gDtipDE, TTiDE iTiDE, TiMotivTras iMotEmiNR) throws SOAPException {
+        XmlElement gTransp = gDtipDE.addChildElement("gTransp");
 
         if (iTiDE.getVal() == 7 || this.iTipTrans != null) {
             gTransp.addChildElement("iTipTrans").setTextContent(String.valueOf(this.iTipTrans.getVal()));
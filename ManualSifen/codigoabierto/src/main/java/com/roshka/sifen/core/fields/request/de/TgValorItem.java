@@ -1,6 +1,7 @@
 package com.roshka.sifen.core.fields.request.de;
 
 import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.core.fields.util.IVAUtil;
 import com.roshka.sifen.core.types.TTImp;
 import com.roshka.sifen.core.types.TTiDE;
 import com.roshka.sifen.core.types.TdCondTiCam;
@@ -8,9 +9,9 @@ import com.roshka.sifen.core.types.CMondT;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.response.SifenObjectFactory;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -21,22 +22,34 @@ public class TgValorItem extends SifenObjectBase {
     private BigDecimal dTotBruOpeItem;
     private TgValorRestaItem gValorRestaItem;
 
-    public void setupSOAPElements(SOAPElement gCamItem, TTiDE iTiDE, TdCondTiCam dCondTiCam, TTImp iTImp, BigDecimal dCantProSer, CMondT cMoneOpe) throws SOAPException {
-        SOAPElement gValorItem = gCamItem.addChildElement("gValorItem");
+    public void setupSOAPElements(XmlElement gCamItem, TTiDE iTiDE, TdCondTiCam dCondTiCam, TTImp iTImp, BigDecimal dCantProSer, CMondT cMoneOpe) throws SOAPException {
+        XmlElement gValorItem = gCamItem.addChildElement("gValorItem");
         gValorItem.addChildElement("dPUniProSer").setTextContent(String.valueOf(this.dPUniProSer));
 
         if (dCondTiCam != null && dCondTiCam.getVal() == 2)
             gValorItem.addChildElement("dTiCamIt").setTextContent(String.valueOf(this.dTiCamIt));
 
-        this.dTotBruOpeItem = this.dPUniProSer.multiply(dCantProSer);
-        // am2811
-        int scale = cMoneOpe.name().equals("PYG") ? 0 : 2;
-        this.dTotBruOpeItem = this.dTotBruOpeItem.setScale(scale, RoundingMode.HALF_UP);
+        this.calcularTotBruOpeItem(dCantProSer, cMoneOpe);
         gValorItem.addChildElement("dTotBruOpeItem").setTextContent(String.valueOf(this.dTotBruOpeItem));
 
         this.gValorRestaItem.setupSOAPElements(gValorItem, iTiDE, iTImp, dCondTiCam, this.dTiCamIt, this.dPUniProSer, dCantProSer, cMoneOpe);
     }
 
+    /**
+     * Calcula los valores del ítem y de sus descuentos, sin generar el XML.
+     */
+    void calcularValores(TTiDE iTiDE, TdCondTiCam dCondTiCam, TTImp iTImp, BigDecimal dCantProSer, CMondT cMoneOpe) {
+        this.calcularTotBruOpeItem(dCantProSer, cMoneOpe);
+        this.gValorRestaItem.calcularValores(iTiDE, iTImp, dCondTiCam, this.dTiCamIt, this.dPUniProSer, dCantProSer);
+    }
+
+    private void calcularTotBruOpeItem(BigDecimal dCantProSer, CMondT cMoneOpe) {
+        this.dTotBruOpeItem = this.dPUniProSer.multiply(dCantProSer);
+        // am2811
+        int scale = IVAUtil.escala(cMoneOpe);
+        this.dTotBruOpeItem = this.dTotBruOpeItem.setScale(scale, RoundingMode.HALF_UP);
+    }
+
     @Override
     public void setValueFromChildNode(Node value) throws SifenException {
         switch (value.getLocalName()) {
@@ -1,6 +1,7 @@
 package com.roshka.sifen.core.fields.request.de;
 
 import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.core.fields.util.IVAUtil;
 import com.roshka.sifen.core.types.TTImp;
 import com.roshka.sifen.core.types.TTiDE;
 import com.roshka.sifen.core.types.TdCondTiCam;
@@ -8,9 +9,9 @@ import com.roshka.sifen.core.types.CMondT;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -28,14 +29,14 @@ public class TgValorRestaItem extends SifenObjectBase {
         this.dDescItem = BigDecimal.ZERO;
     }
 
-    public void setupSOAPElements(SOAPElement gValorItem, TTiDE iTiDE, TTImp iTImp, TdCondTiCam dCondTiCam, BigDecimal dTiCamIt,
+    public void setupSOAPElements(XmlElement gValorItem, TTiDE iTiDE, TTImp iTImp, TdCondTiCam dCondTiCam, BigDecimal dTiCamIt,
                                   BigDecimal dPUniProSer, BigDecimal dCantProSer, CMondT cMoneOpe) throws SOAPException {
-        SOAPElement gValorRestaItem = gValorItem.addChildElement("gValorRestaItem");
+        this.calcularValores(iTiDE, iTImp, dCondTiCam, dTiCamIt, dPUniProSer, dCantProSer);
+
+        XmlElement gValorRestaItem = gValorItem.addChildElement("gValorRestaItem");
 
         if (this.dDescItem != null) {
             gValorRestaItem.addChildElement("dDescItem").setTextContent(String.valueOf(this.dDescItem));
-
-            this.dPorcDesIt = this.dDescItem.multiply(BigDecimal.valueOf(100)).divide(dPUniProSer, 2, RoundingMode.HALF_UP);
             gValorRestaItem.addChildElement("dPorcDesIt").setTextContent(String.valueOf(this.dPorcDesIt));
         }
 
@@ -45,6 +46,24 @@ public class TgValorRestaItem extends SifenObjectBase {
         gValorRestaItem.addChildElement("dAntPreUniIt").setTextContent(String.valueOf(SifenUtil.coalesce(this.dAntPreUniIt, BigDecimal.ZERO)));
         gValorRestaItem.addChildElement("dAntGloPreUniIt").setTextContent(String.valueOf(SifenUtil.coalesce(this.dAntGloPreUniIt, BigDecimal.ZERO)));
 
+//        gValorRestaItem.addChildElement("dTotOpeItem").setTextContent(String.valueOf(this.dTotOpeItem));
+        //am 22_11
+        int scale = IVAUtil.escala(cMoneOpe);
+        gValorRestaItem.addChildElement("dTotOpeItem").setTextContent(String.valueOf(this.dTotOpeItem.setScale(scale, RoundingMode.HALF_UP)));
+
+        if (dCondTiCam != null && dCondTiCam.getVal() == 2)
+            gValorRestaItem.addChildElement("dTotOpeGs").setTextContent(String.valueOf(this.dTotOpeGs));
+    }
+
+    /**
+     * Calcula el porcentaje de descuento, el total de la operación del ítem y su equivalente en guaraníes, sin
+     * generar el XML.
+     */
+    void calcularValores(TTiDE iTiDE, TTImp iTImp, TdCondTiCam dCondTiCam, BigDecimal dTiCamIt, BigDecimal dPUniProSer,
+                         BigDecimal dCantProSer) {
+        if (this.dDescItem != null)
+            this.dPorcDesIt = this.dDescItem.multiply(IVAUtil.CIEN).divide(dPUniProSer, 2, RoundingMode.HALF_UP);
+
         if (iTiDE.getVal() == 4) {
             this.dTotOpeItem = dPUniProSer.multiply(dCantProSer);
         } else if (iTImp != null && (iTImp.getVal() == 1 || iTImp.getVal() == 3 || iTImp.getVal() == 4 || iTImp.getVal() == 5)) {
@@ -54,15 +73,9 @@ public class TgValorRestaItem extends SifenObjectBase {
                     .subtract(SifenUtil.coalesce(this.dAntGloPreUniIt, BigDecimal.ZERO)))
                     .multiply(dCantProSer);
         }
-//        gValorRestaItem.addChildElement("dTotOpeItem").setTextContent(String.valueOf(this.dTotOpeItem));
-        //am 22_11
-        int scale = cMoneOpe.name().equals("PYG") ? 0 : 2;
-        gValorRestaItem.addChildElement("dTotOpeItem").setTextContent(String.valueOf(this.dTotOpeItem.setScale(scale, RoundingMode.HALF_UP)));
 
-        if (dCondTiCam != null && dCondTiCam.getVal() == 2) {
+        if (dCondTiCam != null && dCondTiCam.getVal() == 2)
             this.dTotOpeGs = this.dTotOpeItem.multiply(dTiCamIt);
-            gValorRestaItem.addChildElement("dTotOpeGs").setTextContent(String.valueOf(this.dTotOpeGs));
-        }
     }
 
     @Override
@@ -6,9 +6,9 @@ import com.roshka.sifen.core.types.TiTipOpVN;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 import java.math.BigDecimal;
 
@@ -29,8 +29,8 @@ public class TgVehNuevo extends SifenObjectBase {
     private short dCapac;
     private String dCilin;
 
-    public void setupSOAPElements(SOAPElement gCamItem) throws SOAPException {
-        SOAPElement gVehNuevo = gCamItem.addChildElement("gVehNuevo");
+    public void setupSOAPElements(XmlElement gCamItem) throws SOAPException {
+        XmlElement gVehNuevo = gCamItem.addChildElement("gVehNuevo");
         if (this.iTipOpVN != null) {
             gVehNuevo.addChildElement("iTipOpVN").setTextContent(String.valueOf(this.iTipOpVN.getVal()));
             gVehNuevo.addChildElement("dDesTipOpVN").setTextContent(this.iTipOpVN.getDescripcion());
@@ -4,9 +4,9 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.core.types.TiModTrans;
 import com.roshka.sifen.internal.response.SifenObjectBase;
 import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.xml.XmlElement;
 import org.w3c.dom.Node;
 
-import javax.xml.soap.SOAPElement;
 import javax.xml.soap.SOAPException;
 
 public class TgVehTras extends SifenObjectBase {
@@ -18,8 +18,8 @@ public class TgVehTras extends SifenObjectBase {
     private String dNroMatVeh;
     private String dNroVuelo;
 
-    public void setupSOAPElements(SOAPElement gTransp, TiModTrans iModTrans) throws SOAPException {
-        SOAPElement gVehTras = gTransp.addChildElement("gVehTras");
+    public void setupSOAPElements(XmlElement gTransp, TiModTrans iModTrans) throws SOAPException {
+        XmlElement gVehTras = gTransp.addChildElement("gVehTras");
         gVehTras.addChildElement("dTiVehTras").setTextContent(this.dTiVehTras);
         gVehTras.addChildElement("dMarVeh").setTextContent(this.dMarVeh);
         gVehTras.addChildElement("dTipIdenVeh").setTextContent(String.valueOf(this.dTipIdenVeh));
@@ -7,20 +7,21 @@ import java.text.NumberFormat;
 
 public class FieldFormatUtil {
 
-    private static DecimalFormat _tdCRedFormat = (DecimalFormat) DecimalFormat.getInstance();
-
-    static {
+    // DecimalFormat no es seguro para su uso desde varios hilos, y los DE de un lote se generan en paralelo
+    private static final ThreadLocal<DecimalFormat> _tdCRedFormat = ThreadLocal.withInitial(() -> {
+        DecimalFormat format = (DecimalFormat) DecimalFormat.getInstance();
         DecimalFormatSymbols dfs = DecimalFormatSymbols.getInstance();
         dfs.setDecimalSeparator('.');
-        _tdCRedFormat.setDecimalSeparatorAlwaysShown(false);
-        _tdCRedFormat.setGroupingUsed(false);
-        _tdCRedFormat.setMaximumFractionDigits(4);
-        _tdCRedFormat.setMaximumIntegerDigits(4);
-        _tdCRedFormat.setDecimalFormatSymbols(dfs);
-    }
+        format.setDecimalSeparatorAlwaysShown(false);
+        format.setGroupingUsed(false);
+        format.setMaximumFractionDigits(4);
+        format.setMaximumIntegerDigits(4);
+        format.setDecimalFormatSymbols(dfs);
+        return format;
+    });
 
     public static String formattdCRed(BigDecimal val) {
-        return _tdCRedFormat.format(val);
+        return _tdCRedFormat.get().format(val);
     }
 
 }
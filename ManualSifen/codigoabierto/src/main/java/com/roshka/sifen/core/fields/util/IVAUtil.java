@@ -0,0 +1,113 @@
+package com.roshka.sifen.core.fields.util;
+
+import com.roshka.sifen.core.types.CMondT;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Cálculos del IVA de los ítems (base gravada y liquidación, E735 y E736) y de los totales del DE, compartidos por la
+ * generación del XML y por el acumulador de totales.<br>
+ * Las tasas se comparan por valor, por lo que 10, 10.0 y 10.00 son la misma tasa. En guaraníes, donde todos los
+ * montos son enteros, los cálculos se realizan con aritmética entera, con el mismo resultado (valor y escala) que la
+ * división de {@link BigDecimal} con redondeo HALF_UP.
+ */
+public class IVAUtil {
+    public static final BigDecimal CIEN = BigDecimal.valueOf(100);
+    public static final BigDecimal TASA_10 = BigDecimal.valueOf(10);
+    public static final BigDecimal TASA_5 = BigDecimal.valueOf(5);
+
+    // Monto con IVA incluido / 1,1 = base gravada; / 11 = IVA, a la tasa del 10%. Con la tasa del 5%, 1,05 y 21.
+    private static final BigDecimal DIVISOR_BASE_10 = BigDecimal.valueOf(1.1);
+    private static final BigDecimal DIVISOR_IVA_10 = BigDecimal.valueOf(11);
+    private static final BigDecimal DIVISOR_BASE_5 = BigDecimal.valueOf(1.05);
+    private static final BigDecimal DIVISOR_IVA_5 = BigDecimal.valueOf(21);
+
+    // Con montos de hasta 2^57 no hay desbordamiento al multiplicar por 20
+    private static final int MAX_BITS_ENTERO = 57;
+
+    /**
+     * @param cMoneOpe Moneda de la operación.
+     * @return Cantidad de decimales de los montos: 0 en guaraníes, 2 en otras monedas.
+     */
+    public static int escala(CMondT cMoneOpe) {
+        return cMoneOpe == CMondT.PYG ? 0 : 2;
+    }
+
+    public static boolean esTasa10(BigDecimal dTasaIVA) {
+        return dTasaIVA.compareTo(TASA_10) == 0;
+    }
+
+    public static boolean esTasa5(BigDecimal dTasaIVA) {
+        return dTasaIVA.compareTo(TASA_5) == 0;
+    }
+
+    /**
+     * @param dTotOpeItem Total de la operación del ítem, ya redondeado a la escala de la moneda.
+     * @param dPropIVA    Proporción gravada, en porcentaje (E733).
+     * @param scale       Escala de la moneda.
+     * @return Monto gravado del ítem, con el IVA incluido.
+     */
+    public static BigDecimal montoGravado(BigDecimal dTotOpeItem, BigDecimal dPropIVA, int scale) {
+        return dTotOpeItem.multiply(dPropIVA.divide(CIEN, scale, RoundingMode.HALF_UP));
+    }
+
+    /**
+     * @param montoGravado Monto gravado, con el IVA incluido.
+     * @param dTasaIVA     Tasa del IVA, 10 o 5.
+     * @param scale        Escala de la moneda.
+     * @return Base gravada del IVA (E735), o null si la tasa no es 10 ni 5.
+     */
+    public static BigDecimal baseGravada(BigDecimal montoGravado, BigDecimal dTasaIVA, int scale) {
+        if (esTasa10(dTasaIVA)) {
+            return dividir(montoGravado, DIVISOR_BASE_10, 10, 11, scale);
+        } else if (esTasa5(dTasaIVA)) {
+            return dividir(montoGravado, DIVISOR_BASE_5, 20, 21, scale);
+        }
+        return null;
+    }
+
+    /**
+     * @param montoGravado Monto gravado, con el IVA incluido.
+     * @param dTasaIVA     Tasa del IVA, 10 o 5.
+     * @param scale        Escala de la moneda.
+     * @return Liquidación del IVA (E736), o null si la tasa no es 10 ni 5.
+     */
+    public static BigDecimal liquidacion(BigDecimal montoGravado, BigDecimal dTasaIVA, int scale) {
+        if (esTasa10(dTasaIVA)) {
+            return dividir(montoGravado, DIVISOR_IVA_10, 1, 11, scale);
+        } else if (esTasa5(dTasaIVA)) {
+            return dividir(montoGravado, DIVISOR_IVA_5, 1, 21, scale);
+        }
+        return null;
+    }
+
+    /**
+     * @param dComi Comisión de la operación (F016).
+     * @param scale Escala de la moneda.
+     * @return IVA de la comisión (F019), considerando la comisión gravada al 10%.
+     */
+    public static BigDecimal ivaComision(BigDecimal dComi, int scale) {
+        return dComi.divide(DIVISOR_BASE_10, scale, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Calcula monto / divisor con la escala indicada y redondeo HALF_UP. Si la escala es 0 y el monto es entero, el
+     * divisor se expresa como la fracción numerador / denominador y la división se hace con enteros.
+     */
+    private static BigDecimal dividir(BigDecimal monto, BigDecimal divisor, long numerador, long denominador, int scale) {
+        if (scale == 0 && monto.scale() == 0 && monto.unscaledValue().bitLength() <= MAX_BITS_ENTERO) {
+            return BigDecimal.valueOf(dividirHalfUp(monto.longValue() * numerador, denominador));
+        }
+        return monto.divide(divisor, scale, RoundingMode.HALF_UP);
+    }
+
+    private static long dividirHalfUp(long dividendo, long divisor) {
+        long cociente = dividendo / divisor;
+        long resto = dividendo % divisor;
+        if (Math.abs(resto) * 2 >= divisor) {
+            cociente += Long.signum(dividendo);
+        }
+        return cociente;
+    }
+}
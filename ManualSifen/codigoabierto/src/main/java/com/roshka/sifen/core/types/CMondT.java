@@ -1,6 +1,8 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
+
+import java.util.Map;
 
 public enum CMondT {
 
@@ -811,8 +813,10 @@ public enum CMondT {
         this.descripcion = descripcion;
     }
 
+    private static final Map<String, CMondT> byName = EnumLookup.indexByName(values());
+
     public static CMondT getByName(String name) {
-        return Arrays.stream(CMondT.values()).filter(e -> e.name().equalsIgnoreCase(name)).findFirst().orElse(null);
+        return EnumLookup.getByName(byName, name);
     }
 
     public String getDescripcion() {
@@ -1,6 +1,8 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
+
+import java.util.Map;
 
 /**
  * Este enumerado contiene los países oficiales según la SET,
@@ -1007,8 +1009,10 @@ public enum PaisType {
         this.nombre = nombre;
     }
 
+    private static final Map<String, PaisType> byName = EnumLookup.indexByName(values());
+
     public static PaisType getByName(String name) {
-        return Arrays.stream(PaisType.values()).filter(e -> e.name().equalsIgnoreCase(name)).findFirst().orElse(null);
+        return EnumLookup.getByName(byName, name);
     }
 
     public String getNombre() {
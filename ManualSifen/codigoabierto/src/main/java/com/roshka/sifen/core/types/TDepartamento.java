@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 /**
  * Este enumerado contiene los códigos de departamento y sus descripciones oficiales para la SET
@@ -35,8 +35,10 @@ public enum TDepartamento {
         this.descripcion = descripcion;
     }
 
+    private static final TDepartamento[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TDepartamento getByVal(short val) {
-        return Arrays.stream(TDepartamento.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
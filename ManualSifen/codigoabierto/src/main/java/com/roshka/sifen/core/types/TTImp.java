@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 /**
  * Esta clase engloba los datos/tipos tiTipTra y tdDesTiTran
@@ -20,8 +20,10 @@ public enum TTImp {
         this.descripcion = descripcion;
     }
 
+    private static final TTImp[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TTImp getByVal(short val) {
-        return Arrays.stream(TTImp.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
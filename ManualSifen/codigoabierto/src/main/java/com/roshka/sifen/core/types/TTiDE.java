@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 /**
  * Esta clase engloba los datos/tipos tiTiDE y tdDesTiDE
@@ -23,8 +23,10 @@ public enum TTiDE {
         this.descripcion = descripcion;
     }
 
+    private static final TTiDE[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TTiDE getByVal(short val) {
-        return Arrays.stream(TTiDE.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
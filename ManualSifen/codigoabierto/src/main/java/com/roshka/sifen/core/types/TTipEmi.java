@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 /**
  * Esta clase engloba los datos/tipos tiTipEmi y tdDesTipEmi
@@ -17,8 +17,10 @@ public enum TTipEmi {
         this.descripcion = descripcion;
     }
 
+    private static final TTipEmi[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TTipEmi getByVal(short val) {
-        return Arrays.stream(TTipEmi.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TTipReg {
     REGIMEN_TURISMO((short) 1, "Régimen de Turismo"),
@@ -20,8 +20,10 @@ public enum TTipReg {
         this.descripcion = descripcion;
     }
 
+    private static final TTipReg[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TTipReg getByVal(short val) {
-        return Arrays.stream(TTipReg.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
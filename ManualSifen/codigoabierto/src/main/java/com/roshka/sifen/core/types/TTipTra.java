@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 /**
  * Esta clase engloba los datos/tipos tiTipTra y tdDesTiTran
@@ -28,8 +28,10 @@ public enum TTipTra {
         this.descripcion = descripcion;
     }
 
+    private static final TTipTra[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TTipTra getByVal(short val) {
-        return Arrays.stream(TTipTra.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
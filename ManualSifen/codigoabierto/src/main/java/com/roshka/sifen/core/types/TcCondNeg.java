@@ -1,6 +1,8 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
+
+import java.util.Map;
 
 public enum TcCondNeg {
     CFR("Costo y flete"),
@@ -21,8 +23,10 @@ public enum TcCondNeg {
         this.descripcion = descripcion;
     }
 
+    private static final Map<String, TcCondNeg> byName = EnumLookup.indexByName(values());
+
     public static TcCondNeg getByDescription(String description) {
-        return Arrays.stream(TcCondNeg.values()).filter(e -> e.name().equalsIgnoreCase(description)).findFirst().orElse(null);
+        return EnumLookup.getByName(byName, description);
     }
 
     public String getDescripcion() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TdCondTiCam {
     GLOBAL((short) 1, "Global"),
@@ -14,8 +14,10 @@ public enum TdCondTiCam {
         this.descripcion = descripcion;
     }
 
+    private static final TdCondTiCam[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TdCondTiCam getByVal(short val) {
-        return Arrays.stream(TdCondTiCam.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TdTipCons {
     CONSTANCIA_NO_CONTRIBUYENTE((short) 1, "Constancia de no ser contribuyente"),
@@ -14,8 +14,10 @@ public enum TdTipCons {
         this.descripcion = descripcion;
     }
 
+    private static final TdTipCons[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TdTipCons getByVal(short val) {
-        return Arrays.stream(TdTipCons.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
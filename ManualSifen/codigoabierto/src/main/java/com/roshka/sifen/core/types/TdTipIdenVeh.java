@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TdTipIdenVeh {
     NRO_IDENTIFICACION((short) 1, "Número de identificación del vehículo"),
@@ -14,8 +14,10 @@ public enum TdTipIdenVeh {
         this.descripcion = descripcion;
     }
 
+    private static final TdTipIdenVeh[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TdTipIdenVeh getByVal(short val) {
-        return Arrays.stream(TdTipIdenVeh.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
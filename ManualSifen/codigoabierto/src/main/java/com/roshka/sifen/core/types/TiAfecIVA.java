@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiAfecIVA {
     GRAVADO((short) 1, "Gravado IVA"),
@@ -16,8 +16,10 @@ public enum TiAfecIVA {
         this.descripcion = descripcion;
     }
 
+    private static final TiAfecIVA[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiAfecIVA getByVal(short val) {
-        return Arrays.stream(TiAfecIVA.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
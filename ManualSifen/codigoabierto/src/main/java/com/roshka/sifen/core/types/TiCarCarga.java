@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiCarCarga {
     MERCADERIA_CON_CADENA_DE_FRIO((short) 1, "Mercaderías con cadena de frío"),
@@ -15,8 +15,10 @@ public enum TiCarCarga {
         this.descripcion = descripcion;
     }
 
+    private static final TiCarCarga[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiCarCarga getByVal(short val) {
-        return Arrays.stream(TiCarCarga.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 /**
  * Esta clase engloba los datos/tipos tiCondAnt y tdDesCondAnt
@@ -17,8 +17,10 @@ public enum TiCondAnt {
         this.descripcion = descripcion;
     }
 
+    private static final TiCondAnt[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiCondAnt getByVal(short val) {
-        return Arrays.stream(TiCondAnt.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiCondCred {
     PLAZO((short) 1, "Plazo"),
@@ -14,8 +14,10 @@ public enum TiCondCred {
         this.descripcion = descripcion;
     }
 
+    private static final TiCondCred[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiCondCred getByVal(short val) {
-        return Arrays.stream(TiCondCred.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiCondOpe {
     CONTADO((short) 1, "Contado"),
@@ -14,8 +14,10 @@ public enum TiCondOpe {
         this.descripcion = descripcion;
     }
 
+    private static final TiCondOpe[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiCondOpe getByVal(short val) {
-        return Arrays.stream(TiCondOpe.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
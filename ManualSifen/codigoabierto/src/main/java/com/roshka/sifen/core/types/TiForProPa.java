@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiForProPa {
     POS((short) 1, "POS"),
@@ -15,8 +15,10 @@ public enum TiForProPa {
         this.descripcion = descripcion;
     }
 
+    private static final TiForProPa[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiForProPa getByVal(short val) {
-        return Arrays.stream(TiForProPa.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiIndPres {
     OPERACION_PRESENCIAL((short) 1, "Operación presencial"),
@@ -19,8 +19,10 @@ public enum TiIndPres {
         this.descripcion = descripcion;
     }
 
+    private static final TiIndPres[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiIndPres getByVal(short val) {
-        return Arrays.stream(TiIndPres.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
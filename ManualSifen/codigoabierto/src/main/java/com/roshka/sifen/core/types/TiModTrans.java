@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiModTrans {
     TERRESTRE((short) 1, "Terrestre"),
@@ -16,8 +16,10 @@ public enum TiModTrans {
         this.descripcion = descripcion;
     }
 
+    private static final TiModTrans[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiModTrans getByVal(short val) {
-        return Arrays.stream(TiModTrans.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiMotEmi {
     DEVOLUCION_Y_AJUSTES_DE_PRECIOS((short) 1, "Devolución y Ajuste de precios"),
@@ -20,8 +20,10 @@ public enum TiMotEmi {
         this.descripcion = descripcion;
     }
 
+    private static final TiMotEmi[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiMotEmi getByVal(short val) {
-        return Arrays.stream(TiMotEmi.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiMotivTras {
     TRASLADO_POR_VENTAS((short) 1, "Traslado por ventas"),
@@ -27,8 +27,10 @@ public enum TiMotivTras {
         this.descripcion = descripcion;
     }
 
+    private static final TiMotivTras[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiMotivTras getByVal(short val) {
-        return Arrays.stream(TiMotivTras.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiNatVen {
     NO_CONTRIBUYENTE((short) 1, "No contribuyente"),
@@ -14,8 +14,10 @@ public enum TiNatVen {
         this.descripcion = descripcion;
     }
 
+    private static final TiNatVen[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiNatVen getByVal(short val) {
-        return Arrays.stream(TiNatVen.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
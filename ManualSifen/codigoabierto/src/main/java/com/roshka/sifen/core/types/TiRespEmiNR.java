@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiRespEmiNR {
     EMISOR_FACTURA((short) 1, "Emisor de la factura"),
@@ -17,8 +17,10 @@ public enum TiRespEmiNR {
         this.descripcion = descripcion;
     }
 
+    private static final TiRespEmiNR[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiRespEmiNR getByVal(short val) {
-        return Arrays.stream(TiRespEmiNR.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
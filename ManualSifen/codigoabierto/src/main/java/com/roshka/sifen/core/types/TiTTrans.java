@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiTTrans {
     PROPIO((short) 1, "Propio"),
@@ -14,8 +14,10 @@ public enum TiTTrans {
         this.descripcion = descripcion;
     }
 
+    private static final TiTTrans[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiTTrans getByVal(short val) {
-        return Arrays.stream(TiTTrans.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiTiOpe {
     B2B((short) 1, "Business To Business"),
@@ -16,8 +16,10 @@ public enum TiTiOpe {
         this.descripcion = descripcion;
     }
 
+    private static final TiTiOpe[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiTiOpe getByVal(short val) {
-        return Arrays.stream(TiTiOpe.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiTiPago {
     EFECTIVO((short) 1, "Efectivo"),
@@ -34,8 +34,10 @@ public enum TiTiPago {
         this.descripcion = descripcion;
     }
 
+    private static final TiTiPago[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiTiPago getByVal(short val) {
-        return Arrays.stream(TiTiPago.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
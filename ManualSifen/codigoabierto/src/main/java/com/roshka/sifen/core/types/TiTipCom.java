@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiTipCom {
     GASOLINA((short) 1, "Gasolina"),
@@ -18,8 +18,10 @@ public enum TiTipCom {
         this.descripcion = descripcion;
     }
 
+    private static final TiTipCom[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiTipCom getByVal(short val) {
-        return Arrays.stream(TiTipCom.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiTipConf {
     CONFORMIDAD_TOTAL((short) 1, "Conformidad Total del DTE"),
@@ -14,8 +14,10 @@ public enum TiTipConf {
         this.descripcion = descripcion;
     }
 
+    private static final TiTipConf[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiTipConf getByVal(short val) {
-        return Arrays.stream(TiTipConf.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
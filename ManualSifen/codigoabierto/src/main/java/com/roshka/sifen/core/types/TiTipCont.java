@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiTipCont {
     PERSONA_FISICA((short) 1, "Persona Física"),
@@ -14,8 +14,10 @@ public enum TiTipCont {
         this.descripcion = descripcion;
     }
 
+    private static final TiTipCont[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiTipCont getByVal(short val) {
-        return Arrays.stream(TiTipCont.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiTipDoc {
     CEDULA_PARAGUAYA((short) 1, "Cédula paraguaya"),
@@ -16,8 +16,10 @@ public enum TiTipDoc {
         this.descripcion = descripcion;
     }
 
+    private static final TiTipDoc[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiTipDoc getByVal(short val) {
-        return Arrays.stream(TiTipDoc.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
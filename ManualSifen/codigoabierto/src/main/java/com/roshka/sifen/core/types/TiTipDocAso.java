@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiTipDocAso {
     ELECTRONICO((short) 1, "Electrónico"),
@@ -15,8 +15,10 @@ public enum TiTipDocAso {
         this.descripcion = descripcion;
     }
 
+    private static final TiTipDocAso[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiTipDocAso getByVal(short val) {
-        return Arrays.stream(TiTipDocAso.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
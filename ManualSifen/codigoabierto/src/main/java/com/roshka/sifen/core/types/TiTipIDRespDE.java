@@ -1,6 +1,6 @@
 package com.roshka.sifen.core.types;
 
-import java.util.Arrays;
+import com.roshka.sifen.internal.util.EnumLookup;
 
 public enum TiTipIDRespDE {
     CEDULA_PARAGUAYA((short) 1, "Cédula paraguaya"),
@@ -17,8 +17,10 @@ public enum TiTipIDRespDE {
         this.descripcion = descripcion;
     }
 
+    private static final TiTipIDRespDE[] byVal = EnumLookup.indexByVal(values(), e -> e.val);
+
     public static TiTipIDRespDE getByVal(short val) {
-        return Arrays.stream(TiTipIDRespDE.values()).filter(e -> e.val == val).findFirst().orElse(null);
+        return EnumLookup.get(byVal, val);
     }
 
     public short getVal() {
@@ -1,6 +1,5 @@
 package com.roshka.sifen.internal;
 
-import javax.xml.soap.SOAPMessage;
 import java.net.HttpURLConnection;
 
 /**
@@ -8,7 +7,6 @@ import java.net.HttpURLConnection;
  */
 public class SOAPResponse {
     private int status;
-    private SOAPMessage soapResponse;
     private byte[] rawData;
 
     public int getStatus() {
@@ -19,14 +17,6 @@ public class SOAPResponse {
         this.status = status;
     }
 
-    public SOAPMessage getSoapResponse() {
-        return soapResponse;
-    }
-
-    public void setSoapResponse(SOAPMessage soapResponse) {
-        this.soapResponse = soapResponse;
-    }
-
     public byte[] getRawData() {
         return rawData;
     }
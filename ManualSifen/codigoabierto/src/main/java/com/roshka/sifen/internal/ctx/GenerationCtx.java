@@ -6,12 +6,14 @@ public class GenerationCtx {
 
     private String forzarCDC;
     private boolean habilitarNotaTecnica13;
+    private SifenConfig.MotorXml motorXml = SifenConfig.MotorXml.SAAJ;
     private SifenConfig sifenConfig;
 
     public static GenerationCtx getDefaultFromConfig(SifenConfig sifenConfig) {
         GenerationCtx generationCtx = new GenerationCtx();
         generationCtx.setForzarCDC(null);
         generationCtx.setHabilitarNotaTecnica13(sifenConfig.isHabilitarNotaTecnica13());
+        generationCtx.setMotorXml(sifenConfig.getMotorXml());
         generationCtx.setSifenConfig(sifenConfig);
         return generationCtx;
 
@@ -33,6 +35,14 @@ public class GenerationCtx {
         this.habilitarNotaTecnica13 = habilitarNotaTecnica13;
     }
 
+    public SifenConfig.MotorXml getMotorXml() {
+        return motorXml;
+    }
+
+    public void setMotorXml(SifenConfig.MotorXml motorXml) {
+        this.motorXml = motorXml;
+    }
+
     public SifenConfig getSifenConfig() {
         return sifenConfig;
     }
@@ -0,0 +1,128 @@
+package com.roshka.sifen.internal.helpers;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.util.SifenExceptionUtil;
+
+import javax.xml.soap.SOAPElement;
+import javax.xml.soap.SOAPException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.logging.Logger;
+
+/**
+ * Helper encargado de generar los lotes de Documentos Electrónicos (rLoteDE).<br>
+ * Cada DE se genera y firma por separado, en paralelo, como un fragmento XML independiente; luego los fragmentos se
+ * unen en el orden original de la lista.
+ */
+public class LoteHelper {
+    private final static Logger logger = Logger.getLogger(LoteHelper.class.toString());
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+
+    // Un pool por nivel de paralelismo, compartido por todas las configuraciones que lo utilicen
+    private static final Map<Integer, ForkJoinPool> pools = new ConcurrentHashMap<>();
+
+    /**
+     * Genera y firma los Documentos Electrónicos del lote, utilizando hasta
+     * {@link SifenConfig#getParalelismoLote()} hilos.
+     *
+     * @param generationCtx Contexto de generación.
+     * @param DEList        Documentos Electrónicos del lote.
+     * @param sifenConfig   Configuración de Sifen.
+     * @return Las partes del XML del lote, en orden: declaración XML, apertura de rLoteDE, un rDE por cada DE y
+     * cierre de rLoteDE.
+     * @throws SifenException Si la generación o la firma de algún DE falla.
+     */
+    public static List<String> buildLote(GenerationCtx generationCtx, List<DocumentoElectronico> DEList, SifenConfig sifenConfig) throws SifenException {
+        List<String> parts = new ArrayList<>(DEList.size() + 3);
+        parts.add(XML_DECLARATION);
+        parts.add("<rLoteDE>");
+
+        int parallelism = Math.min(sifenConfig.getParalelismoLote(), DEList.size());
+        if (parallelism <= 1) {
+            for (DocumentoElectronico DE : DEList) {
+                parts.add(buildFragment(generationCtx, DE, sifenConfig));
+            }
+        } else {
+            ForkJoinPool pool = getPool(sifenConfig.getParalelismoLote());
+            List<ForkJoinTask<String>> tasks = new ArrayList<>(DEList.size());
+            for (DocumentoElectronico DE : DEList) {
+                tasks.add(pool.submit(() -> buildFragment(generationCtx, DE, sifenConfig)));
+            }
+
+            try {
+                for (ForkJoinTask<String> task : tasks) {
+                    parts.add(task.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw SifenExceptionUtil.requestPreparationError("La generación del lote fue interrumpida", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof SifenException) {
+                    throw (SifenException) e.getCause();
+                }
+                throw SifenExceptionUtil.requestPreparationError("Ocurrió un error al generar un documento del lote", e.getCause());
+            } finally {
+                for (ForkJoinTask<String> task : tasks) {
+                    task.cancel(false);
+                }
+            }
+        }
+
+        parts.add("</rLoteDE>");
+        return parts;
+    }
+
+    /**
+     * Genera y firma un Documento Electrónico como un elemento rDE independiente, sin declaración XML y con el espacio
+     * de nombres de Sifen declarado, sin construir el mensaje SOAP completo.
+     *
+     * @param generationCtx Contexto de generación.
+     * @param DE            Documento Electrónico.
+     * @param sifenConfig   Configuración de Sifen.
+     * @return XML del elemento rDE.
+     * @throws SifenException Si la generación o la firma del DE falla.
+     */
+    public static String buildFragment(GenerationCtx generationCtx, DocumentoElectronico DE, SifenConfig sifenConfig) throws SifenException {
+        try {
+            if (generationCtx.getMotorXml() == SifenConfig.MotorXml.STREAMING) {
+                StringBuilder out = new StringBuilder(16384);
+                DE.writeDE(generationCtx, out, sifenConfig, DE.obtenerCDC(), true);
+                return out.toString();
+            }
+
+            // Cada DE se genera en su propio árbol, para no compartir DOM entre hilos
+            SOAPElement rLoteDE = SoapHelper.createSoapMessage().getSOAPBody().addChildElement("rLoteDE");
+            DE.setupDE(generationCtx, rLoteDE, sifenConfig);
+
+            Transformer transformer = XmlHelper.getTransformer();
+            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+            StringWriter sw = new StringWriter(16384);
+            transformer.transform(new DOMSource(rLoteDE.getFirstChild()), new StreamResult(sw));
+            return sw.toString();
+        } catch (SOAPException | TransformerException e) {
+            throw SifenExceptionUtil.requestPreparationError("Ocurrió un error al preparar el cuerpo de la petición SOAP", e);
+        }
+    }
+
+    private static ForkJoinPool getPool(int parallelism) {
+        return pools.computeIfAbsent(parallelism, p -> {
+            logger.info("Creando pool de generación de lotes con paralelismo " + p);
+            return new ForkJoinPool(p, pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("sifen-lote-" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package com.roshka.sifen.internal.helpers;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Helper encargado de procesar en paralelo los elementos de un iterador, sin tenerlos todos en memoria.<br>
+ * Cada procesamiento utiliza sus propios hilos, que finalizan al terminar. Los elementos se toman del iterador a
+ * medida que hay lugar para procesarlos: como máximo hay dos elementos por hilo tomados y pendientes de finalizar.
+ */
+public class ParallelHelper {
+    private ParallelHelper() {
+    }
+
+    /**
+     * Aplica la acción a cada elemento, y retorna una vez que todas finalizaron. No conserva ningún resultado, por lo
+     * que la memoria utilizada no depende de la cantidad de elementos. Las excepciones de la acción deben manejarse
+     * dentro de ella.
+     *
+     * @param elementos   Elementos a procesar.
+     * @param paralelismo Cantidad de hilos.
+     * @param nombreHilos Prefijo del nombre de los hilos.
+     * @param accion      Acción a aplicar a cada elemento.
+     * @throws InterruptedException Si el hilo que procesa fue interrumpido.
+     */
+    public static <T> void forEach(Iterator<T> elementos, int paralelismo, String nombreHilos, Consumer<? super T> accion)
+            throws InterruptedException {
+        execute(elementos, paralelismo, nombreHilos, elemento -> () -> accion.accept(elemento));
+    }
+
+    /**
+     * Aplica la función a cada elemento, y retorna sus resultados en el mismo orden que los elementos.
+     *
+     * @param elementos   Elementos a procesar.
+     * @param paralelismo Cantidad de hilos.
+     * @param nombreHilos Prefijo del nombre de los hilos.
+     * @param funcion     Función a aplicar a cada elemento.
+     * @return Resultado de cada elemento.
+     * @throws InterruptedException Si el hilo que procesa fue interrumpido.
+     * @throws ExecutionException   Si la función lanzó una excepción para algún elemento.
+     */
+    public static <T, R> List<R> map(Iterator<T> elementos, int paralelismo, String nombreHilos, Function<? super T, ? extends R> funcion)
+            throws InterruptedException, ExecutionException {
+        List<Future<R>> futuros = new ArrayList<>();
+        execute(elementos, paralelismo, nombreHilos, elemento -> {
+            FutureTask<R> futuro = new FutureTask<>(() -> funcion.apply(elemento));
+            futuros.add(futuro);
+            return futuro;
+        });
+
+        List<R> resultados = new ArrayList<>(futuros.size());
+        for (Future<R> futuro : futuros) {
+            resultados.add(futuro.get());
+        }
+        return resultados;
+    }
+
+    private static <T> void execute(Iterator<T> elementos, int paralelismo, String nombreHilos, Function<T, Runnable> tareas)
+            throws InterruptedException {
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("El paralelismo debe ser mayor a cero.");
+        }
+        Semaphore pendientes = new Semaphore(paralelismo * 2);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(paralelismo, runnable -> {
+            Thread thread = new Thread(runnable, nombreHilos + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            while (elementos.hasNext()) {
+                Runnable tarea = tareas.apply(elementos.next());
+                pendientes.acquire();
+                executor.execute(() -> {
+                    try {
+                        tarea.run();
+                    } finally {
+                        pendientes.release();
+                    }
+                });
+            }
+
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
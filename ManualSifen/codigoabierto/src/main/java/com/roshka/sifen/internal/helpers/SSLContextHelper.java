@@ -6,10 +6,14 @@ import com.roshka.sifen.internal.util.SifenExceptionUtil;
 
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocketFactory;
 import java.io.*;
 import java.security.*;
 import java.security.cert.CertificateException;
 import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 import static java.util.logging.Logger.getLogger;
@@ -19,23 +23,63 @@ import static java.util.logging.Logger.getLogger;
  */
 public class SSLContextHelper {
     private final static Logger logger = getLogger(SSLContextHelper.class.toString());
-    private static SSLContext _sslContext;
+    private static final String DEFAULT_CONTEXT_KEY = "default";
+    private static final int SESSION_CACHE_SIZE = 100;
+    private static final int SESSION_TIMEOUT_SECONDS = 60 * 60; // 1 Hora
 
+    private static final Map<String, ContextEntry> contexts = new ConcurrentHashMap<>();
+
+    /**
+     * Obtiene el contexto SSL correspondiente al certificado de la configuración. Cada certificado tiene su propio
+     * contexto, construido una única vez y compartido por todas las configuraciones que lo utilicen; de esta forma
+     * las sesiones TLS pueden ser reanudadas entre conexiones.<br>
+     * Si la configuración no utiliza certificado cliente, se devuelve el contexto SSL por defecto.
+     *
+     * @param sifenConfig Configuración de Sifen con los datos del certificado.
+     * @return El contexto SSL.
+     * @throws SifenException Si el contexto no pudo ser construido.
+     */
     public static SSLContext getContextFromConfig(SifenConfig sifenConfig) throws SifenException {
-        if (_sslContext != null)
-            return _sslContext;
+        return getContextHolder(sifenConfig).sslContext;
+    }
 
-        logger.info("Contexto SSL no cargado aún. Empezando carga...");
+    /**
+     * @return La fábrica de sockets del contexto SSL correspondiente a la configuración.
+     * @see #getContextFromConfig(SifenConfig)
+     */
+    public static SSLSocketFactory getSocketFactoryFromConfig(SifenConfig sifenConfig) throws SifenException {
+        return getContextHolder(sifenConfig).socketFactory;
+    }
+
+    /**
+     * Descarta los contextos SSL cargados, para que sean construidos nuevamente en la siguiente petición.
+     */
+    public static void invalidateContext() {
+        contexts.clear();
+    }
+
+    private static ContextHolder getContextHolder(SifenConfig sifenConfig) throws SifenException {
         if (!isCertificateConfigurationValid(sifenConfig)) {
+            return contexts.computeIfAbsent(DEFAULT_CONTEXT_KEY, k -> new ContextEntry()).get(sifenConfig, null);
+        }
+
+        SigningCredentials credentials = SigningCredentialsCache.get(sifenConfig);
+        return contexts.computeIfAbsent(SigningCredentialsCache.identityOf(sifenConfig), k -> new ContextEntry())
+                .get(sifenConfig, credentials);
+    }
+
+    private static ContextHolder buildContext(SifenConfig sifenConfig, SigningCredentials credentials) throws SifenException {
+        if (credentials == null) {
             try {
                 logger.info("Se utilizará un contexto SSL por defecto.");
-                return SSLContext.getDefault();
+                SSLContext sslContext = SSLContext.getDefault();
+                return new ContextHolder(null, sslContext);
             } catch (NoSuchAlgorithmException e) {
                 throw SifenExceptionUtil.invalidSSLContext("No se puede retornar el contexto SSL por defecto", e);
             }
         }
 
-        KeyStore keyStore = getCertificateKeyStore(sifenConfig.getCertificadoCliente(), sifenConfig.getContrasenaCertificadoCliente());
+        logger.info("Contexto SSL no cargado aún. Empezando carga...");
         KeyManagerFactory keyManagerFactory;
         try {
             keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
@@ -43,7 +87,7 @@ public class SSLContextHelper {
             throw SifenExceptionUtil.invalidSSLContext("No se puede obtener una instancia de administrador de claves de algoritmo: " + KeyManagerFactory.getDefaultAlgorithm(), e);
         }
         try {
-            keyManagerFactory.init(keyStore, sifenConfig.getContrasenaCertificadoCliente().toCharArray());
+            keyManagerFactory.init(credentials.getKeyStore(), sifenConfig.getContrasenaCertificadoCliente().toCharArray());
         } catch (KeyStoreException | NoSuchAlgorithmException | UnrecoverableKeyException e) {
             throw SifenExceptionUtil.invalidSSLContext("No se puede inicializar el administrador de claves: " + e.getLocalizedMessage(), e);
         }
@@ -56,23 +100,28 @@ public class SSLContextHelper {
                     null,
                     new SecureRandom()
             );
-            return _sslContext = sslContext;
         } catch (KeyManagementException e) {
             throw SifenExceptionUtil.invalidSSLContext("No se inicializar el contexto SSL: " + e.getLocalizedMessage(), e);
         } catch (NoSuchAlgorithmException e) {
             throw SifenExceptionUtil.invalidSSLContext("No se puede obtener una instancia de contexto SSL TLS: " + e.getLocalizedMessage(), e);
         }
+
+        // Permite reanudar las sesiones TLS con Sifen sin repetir el handshake completo
+        SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+        sessionContext.setSessionCacheSize(SESSION_CACHE_SIZE);
+        sessionContext.setSessionTimeout(SESSION_TIMEOUT_SECONDS);
+
+        return new ContextHolder(credentials, sslContext);
     }
 
+    /**
+     * @return El almacén de claves del certificado configurado, obtenido desde {@link SigningCredentialsCache}.
+     */
     public static KeyStore getCertificateKeyStore(SifenConfig sifenConfig) throws SifenException {
-        if (!isCertificateConfigurationValid(sifenConfig)) {
-            throw SifenExceptionUtil.invalidConfiguration("Configuración del certificado no establecida. No se puede obtener la clave para la firma.");
-        }
-
-        return getCertificateKeyStore(sifenConfig.getCertificadoCliente(), sifenConfig.getContrasenaCertificadoCliente());
+        return SigningCredentialsCache.get(sifenConfig).getKeyStore();
     }
 
-    private static KeyStore getCertificateKeyStore(String certificate, String password) throws SifenException {
+    static KeyStore getCertificateKeyStore(String certificate, String password) throws SifenException {
         KeyStore keyStore;
         try {
             keyStore = KeyStore.getInstance("PKCS12");
@@ -97,7 +146,7 @@ public class SSLContextHelper {
         return keyStore;
     }
 
-    private static boolean isCertificateConfigurationValid(SifenConfig sifenConfig) {
+    static boolean isCertificateConfigurationValid(SifenConfig sifenConfig) {
         if (sifenConfig.isUsarCertificadoCliente()) {
             if (sifenConfig.getTipoCertificadoCliente() == SifenConfig.TipoCertificadoCliente.PFX) {
                 if (sifenConfig.getCertificadoCliente() == null || sifenConfig.getContrasenaCertificadoCliente() == null) {
@@ -112,4 +161,38 @@ public class SSLContextHelper {
         }
         return false;
     }
+
+    /**
+     * Entrada del registro de contextos. El contexto se construye una única vez, y solo se vuelve a construir si las
+     * credenciales del certificado fueron recargadas.
+     */
+    private static class ContextEntry {
+        private volatile ContextHolder holder;
+
+        private ContextHolder get(SifenConfig sifenConfig, SigningCredentials credentials) throws SifenException {
+            ContextHolder current = holder;
+            if (current != null && current.credentials == credentials)
+                return current;
+
+            synchronized (this) {
+                current = holder;
+                if (current == null || current.credentials != credentials) {
+                    current = holder = buildContext(sifenConfig, credentials);
+                }
+                return current;
+            }
+        }
+    }
+
+    private static class ContextHolder {
+        private final SigningCredentials credentials;
+        private final SSLContext sslContext;
+        private final SSLSocketFactory socketFactory;
+
+        private ContextHolder(SigningCredentials credentials, SSLContext sslContext) {
+            this.credentials = credentials;
+            this.sslContext = sslContext;
+            this.socketFactory = sslContext.getSocketFactory();
+        }
+    }
 }
@@ -8,7 +8,8 @@ import com.roshka.sifen.internal.util.SifenExceptionUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import sun.security.x509.GeneralName;
 import sun.security.x509.X500Name;
@@ -23,21 +24,16 @@ import javax.xml.crypto.dsig.keyinfo.KeyInfoFactory;
 import javax.xml.crypto.dsig.keyinfo.X509Data;
 import javax.xml.crypto.dsig.spec.C14NMethodParameterSpec;
 import javax.xml.crypto.dsig.spec.TransformParameterSpec;
-import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.soap.SOAPElement;
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.io.StringReader;
 import java.security.*;
+import java.security.cert.CertificateEncodingException;
 import java.security.cert.X509Certificate;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -45,14 +41,23 @@ import java.util.regex.Pattern;
  * Helper encargado de la firma digital de los documentos XML.
  */
 public class SignatureHelper {
-    private static final XMLSignatureFactory _xmlSignatureFactory = XMLSignatureFactory.getInstance();
+    // Las instancias de XMLSignatureFactory no son seguras para su uso desde varios hilos
+    private static final ThreadLocal<XMLSignatureFactory> _xmlSignatureFactory = ThreadLocal.withInitial(XMLSignatureFactory::getInstance);
     private static final List<Transform> transforms;
 
+    // Sujetos de los certificados ya vistos, por huella SHA-256; los proveedores suelen firmar con el mismo certificado
+    private static final int MAX_CACHED_CERTIFICATES = 1024;
+    private static final Map<String, List<String[]>> certificateSubjectsCache = new ConcurrentHashMap<>();
+    private static final Pattern SERIALNUMBER_PATTERN = Pattern.compile("(?<=SERIALNUMBER=)[\\w\\s-]+");
+    private static final Pattern CN_PATTERN = Pattern.compile("(?<=CN=)[\\w\\s-]+");
+    private static final Pattern O_PATTERN = Pattern.compile("(?<=O=)[\\w\\s-]+");
+
     static {
         transforms = new ArrayList<>();
         try {
-            transforms.add(_xmlSignatureFactory.newTransform(Transform.ENVELOPED, (TransformParameterSpec) null));
-            transforms.add(_xmlSignatureFactory.newTransform(CanonicalizationMethod.EXCLUSIVE, (TransformParameterSpec) null));
+            XMLSignatureFactory xmlSignatureFactory = _xmlSignatureFactory.get();
+            transforms.add(xmlSignatureFactory.newTransform(Transform.ENVELOPED, (TransformParameterSpec) null));
+            transforms.add(xmlSignatureFactory.newTransform(CanonicalizationMethod.EXCLUSIVE, (TransformParameterSpec) null));
         } catch (NoSuchAlgorithmException | InvalidAlgorithmParameterException e) {
             System.err.println("No se puede inicializar contexto para las firmas: " + e.getMessage());
             e.printStackTrace(System.err);
@@ -60,93 +65,110 @@ public class SignatureHelper {
     }
 
     public static SignedInfo signDocument(SifenConfig sifenConfig, SOAPElement signatureParentNode, String signedNodeId) throws SifenException {
-        try {
-            Reference ref = _xmlSignatureFactory.newReference("#" + signedNodeId,
-                    _xmlSignatureFactory.newDigestMethod(DigestMethod.SHA256, null),
-                    transforms, null, null);
+        return signDocument(sifenConfig, signatureParentNode, signedNodeId, null);
+    }
 
-            SignedInfo signedInfo = _xmlSignatureFactory.newSignedInfo(
-                    _xmlSignatureFactory.newCanonicalizationMethod(CanonicalizationMethod.EXCLUSIVE, (C14NMethodParameterSpec) null),
-                    _xmlSignatureFactory.newSignatureMethod(Constants.RSA_SHA256, null),
+    /**
+     * Firma el nodo identificado por {@code signedNodeId}, agregando la firma como hijo de {@code signatureParentNode}.
+     * Si se recibe el resumen (SHA-256) del nodo firmado, ya canonicalizado, el nodo no se busca ni se transforma;
+     * esto permite firmar documentos que no se encuentran en un árbol DOM.
+     *
+     * @param sifenConfig         Configuración con el certificado a utilizar.
+     * @param signatureParentNode Nodo al que se agrega la firma.
+     * @param signedNodeId        Id del nodo firmado.
+     * @param digestValue         Resumen del nodo firmado, o null para calcularlo a partir del árbol DOM.
+     * @return Información firmada, de la cual se obtiene el resumen utilizado en el QR.
+     * @throws SifenException Si la firma falla.
+     */
+    public static SignedInfo signDocument(SifenConfig sifenConfig, Node signatureParentNode, String signedNodeId, byte[] digestValue) throws SifenException {
+        XMLSignatureFactory xmlSignatureFactory = _xmlSignatureFactory.get();
+        try {
+            DigestMethod digestMethod = xmlSignatureFactory.newDigestMethod(DigestMethod.SHA256, null);
+            Reference ref = digestValue == null
+                    ? xmlSignatureFactory.newReference("#" + signedNodeId, digestMethod, transforms, null, null)
+                    : xmlSignatureFactory.newReference("#" + signedNodeId, digestMethod, transforms, null, null, digestValue);
+
+            SignedInfo signedInfo = xmlSignatureFactory.newSignedInfo(
+                    xmlSignatureFactory.newCanonicalizationMethod(CanonicalizationMethod.EXCLUSIVE, (C14NMethodParameterSpec) null),
+                    xmlSignatureFactory.newSignatureMethod(Constants.RSA_SHA256, null),
                     Collections.singletonList(ref)
             );
 
-            KeyStore keyStore = SSLContextHelper.getCertificateKeyStore(sifenConfig);
-            String alias = keyStore.aliases().nextElement();
-            X509Certificate certificate = (X509Certificate) keyStore.getCertificate(alias);
+            SigningCredentials credentials = SigningCredentialsCache.get(sifenConfig);
 
-            KeyInfoFactory keyInfoFactory = _xmlSignatureFactory.getKeyInfoFactory();
-            X509Data x509Data = keyInfoFactory.newX509Data(Collections.singletonList(certificate));
+            KeyInfoFactory keyInfoFactory = xmlSignatureFactory.getKeyInfoFactory();
+            X509Data x509Data = keyInfoFactory.newX509Data(Collections.singletonList(credentials.getCertificate()));
             KeyInfo keyInfo = keyInfoFactory.newKeyInfo(Collections.singletonList(x509Data));
 
-            XMLSignature signature = _xmlSignatureFactory.newXMLSignature(signedInfo, keyInfo);
-            PrivateKey privateKey = (PrivateKey) keyStore.getKey(alias, sifenConfig.getContrasenaCertificadoCliente().toCharArray());
+            XMLSignature signature = xmlSignatureFactory.newXMLSignature(signedInfo, keyInfo);
 
-            DOMSignContext signatureContext = new DOMSignContext(privateKey, signatureParentNode);
+            DOMSignContext signatureContext = new DOMSignContext(credentials.getPrivateKey(), signatureParentNode);
             signature.sign(signatureContext);
 
             return signedInfo;
         } catch (NoSuchAlgorithmException | InvalidAlgorithmParameterException | XMLSignatureException |
-                 MarshalException | KeyStoreException | UnrecoverableKeyException e) {
+                 MarshalException e) {
             throw SifenExceptionUtil.requestSigningError("Ocurrió un error al firmar la petición SOAP utilizando el certificado activo", e);
         }
     }
 
+    /**
+     * Valida la firma digital de un Documento Electrónico.
+     *
+     * @param xml  XML del DE si {@code type} es "XML", o ruta del archivo en cualquier otro caso.
+     * @param type Tipo del primer argumento.
+     * @return Resultado de la validación.
+     */
     public static ValidezFirmaDigital validateSignature(String xml, String type) {
-        File xmlFile;
         if (type.equals("XML")) {
-            try {
-                // Create file from xml string
-                xmlFile = File.createTempFile(String.valueOf(UUID.randomUUID()), ".xml");
-
-                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
-                        Files.newOutputStream(xmlFile.toPath()), StandardCharsets.UTF_8
-                ));
-                writer.write(xml);
-                writer.close();
-            } catch (IOException e) {
-                e.printStackTrace();
-                return ValidezFirmaDigital.create(false, "Ocurrió un error al crear el archivo XML.");
-            }
-        } else {
-            xmlFile = new File(xml);
+            // El XML se procesa en memoria, sin crear un archivo temporal
+            return validateSignature(new InputSource(new StringReader(xml)));
         }
-
-        // Validate signature
-        return validateSignature(xmlFile);
+        return validateSignature(new File(xml));
     }
 
     public static ValidezFirmaDigital validateSignature(File xml) {
+        return validateSignature(new InputSource(xml.toURI().toASCIIString()));
+    }
+
+    private static ValidezFirmaDigital validateSignature(InputSource xml) {
         try {
             // Parse the document to be validated
-            DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
-            builderFactory.setNamespaceAware(true);
             Document document;
             try {
-                document = builderFactory.newDocumentBuilder().parse(xml);
+                document = XmlHelper.getDocumentBuilder().parse(xml);
             } catch (SAXException e) {
                 e.printStackTrace();
                 return ValidezFirmaDigital.create(false, "Ocurrió un error al parsear el " +
                         "archivo XML. Revise que el archivo sea un XML válido, y que tenga un solo nodo raíz.");
             }
 
-            // Find Signature
-            NodeList signatureNodes = document.getElementsByTagName("Signature");
-            if (signatureNodes.getLength() == 0) {
+            return validateSignature(document);
+        } catch (ParserConfigurationException | IOException e) {
+            e.printStackTrace();
+            return ValidezFirmaDigital.create(false, "Ocurrió un error al validar la firma " +
+                    "digital del Documento Electrónico.");
+        }
+    }
+
+    private static ValidezFirmaDigital validateSignature(Document document) {
+        try {
+            // Find Signature, DE and issuer nodes in a single pass
+            SignatureNodes nodes = SignatureNodes.find(document);
+            if (nodes.signature == null) {
                 return ValidezFirmaDigital.create(false, "No se encontró la firma digital en " +
                         "el Documento Electrónico.");
             }
 
             // Get signed element from document
-            DOMValidateContext valContext = new DOMValidateContext(new X509KeySelector(), signatureNodes.item(0));
-            NodeList DENodes = document.getElementsByTagName("DE");
-            if (DENodes.getLength() > 0) {
-                valContext.setIdAttributeNS((Element) DENodes.item(0), null, "Id");
+            DOMValidateContext valContext = new DOMValidateContext(new X509KeySelector(), nodes.signature);
+            if (nodes.de != null) {
+                valContext.setIdAttributeNS(nodes.de, null, "Id");
             } else {
                 return ValidezFirmaDigital.create(false, "No se encontró el nodo 'DE' en el " +
                         "Documento Electrónico.");
             }
-            XMLSignature signature = _xmlSignatureFactory.unmarshalXMLSignature(valContext);
+            XMLSignature signature = _xmlSignatureFactory.get().unmarshalXMLSignature(valContext);
 
             // Get subjects from certificate for further validation
             List<ValidezFirmaDigital.SujetoCertificado> certificateSubjects = getCertificateSubjects(signature.getKeyInfo());
@@ -158,33 +180,31 @@ public class SignatureHelper {
                         certificateSubjects);
             }
 
-            return checkDocumentIssuer(document, certificateSubjects);
-        } catch (MarshalException | XMLSignatureException | ParserConfigurationException | IOException e) {
+            return checkDocumentIssuer(nodes, certificateSubjects);
+        } catch (MarshalException | XMLSignatureException e) {
             e.printStackTrace();
             return ValidezFirmaDigital.create(false, "Ocurrió un error al validar la firma " +
                     "digital del Documento Electrónico.");
         }
     }
 
-    private static ValidezFirmaDigital checkDocumentIssuer(Document document, List<ValidezFirmaDigital.SujetoCertificado> certificateSubjects) {
+    private static ValidezFirmaDigital checkDocumentIssuer(SignatureNodes nodes, List<ValidezFirmaDigital.SujetoCertificado> certificateSubjects) {
         // Get Issuer RUC from Electronic Document
-        NodeList dRucEmNodes = document.getElementsByTagName("dRucEm");
-        if (dRucEmNodes.getLength() == 0) {
+        if (nodes.dRucEm == null) {
             return ValidezFirmaDigital.create(false, "No se encontró el nodo 'dRucEm' en " +
                     "el Documento Electrónico.", certificateSubjects);
         }
 
-        NodeList dDVEmiNodes = document.getElementsByTagName("dDVEmi");
-        if (dRucEmNodes.getLength() == 0) {
+        if (nodes.dDVEmi == null) {
             return ValidezFirmaDigital.create(false, "No se encontró el nodo 'dDVEmi' en " +
                     "el Documento Electrónico.", certificateSubjects);
         }
 
-        String issuerRuc = dRucEmNodes.item(0).getTextContent();
-        String issuerDv = dDVEmiNodes.item(0).getTextContent();
+        String issuerRuc = nodes.dRucEm.getTextContent();
+        String issuerDv = nodes.dDVEmi.getTextContent();
 
         for (ValidezFirmaDigital.SujetoCertificado subject : certificateSubjects) {
-            if (subject.getNumeroDocumento().equals(issuerRuc + "-" + issuerDv)) {
+            if ((issuerRuc + "-" + issuerDv).equals(subject.getNumeroDocumento())) {
                 return ValidezFirmaDigital.create(true, certificateSubjects);
             }
         }
@@ -197,41 +217,69 @@ public class SignatureHelper {
         List<ValidezFirmaDigital.SujetoCertificado> certificateSubjects = new ArrayList<>();
 
         // Get certificate from Electronic Document
-        X509CertImpl certificate = (X509CertImpl) X509KeySelector.getCertificate(keyInfo);
+        X509Certificate certificate = X509KeySelector.getCertificate(keyInfo);
         if (certificate == null) return certificateSubjects;
 
-        // Get main subject information from certificate
+        // Los sujetos se extraen una sola vez por certificado; cada resultado recibe sus propias instancias
+        for (String[] subject : getCachedSubjects(certificate)) {
+            certificateSubjects.add(ValidezFirmaDigital.SujetoCertificado.create(subject[0], subject[1]));
+        }
+        return certificateSubjects;
+    }
+
+    private static List<String[]> getCachedSubjects(X509Certificate certificate) {
+        String fingerprint;
         try {
-            String subject = certificate.getSubjectDN().getName();
+            fingerprint = Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(certificate.getEncoded()));
+        } catch (NoSuchAlgorithmException | CertificateEncodingException e) {
+            return extractSubjects(certificate);
+        }
+
+        List<String[]> subjects = certificateSubjectsCache.get(fingerprint);
+        if (subjects == null) {
+            subjects = extractSubjects(certificate);
+            if (certificateSubjectsCache.size() >= MAX_CACHED_CERTIFICATES) {
+                certificateSubjectsCache.clear();
+            }
+            certificateSubjectsCache.put(fingerprint, subjects);
+        }
+        return subjects;
+    }
+
+    /**
+     * @return Pares (número de serie, nombre) del sujeto principal y de los sujetos alternativos del certificado.
+     */
+    private static List<String[]> extractSubjects(X509Certificate certificate) {
+        List<String[]> subjects = new ArrayList<>();
 
-            certificateSubjects.add(ValidezFirmaDigital.SujetoCertificado.create(
-                    getAttributeFromSubject(subject, "SERIALNUMBER"),
-                    SifenUtil.coalesce(getAttributeFromSubject(subject, "CN"), getAttributeFromSubject(subject, "O"))
-            ));
+        // Get main subject information from certificate
+        try {
+            subjects.add(getSubjectAttributes(certificate.getSubjectDN().getName()));
         } catch (Exception ignored) {
         }
 
         // Get alternatives subjects from certificate
         try {
-            List<GeneralName> names = certificate.getSubjectAlternativeNameExtension().get("subject_name").names();
+            List<GeneralName> names = ((X509CertImpl) certificate).getSubjectAlternativeNameExtension().get("subject_name").names();
             for (GeneralName name : names) {
                 if (!(name.getName() instanceof X500Name)) continue;
 
-                String subject = name.getName().toString();
-
-                certificateSubjects.add(ValidezFirmaDigital.SujetoCertificado.create(
-                        getAttributeFromSubject(subject, "SERIALNUMBER"),
-                        SifenUtil.coalesce(getAttributeFromSubject(subject, "CN"), getAttributeFromSubject(subject, "O"))
-                ));
+                subjects.add(getSubjectAttributes(name.getName().toString()));
             }
         } catch (Exception ignored) {
         }
 
-        return certificateSubjects;
+        return Collections.unmodifiableList(subjects);
+    }
+
+    private static String[] getSubjectAttributes(String subject) {
+        return new String[]{
+                getAttributeFromSubject(subject, SERIALNUMBER_PATTERN),
+                SifenUtil.coalesce(getAttributeFromSubject(subject, CN_PATTERN), getAttributeFromSubject(subject, O_PATTERN))
+        };
     }
 
-    private static String getAttributeFromSubject(String subject, String attributeName) {
-        Pattern pattern = Pattern.compile("(?<=" + attributeName + "=)[\\w\\s-]+");
+    private static String getAttributeFromSubject(String subject, Pattern pattern) {
         Matcher matcher = pattern.matcher(subject);
         if (matcher.find()) {
             return matcher.group();
@@ -239,6 +287,56 @@ public class SignatureHelper {
         return null;
     }
 
+    /**
+     * Nodos utilizados en la validación, buscados en un único recorrido del documento. En cada caso se toma el primer
+     * elemento con ese nombre, en el orden del documento.
+     */
+    private static class SignatureNodes {
+        private Element signature;
+        private Element de;
+        private Element dRucEm;
+        private Element dDVEmi;
+
+        private static SignatureNodes find(Document document) {
+            SignatureNodes nodes = new SignatureNodes();
+            Node node = document.getDocumentElement();
+            while (node != null) {
+                if (node.getNodeType() == Node.ELEMENT_NODE && nodes.accept((Element) node)) {
+                    return nodes;
+                }
+
+                Node next = node.getFirstChild();
+                while (next == null && node != null) {
+                    next = node.getNextSibling();
+                    node = node.getParentNode();
+                }
+                node = next;
+            }
+            return nodes;
+        }
+
+        /**
+         * @return true si ya se encontraron todos los nodos.
+         */
+        private boolean accept(Element element) {
+            switch (element.getNodeName()) {
+                case "Signature":
+                    if (signature == null) signature = element;
+                    break;
+                case "DE":
+                    if (de == null) de = element;
+                    break;
+                case "dRucEm":
+                    if (dRucEm == null) dRucEm = element;
+                    break;
+                case "dDVEmi":
+                    if (dDVEmi == null) dDVEmi = element;
+                    break;
+            }
+            return signature != null && de != null && dRucEm != null && dDVEmi != null;
+        }
+    }
+
     private static class X509KeySelector extends KeySelector {
         public KeySelectorResult select(KeyInfo keyInfo, Purpose purpose, AlgorithmMethod method,
                                         XMLCryptoContext context) throws KeySelectorException {
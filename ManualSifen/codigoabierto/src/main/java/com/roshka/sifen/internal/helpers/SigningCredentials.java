@@ -0,0 +1,33 @@
+package com.roshka.sifen.internal.helpers;
+
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.X509Certificate;
+
+/**
+ * Material criptográfico ya derivado de un certificado PKCS12: el almacén de claves, la clave privada y el
+ * certificado correspondiente. Las instancias son inmutables y pueden compartirse entre hilos.
+ */
+public final class SigningCredentials {
+    private final KeyStore keyStore;
+    private final PrivateKey privateKey;
+    private final X509Certificate certificate;
+
+    SigningCredentials(KeyStore keyStore, PrivateKey privateKey, X509Certificate certificate) {
+        this.keyStore = keyStore;
+        this.privateKey = privateKey;
+        this.certificate = certificate;
+    }
+
+    public KeyStore getKeyStore() {
+        return keyStore;
+    }
+
+    public PrivateKey getPrivateKey() {
+        return privateKey;
+    }
+
+    public X509Certificate getCertificate() {
+        return certificate;
+    }
+}
@@ -0,0 +1,168 @@
+package com.roshka.sifen.internal.helpers;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.util.SifenExceptionUtil;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.*;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Caché de las credenciales de firma, para evitar leer y descifrar el archivo PKCS12 en cada Documento Electrónico
+ * o evento firmado.<br>
+ * Las entradas se identifican por el certificado configurado (ruta o contenido en Base64) y su contraseña. Si el
+ * certificado es un archivo, se vuelve a cargar cuando cambia su fecha de modificación o su tamaño.
+ */
+public class SigningCredentialsCache {
+    private final static Logger logger = Logger.getLogger(SigningCredentialsCache.class.toString());
+    private static final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Obtiene las credenciales de firma correspondientes a la configuración, cargándolas solo si aún no fueron
+     * cargadas o si el archivo del certificado cambió.
+     *
+     * @param sifenConfig Configuración de Sifen con los datos del certificado.
+     * @return Las credenciales de firma.
+     * @throws SifenException Si la configuración del certificado no es válida o el certificado no pudo ser cargado.
+     */
+    public static SigningCredentials get(SifenConfig sifenConfig) throws SifenException {
+        if (!SSLContextHelper.isCertificateConfigurationValid(sifenConfig)) {
+            throw SifenExceptionUtil.invalidConfiguration("Configuración del certificado no establecida. No se puede obtener la clave para la firma.");
+        }
+
+        String certificate = sifenConfig.getCertificadoCliente();
+        String password = sifenConfig.getContrasenaCertificadoCliente();
+        String key = identityOf(certificate, password);
+
+        Entry entry = cache.get(key);
+        if (entry != null && entry.isCurrent(certificate)) {
+            return entry.credentials;
+        }
+
+        // La carga es costosa; se serializa para que varios hilos no deriven la misma clave a la vez
+        synchronized (SigningCredentialsCache.class) {
+            entry = cache.get(key);
+            if (entry != null && entry.isCurrent(certificate)) {
+                return entry.credentials;
+            }
+
+            logger.info("Cargando credenciales de firma del certificado...");
+            File file = new File(certificate);
+            long lastModified = file.isFile() ? file.lastModified() : -1;
+            long length = file.isFile() ? file.length() : -1;
+
+            entry = new Entry(load(certificate, password), lastModified, length);
+            cache.put(key, entry);
+            return entry.credentials;
+        }
+    }
+
+    /**
+     * Descarta las credenciales de firma en caché correspondientes a la configuración.
+     *
+     * @param sifenConfig Configuración de Sifen con los datos del certificado.
+     */
+    public static void invalidate(SifenConfig sifenConfig) {
+        if (sifenConfig.getCertificadoCliente() == null || sifenConfig.getContrasenaCertificadoCliente() == null)
+            return;
+
+        cache.remove(identityOf(sifenConfig.getCertificadoCliente(), sifenConfig.getContrasenaCertificadoCliente()));
+    }
+
+    /**
+     * Descarta todas las credenciales de firma en caché.
+     */
+    public static void invalidateAll() {
+        cache.clear();
+    }
+
+    private static SigningCredentials load(String certificate, String password) throws SifenException {
+        KeyStore keyStore = SSLContextHelper.getCertificateKeyStore(certificate, password);
+        try {
+            String alias = findKeyAlias(keyStore);
+            Certificate x509Certificate = keyStore.getCertificate(alias);
+            Key privateKey = keyStore.getKey(alias, password.toCharArray());
+            if (!(privateKey instanceof PrivateKey) || !(x509Certificate instanceof X509Certificate)) {
+                throw SifenExceptionUtil.invalidSSLContext("El certificado de cliente no contiene una clave privada y un certificado X.509.");
+            }
+
+            return new SigningCredentials(keyStore, (PrivateKey) privateKey, (X509Certificate) x509Certificate);
+        } catch (KeyStoreException | NoSuchAlgorithmException | UnrecoverableKeyException e) {
+            throw SifenExceptionUtil.invalidSSLContext("No se puede obtener la clave privada del certificado de cliente: " + e.getLocalizedMessage(), e);
+        }
+    }
+
+    private static String findKeyAlias(KeyStore keyStore) throws KeyStoreException, SifenException {
+        String firstAlias = null;
+        Enumeration<String> aliases = keyStore.aliases();
+        while (aliases.hasMoreElements()) {
+            String alias = aliases.nextElement();
+            if (keyStore.isKeyEntry(alias)) {
+                return alias;
+            }
+            if (firstAlias == null) {
+                firstAlias = alias;
+            }
+        }
+
+        if (firstAlias == null) {
+            throw SifenExceptionUtil.invalidSSLContext("El certificado de cliente no contiene ninguna entrada.");
+        }
+        return firstAlias;
+    }
+
+    /**
+     * @return El identificador del certificado de la configuración, utilizado también para el registro de contextos
+     * SSL de {@link SSLContextHelper}.
+     */
+    static String identityOf(SifenConfig sifenConfig) {
+        return identityOf(sifenConfig.getCertificadoCliente(), sifenConfig.getContrasenaCertificadoCliente());
+    }
+
+    /**
+     * Identificador de una entrada de la caché. Se utiliza un resumen SHA-256 para no mantener en memoria la
+     * contraseña como parte de la clave del mapa.
+     */
+    private static String identityOf(String certificate, String password) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(certificate.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(password.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 está disponible en toda implementación de Java
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Entry {
+        private final SigningCredentials credentials;
+        private final long lastModified;
+        private final long length;
+
+        private Entry(SigningCredentials credentials, long lastModified, long length) {
+            this.credentials = credentials;
+            this.lastModified = lastModified;
+            this.length = length;
+        }
+
+        private boolean isCurrent(String certificate) {
+            if (lastModified == -1) {
+                // Certificado en Base64: el contenido forma parte de la clave, no puede cambiar
+                return true;
+            }
+
+            File file = new File(certificate);
+            return file.lastModified() == lastModified && file.length() == length;
+        }
+    }
+}
@@ -3,16 +3,15 @@ package com.roshka.sifen.internal.helpers;
 import com.roshka.sifen.core.SifenConfig;
 import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.SOAPResponse;
+import com.roshka.sifen.internal.transport.PooledHttpTransport;
+import com.roshka.sifen.internal.transport.SifenTransport;
+import com.roshka.sifen.internal.transport.TransportResponse;
+import com.roshka.sifen.internal.transport.UrlConnectionTransport;
 import com.roshka.sifen.internal.util.SifenExceptionUtil;
-import com.roshka.sifen.internal.util.SifenUtil;
 
-import javax.net.ssl.HttpsURLConnection;
-import javax.net.ssl.SSLContext;
-import javax.xml.soap.MessageFactory;
-import javax.xml.soap.SOAPConstants;
 import javax.xml.soap.SOAPException;
 import javax.xml.soap.SOAPMessage;
-import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
@@ -24,78 +23,86 @@ import java.util.logging.Logger;
  */
 public class SoapHelper {
     private final static Logger logger = Logger.getLogger(SoapHelper.class.toString());
+    private static volatile SifenTransport transport = new PooledHttpTransport();
+    private static final SifenTransport urlConnectionTransport = new UrlConnectionTransport();
 
-    private static void setupHttpURLConnectionProperties(HttpsURLConnection httpsConnection, SifenConfig sifenConfig) {
-        httpsConnection.setConnectTimeout(sifenConfig.getHttpConnectTimeout());
-        httpsConnection.setReadTimeout(sifenConfig.getHttpReadTimeout());
+    public static SOAPMessage createSoapMessage() throws SOAPException {
+        return XmlHelper.getMessageFactory().createMessage();
     }
 
-    private static void setupHttpURLConnectionHeaders(HttpsURLConnection httpsConnection, SifenConfig sifenConfig) {
-        httpsConnection.setRequestProperty("User-Agent", sifenConfig.getUserAgent());
-        httpsConnection.setRequestProperty("Content-Type", "application/xml; charset=utf-8");
+    public static SOAPMessage parseSoapMessage(InputStream is)
+            throws SOAPException, IOException {
+        return XmlHelper.getMessageFactory().createMessage(null, is);
     }
 
-    public static SOAPMessage createSoapMessage() throws SOAPException {
-        MessageFactory mf12 = MessageFactory.newInstance(SOAPConstants.SOAP_1_2_PROTOCOL);
-        return mf12.createMessage();
+    /**
+     * Reemplaza el transporte utilizado para enviar las peticiones. El transporte anterior es cerrado.<br>
+     * Las configuraciones con {@link SifenConfig#isHttpPoolHabilitado()} en falso no utilizan este transporte, sino
+     * {@link UrlConnectionTransport}.
+     *
+     * @param newTransport Transporte a utilizar, por ejemplo {@link UrlConnectionTransport} para volver al
+     *                     comportamiento de una conexión por petición.
+     */
+    public static void setTransport(SifenTransport newTransport) {
+        if (newTransport == null) {
+            throw new IllegalArgumentException("El transporte no debe ser nulo.");
+        }
+
+        SifenTransport oldTransport = transport;
+        transport = newTransport;
+        if (oldTransport != newTransport) {
+            oldTransport.close();
+        }
     }
 
-    public static SOAPMessage parseSoapMessage(InputStream is)
-            throws SOAPException, IOException {
-        MessageFactory mf12 = MessageFactory.newInstance(SOAPConstants.SOAP_1_2_PROTOCOL);
-        return mf12.createMessage(null, is);
+    public static SifenTransport getTransport() {
+        return transport;
     }
 
     public static SOAPResponse makeSoapRequest(SifenConfig sifenConfig, String urlString, SOAPMessage soapMessage) throws SifenException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try {
+            soapMessage.writeTo(body);
+        } catch (IOException e) {
+            throw SifenExceptionUtil.invalidSOAPRequest("Excepción de entrada/salida al realizar llamada SOAP: " + e.getLocalizedMessage(), e);
+        } catch (SOAPException e) {
+            throw SifenExceptionUtil.invalidSOAPRequest("Excepción de mensajería SOAP: " + e.getLocalizedMessage(), e);
+        }
+        return makeSoapRequest(sifenConfig, urlString, body.toByteArray());
+    }
+
+    /**
+     * Envía un mensaje SOAP ya serializado.
+     *
+     * @param sifenConfig Configuración de Sifen.
+     * @param urlString   URL del servicio.
+     * @param body        Mensaje SOAP codificado en UTF-8.
+     * @return Respuesta del servicio, sin procesar; el mensaje SOAP se lee luego con
+     * {@link com.roshka.sifen.internal.response.SoapResponseReader}.
+     * @throws SifenException Si la petición falla.
+     */
+    public static SOAPResponse makeSoapRequest(SifenConfig sifenConfig, String urlString, byte[] body) throws SifenException {
         SOAPResponse soapResponse = new SOAPResponse();
-        HttpsURLConnection httpsConnection = null;
         try {
             URL url = new URL(urlString);
-            httpsConnection = (HttpsURLConnection) url.openConnection();
-            if (url.getProtocol().equalsIgnoreCase("https")) {
-                SSLContext sslContext = SSLContextHelper.getContextFromConfig(sifenConfig);
-                httpsConnection.setSSLSocketFactory(sslContext.getSocketFactory());
-            } else if (!url.getProtocol().equalsIgnoreCase("http")) {
+            if (!url.getProtocol().equalsIgnoreCase("https") && !url.getProtocol().equalsIgnoreCase("http")) {
                 throw SifenExceptionUtil.invalidSOAPRequest("El protocolo " + url.getProtocol() + " es inválido");
             }
 
-            httpsConnection.setRequestMethod("POST");
-            httpsConnection.setDoOutput(true);
-            setupHttpURLConnectionProperties(httpsConnection, sifenConfig);
-            setupHttpURLConnectionHeaders(httpsConnection, sifenConfig);
-
-            // Conexión
-            logger.info("Conectando a: " + url);
-            httpsConnection.connect();
-
             // Petición
-            logger.info("Enviando mensaje SOAP");
-            soapMessage.writeTo(httpsConnection.getOutputStream());
+            logger.info("Enviando mensaje SOAP a: " + url);
+            SifenTransport currentTransport = sifenConfig.isHttpPoolHabilitado() ? transport : urlConnectionTransport;
+            TransportResponse response = currentTransport.send(sifenConfig, url, body);
 
             // Respuesta
-            soapResponse.setStatus(httpsConnection.getResponseCode());
-            InputStream inputStream;
-            if (soapResponse.isRequestSuccessful()) {
-                inputStream = httpsConnection.getInputStream();
-            } else {
-                inputStream = httpsConnection.getErrorStream();
-            }
-
-            byte[] readData = SifenUtil.getByteArrayFromInputStream(inputStream);
-            SOAPMessage successSoapMessage = SoapHelper.parseSoapMessage(new ByteArrayInputStream(readData));
-            soapResponse.setSoapResponse(successSoapMessage);
-            soapResponse.setRawData(readData);
+            soapResponse.setStatus(response.getStatus());
+            soapResponse.setRawData(response.getBody());
 
             return soapResponse;
         } catch (MalformedURLException e) {
             throw SifenExceptionUtil.invalidSOAPRequest("El URL " + urlString + " es inválido: " + e.getLocalizedMessage(), e);
         } catch (IOException e) {
             throw SifenExceptionUtil.invalidSOAPRequest("Excepción de entrada/salida al realizar llamada SOAP: " + e.getLocalizedMessage(), e);
-        } catch (SOAPException e) {
-            throw SifenExceptionUtil.invalidSOAPRequest("Excepción de mensajería SOAP: " + e.getLocalizedMessage(), e);
-        } finally {
-            if (httpsConnection != null)
-                httpsConnection.disconnect();
         }
     }
-}
\ No newline at end of file
+}
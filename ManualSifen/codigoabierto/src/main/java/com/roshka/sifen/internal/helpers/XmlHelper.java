@@ -0,0 +1,70 @@
+package com.roshka.sifen.internal.helpers;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.soap.MessageFactory;
+import javax.xml.soap.SOAPConstants;
+import javax.xml.soap.SOAPException;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+
+/**
+ * Helper que mantiene las fábricas y los procesadores XML reutilizables, para no buscar una implementación
+ * (por medio del ServiceLoader) en cada petición.<br>
+ * La fábrica de mensajes SOAP es única, ya que no tiene estado. Los parsers y las fábricas de transformadores no
+ * son seguros para el uso concurrente, por lo que se mantiene uno por hilo. El parser se reinicia cada vez que se
+ * obtiene, por lo que debe utilizarse en el momento y no debe guardarse.
+ */
+public class XmlHelper {
+    private static volatile MessageFactory messageFactory;
+    private static final ThreadLocal<DocumentBuilder> documentBuilder = new ThreadLocal<>();
+    private static final ThreadLocal<TransformerFactory> transformerFactory = new ThreadLocal<>();
+
+    /**
+     * @return Fábrica de mensajes SOAP 1.2, compartida.
+     * @throws SOAPException Si no se encuentra una implementación de SAAJ.
+     */
+    public static MessageFactory getMessageFactory() throws SOAPException {
+        MessageFactory factory = messageFactory;
+        if (factory == null) {
+            factory = MessageFactory.newInstance(SOAPConstants.SOAP_1_2_PROTOCOL);
+            messageFactory = factory;
+        }
+        return factory;
+    }
+
+    /**
+     * @return Parser DOM con soporte de espacios de nombres, del hilo actual.
+     * @throws ParserConfigurationException Si el parser no pudo ser creado.
+     */
+    public static DocumentBuilder getDocumentBuilder() throws ParserConfigurationException {
+        DocumentBuilder builder = documentBuilder.get();
+        if (builder == null) {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            builder = factory.newDocumentBuilder();
+            documentBuilder.set(builder);
+        } else {
+            builder.reset();
+        }
+        return builder;
+    }
+
+    /**
+     * Retorna un transformador identidad nuevo, creado a partir de la fábrica del hilo actual. El transformador no se
+     * reutiliza, ya que no todas las implementaciones restablecen sus propiedades de salida con {@code reset()}.
+     *
+     * @return Transformador identidad, sin propiedades de salida establecidas.
+     * @throws TransformerConfigurationException Si el transformador no pudo ser creado.
+     */
+    public static Transformer getTransformer() throws TransformerConfigurationException {
+        TransformerFactory factory = transformerFactory.get();
+        if (factory == null) {
+            factory = TransformerFactory.newInstance();
+            transformerFactory.set(factory);
+        }
+        return factory.newTransformer();
+    }
+}
@@ -11,11 +11,10 @@ import com.roshka.sifen.internal.util.SifenUtil;
 
 import javax.xml.soap.SOAPException;
 import javax.xml.soap.SOAPMessage;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import java.io.StringWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 abstract class BaseRequest {
@@ -31,38 +30,56 @@ abstract class BaseRequest {
     abstract SOAPMessage setupSoapMessage(GenerationCtx generationCtx) throws SifenException;
 
     abstract BaseResponse processResponse(SOAPResponse soapResponse) throws SifenException;
-    
-    public BaseResponse makeRequest(GenerationCtx generationCtx,String url) throws SifenException {
-        try {
-            // Preparamos el mensaje
-            SOAPMessage message = this.setupSoapMessage(generationCtx);
-            message.setProperty(SOAPMessage.WRITE_XML_DECLARATION, "true");
-            message.setProperty(SOAPMessage.CHARACTER_SET_ENCODING, "UTF-8");
-            logger.info("XML generado, se realiza la petición");
 
-//             Para obtener el xml
-            final StringWriter sw = new StringWriter();
+    /**
+     * Permite a las peticiones generar el mensaje SOAP ya serializado, sin construir el SOAPMessage.
+     *
+     * @return Mensaje SOAP codificado en UTF-8, o null para utilizar {@link #setupSoapMessage(GenerationCtx)}.
+     */
+    byte[] setupRequestBody(GenerationCtx generationCtx) throws SifenException {
+        return null;
+    }
 
+    public BaseResponse makeRequest(GenerationCtx generationCtx,String url) throws SifenException {
+        byte[] body = this.setupRequestBody(generationCtx);
+        if (body == null) {
             try {
-                TransformerFactory.newInstance().newTransformer().transform(
-                        new DOMSource(message.getSOAPPart()),
-                        new StreamResult(sw));
-            } catch (TransformerException e) {
-                throw new RuntimeException(e);
+                // Preparamos el mensaje, y lo serializamos una sola vez: los mismos bytes se envían y se conservan
+                SOAPMessage message = this.setupSoapMessage(generationCtx);
+                message.setProperty(SOAPMessage.WRITE_XML_DECLARATION, "true");
+                message.setProperty(SOAPMessage.CHARACTER_SET_ENCODING, "UTF-8");
+
+                ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+                message.writeTo(out);
+                body = out.toByteArray();
+            } catch (SOAPException | IOException e) {
+                String msg = "Ocurrió un error al realizan la petición a: " + url + ". Mensaje: " + e.getLocalizedMessage();
+                throw SifenExceptionUtil.invalidSOAPRequest(msg, e);
             }
+        }
+        logger.info("XML generado, se realiza la petición");
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine("Este es el xml a enviarse a la SIFEN \n" + new String(body, StandardCharsets.UTF_8));
+        }
+
+        // Realizamos la consulta
+        String requestUrl = SifenUtil.coalesce(sifenConfig.getUrlBase(), sifenConfig.getUrlBaseLocal()) + url;
+        BaseResponse response = this.processResponse(SoapHelper.makeSoapRequest(sifenConfig, requestUrl, body));
+        if (isRequestCaptured(response)) {
+            response.setRequestSentBytes(body);
+        }
+        logger.info("Petición realizada, se formatea la respuesta");
+        return response;
+    }
 
-            String xml = sw.toString();
-            logger.info("Este es el xml a enviarse a la SIFEN \n" + xml);
-//            System.out.println(xml);
-            // Realizamos la consulta
-            String requestUrl = SifenUtil.coalesce(sifenConfig.getUrlBase(), sifenConfig.getUrlBaseLocal()) + url;
-            BaseResponse response = this.processResponse(SoapHelper.makeSoapRequest(sifenConfig, requestUrl, message));
-            response.setRequestSent(xml);
-            logger.info("Petición realizada, se formatea la respuesta");
-            return response;
-        } catch (SOAPException e) {
-            String msg = "Ocurrió un error al realizan la petición a: " + url + ". Mensaje: " + e.getLocalizedMessage();
-            throw SifenExceptionUtil.invalidSOAPRequest(msg, e);
+    private boolean isRequestCaptured(BaseResponse response) {
+        switch (sifenConfig.getCapturaPeticion()) {
+            case NINGUNA:
+                return false;
+            case EN_ERROR:
+                return response.getCodigoEstado() / 100 != 2;
+            default:
+                return true;
         }
     }
 
@@ -8,17 +8,14 @@ import com.roshka.sifen.internal.SOAPResponse;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
 import com.roshka.sifen.internal.helpers.SoapHelper;
 import com.roshka.sifen.internal.response.BaseResponse;
-import com.roshka.sifen.internal.response.SifenObjectFactory;
-import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.response.SoapResponseReader;
 import com.roshka.sifen.internal.util.SifenExceptionUtil;
-import org.w3c.dom.Node;
 
 import javax.xml.namespace.QName;
 import javax.xml.soap.SOAPBody;
 import javax.xml.soap.SOAPBodyElement;
 import javax.xml.soap.SOAPException;
 import javax.xml.soap.SOAPMessage;
-import java.nio.charset.StandardCharsets;
 import java.util.logging.Logger;
 
 /**
@@ -52,23 +49,11 @@ public class ReqConsDe extends BaseRequest {
 
     @Override
     BaseResponse processResponse(SOAPResponse soapResponse) throws SifenException {
-        Node rEnviConsDe = null;
-        String rawResponse = null;
-        try {
-            SOAPMessage soapMessage = ResponseUtil.parseSoapMessage(soapResponse.getSoapResponse());
-            rEnviConsDe = ResponseUtil.getMainNode(soapMessage, "rEnviConsDeResponse");
-            rawResponse = ResponseUtil.getXmlFromMessage(soapMessage, false);
-        } catch (SifenException e) {
-            logger.warning(e.getMessage());
-        }
-
         RespuestaConsultaDE respuestaConsultaDE = new RespuestaConsultaDE();
-        if (rEnviConsDe != null) {
-            respuestaConsultaDE = SifenObjectFactory.getFromNode(rEnviConsDe, RespuestaConsultaDE.class);
-        }
+        SoapResponseReader.readMainNode(soapResponse.getRawData(), "rEnviConsDeResponse", respuestaConsultaDE, true);
 
         respuestaConsultaDE.setCodigoEstado(soapResponse.getStatus());
-        respuestaConsultaDE.setRespuestaBruta(rawResponse != null ? rawResponse : new String(soapResponse.getRawData(), StandardCharsets.UTF_8));
+        respuestaConsultaDE.setRespuestaBrutaBytes(soapResponse.getRawData());
         return respuestaConsultaDE;
     }
 
@@ -8,17 +8,14 @@ import com.roshka.sifen.internal.SOAPResponse;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
 import com.roshka.sifen.internal.helpers.SoapHelper;
 import com.roshka.sifen.internal.response.BaseResponse;
-import com.roshka.sifen.internal.response.SifenObjectFactory;
-import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.response.SoapResponseReader;
 import com.roshka.sifen.internal.util.SifenExceptionUtil;
-import org.w3c.dom.Node;
 
 import javax.xml.namespace.QName;
 import javax.xml.soap.SOAPBody;
 import javax.xml.soap.SOAPBodyElement;
 import javax.xml.soap.SOAPException;
 import javax.xml.soap.SOAPMessage;
-import java.nio.charset.StandardCharsets;
 import java.util.logging.Logger;
 
 /**
@@ -52,21 +49,11 @@ public class ReqConsLoteDe extends BaseRequest {
 
     @Override
     BaseResponse processResponse(SOAPResponse soapResponse) throws SifenException {
-        Node rResEnviConsLoteDe = null;
-        try {
-            SOAPMessage soapMessage = ResponseUtil.parseSoapMessage(soapResponse.getSoapResponse());
-            rResEnviConsLoteDe = ResponseUtil.getMainNode(soapMessage, "rResEnviConsLoteDe");
-        } catch (SifenException e) {
-            logger.warning(e.getMessage());
-        }
-
         RespuestaConsultaLoteDE respuestaConsultaLoteDE = new RespuestaConsultaLoteDE();
-        if (rResEnviConsLoteDe != null) {
-            respuestaConsultaLoteDE = SifenObjectFactory.getFromNode(rResEnviConsLoteDe, RespuestaConsultaLoteDE.class);
-        }
+        SoapResponseReader.readMainNode(soapResponse.getRawData(), "rResEnviConsLoteDe", respuestaConsultaLoteDE, true);
 
         respuestaConsultaLoteDE.setCodigoEstado(soapResponse.getStatus());
-        respuestaConsultaLoteDE.setRespuestaBruta(new String(soapResponse.getRawData(), StandardCharsets.UTF_8));
+        respuestaConsultaLoteDE.setRespuestaBrutaBytes(soapResponse.getRawData());
         return respuestaConsultaLoteDE;
     }
 
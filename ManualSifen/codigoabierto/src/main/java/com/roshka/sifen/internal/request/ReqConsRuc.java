@@ -8,17 +8,14 @@ import com.roshka.sifen.internal.SOAPResponse;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
 import com.roshka.sifen.internal.helpers.SoapHelper;
 import com.roshka.sifen.internal.response.BaseResponse;
-import com.roshka.sifen.internal.response.SifenObjectFactory;
-import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.response.SoapResponseReader;
 import com.roshka.sifen.internal.util.SifenExceptionUtil;
-import org.w3c.dom.Node;
 
 import javax.xml.namespace.QName;
 import javax.xml.soap.SOAPBody;
 import javax.xml.soap.SOAPBodyElement;
 import javax.xml.soap.SOAPException;
 import javax.xml.soap.SOAPMessage;
-import java.nio.charset.StandardCharsets;
 import java.util.logging.Logger;
 
 /**
@@ -52,20 +49,11 @@ public class ReqConsRuc extends BaseRequest {
 
     @Override
     BaseResponse processResponse(SOAPResponse soapResponse) throws SifenException {
-        Node rResEnviConsRuc = null;
-        try {
-            rResEnviConsRuc = ResponseUtil.getMainNode(soapResponse.getSoapResponse(), "rResEnviConsRuc");
-        } catch (SifenException e) {
-            logger.warning(e.getMessage());
-        }
-
         RespuestaConsultaRUC respuestaConsultaRUC = new RespuestaConsultaRUC();
-        if (rResEnviConsRuc != null) {
-            respuestaConsultaRUC = SifenObjectFactory.getFromNode(rResEnviConsRuc, RespuestaConsultaRUC.class);
-        }
+        SoapResponseReader.readMainNode(soapResponse.getRawData(), "rResEnviConsRuc", respuestaConsultaRUC, false);
 
         respuestaConsultaRUC.setCodigoEstado(soapResponse.getStatus());
-        respuestaConsultaRUC.setRespuestaBruta(new String(soapResponse.getRawData(), StandardCharsets.UTF_8));
+        respuestaConsultaRUC.setRespuestaBrutaBytes(soapResponse.getRawData());
         return respuestaConsultaRUC;
     }
 
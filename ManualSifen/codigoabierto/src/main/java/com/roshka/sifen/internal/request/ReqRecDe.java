@@ -7,10 +7,8 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.SOAPResponse;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
 import com.roshka.sifen.internal.response.BaseResponse;
-import com.roshka.sifen.internal.response.SifenObjectFactory;
-import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.response.SoapResponseReader;
 import com.roshka.sifen.internal.util.SifenExceptionUtil;
-import org.w3c.dom.Node;
 
 import javax.xml.soap.SOAPException;
 import javax.xml.soap.SOAPMessage;
@@ -38,21 +36,25 @@ public class ReqRecDe extends BaseRequest {
     }
 
     @Override
-    BaseResponse processResponse(SOAPResponse soapResponse) throws SifenException {
-        Node rRetEnviDe = null;
+    byte[] setupRequestBody(GenerationCtx generationCtx) throws SifenException {
+        if (generationCtx.getMotorXml() != SifenConfig.MotorXml.STREAMING) {
+            return null;
+        }
+
         try {
-            rRetEnviDe = ResponseUtil.getMainNode(soapResponse.getSoapResponse(), "rRetEnviDe");
-        } catch (SifenException e) {
-            logger.warning(e.getMessage());
+            return this.DE.setupXml(generationCtx, this.getdId(), this.getSifenConfig()).getBytes(StandardCharsets.UTF_8);
+        } catch (SOAPException e) {
+            throw SifenExceptionUtil.requestPreparationError("Ocurrió un error al preparar el cuerpo de la petición SOAP", e);
         }
+    }
 
+    @Override
+    BaseResponse processResponse(SOAPResponse soapResponse) throws SifenException {
         RespuestaRecepcionDE respuestaRecepcionDE = new RespuestaRecepcionDE();
-        if (rRetEnviDe != null) {
-            respuestaRecepcionDE = SifenObjectFactory.getFromNode(rRetEnviDe, RespuestaRecepcionDE.class);
-        }
+        SoapResponseReader.readMainNode(soapResponse.getRawData(), "rRetEnviDe", respuestaRecepcionDE, false);
 
         respuestaRecepcionDE.setCodigoEstado(soapResponse.getStatus());
-        respuestaRecepcionDE.setRespuestaBruta(new String(soapResponse.getRawData(), StandardCharsets.UTF_8));
+        respuestaRecepcionDE.setRespuestaBrutaBytes(soapResponse.getRawData());
         return respuestaRecepcionDE;
     }
 
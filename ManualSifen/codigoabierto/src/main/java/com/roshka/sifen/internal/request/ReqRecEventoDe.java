@@ -9,14 +9,11 @@ import com.roshka.sifen.internal.SOAPResponse;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
 import com.roshka.sifen.internal.helpers.SoapHelper;
 import com.roshka.sifen.internal.response.BaseResponse;
-import com.roshka.sifen.internal.response.SifenObjectFactory;
-import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.response.SoapResponseReader;
 import com.roshka.sifen.internal.util.SifenExceptionUtil;
-import org.w3c.dom.Node;
 
 import javax.xml.namespace.QName;
 import javax.xml.soap.*;
-import java.nio.charset.StandardCharsets;
 import java.util.logging.Logger;
 
 /**
@@ -56,20 +53,11 @@ public class ReqRecEventoDe extends BaseRequest {
 
     @Override
     BaseResponse processResponse(SOAPResponse soapResponse) throws SifenException {
-        Node rRetEnviEventoDe = null;
-        try {
-            rRetEnviEventoDe = ResponseUtil.getMainNode(soapResponse.getSoapResponse(), "rRetEnviEventoDe");
-        } catch (SifenException e) {
-            logger.warning(e.getMessage());
-        }
-
         RespuestaRecepcionEvento respuestaRecepcionEvento = new RespuestaRecepcionEvento();
-        if (rRetEnviEventoDe != null) {
-            respuestaRecepcionEvento = SifenObjectFactory.getFromNode(rRetEnviEventoDe, RespuestaRecepcionEvento.class);
-        }
+        SoapResponseReader.readMainNode(soapResponse.getRawData(), "rRetEnviEventoDe", respuestaRecepcionEvento, false);
 
         respuestaRecepcionEvento.setCodigoEstado(soapResponse.getStatus());
-        respuestaRecepcionEvento.setRespuestaBruta(new String(soapResponse.getRawData(), StandardCharsets.UTF_8));
+        respuestaRecepcionEvento.setRespuestaBrutaBytes(soapResponse.getRawData());
         return respuestaRecepcionEvento;
     }
 
@@ -7,28 +7,17 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.Constants;
 import com.roshka.sifen.internal.SOAPResponse;
 import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.helpers.LoteHelper;
 import com.roshka.sifen.internal.helpers.SoapHelper;
 import com.roshka.sifen.internal.response.BaseResponse;
-import com.roshka.sifen.internal.response.SifenObjectFactory;
-import com.roshka.sifen.internal.util.ResponseUtil;
+import com.roshka.sifen.internal.response.SoapResponseReader;
 import com.roshka.sifen.internal.util.SifenExceptionUtil;
 import com.roshka.sifen.internal.util.SifenUtil;
-import org.w3c.dom.Node;
 
 import javax.xml.namespace.QName;
 import javax.xml.soap.*;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.StringWriter;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Paths;
-import java.util.Base64;
 import java.util.List;
-import java.util.Properties;
 import java.util.logging.Logger;
 
 /**
@@ -56,26 +45,11 @@ public class ReqRecLoteDe extends BaseRequest {
             rEnvioLote.addChildElement("dId").setTextContent(String.valueOf(this.getdId()));
             SOAPElement xDE = rEnvioLote.addChildElement("xDE");
 
-            SOAPElement rLoteDE = SoapHelper.createSoapMessage().getSOAPBody().addChildElement("rLoteDE");
-            for (DocumentoElectronico DE : DEList) {
-                DE.setupDE(generationCtx, rLoteDE, this.getSifenConfig());
-            }
-//            FIN CAMBIO
+            // Generamos y firmamos los DE en paralelo, manteniendo el orden de la lista
+            List<String> rLoteDE = LoteHelper.buildLote(generationCtx, DEList, this.getSifenConfig());
 
-            // Obtenemos el XML
-            final StringWriter sw = new StringWriter();
-            try {
-                TransformerFactory.newInstance().newTransformer().transform(new DOMSource(rLoteDE), new StreamResult(sw));
-            } catch (TransformerException e) {
-                throw new RuntimeException(e);
-            }
-
-            // Comprimimos a un archivo zip
-            byte[] zipFile = SifenUtil.compressXmlToZip(sw.toString());
-
-            // Convertimos el zip a Base64
-            String rLoteDEBase64 = new String(Base64.getEncoder().encode(zipFile), StandardCharsets.UTF_8);
-            xDE.setTextContent(rLoteDEBase64);
+            // Comprimimos el lote a un archivo zip, codificado en Base64
+            xDE.setTextContent(SifenUtil.compressXmlToZipBase64(rLoteDE));
 
             return message;
         } catch (SOAPException | IOException e) {
@@ -85,20 +59,11 @@ public class ReqRecLoteDe extends BaseRequest {
 
     @Override
     BaseResponse processResponse(SOAPResponse soapResponse) throws SifenException {
-        Node rResEnviLoteDe = null;
-        try {
-            rResEnviLoteDe = ResponseUtil.getMainNode(soapResponse.getSoapResponse(), "rResEnviLoteDe");
-        } catch (SifenException e) {
-            logger.warning(e.getMessage());
-        }
-
         RespuestaRecepcionLoteDE respuestaRecepcionLoteDE = new RespuestaRecepcionLoteDE();
-        if (rResEnviLoteDe != null) {
-            respuestaRecepcionLoteDE = SifenObjectFactory.getFromNode(rResEnviLoteDe, RespuestaRecepcionLoteDE.class);
-        }
+        SoapResponseReader.readMainNode(soapResponse.getRawData(), "rResEnviLoteDe", respuestaRecepcionLoteDE, false);
 
         respuestaRecepcionLoteDE.setCodigoEstado(soapResponse.getStatus());
-        respuestaRecepcionLoteDE.setRespuestaBruta(new String(soapResponse.getRawData(), StandardCharsets.UTF_8));
+        respuestaRecepcionLoteDE.setRespuestaBrutaBytes(soapResponse.getRawData());
         return respuestaRecepcionLoteDE;
     }
 
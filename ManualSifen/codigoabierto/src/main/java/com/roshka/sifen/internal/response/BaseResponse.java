@@ -4,16 +4,22 @@ import com.roshka.sifen.core.exceptions.SifenException;
 import com.roshka.sifen.internal.util.ResponseUtil;
 import org.w3c.dom.Node;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Clase abstracta heredada por las clases de respuestas a las peticiones.
  */
 public abstract class BaseResponse extends SifenObjectBase {
     private int codigoEstado;
     private String respuestaBruta;
+    private byte[] respuestaBrutaBytes;
 
     private String dCodRes;
     private String dMsgRes;
-    private String requestSent;
+    private volatile String requestSent;
+    private volatile byte[] requestSentBytes;
 
     @Override
     public void setValueFromChildNode(Node value) throws SifenException {
@@ -40,12 +46,49 @@ public abstract class BaseResponse extends SifenObjectBase {
         this.codigoEstado = codigoEstado;
     }
 
+    /**
+     * @return Respuesta de Sifen como texto. Se decodifica recién la primera vez que se consulta.
+     */
     public String getRespuestaBruta() {
+        if (respuestaBruta == null && respuestaBrutaBytes != null) {
+            respuestaBruta = decodeRespuestaBruta(respuestaBrutaBytes);
+        }
         return respuestaBruta;
     }
 
     public void setRespuestaBruta(String respuestaBruta) {
         this.respuestaBruta = respuestaBruta;
+        this.respuestaBrutaBytes = null;
+    }
+
+    /**
+     * Establece la respuesta de Sifen tal como fue recibida, sin decodificarla.
+     *
+     * @param respuestaBruta Respuesta codificada en UTF-8.
+     */
+    public void setRespuestaBrutaBytes(byte[] respuestaBruta) {
+        this.respuestaBruta = null;
+        this.respuestaBrutaBytes = respuestaBruta;
+    }
+
+    /**
+     * Retorna la respuesta de Sifen tal como fue recibida, para guardarla, por ejemplo, en un archivo o en una base
+     * de datos, sin convertirla a texto. Los bytes no se copian.
+     *
+     * @return Respuesta codificada en UTF-8, o null si no hay respuesta.
+     */
+    public InputStream getRespuestaBrutaStream() {
+        if (respuestaBrutaBytes != null) {
+            return new ByteArrayInputStream(respuestaBrutaBytes);
+        }
+        return respuestaBruta != null ? new ByteArrayInputStream(respuestaBruta.getBytes(StandardCharsets.UTF_8)) : null;
+    }
+
+    /**
+     * Convierte la respuesta recibida al texto retornado por {@link #getRespuestaBruta()}.
+     */
+    protected String decodeRespuestaBruta(byte[] respuestaBruta) {
+        return new String(respuestaBruta, StandardCharsets.UTF_8);
     }
 
     public void setdCodRes(String dCodRes) {
@@ -56,11 +99,36 @@ public abstract class BaseResponse extends SifenObjectBase {
         this.dMsgRes = dMsgRes;
     }
 
+    /**
+     * @return XML enviado en la petición, o null si no fue conservado, según el modo de captura configurado.
+     */
     public String getRequestSent() {
-        return requestSent;
+        String request = requestSent;
+        if (request == null) {
+            byte[] bytes = requestSentBytes;
+            if (bytes == null) {
+                // Otro hilo pudo haberlo decodificado recién; el texto se escribe antes de liberar los bytes
+                return requestSent;
+            }
+            request = new String(bytes, StandardCharsets.UTF_8);
+            requestSent = request;
+            requestSentBytes = null;
+        }
+        return request;
     }
 
     public void setRequestSent(String requestSent) {
         this.requestSent = requestSent;
+        this.requestSentBytes = null;
+    }
+
+    /**
+     * Establece el mensaje enviado en la petición, tal como fue enviado. Se convierte a texto recién al consultarlo.
+     *
+     * @param requestSent Mensaje SOAP codificado en UTF-8.
+     */
+    public void setRequestSentBytes(byte[] requestSent) {
+        this.requestSent = null;
+        this.requestSentBytes = requestSent;
     }
 }
\ No newline at end of file
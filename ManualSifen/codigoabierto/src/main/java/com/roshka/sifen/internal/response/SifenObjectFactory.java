@@ -1,29 +1,130 @@
 package com.roshka.sifen.internal.response;
 
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.beans.EventosDE;
+import com.roshka.sifen.core.beans.response.RespuestaRecepcionEvento;
 import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.core.fields.request.de.*;
+import com.roshka.sifen.core.fields.request.event.*;
+import com.roshka.sifen.core.fields.response.TgResProc;
+import com.roshka.sifen.core.fields.response.TxProtDe;
+import com.roshka.sifen.core.fields.response.batch.TgResProcLote;
+import com.roshka.sifen.core.fields.response.de.TrContEv;
+import com.roshka.sifen.core.fields.response.de.TxContenDE;
+import com.roshka.sifen.core.fields.response.de.TxContenEv;
+import com.roshka.sifen.core.fields.response.event.TgResProcEVe;
+import com.roshka.sifen.core.fields.response.ruc.TxContRuc;
 import com.roshka.sifen.internal.util.SifenExceptionUtil;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 /**
- * Clase encargada de leer los Nodos XML y sus hijos y generar las respuestas formateadas.
+ * Clase encargada de leer los Nodos XML y sus hijos y generar las respuestas formateadas.<br>
+ * Los objetos se crean por medio de proveedores registrados por clase, sin utilizar reflexión. Las clases que no
+ * fueron registradas se crean con su constructor sin parámetros, que se busca una sola vez.
  */
 public class SifenObjectFactory {
     private final static Logger logger = Logger.getLogger(SifenObjectFactory.class.toString());
 
+    private static final Map<Class<?>, Supplier<?>> suppliers = new ConcurrentHashMap<>(128);
+
+    static {
+        // Documentos y respuestas
+        register(DocumentoElectronico.class, DocumentoElectronico::new);
+        register(EventosDE.class, EventosDE::new);
+        register(RespuestaRecepcionEvento.class, RespuestaRecepcionEvento::new);
+        register(TgResProc.class, TgResProc::new);
+        register(TgResProcLote.class, TgResProcLote::new);
+        register(TgResProcEVe.class, TgResProcEVe::new);
+        register(TxProtDe.class, TxProtDe::new);
+        register(TxContRuc.class, TxContRuc::new);
+        register(TxContenDE.class, TxContenDE::new);
+        register(TxContenEv.class, TxContenEv::new);
+        register(TrContEv.class, TrContEv::new);
+
+        // Campos del DE
+        register(TgOpeDE.class, TgOpeDE::new);
+        register(TgTimb.class, TgTimb::new);
+        register(TdDatGralOpe.class, TdDatGralOpe::new);
+        register(TgOpeCom.class, TgOpeCom::new);
+        register(TgEmis.class, TgEmis::new);
+        register(TgActEco.class, TgActEco::new);
+        register(TgRespDE.class, TgRespDE::new);
+        register(TgDatRec.class, TgDatRec::new);
+        register(TgDtipDE.class, TgDtipDE::new);
+        register(TgCamFE.class, TgCamFE::new);
+        register(TgCompPub.class, TgCompPub::new);
+        register(TgCamAE.class, TgCamAE::new);
+        register(TgCamNCDE.class, TgCamNCDE::new);
+        register(TgCamNRE.class, TgCamNRE::new);
+        register(TgCamCond.class, TgCamCond::new);
+        register(TgPaConEIni.class, TgPaConEIni::new);
+        register(TgPagTarCD.class, TgPagTarCD::new);
+        register(TgPagCheq.class, TgPagCheq::new);
+        register(TgPagCred.class, TgPagCred::new);
+        register(TgCuotas.class, TgCuotas::new);
+        register(TgCamItem.class, TgCamItem::new);
+        register(TgValorItem.class, TgValorItem::new);
+        register(TgValorRestaItem.class, TgValorRestaItem::new);
+        register(TgCamIVA.class, TgCamIVA::new);
+        register(TgRasMerc.class, TgRasMerc::new);
+        register(TgVehNuevo.class, TgVehNuevo::new);
+        register(TgCamEsp.class, TgCamEsp::new);
+        register(TgGrupEner.class, TgGrupEner::new);
+        register(TgGrupSeg.class, TgGrupSeg::new);
+        register(TgGrupPolSeg.class, TgGrupPolSeg::new);
+        register(TgGrupSup.class, TgGrupSup::new);
+        register(TgGrupAdi.class, TgGrupAdi::new);
+        register(TgTransp.class, TgTransp::new);
+        register(TgCamSal.class, TgCamSal::new);
+        register(TgCamEnt.class, TgCamEnt::new);
+        register(TgVehTras.class, TgVehTras::new);
+        register(TgCamTrans.class, TgCamTrans::new);
+        register(TgTotSub.class, TgTotSub::new);
+        register(TgCamGen.class, TgCamGen::new);
+        register(TgCamCarg.class, TgCamCarg::new);
+        register(TgCamDEAsoc.class, TgCamDEAsoc::new);
+
+        // Campos de los eventos
+        register(TgGroupTiEvt.class, TgGroupTiEvt::new);
+        register(TrGesEve.class, TrGesEve::new);
+        register(TrGeVeCan.class, TrGeVeCan::new);
+        register(TrGeVeInu.class, TrGeVeInu::new);
+        register(TrGeVeNotRec.class, TrGeVeNotRec::new);
+        register(TrGeVeConf.class, TrGeVeConf::new);
+        register(TrGeVeDisconf.class, TrGeVeDisconf::new);
+        register(TrGeVeDescon.class, TrGeVeDescon::new);
+        register(TrGeVeTr.class, TrGeVeTr::new);
+        register(TrGeVeRem.class, TrGeVeRem::new);
+        register(TrGeVeAnt.class, TrGeVeAnt::new);
+        register(TrGeVeCCFF.class, TrGeVeCCFF::new);
+        register(TrGeDevCCFFCue.class, TrGeDevCCFFCue::new);
+        register(TrGeDevCCFFDev.class, TrGeDevCCFFDev::new);
+        register(TrGeVeRetAce.class, TrGeVeRetAce::new);
+        register(TrGeVeRetAnu.class, TrGeVeRetAnu::new);
+    }
+
+    /**
+     * Registra el proveedor de instancias de una clase, que se utiliza en lugar de su constructor al leer los nodos.
+     *
+     * @param sifenObjectBase Clase del objeto.
+     * @param supplier        Proveedor de nuevas instancias de la clase.
+     */
+    public static <T extends SifenObjectBase> void register(Class<T> sifenObjectBase, Supplier<? extends T> supplier) {
+        suppliers.put(sifenObjectBase, supplier);
+    }
+
     public static <T extends SifenObjectBase> T getFromNode(Node mainNode, Class<T> sifenObjectBase) throws SifenException {
-        try {
-            T object = sifenObjectBase.newInstance();
-            getFromNode(mainNode, object);
-            return object;
-        } catch (InstantiationException | IllegalAccessException e) {
-            logger.throwing(SifenObjectFactory.class.getCanonicalName(), "getFromNode", e);
-            throw SifenExceptionUtil.unexpectedError(
-                    "Error de instanciación al intentar crear un objeto de clase: " + sifenObjectBase.getCanonicalName() + " -> " + e.getLocalizedMessage(), e
-            );
-        }
+        T object = newInstance(sifenObjectBase);
+        getFromNode(mainNode, object);
+        return object;
     }
 
     public static <T extends SifenObjectBase> void getFromNode(Node mainNode, T object) throws SifenException {
@@ -33,4 +134,55 @@ public class SifenObjectFactory {
             object.setValueFromChildNode(node);
         }
     }
-}
\ No newline at end of file
+
+    @SuppressWarnings("unchecked")
+    private static <T extends SifenObjectBase> T newInstance(Class<T> sifenObjectBase) throws SifenException {
+        Supplier<?> supplier = suppliers.get(sifenObjectBase);
+        if (supplier == null) {
+            supplier = suppliers.computeIfAbsent(sifenObjectBase, SifenObjectFactory::constructorSupplier);
+        }
+
+        try {
+            return (T) supplier.get();
+        } catch (InstantiationFailure e) {
+            logger.throwing(SifenObjectFactory.class.getCanonicalName(), "getFromNode", e.getCause());
+            throw SifenExceptionUtil.unexpectedError(
+                    "Error de instanciación al intentar crear un objeto de clase: " + sifenObjectBase.getCanonicalName() + " -> " + e.getCause().getLocalizedMessage(), e.getCause()
+            );
+        }
+    }
+
+    /**
+     * Proveedor basado en el constructor sin parámetros de la clase, para las clases que no fueron registradas.
+     * Los errores de instanciación se envuelven en una {@link InstantiationFailure}.
+     */
+    private static Supplier<?> constructorSupplier(Class<?> sifenObjectBase) {
+        Constructor<?> constructor;
+        try {
+            constructor = sifenObjectBase.getDeclaredConstructor();
+            constructor.setAccessible(true);
+        } catch (NoSuchMethodException | SecurityException e) {
+            return () -> {
+                throw new InstantiationFailure(e);
+            };
+        }
+
+        return () -> {
+            try {
+                return constructor.newInstance();
+            } catch (InstantiationException | IllegalAccessException e) {
+                throw new InstantiationFailure(e);
+            } catch (InvocationTargetException e) {
+                throw new InstantiationFailure(e.getCause());
+            }
+        };
+    }
+
+    private static class InstantiationFailure extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        InstantiationFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.roshka.sifen.internal.response;
+
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.helpers.XmlHelper;
+import com.roshka.sifen.internal.util.SifenExceptionUtil;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Lector de las respuestas SOAP de Sifen, basado en StAX.<br>
+ * La respuesta se recorre una sola vez: el sobre SOAP y el nodo principal no se construyen, y cada hijo del nodo
+ * principal se arma como un fragmento DOM independiente (solamente elementos, atributos y texto), se entrega a
+ * {@link SifenObjectBase#setValueFromChildNode(org.w3c.dom.Node)} y luego se descarta.<br>
+ * Opcionalmente, el texto de los elementos que contiene un XML escapado (como xContenDE en la consulta de un DE) se
+ * lee como elementos hijos, en lugar de desescapar y volver a parsear la respuesta completa.
+ */
+public class SoapResponseReader {
+    private final static Logger logger = Logger.getLogger(SoapResponseReader.class.toString());
+
+    private static final ThreadLocal<XMLInputFactory> inputFactory = ThreadLocal.withInitial(() -> {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    });
+
+    /**
+     * Lee la respuesta y carga en el objeto recibido los hijos del nodo principal, que debe ser el primer elemento del
+     * cuerpo del mensaje SOAP.
+     *
+     * @param rawData      Respuesta de Sifen, tal como fue recibida.
+     * @param mainNodeName Nombre local esperado del nodo principal.
+     * @param object       Objeto a cargar con los hijos del nodo principal.
+     * @param embeddedXml  Si es verdadero, el texto de los elementos que contiene un XML escapado se lee como elementos.
+     * @return Verdadero si se encontró el nodo principal; falso si la respuesta no lo contiene, por ejemplo, si es un
+     * SOAP Fault.
+     * @throws SifenException Si la respuesta no es un XML válido, o si la carga de algún hijo falla.
+     */
+    public static boolean readMainNode(byte[] rawData, String mainNodeName, SifenObjectBase object, boolean embeddedXml) throws SifenException {
+        XMLStreamReader reader = null;
+        try {
+            reader = inputFactory.get().createXMLStreamReader(new ByteArrayInputStream(rawData));
+
+            // Body
+            List<String[]> namespaces = new ArrayList<>();
+            if (!moveToBody(reader, namespaces)) {
+                logger.warning("El cuerpo del mensaje SOAP es nulo. No se puede obtener el nodo principal.");
+                return false;
+            }
+
+            // Nodo principal
+            if (!moveToFirstChild(reader)) {
+                logger.warning("El cuerpo del mensaje SOAP tiene el primer nodo nulo.");
+                return false;
+            }
+            if (!reader.getLocalName().equalsIgnoreCase(mainNodeName)) {
+                logger.warning("El nombre del nodo [" + reader.getLocalName() + "] no coincide con el nombre esperado [" + mainNodeName + "]");
+                return false;
+            }
+            addNamespaces(reader, namespaces);
+
+            // Hijos del nodo principal
+            Document document = XmlHelper.getDocumentBuilder().newDocument();
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    object.setValueFromChildNode(readElement(reader, document, namespaces, embeddedXml));
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    break;
+                }
+            }
+            return true;
+        } catch (XMLStreamException e) {
+            throw SifenExceptionUtil.invalidSOAPRequest("Excepción de mensajería SOAP: " + e.getLocalizedMessage(), e);
+        } catch (ParserConfigurationException e) {
+            throw SifenExceptionUtil.unexpectedError("No se pudo crear el documento para leer la respuesta: " + e.getLocalizedMessage(), e);
+        } finally {
+            close(reader);
+        }
+    }
+
+    /**
+     * Avanza hasta el elemento Body, registrando los espacios de nombres declarados en el camino.
+     */
+    private static boolean moveToBody(XMLStreamReader reader, List<String[]> namespaces) throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                addNamespaces(reader, namespaces);
+                if (reader.getLocalName().equals("Body")) {
+                    return true;
+                }
+                if (reader.getLocalName().equals("Header")) {
+                    skipElement(reader);
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean moveToFirstChild(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Construye el elemento actual y sus descendientes, dejando al lector sobre su etiqueta de cierre.
+     */
+    private static Element readElement(XMLStreamReader reader, Document document, List<String[]> namespaces, boolean embeddedXml) throws XMLStreamException {
+        int declared = addNamespaces(reader, namespaces);
+        Element element = document.createElementNS(emptyToNull(reader.getNamespaceURI()), qualifiedName(reader.getPrefix(), reader.getLocalName()));
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttributeNS(
+                    emptyToNull(reader.getAttributeNamespace(i)),
+                    qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                    reader.getAttributeValue(i)
+            );
+        }
+
+        StringBuilder text = new StringBuilder();
+        boolean hasChildElements = false;
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                // Los espacios entre elementos no se conservan
+                appendText(element, document, text, true);
+                hasChildElements = true;
+                element.appendChild(readElement(reader, document, namespaces, embeddedXml));
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                    || event == XMLStreamConstants.SPACE) {
+                text.append(reader.getText());
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+        }
+
+        if (hasChildElements) {
+            appendText(element, document, text, true);
+        } else if (!(embeddedXml && appendEmbeddedXml(element, document, text.toString(), namespaces))) {
+            appendText(element, document, text, false);
+        }
+
+        namespaces.subList(namespaces.size() - declared, namespaces.size()).clear();
+        return element;
+    }
+
+    /**
+     * Si el texto es un XML, lo agrega al elemento como hijos.
+     *
+     * @return Verdadero si el texto fue agregado como elementos.
+     */
+    private static boolean appendEmbeddedXml(Element element, Document document, String text, List<String[]> namespaces) {
+        String xml = text.trim();
+        if (!xml.startsWith("<"))
+            return false;
+
+        // El contenido puede tener varios elementos raíz y declaraciones XML, y utilizar los prefijos del sobre
+        StringBuilder wrapped = new StringBuilder(xml.length() + 128).append("<embedded");
+        Set<String> prefixes = new HashSet<>();
+        for (int i = namespaces.size() - 1; i >= 0; i--) {
+            String[] namespace = namespaces.get(i);
+            if (prefixes.add(namespace[0])) {
+                wrapped.append(namespace[0].isEmpty() ? " xmlns" : " xmlns:" + namespace[0])
+                        .append("=\"").append(namespace[1].replace("&", "&amp;").replace("\"", "&quot;")).append('"');
+            }
+        }
+        wrapped.append('>').append(xml.replaceAll("<\\?xml[^>]*\\?>", "")).append("</embedded>");
+
+        List<Element> children = new ArrayList<>();
+        XMLStreamReader reader = null;
+        try {
+            reader = inputFactory.get().createXMLStreamReader(new StringReader(wrapped.toString()));
+            reader.nextTag();
+            List<String[]> embeddedNamespaces = new ArrayList<>();
+            addNamespaces(reader, embeddedNamespaces);
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    children.add(readElement(reader, document, embeddedNamespaces, false));
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    break;
+                }
+            }
+        } catch (XMLStreamException e) {
+            logger.info("Se produjo un error al parsear el XML contenido en " + element.getLocalName() + ". Ignorando.");
+            return false;
+        } finally {
+            close(reader);
+        }
+
+        for (Element child : children) {
+            element.appendChild(child);
+        }
+        return true;
+    }
+
+    private static void appendText(Element element, Document document, StringBuilder text, boolean skipWhitespace) {
+        if (text.length() > 0) {
+            if (!skipWhitespace || text.toString().trim().length() > 0) {
+                element.appendChild(document.createTextNode(text.toString()));
+            }
+            text.setLength(0);
+        }
+    }
+
+    private static int addNamespaces(XMLStreamReader reader, List<String[]> namespaces) {
+        int count = reader.getNamespaceCount();
+        for (int i = 0; i < count; i++) {
+            String prefix = reader.getNamespacePrefix(i);
+            String uri = reader.getNamespaceURI(i);
+            namespaces.add(new String[]{prefix == null ? "" : prefix, uri == null ? "" : uri});
+        }
+        return count;
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+        return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static void close(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException ignored) {
+            }
+        }
+    }
+}
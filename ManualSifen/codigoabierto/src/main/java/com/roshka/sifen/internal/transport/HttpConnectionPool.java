@@ -0,0 +1,270 @@
+package com.roshka.sifen.internal.transport;
+
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Pool acotado de conexiones persistentes hacia un mismo destino (esquema, host, puerto, proxy y contexto SSL).
+ */
+class HttpConnectionPool {
+    private final static Logger logger = Logger.getLogger(HttpConnectionPool.class.toString());
+
+    private final String route;
+    private final String host;
+    private final int port;
+    private final Proxy proxy;
+    private final SSLSocketFactory sslSocketFactory;
+    private final int maxConnections;
+    private final long idleTimeout;
+
+    private final Semaphore permits;
+    private final Deque<PooledConnection> available = new ArrayDeque<>();
+
+    private int leased;
+    private long lastActivity = System.currentTimeMillis();
+    private boolean retired;
+    private long created;
+    private long reused;
+    private long evicted;
+
+    HttpConnectionPool(String route, String host, int port, Proxy proxy, SSLSocketFactory sslSocketFactory, int maxConnections, long idleTimeout) {
+        this.route = route;
+        this.host = host;
+        this.port = port;
+        this.proxy = proxy;
+        this.sslSocketFactory = sslSocketFactory;
+        this.maxConnections = maxConnections;
+        this.idleTimeout = idleTimeout;
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
+    /**
+     * Obtiene una conexión del pool, reutilizando la usada más recientemente o abriendo una nueva.
+     *
+     * @param connectTimeout Tiempo máximo de espera, tanto para obtener un lugar en el pool como para conectar.
+     * @param forceNew       Si es verdadero, no se reutiliza ninguna conexión existente.
+     */
+    PooledConnection lease(int connectTimeout, boolean forceNew) throws IOException {
+        synchronized (this) {
+            lastActivity = System.currentTimeMillis();
+        }
+        try {
+            if (!permits.tryAcquire(connectTimeout, TimeUnit.MILLISECONDS)) {
+                throw new IOException("Tiempo de espera agotado al obtener una conexión hacia " + route +
+                        " (máximo " + maxConnections + " conexiones en uso)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrumpido mientras se esperaba una conexión hacia " + route, e);
+        }
+
+        if (!forceNew) {
+            PooledConnection connection = pollAvailable();
+            if (connection != null) {
+                return connection;
+            }
+        }
+
+        try {
+            PooledConnection connection = new PooledConnection(connect(connectTimeout));
+            synchronized (this) {
+                leased++;
+                created++;
+            }
+            return connection;
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Devuelve una conexión al pool. Si no es reutilizable, o si el pool ya fue retirado, se cierra.
+     */
+    void release(PooledConnection connection, boolean reusable) {
+        synchronized (this) {
+            leased--;
+            lastActivity = System.currentTimeMillis();
+            reusable = reusable && !retired;
+            if (reusable) {
+                connection.markReleased();
+                available.addFirst(connection);
+            }
+        }
+        if (!reusable) {
+            connection.close();
+        }
+        permits.release();
+    }
+
+    /**
+     * Cierra las conexiones que superaron el tiempo de inactividad.
+     */
+    void evictExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            Iterator<PooledConnection> iterator = available.iterator();
+            while (iterator.hasNext()) {
+                PooledConnection connection = iterator.next();
+                if (connection.isExpired(now, idleTimeout)) {
+                    iterator.remove();
+                    connection.close();
+                    evicted++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Retira el pool si no tiene conexiones y no fue utilizado durante el tiempo de inactividad. Un pool retirado ya
+     * no guarda conexiones: las que se devuelvan luego se cierran.
+     *
+     * @return Verdadero si el pool fue retirado.
+     */
+    synchronized boolean retireIfUnused(long now) {
+        if (leased == 0 && available.isEmpty() && now - lastActivity > idleTimeout) {
+            retired = true;
+        }
+        return retired;
+    }
+
+    synchronized void close() {
+        retired = true;
+        for (PooledConnection connection : available) {
+            connection.close();
+        }
+        available.clear();
+    }
+
+    synchronized PoolStats getStats() {
+        return new PoolStats(route, leased, available.size(), maxConnections, created, reused, evicted);
+    }
+
+    private PooledConnection pollAvailable() {
+        long now = System.currentTimeMillis();
+        while (true) {
+            PooledConnection connection;
+            synchronized (this) {
+                connection = available.pollFirst();
+            }
+            if (connection == null) {
+                return null;
+            }
+
+            // La verificación puede leer del socket, por lo que se hace fuera del bloqueo
+            if (connection.isExpired(now, idleTimeout) || connection.isStale(now)) {
+                connection.close();
+                synchronized (this) {
+                    evicted++;
+                }
+                continue;
+            }
+
+            synchronized (this) {
+                leased++;
+                reused++;
+            }
+            return connection;
+        }
+    }
+
+    private Socket connect(int connectTimeout) throws IOException {
+        logger.info("Abriendo nueva conexión hacia: " + route + (proxy.type() != Proxy.Type.DIRECT ? " a través de " + proxy : ""));
+        Socket socket = proxy.type() == Proxy.Type.SOCKS ? new Socket(proxy) : new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            switch (proxy.type()) {
+                case DIRECT:
+                    socket.connect(new InetSocketAddress(host, port), connectTimeout);
+                    break;
+                case SOCKS:
+                    // El proxy SOCKS resuelve el nombre del destino
+                    socket.connect(InetSocketAddress.createUnresolved(host, port), connectTimeout);
+                    break;
+                default:
+                    InetSocketAddress proxyAddress = (InetSocketAddress) proxy.address();
+                    if (proxyAddress.isUnresolved()) {
+                        proxyAddress = new InetSocketAddress(proxyAddress.getHostString(), proxyAddress.getPort());
+                    }
+                    socket.connect(proxyAddress, connectTimeout);
+                    if (sslSocketFactory != null) {
+                        openTunnel(socket, connectTimeout);
+                    }
+            }
+            if (sslSocketFactory == null) {
+                return socket;
+            }
+
+            SSLSocket sslSocket = (SSLSocket) sslSocketFactory.createSocket(socket, host, port, true);
+            SSLParameters sslParameters = sslSocket.getSSLParameters();
+            sslParameters.setEndpointIdentificationAlgorithm("HTTPS");
+            sslSocket.setSSLParameters(sslParameters);
+            sslSocket.setSoTimeout(connectTimeout);
+            sslSocket.startHandshake();
+            return sslSocket;
+        } catch (IOException | RuntimeException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Abre un túnel hacia el destino a través de un proxy HTTP, con el método CONNECT.
+     */
+    private void openTunnel(Socket socket, int connectTimeout) throws IOException {
+        String target = host + ":" + port;
+        OutputStream out = socket.getOutputStream();
+        out.write(("CONNECT " + target + " HTTP/1.1\r\n" +
+                "Host: " + target + "\r\n" +
+                "Proxy-Connection: keep-alive\r\n" +
+                "\r\n").getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+
+        // Se lee sin búfer, para no consumir los primeros bytes del handshake TLS
+        socket.setSoTimeout(connectTimeout);
+        InputStream in = socket.getInputStream();
+        String statusLine = readLine(in);
+        while (!readLine(in).isEmpty()) ;
+
+        String[] parts = statusLine.split(" ", 3);
+        String status = parts.length > 1 ? parts[1] : "";
+        if (status.equals("407")) {
+            throw new IOException("El proxy " + proxy.address() + " requiere autenticación. Para utilizarlo, " +
+                    "deshabilitar el pool de conexiones (sifen.http.pool.habilitado=false).");
+        }
+        if (!statusLine.startsWith("HTTP/") || !status.startsWith("2")) {
+            throw new IOException("El proxy " + proxy.address() + " rechazó la conexión hacia " + target + ": " + statusLine);
+        }
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                byte[] bytes = line.toByteArray();
+                int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+                return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+            }
+            line.write(b);
+        }
+        throw new EOFException("La conexión fue cerrada por el proxy");
+    }
+}
@@ -0,0 +1,86 @@
+package com.roshka.sifen.internal.transport;
+
+/**
+ * Métricas de un pool de conexiones hacia un destino, tomadas en un instante dado.
+ */
+public class PoolStats {
+    private final String route;
+    private final int leased;
+    private final int available;
+    private final int max;
+    private final long created;
+    private final long reused;
+    private final long evicted;
+
+    PoolStats(String route, int leased, int available, int max, long created, long reused, long evicted) {
+        this.route = route;
+        this.leased = leased;
+        this.available = available;
+        this.max = max;
+        this.created = created;
+        this.reused = reused;
+        this.evicted = evicted;
+    }
+
+    /**
+     * @return Destino del pool, en la forma esquema://host:puerto.
+     */
+    public String getRoute() {
+        return route;
+    }
+
+    /**
+     * @return Cantidad de conexiones actualmente en uso.
+     */
+    public int getLeased() {
+        return leased;
+    }
+
+    /**
+     * @return Cantidad de conexiones inactivas, listas para ser reutilizadas.
+     */
+    public int getAvailable() {
+        return available;
+    }
+
+    /**
+     * @return Máximo de conexiones simultáneas permitidas hacia el destino.
+     */
+    public int getMax() {
+        return max;
+    }
+
+    /**
+     * @return Total de conexiones abiertas (cada una implica un handshake TLS completo).
+     */
+    public long getCreated() {
+        return created;
+    }
+
+    /**
+     * @return Total de peticiones que reutilizaron una conexión existente.
+     */
+    public long getReused() {
+        return reused;
+    }
+
+    /**
+     * @return Total de conexiones descartadas por inactividad o por haber sido cerradas por el servidor.
+     */
+    public long getEvicted() {
+        return evicted;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStats{" +
+                "route='" + route + '\'' +
+                ", leased=" + leased +
+                ", available=" + available +
+                ", max=" + max +
+                ", created=" + created +
+                ", reused=" + reused +
+                ", evicted=" + evicted +
+                '}';
+    }
+}
@@ -0,0 +1,283 @@
+package com.roshka.sifen.internal.transport;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Conexión HTTP/1.1 persistente (keep-alive) administrada por un {@link HttpConnectionPool}.
+ */
+class PooledConnection {
+    private static final int STALE_CHECK_AFTER_MILLIS = 500;
+    private static final int MAX_INITIAL_BUFFER = 8 * 1024 * 1024;
+
+    private final Socket socket;
+    private final BufferedInputStream in;
+    private final OutputStream out;
+
+    private long lastUsed;
+    private long expiresAt = Long.MAX_VALUE;
+    private boolean reused;
+    private boolean requestWritten;
+    private boolean keepAlive;
+
+    PooledConnection(Socket socket) throws IOException {
+        this.socket = socket;
+        this.in = new BufferedInputStream(socket.getInputStream(), 8 * 1024);
+        this.out = new BufferedOutputStream(socket.getOutputStream(), 8 * 1024);
+        this.lastUsed = System.currentTimeMillis();
+    }
+
+    /**
+     * Envía la petición y lee la respuesta completa. Al finalizar, {@link #isKeepAlive()} indica si la conexión puede
+     * volver al pool.
+     */
+    TransportResponse execute(byte[] head, byte[] body, int readTimeout) throws IOException {
+        this.requestWritten = false;
+        this.keepAlive = false;
+        socket.setSoTimeout(readTimeout);
+
+        out.write(head);
+        out.write(body);
+        out.flush();
+        this.requestWritten = true;
+
+        int status;
+        ResponseHeaders headers;
+        do {
+            String statusLine = readLine();
+            status = parseStatus(statusLine);
+            headers = readHeaders(statusLine);
+        } while (status >= 100 && status < 200);
+
+        byte[] responseBody;
+        if (status == 204 || status == 304) {
+            responseBody = new byte[0];
+        } else if (headers.chunked) {
+            responseBody = readChunked();
+        } else if (headers.contentLength >= 0) {
+            responseBody = readFixed(headers.contentLength);
+        } else {
+            // Sin longitud declarada, el cuerpo termina con el cierre de la conexión
+            responseBody = readToEnd();
+            headers.keepAlive = false;
+        }
+
+        this.keepAlive = headers.keepAlive;
+        if (headers.keepAliveTimeout > 0) {
+            this.expiresAt = System.currentTimeMillis() + headers.keepAliveTimeout * 1000L;
+        }
+        return new TransportResponse(status, responseBody);
+    }
+
+    /**
+     * Verifica, sin bloquear más de un milisegundo, si el servidor cerró la conexión mientras estuvo inactiva. Solo se
+     * realiza luego de un tiempo de inactividad, para no penalizar las peticiones consecutivas.
+     */
+    boolean isStale(long now) {
+        if (socket.isClosed() || socket.isInputShutdown() || socket.isOutputShutdown())
+            return true;
+        if (now - lastUsed < STALE_CHECK_AFTER_MILLIS)
+            return false;
+
+        try {
+            socket.setSoTimeout(1);
+            in.mark(1);
+            int read = in.read();
+            if (read == -1)
+                return true;
+            in.reset();
+            // Datos inesperados antes de enviar una petición: la conexión no es confiable
+            return true;
+        } catch (SocketTimeoutException e) {
+            return false;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    boolean isExpired(long now, long idleTimeout) {
+        return now - lastUsed > idleTimeout || now > expiresAt;
+    }
+
+    void markReleased() {
+        this.lastUsed = System.currentTimeMillis();
+        this.reused = true;
+    }
+
+    boolean isReused() {
+        return reused;
+    }
+
+    /**
+     * @return Verdadero si la petición terminó de escribirse en el socket, aunque el servidor no haya respondido.
+     */
+    boolean isRequestWritten() {
+        return requestWritten;
+    }
+
+    boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    void close() {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static int parseStatus(String statusLine) throws IOException {
+        // HTTP/1.1 200 OK
+        int firstSpace = statusLine.indexOf(' ');
+        if (!statusLine.startsWith("HTTP/") || firstSpace < 0 || statusLine.length() < firstSpace + 4) {
+            throw new IOException("Línea de estado HTTP inválida: " + statusLine);
+        }
+        try {
+            return Integer.parseInt(statusLine.substring(firstSpace + 1, firstSpace + 4));
+        } catch (NumberFormatException e) {
+            throw new IOException("Código de estado HTTP inválido: " + statusLine, e);
+        }
+    }
+
+    private ResponseHeaders readHeaders(String statusLine) throws IOException {
+        ResponseHeaders headers = new ResponseHeaders();
+        headers.keepAlive = statusLine.startsWith("HTTP/1.1");
+
+        String line;
+        while (!(line = readLine()).isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon <= 0) continue;
+
+            String name = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = line.substring(colon + 1).trim();
+            switch (name) {
+                case "content-length":
+                    try {
+                        headers.contentLength = Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        throw new IOException("Cabecera Content-Length inválida: " + value, e);
+                    }
+                    break;
+                case "transfer-encoding":
+                    headers.chunked = value.toLowerCase(Locale.ROOT).contains("chunked");
+                    break;
+                case "connection":
+                    if (value.equalsIgnoreCase("close")) {
+                        headers.keepAlive = false;
+                    } else if (value.equalsIgnoreCase("keep-alive")) {
+                        headers.keepAlive = true;
+                    }
+                    break;
+                case "keep-alive":
+                    headers.keepAliveTimeout = parseKeepAliveTimeout(value);
+                    break;
+            }
+        }
+        return headers;
+    }
+
+    private static int parseKeepAliveTimeout(String value) {
+        // Keep-Alive: timeout=5, max=100
+        for (String param : value.split(",")) {
+            String[] pair = param.trim().split("=");
+            if (pair.length == 2 && pair[0].trim().equalsIgnoreCase("timeout")) {
+                try {
+                    return Integer.parseInt(pair[1].trim());
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        return -1;
+    }
+
+    private byte[] readFixed(long length) throws IOException {
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Respuesta demasiado grande: " + length + " bytes");
+        }
+        // El Content-Length lo informa el servidor: el arreglo crece a medida que llegan los datos
+        byte[] data = new byte[(int) Math.min(length, MAX_INITIAL_BUFFER)];
+        int offset = 0;
+        while (offset < length) {
+            if (offset == data.length) {
+                data = Arrays.copyOf(data, (int) Math.min(length, data.length * 2L));
+            }
+            int read = in.read(data, offset, data.length - offset);
+            if (read == -1) {
+                throw new EOFException("Fin de la conexión antes de recibir " + length + " bytes");
+            }
+            offset += read;
+        }
+        return data;
+    }
+
+    private byte[] readChunked() throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8 * 1024];
+        while (true) {
+            String sizeLine = readLine();
+            int extension = sizeLine.indexOf(';');
+            long size;
+            try {
+                size = Long.parseLong((extension >= 0 ? sizeLine.substring(0, extension) : sizeLine).trim(), 16);
+            } catch (NumberFormatException e) {
+                throw new IOException("Tamaño de bloque inválido: " + sizeLine, e);
+            }
+
+            if (size == 0) {
+                // Cabeceras finales (trailers), se descartan
+                while (!readLine().isEmpty()) ;
+                return result.toByteArray();
+            }
+
+            while (size > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, size));
+                if (read == -1) {
+                    throw new EOFException("Fin de la conexión dentro de un bloque de la respuesta");
+                }
+                result.write(buffer, 0, read);
+                size -= read;
+            }
+            readLine();
+        }
+    }
+
+    private byte[] readToEnd() throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8 * 1024];
+        for (int read; (read = in.read(buffer)) != -1; ) {
+            result.write(buffer, 0, read);
+        }
+        return result.toByteArray();
+    }
+
+    private String readLine() throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                byte[] bytes = line.toByteArray();
+                int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+                return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+            }
+            line.write(b);
+        }
+        throw new EOFException("La conexión fue cerrada por el servidor");
+    }
+
+    private static class ResponseHeaders {
+        private long contentLength = -1;
+        private boolean chunked;
+        private boolean keepAlive;
+        private int keepAliveTimeout = -1;
+    }
+}
@@ -0,0 +1,216 @@
+package com.roshka.sifen.internal.transport;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.helpers.SSLContextHelper;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.SocketTimeoutException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Transporte HTTP/1.1 con conexiones persistentes (keep-alive). Mantiene un pool acotado por cada destino, de modo
+ * que las peticiones consecutivas reutilicen la sesión TLS ya negociada en lugar de repetir el handshake con el
+ * certificado cliente en cada Documento Electrónico enviado.<br>
+ * Las conexiones inactivas se cierran luego de {@link SifenConfig#getHttpPoolTiempoInactividad()} milisegundos, o
+ * antes si el servidor así lo indica en la cabecera Keep-Alive.<br>
+ * El proxy de cada destino se obtiene del {@link ProxySelector} de la JVM (propiedades https.proxyHost,
+ * socksProxyHost, etc.). Con un proxy HTTP, las conexiones HTTPS atraviesan un túnel abierto con CONNECT; los proxies
+ * que requieren autenticación no están soportados, por lo que en ese caso se debe deshabilitar el pool con
+ * {@link SifenConfig#setHttpPoolHabilitado(boolean)}.
+ */
+public class PooledHttpTransport implements SifenTransport {
+    private final static Logger logger = Logger.getLogger(PooledHttpTransport.class.toString());
+    private static final long EVICTION_PERIOD_MILLIS = 1000;
+
+    private final Map<Route, HttpConnectionPool> pools = new ConcurrentHashMap<>();
+    private ScheduledExecutorService evictor;
+
+    @Override
+    public TransportResponse send(SifenConfig sifenConfig, URL url, byte[] body) throws IOException, SifenException {
+        Proxy proxy = selectProxy(url);
+        HttpConnectionPool pool = getPool(sifenConfig, url, proxy);
+        byte[] head = buildRequestHead(sifenConfig, url, proxy, body.length);
+
+        boolean forceNew = false;
+        while (true) {
+            PooledConnection connection = pool.lease(sifenConfig.getHttpConnectTimeout(), forceNew);
+            boolean reusable = false;
+            try {
+                TransportResponse response = connection.execute(head, body, sifenConfig.getHttpReadTimeout());
+                reusable = connection.isKeepAlive();
+                return response;
+            } catch (IOException e) {
+                // Si una conexión reutilizada falló al escribir la petición, el servidor no llegó a recibirla, y se
+                // reintenta una única vez con una conexión nueva. Una vez escrita, la petición no se repite: Sifen
+                // pudo haber procesado ya el DE o el lote, y un reintento lo enviaría por duplicado.
+                if (!forceNew && connection.isReused() && !connection.isRequestWritten() && !(e instanceof SocketTimeoutException)) {
+                    logger.info("La conexión reutilizada fue cerrada por el servidor. Reintentando con una conexión nueva.");
+                    forceNew = true;
+                    continue;
+                }
+                throw e;
+            } finally {
+                pool.release(connection, reusable);
+            }
+        }
+    }
+
+    /**
+     * @return Las métricas actuales de cada uno de los pools de conexiones.
+     */
+    public List<PoolStats> getStats() {
+        List<PoolStats> stats = new ArrayList<>();
+        for (HttpConnectionPool pool : pools.values()) {
+            stats.add(pool.getStats());
+        }
+        return stats;
+    }
+
+    /**
+     * Cierra las conexiones que superaron el tiempo de inactividad, y descarta los pools que quedaron sin uso, por
+     * ejemplo, los de un certificado que fue recargado. Se ejecuta periódicamente en segundo plano.
+     */
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Route, HttpConnectionPool> entry : pools.entrySet()) {
+            HttpConnectionPool pool = entry.getValue();
+            pool.evictExpired();
+            if (pool.retireIfUnused(now)) {
+                pools.remove(entry.getKey(), pool);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+            evictor = null;
+        }
+        for (HttpConnectionPool pool : pools.values()) {
+            pool.close();
+        }
+        pools.clear();
+    }
+
+    private HttpConnectionPool getPool(SifenConfig sifenConfig, URL url, Proxy proxy) throws SifenException {
+        boolean https = url.getProtocol().equalsIgnoreCase("https");
+        SSLContext sslContext = https ? SSLContextHelper.getContextFromConfig(sifenConfig) : null;
+        int port = url.getPort() != -1 ? url.getPort() : url.getDefaultPort();
+        Route route = new Route(url.getProtocol().toLowerCase(), url.getHost(), port, proxy, sslContext,
+                sifenConfig.getHttpPoolMaxConexionesPorHost(), sifenConfig.getHttpPoolTiempoInactividad());
+
+        HttpConnectionPool pool = pools.get(route);
+        if (pool == null) {
+            pool = pools.computeIfAbsent(route, r -> new HttpConnectionPool(
+                    r.toString(), r.host, r.port, r.proxy, https ? sslContext.getSocketFactory() : null,
+                    r.maxConnections, r.idleTimeout
+            ));
+            startEvictor();
+        }
+        return pool;
+    }
+
+    private synchronized void startEvictor() {
+        if (evictor != null)
+            return;
+
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sifen-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Cada pool tiene su propio tiempo de inactividad, por lo que se revisan con frecuencia fija
+        evictor.scheduleAtFixedRate(this::evictExpired, EVICTION_PERIOD_MILLIS, EVICTION_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private static Proxy selectProxy(URL url) {
+        ProxySelector selector = ProxySelector.getDefault();
+        if (selector == null) {
+            return Proxy.NO_PROXY;
+        }
+        try {
+            List<Proxy> proxies = selector.select(url.toURI());
+            return proxies == null || proxies.isEmpty() || proxies.get(0) == null ? Proxy.NO_PROXY : proxies.get(0);
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return Proxy.NO_PROXY;
+        }
+    }
+
+    private static byte[] buildRequestHead(SifenConfig sifenConfig, URL url, Proxy proxy, int contentLength) {
+        String path = url.getFile().isEmpty() ? "/" : url.getFile();
+        String host = url.getPort() == -1 || url.getPort() == url.getDefaultPort() ? url.getHost() : url.getHost() + ":" + url.getPort();
+        if (proxy.type() == Proxy.Type.HTTP && url.getProtocol().equalsIgnoreCase("http")) {
+            // Sin túnel, el proxy necesita el URL absoluto
+            path = url.getProtocol().toLowerCase() + "://" + host + path;
+        }
+
+        String head = "POST " + path + " HTTP/1.1\r\n" +
+                "Host: " + host + "\r\n" +
+                "User-Agent: " + sifenConfig.getUserAgent() + "\r\n" +
+                "Content-Type: application/xml; charset=utf-8\r\n" +
+                "Content-Length: " + contentLength + "\r\n" +
+                "Connection: keep-alive\r\n" +
+                "\r\n";
+        return head.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Destino y parámetros de un pool. Dos configuraciones con certificados o límites distintos no comparten
+     * conexiones, aunque apunten al mismo host.
+     */
+    private static class Route {
+        private final String scheme;
+        private final String host;
+        private final int port;
+        private final Proxy proxy;
+        private final SSLContext sslContext;
+        private final int maxConnections;
+        private final long idleTimeout;
+
+        private Route(String scheme, String host, int port, Proxy proxy, SSLContext sslContext, int maxConnections, long idleTimeout) {
+            this.scheme = scheme;
+            this.host = host;
+            this.port = port;
+            this.proxy = proxy;
+            this.sslContext = sslContext;
+            this.maxConnections = maxConnections;
+            this.idleTimeout = idleTimeout;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Route)) return false;
+            Route route = (Route) o;
+            return port == route.port && maxConnections == route.maxConnections && idleTimeout == route.idleTimeout
+                    && scheme.equals(route.scheme) && host.equalsIgnoreCase(route.host)
+                    && proxy.equals(route.proxy) && sslContext == route.sslContext;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(scheme, host.toLowerCase(), port, proxy, System.identityHashCode(sslContext), maxConnections, idleTimeout);
+        }
+
+        @Override
+        public String toString() {
+            return scheme + "://" + host + ":" + port;
+        }
+    }
+}
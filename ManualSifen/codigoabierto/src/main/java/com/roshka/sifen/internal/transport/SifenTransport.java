@@ -0,0 +1,31 @@
+package com.roshka.sifen.internal.transport;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.exceptions.SifenException;
+
+import java.io.IOException;
+import java.net.URL;
+
+/**
+ * Transporte encargado de enviar el cuerpo de una petición SOAP a Sifen y devolver la respuesta HTTP.<br>
+ * La implementación por defecto es {@link PooledHttpTransport}; puede reemplazarse por medio de
+ * {@link com.roshka.sifen.internal.helpers.SoapHelper#setTransport(SifenTransport)}.
+ */
+public interface SifenTransport {
+    /**
+     * Envía el cuerpo de la petición por POST al URL indicado.
+     *
+     * @param sifenConfig Configuración de Sifen de la que se obtienen el certificado y los tiempos de espera.
+     * @param url         URL completo del servicio web.
+     * @param body        Mensaje SOAP ya serializado.
+     * @return El código de estado y el cuerpo de la respuesta.
+     * @throws IOException    Si ocurre un error de entrada/salida durante la comunicación.
+     * @throws SifenException Si no se puede preparar la conexión (por ejemplo, el contexto SSL).
+     */
+    TransportResponse send(SifenConfig sifenConfig, URL url, byte[] body) throws IOException, SifenException;
+
+    /**
+     * Libera todos los recursos (conexiones, hilos) retenidos por el transporte.
+     */
+    void close();
+}
@@ -0,0 +1,22 @@
+package com.roshka.sifen.internal.transport;
+
+/**
+ * Respuesta HTTP devuelta por un {@link SifenTransport}.
+ */
+public class TransportResponse {
+    private final int status;
+    private final byte[] body;
+
+    public TransportResponse(int status, byte[] body) {
+        this.status = status;
+        this.body = body;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,57 @@
+package com.roshka.sifen.internal.transport;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.helpers.SSLContextHelper;
+import com.roshka.sifen.internal.util.SifenUtil;
+
+import javax.net.ssl.HttpsURLConnection;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * Transporte basado en {@link HttpURLConnection}, que abre una conexión nueva en cada petición y la cierra al
+ * terminar. Es el comportamiento original de la librería; útil, por ejemplo, cuando se necesita pasar por un
+ * proxy HTTP configurado a nivel de la JVM.
+ */
+public class UrlConnectionTransport implements SifenTransport {
+    @Override
+    public TransportResponse send(SifenConfig sifenConfig, URL url, byte[] body) throws IOException, SifenException {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) url.openConnection();
+            if (connection instanceof HttpsURLConnection) {
+                ((HttpsURLConnection) connection).setSSLSocketFactory(SSLContextHelper.getSocketFactoryFromConfig(sifenConfig));
+            }
+
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setConnectTimeout(sifenConfig.getHttpConnectTimeout());
+            connection.setReadTimeout(sifenConfig.getHttpReadTimeout());
+            connection.setRequestProperty("User-Agent", sifenConfig.getUserAgent());
+            connection.setRequestProperty("Content-Type", "application/xml; charset=utf-8");
+            connection.connect();
+
+            try (OutputStream outputStream = connection.getOutputStream()) {
+                outputStream.write(body);
+            }
+
+            int status = connection.getResponseCode();
+            InputStream inputStream = status == HttpURLConnection.HTTP_OK || status == HttpURLConnection.HTTP_ACCEPTED
+                    ? connection.getInputStream()
+                    : connection.getErrorStream();
+
+            return new TransportResponse(status, inputStream != null ? SifenUtil.getByteArrayFromInputStream(inputStream, connection.getContentLengthLong()) : new byte[0]);
+        } finally {
+            if (connection != null)
+                connection.disconnect();
+        }
+    }
+
+    @Override
+    public void close() {
+    }
+}
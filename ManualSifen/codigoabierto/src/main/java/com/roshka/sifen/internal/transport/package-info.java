@@ -0,0 +1,4 @@
+/**
+ * Capa de transporte HTTP utilizada para enviar las peticiones SOAP a Sifen.
+ */
+package com.roshka.sifen.internal.transport;
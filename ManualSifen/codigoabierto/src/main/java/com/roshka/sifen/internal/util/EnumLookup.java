@@ -0,0 +1,111 @@
+package com.roshka.sifen.internal.util;
+
+import java.lang.reflect.Array;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Tablas de búsqueda para los tipos de {@code com.roshka.sifen.core.types}, que se construyen una sola vez por tipo
+ * y reemplazan el recorrido de todos los valores en cada llamada a {@code getByVal} o {@code getByName}.<br>
+ * Si varios valores comparten el mismo código o el mismo nombre, se mantiene el primero que fue declarado, igual
+ * que con el recorrido lineal.
+ */
+public class EnumLookup {
+
+    /**
+     * Crea una tabla indexada por el código de cada valor. Los códigos de los tipos de SIFEN son pequeños y no
+     * negativos, por lo que la tabla tiene como máximo unos pocos miles de posiciones.
+     *
+     * @param values Valores del tipo, en el orden de declaración.
+     * @param val    Función que retorna el código de un valor.
+     * @return Tabla en la que la posición de cada código contiene su valor, o null si el código no existe.
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Enum<E>> E[] indexByVal(E[] values, ToIntFunction<E> val) {
+        int max = -1;
+        for (E value : values) {
+            int code = val.applyAsInt(value);
+            if (code < 0) {
+                throw new IllegalArgumentException("Código negativo en " + value.getDeclaringClass().getName() + ": " + code);
+            }
+            max = Math.max(max, code);
+        }
+
+        E[] table = (E[]) Array.newInstance(values.getClass().getComponentType(), max + 1);
+        for (E value : values) {
+            int code = val.applyAsInt(value);
+            if (table[code] == null) {
+                table[code] = value;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * @param table Tabla creada con {@link #indexByVal(Enum[], ToIntFunction)}.
+     * @param val   Código buscado.
+     * @return Valor con el código indicado, o null si no existe.
+     */
+    public static <E> E get(E[] table, short val) {
+        return val >= 0 && val < table.length ? table[val] : null;
+    }
+
+    /**
+     * Crea un índice por nombre, sin distinguir mayúsculas de minúsculas.
+     *
+     * @param values Valores del tipo, en el orden de declaración.
+     * @return Índice para {@link #getByName(Map, String)}.
+     */
+    public static <E extends Enum<E>> Map<String, E> indexByName(E[] values) {
+        Map<String, E> index = new HashMap<>(values.length * 2);
+        for (E value : values) {
+            index.putIfAbsent(foldCase(value.name()), value);
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * Busca un valor por nombre con la misma semántica que {@link String#equalsIgnoreCase(String)}. Si el nombre ya
+     * está en mayúsculas, como los nombres de las constantes, la búsqueda no crea objetos.
+     *
+     * @param index Índice creado con {@link #indexByName(Enum[])}.
+     * @param name  Nombre buscado.
+     * @return Valor con el nombre indicado, o null si no existe o si el nombre es null.
+     */
+    public static <E> E getByName(Map<String, E> index, String name) {
+        if (name == null) {
+            return null;
+        }
+        return index.get(foldCase(name));
+    }
+
+    /**
+     * Lleva cada caracter a una forma canónica, de modo que dos textos son iguales luego de esta conversión si y solo
+     * si {@code equalsIgnoreCase} los considera iguales. Retorna el mismo texto si ya está en su forma canónica.
+     */
+    static String foldCase(String name) {
+        int length = name.length();
+        int i = 0;
+        while (i < length && foldCase(name.charAt(i)) == name.charAt(i)) {
+            i++;
+        }
+        if (i == length) {
+            return name;
+        }
+
+        char[] folded = name.toCharArray();
+        for (; i < length; i++) {
+            folded[i] = foldCase(folded[i]);
+        }
+        return new String(folded);
+    }
+
+    private static char foldCase(char c) {
+        if (c < 128) {
+            return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+        }
+        return Character.toUpperCase(Character.toLowerCase(Character.toUpperCase(c)));
+    }
+}
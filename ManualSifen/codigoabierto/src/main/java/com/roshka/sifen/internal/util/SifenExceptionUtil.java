@@ -19,6 +19,10 @@ public class SifenExceptionUtil {
         );
     }
 
+    public static SifenException invalidSSLContext(String message) {
+        return SifenExceptionUtil.invalidSSLContext(message, null);
+    }
+
     public static SifenException invalidSSLContext(String message, Throwable t) {
         return new SifenException(
                 SifenExceptionCodes.UNEXPECTED_ERROR_CODE,
@@ -110,4 +114,16 @@ public class SifenExceptionUtil {
                 t
         );
     }
-}
\ No newline at end of file
+
+    public static SifenException batchQueryError(String message) {
+        return batchQueryError(message, null);
+    }
+
+    public static SifenException batchQueryError(String message, Throwable t) {
+        return new SifenException(
+                SifenExceptionCodes.BATCH_QUERY_ERROR_CODE,
+                message,
+                t
+        );
+    }
+}
@@ -1,15 +1,14 @@
 package com.roshka.sifen.internal.util;
 
 import java.io.ByteArrayOutputStream;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -23,6 +22,9 @@ import java.util.zip.ZipOutputStream;
  * Util con propósitos generales.
  */
 public class SifenUtil {
+    private static final int MAX_TAMANO_INICIAL = 8 * 1024 * 1024;
+    private static final int MAX_TAMANO_ARREGLO = Integer.MAX_VALUE - 8;
+
     public static String bytesToHex(byte[] bytes) {
         char[] HEX_ARRAY = "0123456789abcdef".toCharArray();
         char[] hexChars = new char[bytes.length * 2];
@@ -49,23 +51,53 @@ public class SifenUtil {
     }
 
     public static String leftPad(String string, char character, int length) {
-        return String.format("%" + length + "s", string).replace(' ', character);
+        return appendLeftPad(new StringBuilder(Math.max(length, 8)), string, character, length).toString();
+    }
+
+    /**
+     * Agrega el texto completado a la izquierda con el carácter indicado hasta la longitud indicada. Al igual que en
+     * {@link #leftPad(String, char, int)}, los espacios del texto también se reemplazan por el carácter.
+     */
+    public static StringBuilder appendLeftPad(StringBuilder out, String string, char character, int length) {
+        String value = String.valueOf(string);
+        for (int i = value.length(); i < length; i++) {
+            out.append(character);
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            out.append(c == ' ' ? character : c);
+        }
+        return out;
     }
 
     public static String generateDv(String ruc) {
+        return String.valueOf(calculateDv(ruc));
+    }
+
+    /**
+     * Calcula el dígito verificador (módulo 11) de un RUC o de un CDC.
+     *
+     * @param digits Dígitos sobre los que se calcula el dígito verificador.
+     * @return El dígito verificador.
+     * @throws NumberFormatException Si alguno de los caracteres no es un dígito.
+     */
+    public static int calculateDv(CharSequence digits) {
         int baseMax = 11, k = 2, total = 0;
 
-        if (ruc.equals("88888801")) {
-            return "5";
+        if (digits.length() == 8 && "88888801".contentEquals(digits)) {
+            return 5;
         }
 
-        for (int i = ruc.length() - 1; i >= 0; i--) {
+        for (int i = digits.length() - 1; i >= 0; i--) {
             k = k > baseMax ? 2 : k;
-            int n = Integer.parseInt(ruc.substring(i, i + 1));
+            int n = Character.digit(digits.charAt(i), 10);
+            if (n < 0) {
+                throw new NumberFormatException("For input string: \"" + digits.charAt(i) + "\"");
+            }
             total += n * k;
             k++;
         }
-        return String.valueOf((total % 11) > 1 ? 11 - (total % 11) : 0);
+        return (total % 11) > 1 ? 11 - (total % 11) : 0;
     }
 
     public static String generateRandomNumber() {
@@ -118,12 +150,42 @@ public class SifenUtil {
     }
 
     public static byte[] getByteArrayFromInputStream(InputStream inputStream) throws IOException {
-        ByteArrayOutputStream result = new ByteArrayOutputStream();
-        byte[] buffer = new byte[1024];
-        for (int length; (length = inputStream.read(buffer)) != -1; ) {
-            result.write(buffer, 0, length);
+        return getByteArrayFromInputStream(inputStream, -1);
+    }
+
+    /**
+     * Lee el contenido completo del stream. Si se conoce el tamaño (por ejemplo, por la cabecera Content-Length), el
+     * contenido se lee directamente en un arreglo de ese tamaño, sin copias intermedias. Como el tamaño lo informa el
+     * servidor, la reserva inicial se limita a {@value #MAX_TAMANO_INICIAL} bytes; si el contenido es mayor, el arreglo
+     * crece a medida que llegan los datos.
+     *
+     * @param inputStream Stream a leer.
+     * @param sizeHint    Tamaño esperado del contenido, o un número negativo si no se conoce.
+     * @return El contenido del stream.
+     */
+    public static byte[] getByteArrayFromInputStream(InputStream inputStream, long sizeHint) throws IOException {
+        byte[] data = new byte[sizeHint > 0 ? (int) Math.min(sizeHint, MAX_TAMANO_INICIAL) : 8 * 1024];
+        int offset = 0;
+        while (true) {
+            if (offset == data.length) {
+                // Antes de agrandar el arreglo se verifica si el contenido terminó, para no copiarlo
+                int next = inputStream.read();
+                if (next == -1) {
+                    return data;
+                }
+                if (data.length == MAX_TAMANO_ARREGLO) {
+                    throw new IOException("El contenido supera el tamaño máximo de " + MAX_TAMANO_ARREGLO + " bytes");
+                }
+                data = Arrays.copyOf(data, (int) Math.min(data.length * 2L, MAX_TAMANO_ARREGLO));
+                data[offset++] = (byte) next;
+            }
+
+            int read = inputStream.read(data, offset, data.length - offset);
+            if (read == -1) {
+                return offset == data.length ? data : Arrays.copyOf(data, offset);
+            }
+            offset += read;
         }
-        return result.toByteArray();
     }
 
     public static String buildUrlParams(HashMap<String, String> params) {
@@ -137,17 +199,39 @@ public class SifenUtil {
     }
 
     public static byte[] compressXmlToZip(String str) throws IOException {
-        String fileName = "DE_" + new SimpleDateFormat("ddMMyyyy").format(new Date());
-        File zip = File.createTempFile(fileName, ".zip");
-        ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip.toPath()));
-        ZipEntry entry = new ZipEntry(fileName + ".xml");
-        out.putNextEntry(entry);
+        ByteArrayOutputStream zip = new ByteArrayOutputStream(str.length() / 4 + 256);
+        try (ZipOutputStream out = new ZipOutputStream(zip)) {
+            out.putNextEntry(new ZipEntry(getZipEntryName()));
+            out.write(str.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
 
-        out.write(str.getBytes(StandardCharsets.UTF_8));
-        out.closeEntry();
-        out.close();
+        return zip.toByteArray();
+    }
+
+    /**
+     * Escribe las partes de un XML, en orden, dentro de un archivo ZIP codificado en Base64, sin unirlas en una cadena
+     * de texto intermedia ni pasar por archivos temporales. Los lotes se comprimen a partir de los fragmentos ya
+     * serializados de cada DE (ver {@link com.roshka.sifen.internal.helpers.LoteHelper#buildLote}).
+     *
+     * @param xmlParts Partes del XML ya serializadas.
+     * @return El archivo ZIP, codificado en Base64.
+     */
+    public static String compressXmlToZipBase64(Iterable<String> xmlParts) throws IOException {
+        ByteArrayOutputStream base64 = new ByteArrayOutputStream(16 * 1024);
+        try (ZipOutputStream out = new ZipOutputStream(Base64.getEncoder().wrap(base64))) {
+            out.putNextEntry(new ZipEntry(getZipEntryName()));
+            for (String xmlPart : xmlParts) {
+                out.write(xmlPart.getBytes(StandardCharsets.UTF_8));
+            }
+            out.closeEntry();
+        }
+
+        return base64.toString(StandardCharsets.US_ASCII.name());
+    }
 
-        return Files.readAllBytes(Paths.get(zip.getAbsolutePath()));
+    private static String getZipEntryName() {
+        return "DE_" + new SimpleDateFormat("ddMMyyyy").format(new Date()) + ".xml";
     }
 
     public static boolean isBlank(String str) {
@@ -0,0 +1,271 @@
+package com.roshka.sifen.internal.xml;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link XmlElement} liviano, sin DOM: solo guarda el nombre, los atributos, el texto y los hijos de cada elemento,
+ * todos en el mismo espacio de nombres. Se serializa directamente en dos formas:
+ * <ul>
+ *     <li>Canónica exclusiva (Exclusive XML Canonicalization 1.0, sin comentarios), utilizada para calcular el
+ *     resumen de la firma digital.</li>
+ *     <li>La misma salida que produce el {@code Transformer} de la JDK sobre el árbol SAAJ, luego de quitar los
+ *     espacios entre etiquetas, de modo que ambos motores generen exactamente el mismo XML.</li>
+ * </ul>
+ */
+public class LightXmlElement implements XmlElement {
+    private final String localName;
+    private List<String[]> attributes;
+    private String textContent;
+    private List<LightXmlElement> children;
+
+    public LightXmlElement(String localName) {
+        this.localName = localName;
+    }
+
+    @Override
+    public LightXmlElement addChildElement(String localName) {
+        LightXmlElement child = new LightXmlElement(localName);
+        if (children == null) {
+            children = new ArrayList<>();
+        }
+        children.add(child);
+        return child;
+    }
+
+    @Override
+    public void setTextContent(String textContent) {
+        // Igual que en DOM, establecer el texto reemplaza a todos los hijos
+        this.children = null;
+        this.textContent = textContent == null || textContent.isEmpty() ? null : textContent;
+    }
+
+    public void setAttribute(String name, String value) {
+        if (attributes == null) {
+            attributes = new ArrayList<>(1);
+        }
+        for (String[] attribute : attributes) {
+            if (attribute[0].equals(name)) {
+                attribute[1] = value;
+                return;
+            }
+        }
+        attributes.add(new String[]{name, value});
+    }
+
+    public String getLocalName() {
+        return localName;
+    }
+
+    public String getTextContent() {
+        return textContent;
+    }
+
+    public List<LightXmlElement> getChildren() {
+        return children == null ? Collections.emptyList() : Collections.unmodifiableList(children);
+    }
+
+    /**
+     * Escribe el elemento en forma canónica exclusiva, declarando el espacio de nombres por defecto en este elemento,
+     * tal como lo hace el algoritmo cuando el elemento es la raíz del nodo firmado.
+     *
+     * @param out              Destino de la salida.
+     * @param defaultNamespace Espacio de nombres de todos los elementos.
+     */
+    public void writeCanonical(StringBuilder out, String defaultNamespace) {
+        out.append('<').append(localName);
+        out.append(" xmlns=\"");
+        escapeCanonicalAttribute(out, defaultNamespace);
+        out.append('"');
+        writeCanonicalAttributesAndContent(out);
+    }
+
+    private void writeCanonical(StringBuilder out) {
+        out.append('<').append(localName);
+        writeCanonicalAttributesAndContent(out);
+    }
+
+    private void writeCanonicalAttributesAndContent(StringBuilder out) {
+        if (attributes != null) {
+            List<String[]> sorted = attributes;
+            if (sorted.size() > 1) {
+                sorted = new ArrayList<>(attributes);
+                sorted.sort((a, b) -> a[0].compareTo(b[0]));
+            }
+            for (String[] attribute : sorted) {
+                out.append(' ').append(attribute[0]).append("=\"");
+                escapeCanonicalAttribute(out, attribute[1]);
+                out.append('"');
+            }
+        }
+        out.append('>');
+
+        if (textContent != null) {
+            escapeCanonicalText(out, textContent);
+        } else if (children != null) {
+            for (LightXmlElement child : children) {
+                child.writeCanonical(out);
+            }
+        }
+        out.append("</").append(localName).append('>');
+    }
+
+    /**
+     * Escribe el elemento tal como lo serializa el {@code Transformer} de la JDK sobre el árbol SAAJ, con los
+     * espacios entre etiquetas quitados.
+     *
+     * @param out Destino de la salida.
+     */
+    public void write(StringBuilder out) {
+        out.append('<').append(localName);
+        if (attributes != null) {
+            for (String[] attribute : attributes) {
+                out.append(' ').append(attribute[0]).append("=\"");
+                escapeAttribute(out, attribute[1]);
+                out.append('"');
+            }
+        }
+
+        if (textContent != null) {
+            out.append('>');
+            // Un texto compuesto solo de espacios es eliminado al quitar los espacios entre etiquetas
+            if (!isWhitespace(textContent)) {
+                escapeText(out, textContent);
+            }
+            out.append("</").append(localName).append('>');
+        } else if (children != null) {
+            out.append('>');
+            for (LightXmlElement child : children) {
+                child.write(out);
+            }
+            out.append("</").append(localName).append('>');
+        } else {
+            out.append("/>");
+        }
+    }
+
+    private static boolean isWhitespace(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != ' ' && c != '\t' && c != '\n') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static void escapeText(StringBuilder out, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&':
+                    out.append("&amp;");
+                    break;
+                case '<':
+                    out.append("&lt;");
+                    break;
+                case '>':
+                    out.append("&gt;");
+                    break;
+                case '\t':
+                case '\n':
+                    out.append(c);
+                    break;
+                default:
+                    i = escapeOther(out, text, i);
+            }
+        }
+    }
+
+    static void escapeAttribute(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&':
+                    out.append("&amp;");
+                    break;
+                case '<':
+                    out.append("&lt;");
+                    break;
+                case '>':
+                    out.append("&gt;");
+                    break;
+                case '"':
+                    out.append("&quot;");
+                    break;
+                default:
+                    i = escapeOther(out, value, i);
+            }
+        }
+    }
+
+    /**
+     * Escribe el carácter de la posición indicada como lo hace el Transformer del JDK en la salida SAAJ: los caracteres
+     * de control y los caracteres suplementarios (por ejemplo, emojis) como referencias numéricas.
+     *
+     * @return Posición del último carácter consumido.
+     */
+    private static int escapeOther(StringBuilder out, String text, int i) {
+        char c = text.charAt(i);
+        if (c < 0x20) {
+            out.append("&#").append((int) c).append(';');
+        } else if (Character.isHighSurrogate(c) && i + 1 < text.length() && Character.isLowSurrogate(text.charAt(i + 1))) {
+            out.append("&#").append(Character.toCodePoint(c, text.charAt(i + 1))).append(';');
+            return i + 1;
+        } else {
+            out.append(c);
+        }
+        return i;
+    }
+
+    private static void escapeCanonicalText(StringBuilder out, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&':
+                    out.append("&amp;");
+                    break;
+                case '<':
+                    out.append("&lt;");
+                    break;
+                case '>':
+                    out.append("&gt;");
+                    break;
+                case '\r':
+                    out.append("&#xD;");
+                    break;
+                default:
+                    out.append(c);
+            }
+        }
+    }
+
+    private static void escapeCanonicalAttribute(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&':
+                    out.append("&amp;");
+                    break;
+                case '<':
+                    out.append("&lt;");
+                    break;
+                case '"':
+                    out.append("&quot;");
+                    break;
+                case '\t':
+                    out.append("&#x9;");
+                    break;
+                case '\n':
+                    out.append("&#xA;");
+                    break;
+                case '\r':
+                    out.append("&#xD;");
+                    break;
+                default:
+                    out.append(c);
+            }
+        }
+    }
+}
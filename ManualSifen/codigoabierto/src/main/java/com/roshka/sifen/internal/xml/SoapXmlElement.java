@@ -0,0 +1,29 @@
+package com.roshka.sifen.internal.xml;
+
+import javax.xml.soap.SOAPElement;
+import javax.xml.soap.SOAPException;
+
+/**
+ * {@link XmlElement} que escribe sobre un {@link SOAPElement}. Es el motor de generación original de la librería.
+ */
+public class SoapXmlElement implements XmlElement {
+    private final SOAPElement element;
+
+    public SoapXmlElement(SOAPElement element) {
+        this.element = element;
+    }
+
+    @Override
+    public XmlElement addChildElement(String localName) throws SOAPException {
+        return new SoapXmlElement(element.addChildElement(localName));
+    }
+
+    @Override
+    public void setTextContent(String textContent) {
+        element.setTextContent(textContent);
+    }
+
+    public SOAPElement getSOAPElement() {
+        return element;
+    }
+}
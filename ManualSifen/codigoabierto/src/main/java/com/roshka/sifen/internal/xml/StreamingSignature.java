@@ -0,0 +1,87 @@
+package com.roshka.sifen.internal.xml;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.Constants;
+import com.roshka.sifen.internal.helpers.SignatureHelper;
+import com.roshka.sifen.internal.helpers.XmlHelper;
+import com.roshka.sifen.internal.util.SifenExceptionUtil;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import javax.xml.crypto.dsig.SignedInfo;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Firma digital de un elemento generado con {@link LightXmlElement}.<br>
+ * El resumen del elemento se calcula sobre su forma canónica exclusiva, sin construir un árbol DOM; solamente el
+ * elemento Signature se construye con DOM, sobre un documento de apenas un nodo, y luego se serializa tal como
+ * aparece en el XML generado con SAAJ.
+ */
+public final class StreamingSignature {
+    private final SignedInfo signedInfo;
+    private final String xml;
+
+    private StreamingSignature(SignedInfo signedInfo, String xml) {
+        this.signedInfo = signedInfo;
+        this.xml = xml;
+    }
+
+    /**
+     * Firma el elemento recibido.
+     *
+     * @param sifenConfig     Configuración con el certificado a utilizar.
+     * @param signedElement   Elemento a firmar, perteneciente al espacio de nombres de Sifen.
+     * @param signedElementId Valor del atributo Id del elemento.
+     * @return Firma generada.
+     * @throws SifenException Si la firma falla.
+     */
+    public static StreamingSignature sign(SifenConfig sifenConfig, LightXmlElement signedElement, String signedElementId) throws SifenException {
+        StringBuilder canonical = new StringBuilder(8192);
+        signedElement.writeCanonical(canonical, Constants.SIFEN_NS_URI);
+
+        byte[] digestValue;
+        try {
+            digestValue = MessageDigest.getInstance("SHA-256").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw SifenExceptionUtil.requestSigningError("No se pudo calcular el resumen del documento a firmar", e);
+        }
+
+        try {
+            Document document = XmlHelper.getDocumentBuilder().newDocument();
+            Element parent = document.createElementNS(Constants.SIFEN_NS_URI, "rDE");
+            document.appendChild(parent);
+
+            SignedInfo signedInfo = SignatureHelper.signDocument(sifenConfig, parent, signedElementId, digestValue);
+
+            Transformer transformer = XmlHelper.getTransformer();
+            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+            StringWriter sw = new StringWriter(4096);
+            transformer.transform(new DOMSource(parent.getFirstChild()), new StreamResult(sw));
+
+            return new StreamingSignature(signedInfo, sw.toString().replaceAll(">[\\s\r\n]*<", "><"));
+        } catch (ParserConfigurationException | TransformerException e) {
+            throw SifenExceptionUtil.requestSigningError("Ocurrió un error al serializar la firma digital", e);
+        }
+    }
+
+    public SignedInfo getSignedInfo() {
+        return signedInfo;
+    }
+
+    /**
+     * @return Elemento Signature serializado, sin espacios entre etiquetas.
+     */
+    public String getXml() {
+        return xml;
+    }
+}
@@ -0,0 +1,25 @@
+package com.roshka.sifen.internal.xml;
+
+import javax.xml.soap.SOAPException;
+
+/**
+ * Elemento XML sobre el cual los grupos de campos de un Documento Electrónico escriben sus valores. Permite generar
+ * el mismo documento tanto sobre un árbol SAAJ ({@link SoapXmlElement}) como sobre un árbol liviano que se serializa
+ * directamente ({@link LightXmlElement}).
+ */
+public interface XmlElement {
+    /**
+     * Agrega un elemento hijo, en el mismo espacio de nombres que este elemento.
+     *
+     * @param localName Nombre del elemento.
+     * @return El elemento creado.
+     */
+    XmlElement addChildElement(String localName) throws SOAPException;
+
+    /**
+     * Establece el texto del elemento. Un valor nulo o vacío deja el elemento sin contenido.
+     *
+     * @param textContent Texto del elemento.
+     */
+    void setTextContent(String textContent);
+}
@@ -0,0 +1,4 @@
+/**
+ * Construcción y serialización de los elementos XML de los Documentos Electrónicos.
+ */
+package com.roshka.sifen.internal.xml;
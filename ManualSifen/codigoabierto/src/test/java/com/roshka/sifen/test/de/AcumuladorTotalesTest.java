@@ -0,0 +1,258 @@
+package com.roshka.sifen.test.de;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.fields.request.de.*;
+import com.roshka.sifen.core.fields.util.RedondeoUtil;
+import com.roshka.sifen.core.types.*;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.util.SifenUtil;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compara los totales del grupo F con el cálculo realizado anteriormente en {@link TgTotSub}, y los totales del
+ * {@link AcumuladorTotales} con los del XML generado, sobre documentos generados al azar.
+ */
+public class AcumuladorTotalesTest {
+    private static final int CASOS = 60;
+
+    private static SifenConfig sifenConfig;
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        sifenConfig = DEFixtures.createSifenConfig();
+    }
+
+    private static BigDecimal decimal(Random random, int maximo, int decimales) {
+        return BigDecimal.valueOf(1 + random.nextInt(maximo)).add(BigDecimal.valueOf(random.nextInt(100), 2)).setScale(decimales, RoundingMode.DOWN);
+    }
+
+    private static TgCamItem crearItem(Random random, int i, TgOpeCom gOpeCom) {
+        boolean guaranies = gOpeCom.getcMoneOpe() == CMondT.PYG;
+        TgCamItem gCamItem = new TgCamItem();
+        gCamItem.setdCodInt(String.format("%03d", i));
+        gCamItem.setdDesProSer("Ítem " + i);
+        gCamItem.setcUniMed(TcUniMed.UNI);
+        gCamItem.setdCantProSer(random.nextBoolean() ? BigDecimal.valueOf(1 + random.nextInt(5)) : decimal(random, 10, 3));
+
+        TgValorItem gValorItem = new TgValorItem();
+        BigDecimal precio = guaranies ? BigDecimal.valueOf(1000 + random.nextInt(500000)) : decimal(random, 2000, 2);
+        gValorItem.setdPUniProSer(precio);
+        if (gOpeCom.getdCondTiCam() == TdCondTiCam.POR_ITEM) {
+            gValorItem.setdTiCamIt(BigDecimal.valueOf(7000 + random.nextInt(500)));
+        }
+
+        TgValorRestaItem gValorRestaItem = new TgValorRestaItem();
+        gValorRestaItem.setdDescItem(random.nextInt(3) == 0 ? BigDecimal.ZERO : precio.divide(BigDecimal.valueOf(3 + random.nextInt(20)), 2, RoundingMode.DOWN));
+        if (random.nextInt(4) == 0) {
+            gValorRestaItem.setdDescGloItem(precio.divide(BigDecimal.valueOf(10 + random.nextInt(20)), 2, RoundingMode.DOWN));
+        }
+        if (random.nextInt(5) == 0) {
+            gValorRestaItem.setdAntPreUniIt(precio.divide(BigDecimal.valueOf(10 + random.nextInt(20)), 2, RoundingMode.DOWN));
+        }
+        gValorItem.setgValorRestaItem(gValorRestaItem);
+        gCamItem.setgValorItem(gValorItem);
+
+        TgCamIVA gCamIVA = new TgCamIVA();
+        TiAfecIVA iAfecIVA = TiAfecIVA.values()[random.nextInt(TiAfecIVA.values().length)];
+        gCamIVA.setiAfecIVA(iAfecIVA);
+        gCamIVA.setdPropIVA(iAfecIVA == TiAfecIVA.GRAVADO_PARCIAL ? BigDecimal.valueOf(10 + random.nextInt(90)) : BigDecimal.valueOf(100));
+        gCamIVA.setdTasaIVA(iAfecIVA == TiAfecIVA.EXONERADO || iAfecIVA == TiAfecIVA.EXENTO
+                ? BigDecimal.ZERO : BigDecimal.valueOf(random.nextBoolean() ? 10 : 5));
+        gCamItem.setgCamIVA(gCamIVA);
+
+        return gCamItem;
+    }
+
+    private static DocumentoElectronico crearDE(Random random) {
+        DocumentoElectronico de = DEFixtures.createFacturaElectronica("0000008", 0);
+        TgOpeCom gOpeCom = de.getgDatGralOpe().getgOpeCom();
+        switch (random.nextInt(3)) {
+            case 1:
+                gOpeCom.setcMoneOpe(CMondT.USD);
+                gOpeCom.setdCondTiCam(TdCondTiCam.GLOBAL);
+                gOpeCom.setdTiCam(BigDecimal.valueOf(7135.5));
+                break;
+            case 2:
+                gOpeCom.setcMoneOpe(CMondT.USD);
+                gOpeCom.setdCondTiCam(TdCondTiCam.POR_ITEM);
+                break;
+        }
+
+        List<TgCamItem> gCamItemList = new ArrayList<>();
+        for (int i = 1 + random.nextInt(12); i > 0; i--) {
+            gCamItemList.add(crearItem(random, i, gOpeCom));
+        }
+        de.getgDtipDE().setgCamItemList(gCamItemList);
+        return de;
+    }
+
+    /**
+     * Cálculo del grupo F realizado anteriormente en TgTotSub.setupSOAPElements, a partir de los ítems ya generados.
+     */
+    private static BigDecimal[] totalesAnteriores(TTiDE iTiDE, List<TgCamItem> gCamItemList, TgOpeCom gOpeCom) {
+        BigDecimal dSubExe = BigDecimal.ZERO, dSubExo = BigDecimal.ZERO, dSub5 = BigDecimal.ZERO, dSub10 = BigDecimal.ZERO;
+        BigDecimal dTotOpe = BigDecimal.ZERO, dTotDesc = BigDecimal.ZERO, dTotDescGlotem = BigDecimal.ZERO;
+        BigDecimal dTotAntItem = BigDecimal.ZERO, dTotAnt = BigDecimal.ZERO, dComi = BigDecimal.ZERO, dIVAComi = BigDecimal.ZERO;
+        BigDecimal dIVA5 = BigDecimal.ZERO, dIVA10 = BigDecimal.ZERO, dBaseGrav5 = BigDecimal.ZERO, dBaseGrav10 = BigDecimal.ZERO;
+        BigDecimal dTotalGs = BigDecimal.ZERO;
+
+        TTImp iTImp = gOpeCom.getiTImp();
+        CMondT cMoneOpe = gOpeCom.getcMoneOpe();
+        TdCondTiCam dCondTiCam = gOpeCom.getdCondTiCam();
+        int scale = cMoneOpe == CMondT.PYG ? 0 : 2;
+
+        for (TgCamItem gCamItem : gCamItemList) {
+            TgCamIVA gCamIVA = gCamItem.getgCamIVA();
+            TgValorRestaItem gValorRestaItem = gCamItem.getgValorItem().getgValorRestaItem();
+            BigDecimal dTotOpeItem = gValorRestaItem.getdTotOpeItem().setScale(scale, RoundingMode.HALF_UP);
+            if (gCamIVA != null) {
+                if (gCamIVA.getiAfecIVA().getVal() == 1 || gCamIVA.getiAfecIVA().getVal() == 4) {
+                    if (gCamIVA.getdTasaIVA().equals(BigDecimal.valueOf(10))) {
+                        dSub10 = dSub10.add(dTotOpeItem);
+                        dIVA10 = dIVA10.add(gCamIVA.getdLiqIVAItem());
+                        dBaseGrav10 = dBaseGrav10.add(gCamIVA.getdBasGravIVA());
+                    } else if (gCamIVA.getdTasaIVA().equals(BigDecimal.valueOf(5))) {
+                        dSub5 = dSub5.add(dTotOpeItem);
+                        dIVA5 = dIVA5.add(gCamIVA.getdLiqIVAItem());
+                        dBaseGrav5 = dBaseGrav5.add(gCamIVA.getdBasGravIVA());
+                    }
+                } else if (gCamIVA.getiAfecIVA().getVal() == 2) {
+                    dSubExo = dSubExo.add(dTotOpeItem);
+                } else if (gCamIVA.getiAfecIVA().getVal() == 3) {
+                    dSubExe = dSubExe.add(dTotOpeItem);
+                }
+            }
+            if (iTiDE.getVal() == 4)
+                dTotOpe = dTotOpe.add(dTotOpeItem);
+
+            dTotDesc = dTotDesc.add(SifenUtil.coalesce(gValorRestaItem.getdDescItem().multiply(gCamItem.getdCantProSer()), BigDecimal.ZERO));
+            dTotDescGlotem = dTotDescGlotem.add(SifenUtil.coalesce(gValorRestaItem.getdDescGloItem(), BigDecimal.ZERO));
+            dTotAntItem = dTotAntItem.add(SifenUtil.coalesce(gValorRestaItem.getdAntPreUniIt(), BigDecimal.ZERO));
+            dTotAnt = dTotAnt.add(SifenUtil.coalesce(gValorRestaItem.getdAntGloPreUniIt(), BigDecimal.ZERO));
+            if (cMoneOpe != CMondT.PYG && dCondTiCam.getVal() == 2)
+                dTotalGs = dTotalGs.add(gValorRestaItem.getdTotOpeGs());
+        }
+
+        if (iTiDE.getVal() != 4 && (iTImp.getVal() == 1 || iTImp.getVal() == 3 || iTImp.getVal() == 4 || iTImp.getVal() == 5)) {
+            dTotOpe = dSub10.add(dSub5).add(dSubExo).add(dSubExe);
+        }
+        BigDecimal dDescTotal = dTotDesc.add(dTotDescGlotem);
+        BigDecimal dPorcDescTotal = dDescTotal.multiply(BigDecimal.valueOf(100)).divide(dTotOpe.add(dDescTotal), 2, RoundingMode.HALF_UP);
+        BigDecimal dAnticipo = dTotAntItem.add(dTotAnt);
+        BigDecimal dRedon = RedondeoUtil.redondeoOficialSET(cMoneOpe, dTotOpe);
+        BigDecimal dTotGralOpe = dTotOpe.subtract(dRedon).add(dComi);
+        dRedon = dRedon.abs();
+        dIVAComi = dComi.divide(BigDecimal.valueOf(1.1), scale, RoundingMode.HALF_UP);
+        BigDecimal dTotIVA = dIVA5.add(dIVA10).subtract(BigDecimal.ZERO).subtract(BigDecimal.ZERO).add(dIVAComi);
+        BigDecimal dTBasGraIVA = dBaseGrav5.add(dBaseGrav10);
+        if (cMoneOpe != CMondT.PYG && dCondTiCam.getVal() == 1)
+            dTotalGs = dTotGralOpe.multiply(gOpeCom.getdTiCam());
+
+        return new BigDecimal[]{dSubExe, dSubExo, dSub5, dSub10, dTotOpe, dTotDesc, dTotDescGlotem, dTotAntItem, dTotAnt,
+                dPorcDescTotal, dDescTotal, dAnticipo, dRedon, dComi, dTotGralOpe, dIVA5, dIVA10, BigDecimal.ZERO,
+                BigDecimal.ZERO, dIVAComi, dTotIVA, dBaseGrav5, dBaseGrav10, dTBasGraIVA, dTotalGs};
+    }
+
+    private static BigDecimal[] totales(TgTotSub t) {
+        return new BigDecimal[]{t.getdSubExe(), t.getdSubExo(), t.getdSub5(), t.getdSub10(), t.getdTotOpe(), t.getdTotDesc(),
+                t.getdTotDescGlotem(), t.getdTotAntItem(), t.getdTotAnt(), t.getdPorcDescTotal(), t.getdDescTotal(),
+                t.getdAnticipo(), t.getdRedon(), t.getdComi(), t.getdTotGralOpe(), t.getdIVA5(), t.getdIVA10(),
+                t.getdLiqTotIVA5(), t.getdLiqTotIVA10(), t.getdIVAComi(), t.getdTotIVA(), t.getdBaseGrav5(),
+                t.getdBaseGrav10(), t.getdTBasGraIVA(), t.getdTotalGs()};
+    }
+
+    private static BigDecimal[] totales(AcumuladorTotales t) {
+        return new BigDecimal[]{t.getdSubExe(), t.getdSubExo(), t.getdSub5(), t.getdSub10(), t.getdTotOpe(), t.getdTotDesc(),
+                t.getdTotDescGlotem(), t.getdTotAntItem(), t.getdTotAnt(), t.getdPorcDescTotal(), t.getdDescTotal(),
+                t.getdAnticipo(), t.getdRedon(), t.getdComi(), t.getdTotGralOpe(), t.getdIVA5(), t.getdIVA10(),
+                t.getdLiqTotIVA5(), t.getdLiqTotIVA10(), t.getdIVAComi(), t.getdTotIVA(), t.getdBaseGrav5(),
+                t.getdBaseGrav10(), t.getdTBasGraIVA(), t.getdTotalGs()};
+    }
+
+    @Test
+    public void testTotalesIgualesAlCalculoAnterior() throws Exception {
+        Random random = new Random(20240510L);
+        for (int i = 0; i < CASOS; i++) {
+            DocumentoElectronico de = crearDE(random);
+            de.generarXml(GenerationCtx.getDefaultFromConfig(sifenConfig), sifenConfig);
+
+            BigDecimal[] anteriores = totalesAnteriores(de.getgTimb().getiTiDE(), de.getgDtipDE().getgCamItemList(),
+                    de.getgDatGralOpe().getgOpeCom());
+            // BigDecimal.equals compara también la escala, por lo que el texto del XML es el mismo
+            assertArrayEquals("Caso " + i, anteriores, totales(de.getgTotSub()));
+        }
+    }
+
+    @Test
+    public void testAcumuladorIgualAlXmlGenerado() throws Exception {
+        Random random = new Random(80080553L);
+        for (int i = 0; i < CASOS; i++) {
+            DocumentoElectronico de = crearDE(random);
+            TTiDE iTiDE = de.getgTimb().getiTiDE();
+            TgOpeCom gOpeCom = de.getgDatGralOpe().getgOpeCom();
+            List<TgCamItem> items = new ArrayList<>(de.getgDtipDE().getgCamItemList());
+
+            // Se agregan los ítems del DE junto con otros que luego se quitan, y se modifica uno de ellos
+            AcumuladorTotales acumulador = new AcumuladorTotales(iTiDE, gOpeCom);
+            List<TgCamItem> descartados = new ArrayList<>();
+            for (TgCamItem item : items) {
+                acumulador.agregarItem(item);
+                if (random.nextBoolean()) {
+                    TgCamItem descartado = crearItem(random, 99, gOpeCom);
+                    acumulador.agregarItem(descartado);
+                    descartados.add(descartado);
+                }
+            }
+            Collections.shuffle(descartados, random);
+            for (TgCamItem descartado : descartados) {
+                assertTrue(acumulador.quitarItem(descartado));
+            }
+            TgCamItem modificado = items.get(random.nextInt(items.size()));
+            modificado.setdCantProSer(modificado.getdCantProSer().add(BigDecimal.ONE));
+            acumulador.actualizarItem(modificado);
+
+            assertEquals(items.size(), acumulador.getItems().size());
+            BigDecimal[] acumulados = totales(acumulador);
+
+            de.generarXml(GenerationCtx.getDefaultFromConfig(sifenConfig), sifenConfig);
+            assertArrayEquals("Caso " + i, totales(de.getgTotSub()), acumulados);
+        }
+    }
+
+    @Test
+    public void testAcumuladorVacio() {
+        DocumentoElectronico de = DEFixtures.createFacturaElectronica("0000008", 1);
+        TgCamItem item = de.getgDtipDE().getgCamItemList().get(0);
+        AcumuladorTotales acumulador = new AcumuladorTotales(TTiDE.FACTURA_ELECTRONICA, de.getgDatGralOpe().getgOpeCom());
+        assertEquals(BigDecimal.ZERO, acumulador.getdTotGralOpe());
+        assertEquals(BigDecimal.ZERO, acumulador.getdPorcDescTotal());
+
+        acumulador.agregarItem(item);
+        assertEquals(BigDecimal.valueOf(120000), acumulador.getdTotGralOpe().add(acumulador.getdRedon()));
+        assertEquals(BigDecimal.valueOf(10909), acumulador.getdIVA10());
+
+        assertTrue(acumulador.quitarItem(item));
+        assertFalse(acumulador.quitarItem(item));
+        assertEquals(BigDecimal.ZERO, acumulador.getdTotGralOpe());
+        assertEquals(BigDecimal.ZERO, acumulador.getdIVA10());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testItemAgregadoDosVeces() {
+        DocumentoElectronico de = DEFixtures.createFacturaElectronica("0000008", 1);
+        AcumuladorTotales acumulador = new AcumuladorTotales(TTiDE.FACTURA_ELECTRONICA, de.getgDatGralOpe().getgOpeCom());
+        acumulador.agregarItem(de.getgDtipDE().getgCamItemList().get(0));
+        acumulador.agregarItem(de.getgDtipDE().getgCamItemList().get(0));
+    }
+}
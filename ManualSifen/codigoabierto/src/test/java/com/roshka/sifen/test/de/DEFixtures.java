@@ -0,0 +1,162 @@
+package com.roshka.sifen.test.de;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.fields.request.de.*;
+import com.roshka.sifen.core.types.*;
+import com.roshka.sifen.internal.util.SifenUtil;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Documentos Electrónicos y configuración de prueba, firmados con el certificado autofirmado de los tests. La fecha y
+ * el código de seguridad son fijos, por lo que el XML generado es siempre el mismo.
+ */
+public class DEFixtures {
+    public static final String CERTIFICADO = "/tests/certificados/prueba.p12";
+    public static final String CONTRASENA = "123456";
+
+    public static SifenConfig createSifenConfig() throws IOException {
+        byte[] certificate;
+        try (InputStream is = DEFixtures.class.getResourceAsStream(CERTIFICADO)) {
+            certificate = SifenUtil.getByteArrayFromInputStream(is);
+        }
+
+        SifenConfig sifenConfig = new SifenConfig();
+        sifenConfig.setTipoCertificadoCliente(SifenConfig.TipoCertificadoCliente.PFX);
+        sifenConfig.setCertificadoCliente(Base64.getEncoder().encodeToString(certificate));
+        sifenConfig.setContrasenaCertificadoCliente(CONTRASENA);
+        return sifenConfig;
+    }
+
+    public static DocumentoElectronico createFacturaElectronica(String dNumDoc, int cantidadItems) {
+        LocalDateTime fecha = LocalDateTime.of(2024, 5, 10, 9, 30, 15);
+
+        // Grupo A
+        DocumentoElectronico de = new DocumentoElectronico();
+        de.setdFecFirma(fecha);
+        de.setdSisFact((short) 1);
+
+        // Grupo B
+        TgOpeDE gOpeDE = new TgOpeDE();
+        gOpeDE.setiTipEmi(TTipEmi.NORMAL);
+        gOpeDE.setdCodSeg("123456789");
+        de.setgOpeDE(gOpeDE);
+
+        // Grupo C
+        TgTimb gTimb = new TgTimb();
+        gTimb.setiTiDE(TTiDE.FACTURA_ELECTRONICA);
+        gTimb.setdNumTim(12557662);
+        gTimb.setdEst("001");
+        gTimb.setdPunExp("002");
+        gTimb.setdNumDoc(dNumDoc);
+        gTimb.setdFeIniT(LocalDate.parse("2019-07-31"));
+        de.setgTimb(gTimb);
+
+        // Grupo D
+        TdDatGralOpe dDatGralOpe = new TdDatGralOpe();
+        dDatGralOpe.setdFeEmiDE(fecha);
+
+        TgOpeCom gOpeCom = new TgOpeCom();
+        gOpeCom.setiTipTra(TTipTra.PRESTACION_SERVICIOS);
+        gOpeCom.setiTImp(TTImp.IVA);
+        gOpeCom.setcMoneOpe(CMondT.PYG);
+        dDatGralOpe.setgOpeCom(gOpeCom);
+
+        TgEmis gEmis = new TgEmis();
+        gEmis.setdRucEm("80080553");
+        gEmis.setdDVEmi("4");
+        gEmis.setiTipCont(TiTipCont.PERSONA_JURIDICA);
+        gEmis.setdNomEmi("DE generado en ambiente de prueba - sin valor comercial ni fiscal");
+        gEmis.setdDirEmi("Mayor Bullo & Pai Pérez <esq.>");
+        gEmis.setdNumCas("670");
+        gEmis.setcDepEmi(TDepartamento.CAPITAL);
+        gEmis.setcCiuEmi(1);
+        gEmis.setdDesCiuEmi("ASUNCION (DISTRITO)");
+        gEmis.setdTelEmi("212376717");
+        gEmis.setdEmailE("administracion@taxare.com.py");
+
+        List<TgActEco> gActEcoList = new ArrayList<>();
+        TgActEco gActEco = new TgActEco();
+        gActEco.setcActEco("69209");
+        gActEco.setdDesActEco("ACTIVIDADES DE CONTABILIDAD, TENEDURÍA DE LIBROS, AUDITORIA Y ASESORIA FISCAL N.C.P.");
+        gActEcoList.add(gActEco);
+        gEmis.setgActEcoList(gActEcoList);
+        dDatGralOpe.setgEmis(gEmis);
+
+        TgDatRec gDatRec = new TgDatRec();
+        gDatRec.setiNatRec(TiNatRec.NO_CONTRIBUYENTE);
+        gDatRec.setiTiOpe(TiTiOpe.B2C);
+        gDatRec.setcPaisRec(PaisType.PRY);
+        gDatRec.setiTipIDRec(TiTipDocRec.CEDULA_PARAGUAYA);
+        gDatRec.setdNumIDRec("4579993");
+        gDatRec.setdNomRec("Martín \"Tito\" Zarza");
+        dDatGralOpe.setgDatRec(gDatRec);
+        de.setgDatGralOpe(dDatGralOpe);
+
+        // Grupo E
+        TgDtipDE gDtipDE = new TgDtipDE();
+
+        TgCamFE gCamFE = new TgCamFE();
+        gCamFE.setiIndPres(TiIndPres.OPERACION_ELECTRONICA);
+        gDtipDE.setgCamFE(gCamFE);
+
+        TgCamCond gCamCond = new TgCamCond();
+        gCamCond.setiCondOpe(TiCondOpe.CREDITO);
+
+        TgPagCred gPagCred = new TgPagCred();
+        gPagCred.setiCondCred(TiCondCred.PLAZO);
+        gPagCred.setdPlazoCre("60 días");
+
+        gCamCond.setgPagCred(gPagCred);
+        gDtipDE.setgCamCond(gCamCond);
+
+        List<TgCamItem> gCamItemList = new ArrayList<>();
+        for (int i = 0; i < cantidadItems; i++) {
+            gCamItemList.add(createTgCamItem(
+                    String.format("%03d", i + 1),
+                    "Servicio de Liquidación de IVA " + (i + 1),
+                    BigDecimal.valueOf(120000 + i * 1000),
+                    i % 2 == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(1.3)
+            ));
+        }
+        gDtipDE.setgCamItemList(gCamItemList);
+        de.setgDtipDE(gDtipDE);
+
+        // Grupo F
+        de.setgTotSub(new TgTotSub());
+
+        return de;
+    }
+
+    private static TgCamItem createTgCamItem(String codigo, String descripcion, BigDecimal precioUnitario, BigDecimal descuento) {
+        TgCamItem gCamItem = new TgCamItem();
+        gCamItem.setdCodInt(codigo);
+        gCamItem.setdDesProSer(descripcion);
+        gCamItem.setcUniMed(TcUniMed.UNI);
+        gCamItem.setdCantProSer(BigDecimal.ONE);
+
+        TgValorItem gValorItem = new TgValorItem();
+        gValorItem.setdPUniProSer(precioUnitario);
+
+        TgValorRestaItem gValorRestaItem = new TgValorRestaItem();
+        gValorRestaItem.setdDescItem(descuento);
+        gValorItem.setgValorRestaItem(gValorRestaItem);
+        gCamItem.setgValorItem(gValorItem);
+
+        TgCamIVA gCamIVA = new TgCamIVA();
+        gCamIVA.setiAfecIVA(TiAfecIVA.GRAVADO);
+        gCamIVA.setdPropIVA(BigDecimal.valueOf(100));
+        gCamIVA.setdTasaIVA(BigDecimal.valueOf(10));
+        gCamItem.setgCamIVA(gCamIVA);
+
+        return gCamItem;
+    }
+}
@@ -0,0 +1,81 @@
+package com.roshka.sifen.test.de;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.beans.ValidezFirmaDigital;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.helpers.SignatureHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DEStreamingTest {
+    private SifenConfig sifenConfig;
+
+    @Before
+    public void setUp() throws Exception {
+        sifenConfig = DEFixtures.createSifenConfig();
+    }
+
+    @Test
+    public void testMismoXmlQueSaaj() throws Exception {
+        DocumentoElectronico de = DEFixtures.createFacturaElectronica("0000008", 2);
+
+        String saaj = de.generarXml(createGenerationCtx(SifenConfig.MotorXml.SAAJ), sifenConfig);
+        String enlaceQRSaaj = de.getEnlaceQR();
+        String streaming = de.generarXml(createGenerationCtx(SifenConfig.MotorXml.STREAMING), sifenConfig);
+
+        assertEquals(saaj, streaming);
+        assertEquals(enlaceQRSaaj, de.getEnlaceQR());
+
+        ValidezFirmaDigital validez = SignatureHelper.validateSignature(streaming, "XML");
+        assertTrue(validez.getMotivoInvalidez(), validez.isValido());
+    }
+
+    @Test
+    public void testMismoXmlQueSaajConSaltosDeLinea() throws Exception {
+        DocumentoElectronico de = DEFixtures.createFacturaElectronica("0000008", 2);
+        de.getgDatGralOpe().getgDatRec().setdNomRec("Martín\r\nZarza\t");
+
+        String saaj = de.generarXml(createGenerationCtx(SifenConfig.MotorXml.SAAJ), sifenConfig);
+        String streaming = de.generarXml(createGenerationCtx(SifenConfig.MotorXml.STREAMING), sifenConfig);
+
+        assertEquals(saaj, streaming);
+
+        ValidezFirmaDigital validez = SignatureHelper.validateSignature(streaming, "XML");
+        assertTrue(validez.getMotivoInvalidez(), validez.isValido());
+    }
+
+    @Test
+    public void testMismoXmlQueSaajConCaracteresSuplementarios() throws Exception {
+        DocumentoElectronico de = DEFixtures.createFacturaElectronica("0000008", 2);
+        de.getgDatGralOpe().getgDatRec().setdNomRec("Emoji \uD83D\uDE00 fin");
+
+        String saaj = de.generarXml(createGenerationCtx(SifenConfig.MotorXml.SAAJ), sifenConfig);
+        String streaming = de.generarXml(createGenerationCtx(SifenConfig.MotorXml.STREAMING), sifenConfig);
+
+        assertTrue(saaj.contains("Emoji &#128512; fin"));
+        assertEquals(saaj, streaming);
+
+        ValidezFirmaDigital validez = SignatureHelper.validateSignature(streaming, "XML");
+        assertTrue(validez.getMotivoInvalidez(), validez.isValido());
+    }
+
+    @Test
+    public void testMismoXmlQueSaajConTextoEnBlanco() throws Exception {
+        DocumentoElectronico de = DEFixtures.createFacturaElectronica("0000008", 2);
+        de.getgDatGralOpe().getgEmis().setdNumCas("   ");
+
+        String saaj = de.generarXml(createGenerationCtx(SifenConfig.MotorXml.SAAJ), sifenConfig);
+        String streaming = de.generarXml(createGenerationCtx(SifenConfig.MotorXml.STREAMING), sifenConfig);
+
+        assertEquals(saaj, streaming);
+    }
+
+    private GenerationCtx createGenerationCtx(SifenConfig.MotorXml motorXml) {
+        GenerationCtx generationCtx = GenerationCtx.getDefaultFromConfig(sifenConfig);
+        generationCtx.setMotorXml(motorXml);
+        return generationCtx;
+    }
+}
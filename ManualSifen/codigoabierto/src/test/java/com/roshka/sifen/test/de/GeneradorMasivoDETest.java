@@ -0,0 +1,191 @@
+package com.roshka.sifen.test.de;
+
+import com.roshka.sifen.GeneradorMasivoDE;
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.Assert.*;
+
+public class GeneradorMasivoDETest {
+    private static final String DECLARACION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    private SifenConfig sifenConfig;
+
+    @Before
+    public void setUp() throws Exception {
+        sifenConfig = DEFixtures.createSifenConfig();
+    }
+
+    @Test
+    public void testUnArchivoPorDocumento() throws Exception {
+        Path directorio = carpeta.getRoot().toPath().resolve("salida");
+        List<DocumentoElectronico> documentos = crearDocumentos(5);
+        AtomicInteger generados = new AtomicInteger();
+
+        GeneradorMasivoDE generador = new GeneradorMasivoDE(sifenConfig, directorio, 2, 0);
+        generador.setProgreso(new GeneradorMasivoDE.Progreso() {
+            @Override
+            public void generado(DocumentoElectronico de, Path archivo) {
+                assertEquals(de.getId() + ".xml", archivo.getFileName().toString());
+                generados.incrementAndGet();
+            }
+        });
+        GeneradorMasivoDE.Resumen resumen = generador.generar(documentos.stream());
+
+        assertEquals(5, resumen.getGenerados());
+        assertEquals(0, resumen.getFallidos());
+        assertEquals(5, resumen.getArchivos());
+        assertEquals(5, generados.get());
+
+        for (DocumentoElectronico de : documentos) {
+            Path archivo = directorio.resolve(de.getId() + ".xml");
+            String xml = new String(Files.readAllBytes(archivo), StandardCharsets.UTF_8);
+            assertTrue(xml.startsWith(DECLARACION + "<rDE"));
+            assertTrue(xml.contains("Id=\"" + de.getId() + "\""));
+        }
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            assertEquals(5, archivos.count());
+        }
+    }
+
+    @Test
+    public void testArchivosZip() throws Exception {
+        Path directorio = carpeta.getRoot().toPath();
+        List<DocumentoElectronico> documentos = crearDocumentos(7);
+
+        GeneradorMasivoDE.Resumen resumen = new GeneradorMasivoDE(sifenConfig, directorio, 2, 3)
+                .generar(documentos.iterator());
+
+        assertEquals(7, resumen.getGenerados());
+        assertEquals(3, resumen.getArchivos());
+        assertEquals(Arrays.asList(3, 3, 1), Arrays.asList(
+                leerZip(directorio.resolve("lote-000001.zip")).size(),
+                leerZip(directorio.resolve("lote-000002.zip")).size(),
+                leerZip(directorio.resolve("lote-000003.zip")).size()));
+
+        Map<String, String> primerLote = leerZip(directorio.resolve("lote-000001.zip"));
+        for (DocumentoElectronico de : documentos.subList(0, 3)) {
+            String xml = primerLote.get(de.getId() + ".xml");
+            assertNotNull(xml);
+            assertTrue(xml.startsWith(DECLARACION + "<rDE"));
+        }
+    }
+
+    @Test
+    public void testDocumentoFallidoNoDetieneLaGeneracion() throws Exception {
+        Path directorio = carpeta.getRoot().toPath();
+        List<DocumentoElectronico> documentos = crearDocumentos(4);
+        DocumentoElectronico invalido = documentos.get(1);
+        invalido.setgTimb(null);
+        List<DocumentoElectronico> fallidos = Collections.synchronizedList(new ArrayList<>());
+
+        GeneradorMasivoDE generador = new GeneradorMasivoDE(sifenConfig, directorio, 2, 0);
+        generador.setProgreso(new GeneradorMasivoDE.Progreso() {
+            @Override
+            public void fallido(DocumentoElectronico de, SifenException error) {
+                fallidos.add(de);
+            }
+        });
+        GeneradorMasivoDE.Resumen resumen = generador.generar(documentos.stream());
+
+        assertEquals(3, resumen.getGenerados());
+        assertEquals(1, resumen.getFallidos());
+        assertEquals(Collections.singletonList(invalido), fallidos);
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            assertEquals(3, archivos.filter(p -> p.toString().endsWith(".xml")).count());
+        }
+    }
+
+    @Test
+    public void testArchivoExistenteYCdcDuplicado() throws Exception {
+        Path directorio = carpeta.getRoot().toPath();
+        DocumentoElectronico existente = DEFixtures.createFacturaElectronica("0000001", 2);
+        assertEquals(1, new GeneradorMasivoDE(sifenConfig, directorio, 2, 0)
+                .generar(Stream.of(existente)).getGenerados());
+        Path archivoExistente = directorio.resolve(existente.getId() + ".xml");
+        byte[] contenidoExistente = Files.readAllBytes(archivoExistente);
+
+        // El mismo documento ya generado, un documento nuevo y dos documentos con un mismo CDC
+        DocumentoElectronico repetido = DEFixtures.createFacturaElectronica("0000001", 1);
+        DocumentoElectronico nuevo = DEFixtures.createFacturaElectronica("0000002", 2);
+        DocumentoElectronico duplicado1 = DEFixtures.createFacturaElectronica("0000003", 2);
+        DocumentoElectronico duplicado2 = DEFixtures.createFacturaElectronica("0000003", 1);
+        List<DocumentoElectronico> fallidos = Collections.synchronizedList(new ArrayList<>());
+
+        GeneradorMasivoDE generador = new GeneradorMasivoDE(sifenConfig, directorio, 2, 0);
+        generador.setProgreso(new GeneradorMasivoDE.Progreso() {
+            @Override
+            public void fallido(DocumentoElectronico de, SifenException error) {
+                fallidos.add(de);
+            }
+        });
+        GeneradorMasivoDE.Resumen resumen = generador.generar(Stream.of(repetido, nuevo, duplicado1, duplicado2));
+
+        assertEquals(2, resumen.getGenerados());
+        assertEquals(2, resumen.getFallidos());
+        assertTrue(fallidos.contains(repetido));
+        assertEquals(1, fallidos.stream().filter(de -> de == duplicado1 || de == duplicado2).count());
+        assertArrayEquals(contenidoExistente, Files.readAllBytes(archivoExistente));
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            assertEquals(3, archivos.count());
+        }
+    }
+
+    @Test
+    public void testGenerarXmlEnArchivoUtf8() throws Exception {
+        DocumentoElectronico de = DEFixtures.createFacturaElectronica("0000008", 1);
+        de.getgDatGralOpe().getgDatRec().setdNomRec("Martín Zarza");
+        Path archivo = carpeta.getRoot().toPath().resolve("de.xml");
+
+        assertTrue(de.generarXml(GenerationCtx.getDefaultFromConfig(sifenConfig), archivo.toString(), sifenConfig));
+
+        String xml = new String(Files.readAllBytes(archivo), StandardCharsets.UTF_8);
+        assertTrue(xml.contains("Martín Zarza"));
+    }
+
+    private static List<DocumentoElectronico> crearDocumentos(int cantidad) {
+        return IntStream.rangeClosed(1, cantidad)
+                .mapToObj(i -> DEFixtures.createFacturaElectronica(String.format("%07d", i), 2))
+                .collect(Collectors.toList());
+    }
+
+    private static Map<String, String> leerZip(Path archivo) throws IOException {
+        Map<String, String> entradas = new LinkedHashMap<>();
+        try (InputStream is = Files.newInputStream(archivo); ZipInputStream zip = new ZipInputStream(is)) {
+            ZipEntry entrada;
+            while ((entrada = zip.getNextEntry()) != null) {
+                ByteArrayOutputStream contenido = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int leidos;
+                while ((leidos = zip.read(buffer)) != -1) {
+                    contenido.write(buffer, 0, leidos);
+                }
+                entradas.put(entrada.getName(), new String(contenido.toByteArray(), StandardCharsets.UTF_8));
+            }
+        }
+        return entradas;
+    }
+}
@@ -0,0 +1,88 @@
+package com.roshka.sifen.test.de;
+
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.fields.request.de.AcumuladorTotales;
+import com.roshka.sifen.core.fields.request.de.TgCamIVA;
+import com.roshka.sifen.core.fields.request.de.TgCamItem;
+import com.roshka.sifen.core.fields.util.IVAUtil;
+import com.roshka.sifen.core.types.CMondT;
+import com.roshka.sifen.core.types.TTiDE;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compara la base gravada y la liquidación del IVA con el cálculo realizado anteriormente en {@link TgCamIVA}, sobre
+ * montos generados al azar en guaraníes (cálculo con enteros) y en otras monedas.
+ */
+public class IVAUtilTest {
+    private static final int CASOS = 200000;
+
+    private static BigDecimal[] anterior(BigDecimal dTotOpeItem, BigDecimal dPropIVA, BigDecimal dTasaIVA, int scale) {
+        dTotOpeItem = dTotOpeItem.setScale(scale, RoundingMode.HALF_UP);
+        BigDecimal propIVA = dPropIVA.divide(BigDecimal.valueOf(100), scale, RoundingMode.HALF_UP);
+        if (dTasaIVA.equals(BigDecimal.valueOf(10))) {
+            return new BigDecimal[]{
+                    dTotOpeItem.multiply(propIVA).divide(BigDecimal.valueOf(1.1), scale, RoundingMode.HALF_UP),
+                    dTotOpeItem.multiply(propIVA).divide(BigDecimal.valueOf(11), scale, RoundingMode.HALF_UP)};
+        } else {
+            return new BigDecimal[]{
+                    dTotOpeItem.multiply(propIVA).divide(BigDecimal.valueOf(1.05), scale, RoundingMode.HALF_UP),
+                    dTotOpeItem.multiply(propIVA).divide(BigDecimal.valueOf(21), scale, RoundingMode.HALF_UP)};
+        }
+    }
+
+    private static BigDecimal[] kernel(BigDecimal dTotOpeItem, BigDecimal dPropIVA, BigDecimal dTasaIVA, int scale) {
+        BigDecimal montoGravado = IVAUtil.montoGravado(dTotOpeItem.setScale(scale, RoundingMode.HALF_UP), dPropIVA, scale);
+        return new BigDecimal[]{IVAUtil.baseGravada(montoGravado, dTasaIVA, scale), IVAUtil.liquidacion(montoGravado, dTasaIVA, scale)};
+    }
+
+    @Test
+    public void testIgualAlCalculoAnterior() {
+        Random random = new Random(125L);
+        for (int i = 0; i < CASOS; i++) {
+            CMondT moneda = random.nextBoolean() ? CMondT.PYG : CMondT.USD;
+            int scale = IVAUtil.escala(moneda);
+            long unidades = random.nextInt(4) == 0 ? random.nextLong() >> (8 + random.nextInt(40)) : random.nextInt(10000000);
+            BigDecimal dTotOpeItem = BigDecimal.valueOf(unidades, random.nextInt(4));
+            BigDecimal dPropIVA = random.nextBoolean() ? BigDecimal.valueOf(100) : BigDecimal.valueOf(random.nextInt(101));
+            BigDecimal dTasaIVA = random.nextBoolean() ? BigDecimal.valueOf(10) : BigDecimal.valueOf(5);
+
+            assertArrayEquals(dTotOpeItem + " " + dPropIVA + " " + dTasaIVA + " " + moneda,
+                    anterior(dTotOpeItem, dPropIVA, dTasaIVA, scale), kernel(dTotOpeItem, dPropIVA, dTasaIVA, scale));
+        }
+    }
+
+    @Test
+    public void testMontosGrandesEnGuaranies() {
+        for (long monto : new long[]{Long.MAX_VALUE / 20, Long.MAX_VALUE, Long.MIN_VALUE, -5, -6, -16, 5, 16, 0}) {
+            BigDecimal dTotOpeItem = BigDecimal.valueOf(monto);
+            for (BigDecimal dTasaIVA : new BigDecimal[]{IVAUtil.TASA_10, IVAUtil.TASA_5}) {
+                assertArrayEquals(String.valueOf(monto), anterior(dTotOpeItem, IVAUtil.CIEN, dTasaIVA, 0),
+                        kernel(dTotOpeItem, IVAUtil.CIEN, dTasaIVA, 0));
+            }
+        }
+    }
+
+    @Test
+    public void testTasaConDecimales() {
+        assertTrue(IVAUtil.esTasa10(new BigDecimal("10.0")));
+        assertTrue(IVAUtil.esTasa5(new BigDecimal("5.00")));
+        assertNull(IVAUtil.baseGravada(BigDecimal.TEN, BigDecimal.ONE, 0));
+        assertEquals(BigDecimal.valueOf(1000), IVAUtil.liquidacion(BigDecimal.valueOf(11000), new BigDecimal("10.00"), 0));
+        assertEquals(new BigDecimal("1000.00"), IVAUtil.baseGravada(new BigDecimal("1050.00"), new BigDecimal("5.0"), 2));
+
+        // Antes, una tasa de 10.0 no calculaba el IVA del ítem
+        DocumentoElectronico de = DEFixtures.createFacturaElectronica("0000008", 1);
+        TgCamItem gCamItem = de.getgDtipDE().getgCamItemList().get(0);
+        gCamItem.getgCamIVA().setdTasaIVA(new BigDecimal("10.0"));
+        AcumuladorTotales totales = new AcumuladorTotales(TTiDE.FACTURA_ELECTRONICA, de.getgDatGralOpe().getgOpeCom());
+        totales.agregarItem(gCamItem);
+        assertEquals(BigDecimal.valueOf(10909), gCamItem.getgCamIVA().getdLiqIVAItem());
+        assertEquals(BigDecimal.valueOf(10909), totales.getdIVA10());
+    }
+}
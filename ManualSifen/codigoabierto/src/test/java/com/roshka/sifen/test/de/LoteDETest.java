@@ -0,0 +1,67 @@
+package com.roshka.sifen.test.de;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.helpers.LoteHelper;
+import com.roshka.sifen.internal.helpers.SoapHelper;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.xml.soap.SOAPElement;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LoteDETest {
+    private SifenConfig sifenConfig;
+
+    @Before
+    public void setUp() throws Exception {
+        sifenConfig = DEFixtures.createSifenConfig();
+    }
+
+    @Test
+    public void testLoteParaleloIgualAlSecuencial() throws Exception {
+        String expected = buildSequentialLote(createDEList());
+
+        for (SifenConfig.MotorXml motorXml : SifenConfig.MotorXml.values()) {
+            for (int paralelismo : new int[]{1, 4}) {
+                sifenConfig.setParalelismoLote(paralelismo);
+                GenerationCtx generationCtx = GenerationCtx.getDefaultFromConfig(sifenConfig);
+                generationCtx.setMotorXml(motorXml);
+
+                String lote = String.join("", LoteHelper.buildLote(generationCtx, createDEList(), sifenConfig));
+                assertEquals(motorXml + ", paralelismo " + paralelismo, expected, lote);
+            }
+        }
+    }
+
+    private List<DocumentoElectronico> createDEList() {
+        List<DocumentoElectronico> DEList = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) {
+            DEList.add(DEFixtures.createFacturaElectronica(String.format("%07d", i), 3));
+        }
+        return DEList;
+    }
+
+    /**
+     * Lote generado como antes: todos los DE en el mismo árbol SAAJ, uno tras otro.
+     */
+    private String buildSequentialLote(List<DocumentoElectronico> DEList) throws Exception {
+        GenerationCtx generationCtx = GenerationCtx.getDefaultFromConfig(sifenConfig);
+        SOAPElement rLoteDE = SoapHelper.createSoapMessage().getSOAPBody().addChildElement("rLoteDE");
+        for (DocumentoElectronico DE : DEList) {
+            DE.setupDE(generationCtx, rLoteDE, sifenConfig);
+        }
+
+        StringWriter sw = new StringWriter();
+        TransformerFactory.newInstance().newTransformer().transform(new DOMSource(rLoteDE), new StreamResult(sw));
+        return sw.toString();
+    }
+}
@@ -0,0 +1,258 @@
+package com.roshka.sifen.test.http;
+
+import com.roshka.sifen.AgrupadorLoteDE;
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.fields.request.de.TgCamDEAsoc;
+import com.roshka.sifen.core.fields.request.de.TgCamNCDE;
+import com.roshka.sifen.core.types.TTiDE;
+import com.roshka.sifen.core.types.TiMotEmi;
+import com.roshka.sifen.core.types.TiTipDocAso;
+import com.roshka.sifen.test.de.DEFixtures;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.Assert.*;
+
+public class AgrupadorLoteDETest {
+    private static final String RESPUESTA = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "<env:Envelope xmlns:env=\"http://www.w3.org/2003/05/soap-envelope\"><env:Header/><env:Body>" +
+            "<ns2:rResEnviLoteDe xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\">" +
+            "<ns2:dFecProc>2024-05-10T09:30:16-04:00</ns2:dFecProc><ns2:dCodRes>0300</ns2:dCodRes>" +
+            "<ns2:dMsgRes>Lote recibido con éxito</ns2:dMsgRes><ns2:dProtConsLote>%d</ns2:dProtConsLote>" +
+            "<ns2:dTpoProces>0</ns2:dTpoProces></ns2:rResEnviLoteDe></env:Body></env:Envelope>";
+
+    private HttpServer server;
+    private SifenConfig sifenConfig;
+    private final AtomicInteger lotes = new AtomicInteger();
+    private final List<Integer> tamanosLote = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            String request;
+            try (InputStream is = exchange.getRequestBody()) {
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    baos.write(buffer, 0, read);
+                }
+                request = new String(baos.toByteArray(), StandardCharsets.UTF_8);
+            }
+            tamanosLote.add(countDE(request));
+
+            byte[] body = String.format(RESPUESTA, lotes.incrementAndGet()).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+
+        sifenConfig = DEFixtures.createSifenConfig();
+        sifenConfig.setUrlBase("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testEnvioPorTamano() throws Exception {
+        List<String> cdcs = new ArrayList<>();
+        List<CompletableFuture<AgrupadorLoteDE.RecepcionEnLote>> futures = new ArrayList<>();
+
+        try (AgrupadorLoteDE agrupador = new AgrupadorLoteDE(sifenConfig, 5, TimeUnit.MINUTES.toMillis(10))) {
+            for (int i = 0; i < 12; i++) {
+                DocumentoElectronico de = DEFixtures.createFacturaElectronica(String.format("%07d", i + 1), 1);
+                futures.add(agrupador.recepcionDE(de));
+                cdcs.add(de.getId());
+            }
+
+            for (int i = 0; i < 10; i++) {
+                AgrupadorLoteDE.RecepcionEnLote recepcion = futures.get(i).get(30, TimeUnit.SECONDS);
+                assertEquals(cdcs.get(i), recepcion.getCdc());
+                assertEquals(5, recepcion.getCantidadDocumentos());
+                assertEquals("0300", recepcion.getRespuesta().getdCodRes());
+            }
+            assertEquals(2, agrupador.getDocumentosEnEspera());
+            assertFalse(futures.get(10).isDone());
+        }
+
+        // Al cerrar se envía el lote incompleto
+        for (int i = 10; i < 12; i++) {
+            AgrupadorLoteDE.RecepcionEnLote recepcion = futures.get(i).get(30, TimeUnit.SECONDS);
+            assertEquals(cdcs.get(i), recepcion.getCdc());
+            assertEquals(2, recepcion.getCantidadDocumentos());
+        }
+
+        assertEquals(3, lotes.get());
+        assertEquals(12, tamanosLote.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(futures.get(0).get().getRespuesta().getdProtConsLote(), futures.get(4).get().getRespuesta().getdProtConsLote());
+        assertNotEquals(futures.get(4).get().getRespuesta().getdProtConsLote(), futures.get(5).get().getRespuesta().getdProtConsLote());
+    }
+
+    @Test
+    public void testEnvioPorDemora() throws Exception {
+        try (AgrupadorLoteDE agrupador = new AgrupadorLoteDE(sifenConfig, 50, 200)) {
+            List<CompletableFuture<AgrupadorLoteDE.RecepcionEnLote>> futures = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                futures.add(agrupador.recepcionDE(DEFixtures.createFacturaElectronica(String.format("%07d", i + 1), 1)));
+            }
+
+            for (CompletableFuture<AgrupadorLoteDE.RecepcionEnLote> future : futures) {
+                assertEquals(3, future.get(30, TimeUnit.SECONDS).getCantidadDocumentos());
+            }
+            assertEquals(1, lotes.get());
+            assertEquals(Integer.valueOf(3), tamanosLote.get(0));
+        }
+    }
+
+    @Test
+    public void testLotePorTipoYEmisor() throws Exception {
+        List<DocumentoElectronico> facturas = new ArrayList<>();
+        List<DocumentoElectronico> notasCredito = new ArrayList<>();
+        List<DocumentoElectronico> otroEmisor = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            facturas.add(DEFixtures.createFacturaElectronica(String.format("%07d", i + 1), 1));
+        }
+        for (int i = 0; i < 2; i++) {
+            notasCredito.add(createNotaCreditoElectronica(String.format("%07d", i + 1), facturas.get(i).obtenerCDC()));
+            DocumentoElectronico de = DEFixtures.createFacturaElectronica(String.format("%07d", i + 1), 1);
+            de.getgDatGralOpe().getgEmis().setdRucEm("80089752");
+            de.getgDatGralOpe().getgEmis().setdDVEmi("2");
+            otroEmisor.add(de);
+        }
+
+        List<CompletableFuture<AgrupadorLoteDE.RecepcionEnLote>> futuresFacturas = new ArrayList<>();
+        List<CompletableFuture<AgrupadorLoteDE.RecepcionEnLote>> futuresNotasCredito = new ArrayList<>();
+        List<CompletableFuture<AgrupadorLoteDE.RecepcionEnLote>> futuresOtroEmisor = new ArrayList<>();
+        try (AgrupadorLoteDE agrupador = new AgrupadorLoteDE(sifenConfig, 4, 200)) {
+            // Se intercalan los tipos y emisores; cada combinación forma su propio lote
+            for (int i = 0; i < 4; i++) {
+                futuresFacturas.add(agrupador.recepcionDE(facturas.get(i)));
+                if (i < 2) {
+                    futuresNotasCredito.add(agrupador.recepcionDE(notasCredito.get(i)));
+                    futuresOtroEmisor.add(agrupador.recepcionDE(otroEmisor.get(i)));
+                }
+            }
+
+            // El lote de facturas se completa y se envía sin esperar a los demás
+            for (CompletableFuture<AgrupadorLoteDE.RecepcionEnLote> future : futuresFacturas) {
+                assertEquals(4, future.get(30, TimeUnit.SECONDS).getCantidadDocumentos());
+            }
+
+            // Los lotes incompletos se envían por separado al vencer su demora
+            for (CompletableFuture<AgrupadorLoteDE.RecepcionEnLote> future : futuresNotasCredito) {
+                assertEquals(2, future.get(30, TimeUnit.SECONDS).getCantidadDocumentos());
+            }
+            for (CompletableFuture<AgrupadorLoteDE.RecepcionEnLote> future : futuresOtroEmisor) {
+                assertEquals(2, future.get(30, TimeUnit.SECONDS).getCantidadDocumentos());
+            }
+        }
+
+        assertEquals(3, lotes.get());
+        String loteNotasCredito = futuresNotasCredito.get(0).get().getRespuesta().getdProtConsLote();
+        assertEquals(loteNotasCredito, futuresNotasCredito.get(1).get().getRespuesta().getdProtConsLote());
+        assertNotEquals(loteNotasCredito, futuresFacturas.get(0).get().getRespuesta().getdProtConsLote());
+        assertNotEquals(loteNotasCredito, futuresOtroEmisor.get(0).get().getRespuesta().getdProtConsLote());
+    }
+
+    @Test
+    public void testCierreConcurrenteConEnvio() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            for (int i = 0; i < 50; i++) {
+                DocumentoElectronico de = DEFixtures.createFacturaElectronica(String.format("%07d", i + 1), 1);
+                de.obtenerCDC();
+                AgrupadorLoteDE agrupador = new AgrupadorLoteDE(sifenConfig, 1, 1000);
+
+                // Con lotes de un DE, el envío se realiza en el hilo que agrega el documento, mientras otro cierra
+                CountDownLatch inicio = new CountDownLatch(1);
+                Future<CompletableFuture<AgrupadorLoteDE.RecepcionEnLote>> agregado = executor.submit(() -> {
+                    inicio.await();
+                    return agrupador.recepcionDE(de);
+                });
+                inicio.countDown();
+                agrupador.close();
+
+                // El DE es rechazado por el cierre o enviado; nunca se envía a un SifenAsync ya cerrado
+                try {
+                    assertEquals(1, agregado.get(30, TimeUnit.SECONDS).get(30, TimeUnit.SECONDS).getCantidadDocumentos());
+                } catch (ExecutionException e) {
+                    assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof IllegalStateException);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTamanoLoteInvalido() {
+        new AgrupadorLoteDE(sifenConfig, AgrupadorLoteDE.TAMANO_MAXIMO_LOTE + 1, 1000);
+    }
+
+    private static DocumentoElectronico createNotaCreditoElectronica(String dNumDoc, String cdcFactura) {
+        DocumentoElectronico de = DEFixtures.createFacturaElectronica(dNumDoc, 1);
+        de.getgTimb().setiTiDE(TTiDE.NOTA_DE_CREDITO_ELECTRONICA);
+
+        TgCamNCDE gCamNCDE = new TgCamNCDE();
+        gCamNCDE.setiMotEmi(TiMotEmi.DEVOLUCION_Y_AJUSTES_DE_PRECIOS);
+        de.getgDtipDE().setgCamFE(null);
+        de.getgDtipDE().setgCamCond(null);
+        de.getgDtipDE().setgCamNCDE(gCamNCDE);
+
+        TgCamDEAsoc gCamDEAsoc = new TgCamDEAsoc();
+        gCamDEAsoc.setiTipDocAso(TiTipDocAso.ELECTRONICO);
+        gCamDEAsoc.setdCdCDERef(cdcFactura);
+        de.setgCamDEAsocList(Collections.singletonList(gCamDEAsoc));
+        return de;
+    }
+
+    /**
+     * Cuenta los rDE del lote comprimido en el elemento xDE de la petición.
+     */
+    private static int countDE(String request) throws java.io.IOException {
+        int start = request.indexOf("<xDE>") + "<xDE>".length();
+        int end = request.indexOf("</xDE>");
+        byte[] zip = Base64.getDecoder().decode(request.substring(start, end));
+
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            zis.getNextEntry();
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = zis.read(buffer)) != -1) {
+                baos.write(buffer, 0, read);
+            }
+
+            String lote = new String(baos.toByteArray(), StandardCharsets.UTF_8);
+            int count = 0;
+            for (int i = lote.indexOf("<rDE "); i != -1; i = lote.indexOf("<rDE ", i + 1)) {
+                count++;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.roshka.sifen.test.http;
+
+import com.roshka.sifen.CacheConsultaRUC;
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.response.RespuestaConsultaRUC;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class CacheConsultaRUCTest {
+    private static final String RUC_EXISTENTE = "80089752";
+    private static final String RUC_CON_ERROR = "99999999";
+
+    private HttpServer server;
+    private SifenConfig sifenConfig;
+    private final AtomicInteger peticiones = new AtomicInteger();
+    private volatile CountDownLatch bloqueo = new CountDownLatch(0);
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            String peticion;
+            try (InputStream is = exchange.getRequestBody()) {
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    baos.write(buffer, 0, read);
+                }
+                peticion = new String(baos.toByteArray(), StandardCharsets.UTF_8);
+            }
+            peticiones.incrementAndGet();
+            try {
+                bloqueo.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            String codigo;
+            if (peticion.contains(">" + RUC_EXISTENTE + "<")) {
+                codigo = CacheConsultaRUC.RUC_ENCONTRADO;
+            } else if (peticion.contains(">" + RUC_CON_ERROR + "<")) {
+                codigo = "0160";
+            } else {
+                codigo = CacheConsultaRUC.RUC_INEXISTENTE;
+            }
+            byte[] body = respuesta(codigo).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+
+        sifenConfig = new SifenConfig();
+        sifenConfig.setUsarCertificadoCliente(false);
+        sifenConfig.setUrlBase("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @After
+    public void tearDown() {
+        bloqueo.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    public void testAciertoLuegoDeLaPrimeraConsulta() throws Exception {
+        CacheConsultaRUC cache = new CacheConsultaRUC(sifenConfig);
+
+        RespuestaConsultaRUC primera = cache.consultaRUC(RUC_EXISTENTE);
+        RespuestaConsultaRUC segunda = cache.consultaRUC(RUC_EXISTENTE);
+
+        assertEquals(CacheConsultaRUC.RUC_ENCONTRADO, primera.getdCodRes());
+        assertSame(primera, segunda);
+        assertEquals(1, peticiones.get());
+        assertEquals(1, cache.getAciertos());
+        assertEquals(1, cache.getFallos());
+        assertEquals(0.5, cache.getTasaAciertos(), 0);
+    }
+
+    @Test
+    public void testRucInexistenteYErrores() throws Exception {
+        CacheConsultaRUC cache = new CacheConsultaRUC(sifenConfig);
+
+        assertEquals(CacheConsultaRUC.RUC_INEXISTENTE, cache.consultaRUC("1234567").getdCodRes());
+        assertNull(cache.consultaContribuyente("1234567"));
+        assertEquals(1, peticiones.get());
+
+        // Las demás respuestas no se guardan
+        cache.consultaRUC(RUC_CON_ERROR);
+        cache.consultaRUC(RUC_CON_ERROR);
+        assertEquals(3, peticiones.get());
+    }
+
+    @Test
+    public void testVencimiento() throws Exception {
+        CacheConsultaRUC cache = new CacheConsultaRUC(sifenConfig, 50, 0, 100);
+
+        cache.consultaRUC(RUC_EXISTENTE);
+        cache.consultaRUC("1234567");
+        cache.consultaRUC("1234567");
+        assertEquals(3, peticiones.get());
+
+        Thread.sleep(100);
+        cache.consultaRUC(RUC_EXISTENTE);
+        assertEquals(4, peticiones.get());
+
+        cache.invalidar(RUC_EXISTENTE);
+        cache.consultaRUC(RUC_EXISTENTE);
+        assertEquals(5, peticiones.get());
+    }
+
+    @Test
+    public void testDescarteDelMenosReciente() throws Exception {
+        CacheConsultaRUC cache = new CacheConsultaRUC(sifenConfig, 60_000, 60_000, 2);
+
+        cache.consultaRUC("1111111");
+        cache.consultaRUC("2222222");
+        cache.consultaRUC("1111111");
+        cache.consultaRUC("3333333");
+        assertEquals(3, peticiones.get());
+        assertEquals(2, cache.getTamano());
+        assertEquals(1, cache.getDescartes());
+
+        cache.consultaRUC("1111111");
+        assertEquals(3, peticiones.get());
+        cache.consultaRUC("2222222");
+        assertEquals(4, peticiones.get());
+    }
+
+    @Test
+    public void testConsultasSimultaneasAgrupadas() throws Exception {
+        CacheConsultaRUC cache = new CacheConsultaRUC(sifenConfig);
+        bloqueo = new CountDownLatch(1);
+        int hilos = 8;
+
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<RespuestaConsultaRUC>> futuros = new ArrayList<>();
+            for (int i = 0; i < hilos; i++) {
+                futuros.add(executor.submit(() -> cache.consultaRUC(RUC_EXISTENTE)));
+            }
+
+            long limite = System.currentTimeMillis() + 10_000;
+            while (cache.getConsultasAgrupadas() + cache.getAciertos() < hilos - 1 && System.currentTimeMillis() < limite) {
+                Thread.sleep(10);
+            }
+            bloqueo.countDown();
+
+            RespuestaConsultaRUC primera = futuros.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<RespuestaConsultaRUC> futuro : futuros) {
+                assertSame(primera, futuro.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, peticiones.get());
+        assertEquals(1, cache.getFallos());
+        assertEquals(hilos - 1, cache.getConsultasAgrupadas() + cache.getAciertos());
+    }
+
+    private static String respuesta(String codigo) {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                "<env:Envelope xmlns:env=\"http://www.w3.org/2003/05/soap-envelope\"><env:Header/><env:Body>" +
+                "<ns2:rResEnviConsRUC xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\"><ns2:dCodRes>" + codigo +
+                "</ns2:dCodRes><ns2:dMsgRes>Mensaje</ns2:dMsgRes></ns2:rResEnviConsRUC></env:Body></env:Envelope>";
+    }
+}
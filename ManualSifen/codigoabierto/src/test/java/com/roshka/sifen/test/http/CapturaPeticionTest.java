@@ -0,0 +1,113 @@
+package com.roshka.sifen.test.http;
+
+import com.roshka.sifen.Sifen;
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.response.RespuestaConsultaRUC;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class CapturaPeticionTest {
+    private static final String RESPUESTA = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "<env:Envelope xmlns:env=\"http://www.w3.org/2003/05/soap-envelope\"><env:Header/><env:Body>" +
+            "<ns2:rResEnviConsRUC xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\"><ns2:dCodRes>0502</ns2:dCodRes>" +
+            "<ns2:dMsgRes>RUC encontrado</ns2:dMsgRes></ns2:rResEnviConsRUC></env:Body></env:Envelope>";
+
+    private HttpServer server;
+    private SifenConfig sifenConfig;
+    private final AtomicReference<String> recibido = new AtomicReference<>();
+    private final AtomicInteger codigoEstado = new AtomicInteger(200);
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            try (InputStream is = exchange.getRequestBody()) {
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    baos.write(buffer, 0, read);
+                }
+                recibido.set(new String(baos.toByteArray(), StandardCharsets.UTF_8));
+            }
+
+            byte[] body = RESPUESTA.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(codigoEstado.get(), body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+
+        sifenConfig = new SifenConfig();
+        sifenConfig.setUsarCertificadoCliente(false);
+        sifenConfig.setUrlBase("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testCapturaSiempre() throws Exception {
+        RespuestaConsultaRUC respuesta = Sifen.consultaRUC("80089752", sifenConfig);
+        assertEquals("0502", respuesta.getdCodRes());
+        assertEquals(recibido.get(), respuesta.getRequestSent());
+        assertTrue(respuesta.getRequestSent().contains("<dRUCCons>80089752</dRUCCons>"));
+
+        respuesta.setRequestSent(null);
+        assertNull(respuesta.getRequestSent());
+    }
+
+    @Test
+    public void testCapturaNinguna() throws Exception {
+        sifenConfig.setCapturaPeticion(SifenConfig.CapturaPeticion.NINGUNA);
+        RespuestaConsultaRUC respuesta = Sifen.consultaRUC("80089752", sifenConfig);
+        assertEquals("0502", respuesta.getdCodRes());
+        assertNotNull(recibido.get());
+        assertNull(respuesta.getRequestSent());
+    }
+
+    @Test
+    public void testCapturaEnError() throws Exception {
+        sifenConfig.setCapturaPeticion(SifenConfig.CapturaPeticion.EN_ERROR);
+        assertNull(Sifen.consultaRUC("80089752", sifenConfig).getRequestSent());
+
+        codigoEstado.set(500);
+        RespuestaConsultaRUC respuesta = Sifen.consultaRUC("80089752", sifenConfig);
+        assertEquals(500, respuesta.getCodigoEstado());
+        assertEquals(recibido.get(), respuesta.getRequestSent());
+    }
+
+    @Test
+    public void testRespuestaBruta() throws Exception {
+        RespuestaConsultaRUC respuesta = Sifen.consultaRUC("80089752", sifenConfig);
+
+        ByteArrayOutputStream copia = new ByteArrayOutputStream();
+        try (InputStream is = respuesta.getRespuestaBrutaStream()) {
+            byte[] buffer = new byte[1024];
+            for (int read; (read = is.read(buffer)) != -1; ) {
+                copia.write(buffer, 0, read);
+            }
+        }
+        assertEquals(RESPUESTA, new String(copia.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(RESPUESTA, respuesta.getRespuestaBruta());
+
+        respuesta.setRespuestaBruta(null);
+        assertNull(respuesta.getRespuestaBruta());
+        assertNull(respuesta.getRespuestaBrutaStream());
+    }
+}
@@ -0,0 +1,132 @@
+package com.roshka.sifen.test.http;
+
+import com.roshka.sifen.ConsultorLoteDE;
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.core.exceptions.SifenExceptionCodes;
+import com.roshka.sifen.core.fields.response.batch.TgResProcLote;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class ConsultorLoteDETest {
+    private static final String CDC_APROBADO = "01800805534001002000000812024051011234567892";
+    private static final String CDC_RECHAZADO = "01800805534001002000000912024051011234567899";
+
+    private static final String RESPUESTA = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "<env:Envelope xmlns:env=\"http://www.w3.org/2003/05/soap-envelope\"><env:Header/><env:Body>" +
+            "<ns2:rResEnviConsLoteDe xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\">" +
+            "<ns2:dFecProc>2024-05-10T09:40:00-04:00</ns2:dFecProc><ns2:dCodResLot>%s</ns2:dCodResLot>" +
+            "<ns2:dMsgResLot>%s</ns2:dMsgResLot>%s</ns2:rResEnviConsLoteDe></env:Body></env:Envelope>";
+    private static final String RESULTADOS = "<ns2:gResProcLote><ns2:id>" + CDC_APROBADO + "</ns2:id>" +
+            "<ns2:dEstRes>Aprobado</ns2:dEstRes><ns2:dProtAut>1234</ns2:dProtAut>" +
+            "<ns2:gResProc><ns2:dCodRes>0260</ns2:dCodRes><ns2:dMsgRes>Autorización del DE satisfactoria</ns2:dMsgRes></ns2:gResProc>" +
+            "</ns2:gResProcLote><ns2:gResProcLote><ns2:id>" + CDC_RECHAZADO + "</ns2:id><ns2:dEstRes>Rechazado</ns2:dEstRes>" +
+            "<ns2:gResProc><ns2:dCodRes>1001</ns2:dCodRes><ns2:dMsgRes>CDC duplicado</ns2:dMsgRes></ns2:gResProc></ns2:gResProcLote>";
+
+    private HttpServer server;
+    private SifenConfig sifenConfig;
+    private final Map<String, AtomicInteger> consultas = new ConcurrentHashMap<>();
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            String request;
+            try (InputStream is = exchange.getRequestBody()) {
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    baos.write(buffer, 0, read);
+                }
+                request = new String(baos.toByteArray(), StandardCharsets.UTF_8);
+            }
+
+            String nroLote = request.substring(request.indexOf("<dProtConsLote>") + "<dProtConsLote>".length(), request.indexOf("</dProtConsLote>"));
+            int consulta = consultas.computeIfAbsent(nroLote, k -> new AtomicInteger()).incrementAndGet();
+
+            String respuesta;
+            if (!nroLote.equals("1")) {
+                respuesta = String.format(RESPUESTA, "0360", "Número de Lote inexistente", "");
+            } else if (consulta < 3) {
+                respuesta = String.format(RESPUESTA, ConsultorLoteDE.LOTE_EN_PROCESAMIENTO, "Lote en procesamiento", "");
+            } else {
+                respuesta = String.format(RESPUESTA, ConsultorLoteDE.LOTE_CONCLUIDO, "Lote procesado", RESULTADOS);
+            }
+
+            byte[] body = respuesta.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+
+        sifenConfig = new SifenConfig();
+        sifenConfig.setUsarCertificadoCliente(false);
+        sifenConfig.setUrlBase("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testConsultaUnicaPorLote() throws Exception {
+        try (ConsultorLoteDE consultor = new ConsultorLoteDE(sifenConfig, 20, 100)) {
+            Map<String, CompletableFuture<TgResProcLote>> futures = consultor.seguimiento("1", Arrays.asList(CDC_APROBADO, CDC_RECHAZADO));
+            CompletableFuture<TgResProcLote> repetido = consultor.seguimiento("1", CDC_APROBADO);
+            assertSame(futures.get(CDC_APROBADO), repetido);
+            assertEquals(1, consultor.getLotesPendientes());
+
+            TgResProcLote aprobado = futures.get(CDC_APROBADO).get(30, TimeUnit.SECONDS);
+            assertEquals("Aprobado", aprobado.getdEstRes());
+            assertEquals("0260", aprobado.getgResProc().get(0).getdCodRes());
+
+            TgResProcLote rechazado = futures.get(CDC_RECHAZADO).get(30, TimeUnit.SECONDS);
+            assertEquals("Rechazado", rechazado.getdEstRes());
+            assertEquals("1001", rechazado.getgResProc().get(0).getdCodRes());
+
+            // Dos consultas en procesamiento y una con el resultado, compartidas por ambos DE
+            assertEquals(3, consultas.get("1").get());
+            assertEquals(0, consultor.getLotesPendientes());
+        }
+    }
+
+    @Test
+    public void testLoteInexistente() throws Exception {
+        try (ConsultorLoteDE consultor = new ConsultorLoteDE(sifenConfig, 20, 100)) {
+            consultor.seguimiento("2", CDC_APROBADO).get(30, TimeUnit.SECONDS);
+            fail("Se esperaba un error de consulta de lote");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof SifenException);
+            assertEquals(SifenExceptionCodes.BATCH_QUERY_ERROR_CODE, ((SifenException) e.getCause()).getCode());
+        }
+    }
+
+    @Test
+    public void testCdcAusenteEnResultado() throws Exception {
+        try (ConsultorLoteDE consultor = new ConsultorLoteDE(sifenConfig, 20, 100)) {
+            consultor.seguimiento("1", "01800805534001002000001012024051011234567895").get(30, TimeUnit.SECONDS);
+            fail("Se esperaba un error de consulta de lote");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof SifenException);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.roshka.sifen.test.http;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.internal.helpers.SSLContextHelper;
+import com.roshka.sifen.internal.transport.PoolStats;
+import com.roshka.sifen.internal.transport.PooledHttpTransport;
+import com.roshka.sifen.internal.transport.TransportResponse;
+import com.roshka.sifen.test.mock.ServidorSifenSimulado;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class PooledHttpTransportTest {
+    private HttpServer server;
+    private PooledHttpTransport transport;
+    private SifenConfig sifenConfig;
+    private String baseUrl;
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/eco", exchange -> {
+            byte[] body = readAll(exchange.getRequestBody());
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.createContext("/cerrar", exchange -> {
+            byte[] body = readAll(exchange.getRequestBody());
+            exchange.getResponseHeaders().add("Connection", "close");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        server.start();
+
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        transport = new PooledHttpTransport();
+        sifenConfig = new SifenConfig();
+        sifenConfig.setUsarCertificadoCliente(false);
+    }
+
+    @After
+    public void tearDown() {
+        transport.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void testReutilizaConexion() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            byte[] body = ("<rEnviDe>" + i + "</rEnviDe>").getBytes(StandardCharsets.UTF_8);
+            TransportResponse response = transport.send(sifenConfig, new URL(baseUrl + "/eco"), body);
+            assertEquals(200, response.getStatus());
+            assertEquals(new String(body, StandardCharsets.UTF_8), new String(response.getBody(), StandardCharsets.UTF_8));
+        }
+
+        PoolStats stats = transport.getStats().get(0);
+        assertEquals(1, stats.getCreated());
+        assertEquals(2, stats.getReused());
+        assertEquals(0, stats.getLeased());
+        assertEquals(1, stats.getAvailable());
+    }
+
+    @Test
+    public void testConnectionCloseNoReutiliza() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            TransportResponse response = transport.send(sifenConfig, new URL(baseUrl + "/cerrar"), "<a/>".getBytes(StandardCharsets.UTF_8));
+            assertEquals(200, response.getStatus());
+        }
+
+        PoolStats stats = transport.getStats().get(0);
+        assertEquals(2, stats.getCreated());
+        assertEquals(0, stats.getReused());
+        assertEquals(0, stats.getAvailable());
+    }
+
+    @Test
+    public void testPoolPorConfiguracionYDescarteSinUso() throws Exception {
+        SifenConfig otraConfig = new SifenConfig();
+        otraConfig.setUsarCertificadoCliente(false);
+        otraConfig.setHttpPoolMaxConexionesPorHost(2);
+        otraConfig.setHttpPoolTiempoInactividad(50);
+
+        byte[] body = "<a/>".getBytes(StandardCharsets.UTF_8);
+        transport.send(sifenConfig, new URL(baseUrl + "/eco"), body);
+        transport.send(otraConfig, new URL(baseUrl + "/eco"), body);
+
+        // Cada configuración tiene su propio pool, con sus propios límites
+        List<PoolStats> stats = transport.getStats();
+        assertEquals(2, stats.size());
+        assertTrue(stats.stream().anyMatch(s -> s.getMax() == sifenConfig.getHttpPoolMaxConexionesPorHost()));
+        assertTrue(stats.stream().anyMatch(s -> s.getMax() == 2));
+
+        // El pool sin uso se descarta luego de su tiempo de inactividad; el otro se conserva
+        Thread.sleep(150);
+        transport.evictExpired();
+        assertEquals(1, transport.getStats().size());
+        assertEquals(sifenConfig.getHttpPoolMaxConexionesPorHost(), transport.getStats().get(0).getMax());
+    }
+
+    @Test
+    public void testNoRepiteLaPeticionYaEnviada() throws Exception {
+        AtomicInteger recibidas = new AtomicInteger();
+        try (ServerSocket servidor = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"))) {
+            // Cierra la conexión sin responder la segunda petición; responde todas las demás
+            Thread thread = new Thread(() -> {
+                while (!servidor.isClosed()) {
+                    try (Socket socket = servidor.accept()) {
+                        InputStream in = socket.getInputStream();
+                        OutputStream out = socket.getOutputStream();
+                        while (true) {
+                            int contentLength = 0;
+                            for (String linea; !(linea = leerLinea(in)).isEmpty(); ) {
+                                if (linea.toLowerCase().startsWith("content-length:")) {
+                                    contentLength = Integer.parseInt(linea.substring(15).trim());
+                                }
+                            }
+                            for (int j = 0; j < contentLength; j++) {
+                                in.read();
+                            }
+                            if (recibidas.incrementAndGet() == 2) {
+                                break;
+                            }
+                            out.write("HTTP/1.1 200 OK\r\nContent-Length: 4\r\n\r\n<a/>".getBytes(StandardCharsets.ISO_8859_1));
+                            out.flush();
+                        }
+                    } catch (IOException | RuntimeException ignored) {
+                    }
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+
+            URL url = new URL("http://127.0.0.1:" + servidor.getLocalPort() + "/recibe");
+            byte[] body = "<rEnviDe/>".getBytes(StandardCharsets.UTF_8);
+            assertEquals(200, transport.send(sifenConfig, url, body).getStatus());
+            try {
+                transport.send(sifenConfig, url, body);
+                fail("Se esperaba un error de entrada/salida");
+            } catch (IOException expected) {
+            }
+        }
+
+        // La segunda petición llegó al servidor, por lo que no se reintenta
+        assertEquals(2, recibidas.get());
+    }
+
+    @Test
+    public void testContentLengthExcesivo() throws Exception {
+        try (ServerSocket servidor = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"))) {
+            Thread thread = new Thread(() -> {
+                try (Socket socket = servidor.accept()) {
+                    InputStream in = socket.getInputStream();
+                    while (!leerLinea(in).isEmpty()) ;
+                    // Un Content-Length que no se corresponde con el cuerpo no debe reservar 2 GB
+                    OutputStream out = socket.getOutputStream();
+                    out.write(("HTTP/1.1 200 OK\r\nContent-Length: " + Integer.MAX_VALUE + "\r\n\r\nincompleto")
+                            .getBytes(StandardCharsets.US_ASCII));
+                    out.flush();
+                } catch (IOException ignored) {
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+
+            URL url = new URL("http://127.0.0.1:" + servidor.getLocalPort() + "/eco");
+            try {
+                transport.send(sifenConfig, url, new byte[0]);
+                fail("Se esperaba el fin de la conexión antes del cuerpo completo");
+            } catch (IOException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains(String.valueOf(Integer.MAX_VALUE)));
+            }
+        }
+    }
+
+    @Test
+    public void testTunelPorProxy() throws Exception {
+        List<String> tuneles = new CopyOnWriteArrayList<>();
+        ProxySelector anterior = ProxySelector.getDefault();
+        try (ServidorSifenSimulado servidor = new ServidorSifenSimulado();
+             ServerSocket proxy = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"))) {
+            servidor.configurarConfianzaCliente();
+            iniciarProxyTunel(proxy, tuneles);
+            ProxySelector.setDefault(new ProxySelector() {
+                @Override
+                public List<Proxy> select(URI uri) {
+                    return Collections.singletonList(new Proxy(Proxy.Type.HTTP, new InetSocketAddress("127.0.0.1", proxy.getLocalPort())));
+                }
+
+                @Override
+                public void connectFailed(URI uri, SocketAddress sa, IOException ioe) {
+                }
+            });
+
+            SifenConfig config = servidor.crearSifenConfig();
+            URL url = new URL(servidor.getUrlBase() + config.getPathConsultaRUC());
+            byte[] body = "<rEnviConsRUC><dRUCCons>80089752</dRUCCons></rEnviConsRUC>".getBytes(StandardCharsets.UTF_8);
+            for (int i = 0; i < 2; i++) {
+                TransportResponse response = transport.send(config, url, body);
+                assertEquals(200, response.getStatus());
+                assertTrue(new String(response.getBody(), StandardCharsets.UTF_8).contains("<ns2:dCodRes>0502</ns2:dCodRes>"));
+            }
+
+            // Un único túnel, reutilizado por la segunda petición
+            assertEquals(Collections.singletonList("CONNECT " + url.getHost() + ":" + url.getPort() + " HTTP/1.1"), tuneles);
+        } finally {
+            ProxySelector.setDefault(anterior);
+            SSLContextHelper.invalidateContext();
+        }
+    }
+
+    /**
+     * Proxy HTTP mínimo que solo atiende el método CONNECT, y registra la primera línea de cada petición.
+     */
+    private static void iniciarProxyTunel(ServerSocket proxy, List<String> tuneles) {
+        Thread thread = new Thread(() -> {
+            while (!proxy.isClosed()) {
+                try {
+                    Socket cliente = proxy.accept();
+                    InputStream in = cliente.getInputStream();
+                    String primeraLinea = leerLinea(in);
+                    while (!leerLinea(in).isEmpty()) ;
+                    tuneles.add(primeraLinea);
+
+                    String[] destino = primeraLinea.split(" ")[1].split(":");
+                    Socket servidor = new Socket(destino[0], Integer.parseInt(destino[1]));
+                    cliente.getOutputStream().write("HTTP/1.1 200 Connection established\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+                    copiar(cliente, servidor);
+                    copiar(servidor, cliente);
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }, "proxy-tunel");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void copiar(Socket origen, Socket destino) {
+        Thread thread = new Thread(() -> {
+            try (InputStream in = origen.getInputStream(); OutputStream out = destino.getOutputStream()) {
+                byte[] buffer = new byte[8192];
+                for (int read; (read = in.read(buffer)) != -1; ) {
+                    out.write(buffer, 0, read);
+                    out.flush();
+                }
+            } catch (IOException ignored) {
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static String leerLinea(InputStream in) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int b; (b = in.read()) != -1 && b != '\n'; ) {
+            if (b != '\r') sb.append((char) b);
+        }
+        return sb.toString();
+    }
+
+    private static byte[] readAll(InputStream is) throws java.io.IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        for (int read; (read = is.read(buffer)) != -1; ) {
+            baos.write(buffer, 0, read);
+        }
+        return baos.toByteArray();
+    }
+}
@@ -0,0 +1,87 @@
+package com.roshka.sifen.test.http;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.internal.helpers.SSLContextHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.net.ssl.SSLContext;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class SSLContextHelperTest {
+    private File certificateFile;
+
+    @Before
+    public void setUp() throws Exception {
+        certificateFile = File.createTempFile("prueba", ".p12");
+        try (InputStream is = getClass().getResourceAsStream("/tests/certificados/prueba.p12")) {
+            Files.copy(is, certificateFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        SSLContextHelper.invalidateContext();
+    }
+
+    @After
+    public void tearDown() {
+        SSLContextHelper.invalidateContext();
+        certificateFile.delete();
+    }
+
+    @Test
+    public void testContextoPorCertificado() throws Exception {
+        String base64 = Base64.getEncoder().encodeToString(Files.readAllBytes(certificateFile.toPath()));
+
+        SSLContext fromFile = SSLContextHelper.getContextFromConfig(createConfig(certificateFile.getAbsolutePath()));
+        SSLContext fromBase64 = SSLContextHelper.getContextFromConfig(createConfig(base64));
+
+        assertSame(fromFile, SSLContextHelper.getContextFromConfig(createConfig(certificateFile.getAbsolutePath())));
+        assertSame(fromBase64, SSLContextHelper.getContextFromConfig(createConfig(base64)));
+        assertNotSame(fromFile, fromBase64);
+    }
+
+    @Test
+    public void testContextoPorDefecto() throws Exception {
+        SifenConfig sifenConfig = new SifenConfig();
+        sifenConfig.setUsarCertificadoCliente(false);
+
+        assertSame(SSLContext.getDefault(), SSLContextHelper.getContextFromConfig(sifenConfig));
+        assertSame(SSLContextHelper.getSocketFactoryFromConfig(sifenConfig), SSLContextHelper.getSocketFactoryFromConfig(sifenConfig));
+    }
+
+    @Test
+    public void testConstruccionConcurrente() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<SSLContext>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return SSLContextHelper.getContextFromConfig(createConfig(certificateFile.getAbsolutePath()));
+                }));
+            }
+            start.countDown();
+
+            SSLContext first = futures.get(0).get(30, TimeUnit.SECONDS);
+            for (Future<SSLContext> future : futures) {
+                assertSame(first, future.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static SifenConfig createConfig(String certificado) {
+        return new SifenConfig(SifenConfig.TipoAmbiente.DEV, SifenConfig.TipoCertificadoCliente.PFX, certificado, "123456");
+    }
+}
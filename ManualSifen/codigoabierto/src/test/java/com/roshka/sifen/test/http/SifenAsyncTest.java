@@ -0,0 +1,107 @@
+package com.roshka.sifen.test.http;
+
+import com.roshka.sifen.SifenAsync;
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.response.RespuestaConsultaRUC;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SifenAsyncTest {
+    private static final String RESPUESTA = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "<env:Envelope xmlns:env=\"http://www.w3.org/2003/05/soap-envelope\"><env:Header/><env:Body>" +
+            "<ns2:rResEnviConsRUC xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\"><ns2:dCodRes>0502</ns2:dCodRes>" +
+            "<ns2:dMsgRes>RUC encontrado</ns2:dMsgRes></ns2:rResEnviConsRUC></env:Body></env:Envelope>";
+
+    private HttpServer server;
+    private SifenConfig sifenConfig;
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            int current = concurrent.incrementAndGet();
+            maxConcurrent.accumulateAndGet(current, Math::max);
+            try (InputStream is = exchange.getRequestBody()) {
+                while (is.read() != -1) ;
+                Thread.sleep(100);
+                byte[] body = RESPUESTA.getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrent.decrementAndGet();
+            }
+        });
+        server.start();
+
+        sifenConfig = new SifenConfig();
+        sifenConfig.setUsarCertificadoCliente(false);
+        sifenConfig.setUrlBase("http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testLimitePeticionesEnCurso() throws Exception {
+        try (SifenAsync sifenAsync = new SifenAsync(2)) {
+            List<CompletableFuture<RespuestaConsultaRUC>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(sifenAsync.consultaRUC("80089752", sifenConfig));
+            }
+
+            for (CompletableFuture<RespuestaConsultaRUC> future : futures) {
+                assertEquals(200, future.get(30, TimeUnit.SECONDS).getCodigoEstado());
+            }
+            assertTrue(maxConcurrent.get() <= 2);
+            assertEquals(0, sifenAsync.getPeticionesEnCurso());
+            assertEquals(0, sifenAsync.getPeticionesEnEspera());
+        }
+    }
+
+    @Test
+    public void testLugarLiberadoAlCompletar() throws Exception {
+        try (SifenAsync sifenAsync = new SifenAsync(1)) {
+            // Las etapas dependientes se ejecutan al completar el future, y ya deben ver la petición como finalizada
+            CompletableFuture<Integer> enCurso = sifenAsync.consultaRUC("80089752", sifenConfig)
+                    .thenApply(respuesta -> sifenAsync.getPeticionesEnCurso());
+
+            assertEquals(Integer.valueOf(0), enCurso.get(30, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testSinConfiguracion() throws Exception {
+        try (SifenAsync sifenAsync = new SifenAsync()) {
+            sifenAsync.consultaRUC("80089752", null).get(30, TimeUnit.SECONDS);
+            fail("Se esperaba un error de configuración");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof SifenException);
+        }
+    }
+}
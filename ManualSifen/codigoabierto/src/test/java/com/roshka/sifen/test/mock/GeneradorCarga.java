@@ -0,0 +1,181 @@
+package com.roshka.sifen.test.mock;
+
+import com.roshka.sifen.Sifen;
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.internal.response.BaseResponse;
+import com.roshka.sifen.test.de.DEFixtures;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Ejecuta una operación del cliente desde varios hilos a la vez, y mide el rendimiento obtenido y la latencia de cada
+ * petición. Una petición es un error si lanza una excepción, o si Sifen responde con un código HTTP distinto de 2xx.
+ * <p>
+ * Desde la línea de comandos, somete al cliente a carga contra un {@link ServidorSifenSimulado} con TLS:
+ * <pre>
+ * GeneradorCarga [hilos] [peticiones] [latenciaMinimaMs] [latenciaMaximaMs] [tasaError]
+ * </pre>
+ */
+public class GeneradorCarga {
+    private final int hilos;
+    private final int peticiones;
+
+    /**
+     * Operación a medir. El índice identifica a cada petición, entre 0 y la cantidad de peticiones menos 1.
+     */
+    public interface Operacion {
+        BaseResponse ejecutar(int indice) throws Exception;
+    }
+
+    public GeneradorCarga(int hilos, int peticiones) {
+        if (hilos < 1 || peticiones < 1) {
+            throw new IllegalArgumentException("La cantidad de hilos y de peticiones debe ser mayor a 0.");
+        }
+        this.hilos = hilos;
+        this.peticiones = peticiones;
+    }
+
+    /**
+     * Ejecuta la operación la cantidad de veces configurada, repartida entre los hilos.
+     *
+     * @return Resultado de la ejecución.
+     */
+    public Resultado ejecutar(Operacion operacion) throws InterruptedException {
+        long[] latencias = new long[peticiones];
+        AtomicInteger siguiente = new AtomicInteger();
+        AtomicInteger errores = new AtomicInteger();
+
+        List<Thread> threads = new ArrayList<>(hilos);
+        for (int i = 0; i < hilos; i++) {
+            Thread thread = new Thread(() -> {
+                int indice;
+                while ((indice = siguiente.getAndIncrement()) < peticiones) {
+                    long inicio = System.nanoTime();
+                    try {
+                        BaseResponse respuesta = operacion.ejecutar(indice);
+                        if (respuesta == null || respuesta.getCodigoEstado() / 100 != 2) {
+                            errores.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errores.incrementAndGet();
+                    }
+                    latencias[indice] = System.nanoTime() - inicio;
+                }
+            }, "sifen-carga-" + (i + 1));
+            thread.setDaemon(true);
+            threads.add(thread);
+        }
+
+        long inicio = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long duracion = System.nanoTime() - inicio;
+
+        return new Resultado(latencias, errores.get(), duracion);
+    }
+
+    /**
+     * Resultado de una ejecución. Las latencias se informan en milisegundos.
+     */
+    public static class Resultado {
+        private final long[] latencias;
+        private final int errores;
+        private final long duracionNanos;
+
+        Resultado(long[] latencias, int errores, long duracionNanos) {
+            this.latencias = latencias.clone();
+            Arrays.sort(this.latencias);
+            this.errores = errores;
+            this.duracionNanos = duracionNanos;
+        }
+
+        public int getPeticiones() {
+            return latencias.length;
+        }
+
+        public int getErrores() {
+            return errores;
+        }
+
+        public double getDuracionMillis() {
+            return duracionNanos / 1_000_000.0;
+        }
+
+        /**
+         * @return Peticiones completadas por segundo, incluidas las que terminaron en error.
+         */
+        public double getPeticionesPorSegundo() {
+            return latencias.length / (duracionNanos / 1_000_000_000.0);
+        }
+
+        /**
+         * @param percentil Percentil entre 0 y 100.
+         * @return Latencia del percentil, por el método del rango más cercano.
+         */
+        public double getPercentil(double percentil) {
+            int rango = (int) Math.ceil(percentil / 100 * latencias.length);
+            return latencias[Math.min(latencias.length - 1, Math.max(0, rango - 1))] / 1_000_000.0;
+        }
+
+        public double getP50() {
+            return getPercentil(50);
+        }
+
+        public double getP99() {
+            return getPercentil(99);
+        }
+
+        public double getMaximo() {
+            return latencias[latencias.length - 1] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("peticiones=%d, errores=%d, duración=%.0f ms, rendimiento=%.1f pet/s, " +
+                            "p50=%.2f ms, p99=%.2f ms, máx=%.2f ms",
+                    getPeticiones(), errores, getDuracionMillis(), getPeticionesPorSegundo(), getP50(), getP99(), getMaximo());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int hilos = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int peticiones = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        long latenciaMinima = args.length > 2 ? Long.parseLong(args[2]) : 5;
+        long latenciaMaxima = args.length > 3 ? Long.parseLong(args[3]) : 20;
+        double tasaError = args.length > 4 ? Double.parseDouble(args[4]) : 0;
+
+        // Los mensajes del cliente, uno o más por petición, distorsionan la medición
+        Logger.getLogger("").setLevel(Level.SEVERE);
+        Arrays.stream(Logger.getLogger("").getHandlers()).forEach(h -> h.setLevel(Level.SEVERE));
+
+        try (ServidorSifenSimulado servidor = new ServidorSifenSimulado(true, Math.max(32, hilos * 2))) {
+            servidor.configurarConfianzaCliente();
+            servidor.setLatencia(latenciaMinima, latenciaMaxima);
+            servidor.setTasaError(tasaError);
+            SifenConfig sifenConfig = servidor.crearSifenConfig();
+
+            System.out.println("Servidor simulado en " + servidor.getUrlBase() + ", " + hilos + " hilos, latencia "
+                    + latenciaMinima + "-" + latenciaMaxima + " ms, tasa de error " + tasaError);
+
+            // Calentamiento: carga de clases, contexto SSL y conexiones
+            new GeneradorCarga(hilos, hilos * 10).ejecutar(i -> Sifen.consultaRUC("80089752", sifenConfig));
+
+            Resultado consultaRUC = new GeneradorCarga(hilos, peticiones)
+                    .ejecutar(i -> Sifen.consultaRUC(String.valueOf(80_000_000 + i), sifenConfig));
+            System.out.println("consultaRUC:  " + consultaRUC);
+
+            Resultado recepcionDE = new GeneradorCarga(hilos, peticiones)
+                    .ejecutar(i -> Sifen.recepcionDE(DEFixtures.createFacturaElectronica(String.format("%07d", i + 1), 5), sifenConfig));
+            System.out.println("recepcionDE:  " + recepcionDE);
+        }
+    }
+}
@@ -0,0 +1,561 @@
+package com.roshka.sifen.test.mock;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.internal.helpers.SSLContextHelper;
+import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.test.de.DEFixtures;
+import com.sun.net.httpserver.*;
+
+import javax.net.ssl.*;
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Servidor SOAP local que simula los servicios web de Sifen, para probar el cliente de punta a punta y someterlo a
+ * carga sin depender del ambiente de pruebas de la SET.
+ * <p>
+ * Atiende las mismas rutas que {@link SifenConfig} utiliza por defecto, y responde con los nodos principales del
+ * esquema de Sifen: rRetEnviDe, rResEnviLoteDe, rRetEnviEventoDe, rResEnviConsLoteDe, rResEnviConsRUC y
+ * rEnviConsDeResponse. Todos los DE y eventos recibidos se aprueban; los CDC se recuerdan para responder las consultas
+ * de lote y de DE posteriores.
+ * <p>
+ * Con TLS, el servidor exige el certificado de cliente de los tests ({@link DEFixtures#CERTIFICADO}), igual que
+ * Sifen exige el certificado del contribuyente. Para que el cliente confíe en el certificado del servidor, se debe
+ * llamar a {@link #configurarConfianzaCliente()}.
+ * <p>
+ * La latencia, la tasa de errores y el límite de peticiones por segundo se pueden cambiar mientras el servidor está
+ * en ejecución.
+ */
+public class ServidorSifenSimulado implements AutoCloseable {
+    public static final String CERTIFICADO_SERVIDOR = "/tests/certificados/servidor-simulado.p12";
+    public static final String CONTRASENA_SERVIDOR = "123456";
+
+    private static final String SOAP_ENV = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+            "<env:Envelope xmlns:env=\"http://www.w3.org/2003/05/soap-envelope\"><env:Header/><env:Body>";
+    private static final String SOAP_ENV_FIN = "</env:Body></env:Envelope>";
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX");
+    private static final ZoneId ZONA_HORARIA = ZoneId.of("America/Asuncion");
+
+    private static final Pattern CDC_PATTERN = Pattern.compile("<(?:\\w+:)?DE\\s[^>]*\\bId=\"(\\d{44})\"");
+    private static final Pattern DIGEST_VALUE_PATTERN = Pattern.compile("<(?:\\w+:)?DigestValue>([^<]*)<");
+    private static final Pattern EVENTO_ID_PATTERN = Pattern.compile("<(?:\\w+:)?rEve\\s[^>]*\\bId=\"([^\"]*)\"");
+    private static final Pattern XDE_PATTERN = Pattern.compile("<(?:\\w+:)?xDE>([^<]*)<");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final boolean tls;
+
+    private final AtomicLong protocolos = new AtomicLong(System.currentTimeMillis() % 1_000_000_000L * 1000);
+    private final Map<String, Lote> lotes = new ConcurrentHashMap<>();
+    private final Set<String> cdcsRecibidos = ConcurrentHashMap.newKeySet();
+
+    private volatile long latenciaMinima;
+    private volatile long latenciaMaxima;
+    private volatile double tasaError;
+    private volatile int limitePeticionesPorSegundo;
+    private volatile long tiempoProcesamientoLote;
+
+    private long ventanaActual;
+    private int peticionesEnVentana;
+
+    private final AtomicInteger peticiones = new AtomicInteger();
+    private final AtomicInteger erroresSimulados = new AtomicInteger();
+    private final AtomicInteger peticionesLimitadas = new AtomicInteger();
+
+    private Path trustStoreCliente;
+    private Map<String, String> propiedadesAnteriores;
+
+    /**
+     * Crea e inicia un servidor con TLS y autenticación mutua, con 32 hilos.
+     */
+    public ServidorSifenSimulado() throws IOException {
+        this(true, 32);
+    }
+
+    /**
+     * Crea e inicia el servidor en un puerto libre de 127.0.0.1.
+     *
+     * @param tls   Si es verdadero, el servidor atiende HTTPS y exige el certificado de cliente de los tests; si no,
+     *              atiende HTTP plano.
+     * @param hilos Cantidad de hilos que atienden las peticiones. Con latencia simulada, limita cuántas peticiones se
+     *              procesan a la vez.
+     */
+    public ServidorSifenSimulado(boolean tls, int hilos) throws IOException {
+        this.tls = tls;
+
+        InetSocketAddress direccion = new InetSocketAddress("127.0.0.1", 0);
+        if (tls) {
+            HttpsServer httpsServer = HttpsServer.create(direccion, 256);
+            httpsServer.setHttpsConfigurator(new HttpsConfigurator(crearContextoSSL()) {
+                @Override
+                public void configure(HttpsParameters params) {
+                    SSLParameters sslParameters = getSSLContext().getDefaultSSLParameters();
+                    sslParameters.setNeedClientAuth(true);
+                    params.setSSLParameters(sslParameters);
+                }
+            });
+            server = httpsServer;
+        } else {
+            server = HttpServer.create(direccion, 256);
+        }
+
+        SifenConfig rutas = new SifenConfig();
+        server.createContext(rutas.getPathRecibe(), new Manejador(this::recibeDE));
+        server.createContext(rutas.getPathRecibeLote(), new Manejador(this::recibeLote));
+        server.createContext(rutas.getPathEvento(), new Manejador(this::recibeEvento));
+        server.createContext(rutas.getPathConsultaLote(), new Manejador(this::consultaLote));
+        server.createContext(rutas.getPathConsultaRUC(), new Manejador(this::consultaRUC));
+        server.createContext(rutas.getPathConsulta(), new Manejador(this::consultaDE));
+
+        AtomicInteger contador = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(hilos, r -> {
+            Thread thread = new Thread(r, "sifen-simulado-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * @return URL base del servidor, para {@link SifenConfig#setUrlBase(String)}.
+     */
+    public String getUrlBase() {
+        return (tls ? "https" : "http") + "://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Crea una configuración que apunta a este servidor, con el certificado de los tests para firmar los DE y, con
+     * TLS, para autenticarse ante el servidor.
+     */
+    public SifenConfig crearSifenConfig() throws IOException {
+        SifenConfig sifenConfig = DEFixtures.createSifenConfig();
+        sifenConfig.setUrlBase(getUrlBase());
+        return sifenConfig;
+    }
+
+    /**
+     * Hace que el cliente confíe en el certificado de este servidor, a través de las propiedades del sistema
+     * javax.net.ssl.trustStore*, que son las que utilizan los contextos SSL de la librería. Las propiedades anteriores
+     * se restauran al cerrar el servidor.
+     */
+    public synchronized void configurarConfianzaCliente() throws IOException {
+        if (!tls || trustStoreCliente != null) {
+            return;
+        }
+
+        try {
+            KeyStore trustStore = KeyStore.getInstance("JKS");
+            trustStore.load(null, null);
+            trustStore.setCertificateEntry("servidor-simulado", cargarCertificado(CERTIFICADO_SERVIDOR, CONTRASENA_SERVIDOR));
+
+            trustStoreCliente = Files.createTempFile("sifen-simulado", ".jks");
+            try (OutputStream os = Files.newOutputStream(trustStoreCliente)) {
+                trustStore.store(os, CONTRASENA_SERVIDOR.toCharArray());
+            }
+        } catch (Exception e) {
+            throw new IOException("No se pudo crear el almacén de confianza del cliente: " + e.getLocalizedMessage(), e);
+        }
+
+        propiedadesAnteriores = new HashMap<>();
+        cambiarPropiedad("javax.net.ssl.trustStore", trustStoreCliente.toString());
+        cambiarPropiedad("javax.net.ssl.trustStorePassword", CONTRASENA_SERVIDOR);
+        cambiarPropiedad("javax.net.ssl.trustStoreType", "JKS");
+        SSLContextHelper.invalidateContext();
+    }
+
+    /**
+     * Establece una latencia aleatoria, uniforme entre ambos valores, que se agrega a cada respuesta.
+     */
+    public void setLatencia(long minimaMillis, long maximaMillis) {
+        if (minimaMillis < 0 || maximaMillis < minimaMillis) {
+            throw new IllegalArgumentException("La latencia debe cumplir 0 <= mínima <= máxima.");
+        }
+        this.latenciaMinima = minimaMillis;
+        this.latenciaMaxima = maximaMillis;
+    }
+
+    /**
+     * Establece la proporción de peticiones, entre 0 y 1, que se responden con un SOAP Fault y el código HTTP 500.
+     */
+    public void setTasaError(double tasaError) {
+        if (tasaError < 0 || tasaError > 1) {
+            throw new IllegalArgumentException("La tasa de error debe estar entre 0 y 1.");
+        }
+        this.tasaError = tasaError;
+    }
+
+    /**
+     * Establece la cantidad máxima de peticiones aceptadas por segundo; las demás se responden con el código HTTP 429.
+     * Con 0, no hay límite.
+     */
+    public void setLimitePeticionesPorSegundo(int limitePeticionesPorSegundo) {
+        this.limitePeticionesPorSegundo = Math.max(0, limitePeticionesPorSegundo);
+    }
+
+    /**
+     * Establece el tiempo que un lote permanece "en procesamiento" luego de recibido, antes de que su consulta
+     * informe el resultado de cada DE.
+     */
+    public void setTiempoProcesamientoLote(long millis) {
+        this.tiempoProcesamientoLote = Math.max(0, millis);
+    }
+
+    /**
+     * @return Cantidad de peticiones recibidas, incluidas las que terminaron en error simulado o fueron limitadas.
+     */
+    public int getPeticiones() {
+        return peticiones.get();
+    }
+
+    public int getErroresSimulados() {
+        return erroresSimulados.get();
+    }
+
+    public int getPeticionesLimitadas() {
+        return peticionesLimitadas.get();
+    }
+
+    @Override
+    public synchronized void close() {
+        server.stop(0);
+        executor.shutdownNow();
+
+        if (propiedadesAnteriores != null) {
+            for (Map.Entry<String, String> propiedad : propiedadesAnteriores.entrySet()) {
+                if (propiedad.getValue() == null) {
+                    System.clearProperty(propiedad.getKey());
+                } else {
+                    System.setProperty(propiedad.getKey(), propiedad.getValue());
+                }
+            }
+            propiedadesAnteriores = null;
+            SSLContextHelper.invalidateContext();
+        }
+        if (trustStoreCliente != null) {
+            try {
+                Files.deleteIfExists(trustStoreCliente);
+            } catch (IOException ignored) {
+            }
+            trustStoreCliente = null;
+        }
+    }
+
+    // Servicios
+
+    private String recibeDE(String peticion) {
+        String cdc = buscar(CDC_PATTERN, peticion);
+        if (cdc == null) {
+            return "<ns2:rRetEnviDe xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\"><ns2:rProtDe>" +
+                    "<ns2:dFecProc>" + ahora() + "</ns2:dFecProc><ns2:dEstRes>Rechazado</ns2:dEstRes>" +
+                    resultado("0160", "XML Mal Formado.") + "</ns2:rProtDe></ns2:rRetEnviDe>";
+        }
+
+        cdcsRecibidos.add(cdc);
+        return "<ns2:rRetEnviDe xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\"><ns2:rProtDe>" +
+                "<ns2:Id>" + cdc + "</ns2:Id>" +
+                "<ns2:dFecProc>" + ahora() + "</ns2:dFecProc>" +
+                "<ns2:dDigVal>" + SifenUtil.coalesce(buscar(DIGEST_VALUE_PATTERN, peticion), "") + "</ns2:dDigVal>" +
+                "<ns2:dEstRes>Aprobado</ns2:dEstRes>" +
+                "<ns2:dProtAut>" + protocolos.incrementAndGet() + "</ns2:dProtAut>" +
+                resultado("0260", "Autorización del DE satisfactoria") +
+                "</ns2:rProtDe></ns2:rRetEnviDe>";
+    }
+
+    private String recibeLote(String peticion) throws IOException {
+        String xDE = buscar(XDE_PATTERN, peticion);
+        List<String> cdcs = new ArrayList<>();
+        if (xDE != null) {
+            try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(Base64.getMimeDecoder().decode(xDE)))) {
+                ZipEntry entry;
+                while ((entry = zip.getNextEntry()) != null) {
+                    if (!entry.isDirectory()) {
+                        Matcher matcher = CDC_PATTERN.matcher(new String(leer(zip), StandardCharsets.UTF_8));
+                        while (matcher.find()) {
+                            cdcs.add(matcher.group(1));
+                        }
+                    }
+                }
+            } catch (IllegalArgumentException e) {
+                cdcs.clear();
+            }
+        }
+
+        String codigo, mensaje, dProtConsLote = "0";
+        if (cdcs.isEmpty()) {
+            codigo = "0301";
+            mensaje = "Lote no encolado para procesamiento";
+        } else {
+            codigo = "0300";
+            mensaje = "Lote recibido con éxito";
+            dProtConsLote = String.valueOf(protocolos.incrementAndGet());
+            lotes.put(dProtConsLote, new Lote(cdcs, System.currentTimeMillis() + tiempoProcesamientoLote));
+            cdcsRecibidos.addAll(cdcs);
+        }
+
+        return "<ns2:rResEnviLoteDe xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\">" +
+                "<ns2:dFecProc>" + ahora() + "</ns2:dFecProc>" +
+                "<ns2:dCodRes>" + codigo + "</ns2:dCodRes>" +
+                "<ns2:dMsgRes>" + mensaje + "</ns2:dMsgRes>" +
+                "<ns2:dProtConsLote>" + dProtConsLote + "</ns2:dProtConsLote>" +
+                "<ns2:dTpoProces>" + Math.max(1, (tiempoProcesamientoLote + 999) / 1000) + "</ns2:dTpoProces>" +
+                "</ns2:rResEnviLoteDe>";
+    }
+
+    private String recibeEvento(String peticion) {
+        return "<ns2:rRetEnviEventoDe xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\">" +
+                "<ns2:dFecProc>" + ahora() + "</ns2:dFecProc>" +
+                "<ns2:gResProcEVe>" +
+                "<ns2:dEstRes>Aprobado</ns2:dEstRes>" +
+                "<ns2:dProtAut>" + protocolos.incrementAndGet() + "</ns2:dProtAut>" +
+                "<ns2:id>" + SifenUtil.coalesce(buscar(EVENTO_ID_PATTERN, peticion), "") + "</ns2:id>" +
+                resultado("0600", "Evento registrado correctamente") +
+                "</ns2:gResProcEVe></ns2:rRetEnviEventoDe>";
+    }
+
+    private String consultaLote(String peticion) {
+        String dProtConsLote = buscarElemento("dProtConsLote", peticion);
+        Lote lote = dProtConsLote != null ? lotes.get(dProtConsLote) : null;
+
+        StringBuilder sb = new StringBuilder("<ns2:rResEnviConsLoteDe xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\">");
+        sb.append("<ns2:dFecProc>").append(ahora()).append("</ns2:dFecProc>");
+        if (lote == null) {
+            sb.append("<ns2:dCodResLot>0360</ns2:dCodResLot><ns2:dMsgResLot>Número de Lote inexistente</ns2:dMsgResLot>");
+        } else if (System.currentTimeMillis() < lote.procesadoEn) {
+            sb.append("<ns2:dCodResLot>0361</ns2:dCodResLot><ns2:dMsgResLot>Lote ").append(dProtConsLote)
+                    .append(" en procesamiento</ns2:dMsgResLot>");
+        } else {
+            sb.append("<ns2:dCodResLot>0362</ns2:dCodResLot><ns2:dMsgResLot>Procesamiento de lote ")
+                    .append(dProtConsLote).append(" concluido</ns2:dMsgResLot>");
+            for (int i = 0; i < lote.cdcs.size(); i++) {
+                sb.append("<ns2:gResProcLote>")
+                        .append("<ns2:id>").append(lote.cdcs.get(i)).append("</ns2:id>")
+                        .append("<ns2:dEstRes>Aprobado</ns2:dEstRes>")
+                        .append("<ns2:dProtAut>").append(dProtConsLote).append(String.format("%03d", i + 1)).append("</ns2:dProtAut>")
+                        .append(resultado("0260", "Autorización del DE satisfactoria"))
+                        .append("</ns2:gResProcLote>");
+            }
+        }
+        return sb.append("</ns2:rResEnviConsLoteDe>").toString();
+    }
+
+    private String consultaRUC(String peticion) {
+        String ruc = buscarElemento("dRUCCons", peticion);
+        if (ruc == null || !ruc.matches("\\d{1,8}")) {
+            return "<ns2:rResEnviConsRUC xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\">" +
+                    "<ns2:dCodRes>0500</ns2:dCodRes><ns2:dMsgRes>RUC no existe</ns2:dMsgRes></ns2:rResEnviConsRUC>";
+        }
+
+        return "<ns2:rResEnviConsRUC xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\">" +
+                "<ns2:dCodRes>0502</ns2:dCodRes><ns2:dMsgRes>RUC encontrado</ns2:dMsgRes>" +
+                "<ns2:xContRUC>" +
+                "<ns2:dRUCCons>" + ruc + "</ns2:dRUCCons>" +
+                "<ns2:dRazCons>CONTRIBUYENTE SIMULADO " + ruc + "</ns2:dRazCons>" +
+                "<ns2:dCodEstCons>ACT</ns2:dCodEstCons>" +
+                "<ns2:dDesEstCons>ACTIVO</ns2:dDesEstCons>" +
+                "<ns2:dRUCFactElec>S</ns2:dRUCFactElec>" +
+                "</ns2:xContRUC></ns2:rResEnviConsRUC>";
+    }
+
+    /**
+     * La respuesta no incluye xContenDE, que es opcional: el servidor no conserva el XML de los DE recibidos.
+     */
+    private String consultaDE(String peticion) {
+        String cdc = buscarElemento("dCDC", peticion);
+        boolean existe = cdc != null && cdcsRecibidos.contains(cdc);
+        return "<ns2:rEnviConsDeResponse xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\">" +
+                "<ns2:dFecProc>" + ahora() + "</ns2:dFecProc>" +
+                (existe
+                        ? "<ns2:dCodRes>0422</ns2:dCodRes><ns2:dMsgRes>CDC encontrado</ns2:dMsgRes>"
+                        : "<ns2:dCodRes>0420</ns2:dCodRes><ns2:dMsgRes>Documento No Existe en SIFEN o ha sido Rechazado</ns2:dMsgRes>") +
+                "</ns2:rEnviConsDeResponse>";
+    }
+
+    // Atención de peticiones
+
+    private interface Servicio {
+        String responder(String peticion) throws IOException;
+    }
+
+    private class Manejador implements HttpHandler {
+        private final Servicio servicio;
+
+        Manejador(Servicio servicio) {
+            this.servicio = servicio;
+        }
+
+        @Override
+        public void handle(HttpExchange exchange) throws IOException {
+            try {
+                String peticion = new String(leer(exchange.getRequestBody()), StandardCharsets.UTF_8);
+                peticiones.incrementAndGet();
+
+                if (!permitir()) {
+                    peticionesLimitadas.incrementAndGet();
+                    exchange.getResponseHeaders().add("Retry-After", "1");
+                    responder(exchange, 429, fault("env:Receiver", "Límite de peticiones excedido"));
+                    return;
+                }
+
+                esperar();
+
+                if (tasaError > 0 && ThreadLocalRandom.current().nextDouble() < tasaError) {
+                    erroresSimulados.incrementAndGet();
+                    responder(exchange, 500, fault("env:Receiver", "Error simulado del servidor"));
+                    return;
+                }
+
+                if (!"POST".equals(exchange.getRequestMethod())) {
+                    responder(exchange, 405, fault("env:Sender", "Método no permitido"));
+                    return;
+                }
+
+                responder(exchange, 200, SOAP_ENV + servicio.responder(peticion) + SOAP_ENV_FIN);
+            } catch (RuntimeException | IOException e) {
+                responder(exchange, 500, fault("env:Receiver", String.valueOf(e.getMessage())));
+            } finally {
+                exchange.close();
+            }
+        }
+    }
+
+    private synchronized boolean permitir() {
+        int limite = limitePeticionesPorSegundo;
+        if (limite == 0) {
+            return true;
+        }
+
+        long ventana = System.currentTimeMillis() / 1000;
+        if (ventana != ventanaActual) {
+            ventanaActual = ventana;
+            peticionesEnVentana = 0;
+        }
+        return ++peticionesEnVentana <= limite;
+    }
+
+    private void esperar() {
+        long minima = latenciaMinima, maxima = latenciaMaxima;
+        if (maxima == 0) {
+            return;
+        }
+        try {
+            Thread.sleep(minima == maxima ? minima : ThreadLocalRandom.current().nextLong(minima, maxima + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void responder(HttpExchange exchange, int status, String respuesta) throws IOException {
+        byte[] body = respuesta.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/soap+xml; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    // Utilidades
+
+    private static String fault(String codigo, String motivo) {
+        return SOAP_ENV + "<env:Fault><env:Code><env:Value>" + codigo + "</env:Value></env:Code>" +
+                "<env:Reason><env:Text xml:lang=\"es\">" + motivo + "</env:Text></env:Reason></env:Fault>" + SOAP_ENV_FIN;
+    }
+
+    private static String resultado(String codigo, String mensaje) {
+        return "<ns2:gResProc><ns2:dCodRes>" + codigo + "</ns2:dCodRes><ns2:dMsgRes>" + mensaje + "</ns2:dMsgRes></ns2:gResProc>";
+    }
+
+    private static String ahora() {
+        return OffsetDateTime.now(ZONA_HORARIA).format(FORMATO_FECHA);
+    }
+
+    private static String buscar(Pattern pattern, String texto) {
+        Matcher matcher = pattern.matcher(texto);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static String buscarElemento(String nombre, String texto) {
+        String valor = buscar(Pattern.compile("<(?:\\w+:)?" + nombre + ">([^<]*)<"), texto);
+        return valor != null ? valor.trim() : null;
+    }
+
+    private static byte[] leer(InputStream is) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = is.read(buffer)) != -1) {
+            baos.write(buffer, 0, read);
+        }
+        return baos.toByteArray();
+    }
+
+    private void cambiarPropiedad(String nombre, String valor) {
+        propiedadesAnteriores.put(nombre, System.getProperty(nombre));
+        System.setProperty(nombre, valor);
+    }
+
+    private static SSLContext crearContextoSSL() throws IOException {
+        try {
+            KeyStore keyStore = cargarKeyStore(CERTIFICADO_SERVIDOR, CONTRASENA_SERVIDOR);
+            KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keyManagerFactory.init(keyStore, CONTRASENA_SERVIDOR.toCharArray());
+
+            // Solo se acepta el certificado de cliente de los tests
+            KeyStore trustStore = KeyStore.getInstance("JKS");
+            trustStore.load(null, null);
+            trustStore.setCertificateEntry("cliente", cargarCertificado(DEFixtures.CERTIFICADO, DEFixtures.CONTRASENA));
+            TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+            trustManagerFactory.init(trustStore);
+
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(keyManagerFactory.getKeyManagers(), trustManagerFactory.getTrustManagers(), null);
+            return sslContext;
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("No se pudo crear el contexto SSL del servidor: " + e.getLocalizedMessage(), e);
+        }
+    }
+
+    private static KeyStore cargarKeyStore(String recurso, String contrasena) throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream is = ServidorSifenSimulado.class.getResourceAsStream(recurso)) {
+            if (is == null) {
+                throw new FileNotFoundException("No se encontró el recurso " + recurso);
+            }
+            keyStore.load(is, contrasena.toCharArray());
+        }
+        return keyStore;
+    }
+
+    private static Certificate cargarCertificado(String recurso, String contrasena) throws Exception {
+        KeyStore keyStore = cargarKeyStore(recurso, contrasena);
+        return keyStore.getCertificate(keyStore.aliases().nextElement());
+    }
+
+    private static class Lote {
+        private final List<String> cdcs;
+        private final long procesadoEn;
+
+        Lote(List<String> cdcs, long procesadoEn) {
+            this.cdcs = cdcs;
+            this.procesadoEn = procesadoEn;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.roshka.sifen.test.mock;
+
+import com.roshka.sifen.Sifen;
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.beans.EventosDE;
+import com.roshka.sifen.core.beans.response.*;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.core.fields.request.event.TgGroupTiEvt;
+import com.roshka.sifen.core.fields.request.event.TrGeVeDisconf;
+import com.roshka.sifen.core.fields.request.event.TrGesEve;
+import com.roshka.sifen.core.fields.response.TxProtDe;
+import com.roshka.sifen.core.fields.response.batch.TgResProcLote;
+import com.roshka.sifen.core.fields.response.event.TgResProcEVe;
+import com.roshka.sifen.internal.helpers.SSLContextHelper;
+import com.roshka.sifen.test.de.DEFixtures;
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ServidorSifenSimuladoTest {
+    private ServidorSifenSimulado servidor;
+
+    @After
+    public void tearDown() {
+        if (servidor != null) {
+            servidor.close();
+        }
+        SSLContextHelper.invalidateContext();
+    }
+
+    @Test
+    public void testRecepcionYConsultasConTLSMutuo() throws Exception {
+        servidor = new ServidorSifenSimulado();
+        servidor.configurarConfianzaCliente();
+        SifenConfig sifenConfig = servidor.crearSifenConfig();
+
+        DocumentoElectronico de = DEFixtures.createFacturaElectronica("0000001", 2);
+        RespuestaRecepcionDE recepcion = Sifen.recepcionDE(de, sifenConfig);
+        assertEquals(200, recepcion.getCodigoEstado());
+        TxProtDe rProtDe = recepcion.getxProtDE();
+        assertEquals(de.obtenerCDC(), rProtDe.getId());
+        assertEquals("Aprobado", rProtDe.getdEstRes());
+        assertEquals("0260", rProtDe.getgResProc().get(0).getdCodRes());
+        assertFalse(rProtDe.getdDigVal().isEmpty());
+        assertNotNull(rProtDe.getdFecProc());
+
+        assertEquals("0422", Sifen.consultaDE(rProtDe.getId(), sifenConfig).getdCodRes());
+        assertEquals("0420", Sifen.consultaDE("01800805534001002000000722021040613265708133", sifenConfig).getdCodRes());
+
+        RespuestaConsultaRUC consultaRUC = Sifen.consultaRUC("80089752", sifenConfig);
+        assertEquals("0502", consultaRUC.getdCodRes());
+        assertEquals("80089752", consultaRUC.getxContRUC().getdRUCCons());
+
+        assertEquals(4, servidor.getPeticiones());
+    }
+
+    @Test
+    public void testLoteYEvento() throws Exception {
+        servidor = new ServidorSifenSimulado();
+        servidor.configurarConfianzaCliente();
+        servidor.setTiempoProcesamientoLote(200);
+        SifenConfig sifenConfig = servidor.crearSifenConfig();
+
+        List<DocumentoElectronico> lote = Arrays.asList(
+                DEFixtures.createFacturaElectronica("0000001", 1),
+                DEFixtures.createFacturaElectronica("0000002", 1),
+                DEFixtures.createFacturaElectronica("0000003", 1));
+        RespuestaRecepcionLoteDE recepcion = Sifen.recepcionLoteDE(lote, sifenConfig);
+        assertEquals("0300", recepcion.getdCodRes());
+
+        assertEquals("0361", Sifen.consultaLoteDE(recepcion.getdProtConsLote(), sifenConfig).getdCodResLot());
+        Thread.sleep(250);
+        RespuestaConsultaLoteDE consulta = Sifen.consultaLoteDE(recepcion.getdProtConsLote(), sifenConfig);
+        assertEquals("0362", consulta.getdCodResLot());
+        assertEquals(3, consulta.getgResProcLoteList().size());
+        for (int i = 0; i < lote.size(); i++) {
+            TgResProcLote resultado = consulta.getgResProcLoteList().get(i);
+            assertEquals(lote.get(i).obtenerCDC(), resultado.getId());
+            assertEquals("0260", resultado.getgResProc().get(0).getdCodRes());
+        }
+        assertEquals("0360", Sifen.consultaLoteDE("1", sifenConfig).getdCodResLot());
+
+        TrGeVeDisconf trGeVeDisconf = new TrGeVeDisconf();
+        trGeVeDisconf.setId(lote.get(0).obtenerCDC());
+        trGeVeDisconf.setmOtEve("Prueba de disconformidad de documento electrónico");
+        TgGroupTiEvt tgGroupTiEvt = new TgGroupTiEvt();
+        tgGroupTiEvt.setrGeVeDisconf(trGeVeDisconf);
+        TrGesEve rGesEve = new TrGesEve();
+        rGesEve.setId("15");
+        rGesEve.setdFecFirma(LocalDateTime.now());
+        rGesEve.setgGroupTiEvt(tgGroupTiEvt);
+        EventosDE eventosDE = new EventosDE();
+        eventosDE.setrGesEveList(Collections.singletonList(rGesEve));
+
+        RespuestaRecepcionEvento evento = Sifen.recepcionEvento(eventosDE, sifenConfig);
+        TgResProcEVe gResProcEVe = evento.getgResProcEVe().get(0);
+        assertEquals("15", gResProcEVe.getId());
+        assertEquals("0600", gResProcEVe.getgResProc().get(0).getdCodRes());
+    }
+
+    @Test(expected = SifenException.class)
+    public void testSinCertificadoCliente() throws Exception {
+        servidor = new ServidorSifenSimulado();
+        servidor.configurarConfianzaCliente();
+        SifenConfig sifenConfig = servidor.crearSifenConfig();
+        sifenConfig.setUsarCertificadoCliente(false);
+
+        Sifen.consultaRUC("80089752", sifenConfig);
+    }
+
+    @Test
+    public void testErroresYLimiteDePeticiones() throws Exception {
+        servidor = new ServidorSifenSimulado(false, 4);
+        SifenConfig sifenConfig = servidor.crearSifenConfig();
+
+        servidor.setTasaError(1);
+        RespuestaConsultaRUC error = Sifen.consultaRUC("80089752", sifenConfig);
+        assertEquals(500, error.getCodigoEstado());
+        assertNull(error.getdCodRes());
+        assertEquals(1, servidor.getErroresSimulados());
+
+        servidor.setTasaError(0);
+        servidor.setLimitePeticionesPorSegundo(1);
+        int limitadas = 0;
+        for (int i = 0; i < 3; i++) {
+            if (Sifen.consultaRUC("80089752", sifenConfig).getCodigoEstado() == 429) {
+                limitadas++;
+            }
+        }
+        // Al menos dos de las tres peticiones caen en el mismo segundo
+        assertTrue(limitadas >= 1);
+        assertEquals(limitadas, servidor.getPeticionesLimitadas());
+    }
+
+    @Test
+    public void testGeneradorCarga() throws Exception {
+        servidor = new ServidorSifenSimulado(false, 8);
+        servidor.setLatencia(1, 5);
+        servidor.setTasaError(0.1);
+        SifenConfig sifenConfig = servidor.crearSifenConfig();
+
+        GeneradorCarga.Resultado resultado = new GeneradorCarga(4, 200)
+                .ejecutar(i -> Sifen.consultaRUC(String.valueOf(80_000_000 + i), sifenConfig));
+
+        assertEquals(200, resultado.getPeticiones());
+        assertEquals(servidor.getErroresSimulados(), resultado.getErrores());
+        assertEquals(200, servidor.getPeticiones());
+        assertTrue(resultado.getP50() >= 1);
+        assertTrue(resultado.getP50() <= resultado.getP99());
+        assertTrue(resultado.getP99() <= resultado.getMaximo());
+        assertTrue(resultado.getPeticionesPorSegundo() > 0);
+    }
+}
@@ -0,0 +1,87 @@
+package com.roshka.sifen.test.signature;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.internal.helpers.SigningCredentials;
+import com.roshka.sifen.internal.helpers.SigningCredentialsCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Base64;
+
+import static org.junit.Assert.*;
+
+public class SigningCredentialsCacheTest {
+    private static final String CERTIFICADO = "/tests/certificados/prueba.p12";
+    private static final String CONTRASENA = "123456";
+
+    private File certificateFile;
+
+    @Before
+    public void setUp() throws Exception {
+        certificateFile = File.createTempFile("prueba", ".p12");
+        try (InputStream is = getClass().getResourceAsStream(CERTIFICADO)) {
+            Files.copy(is, certificateFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        SigningCredentialsCache.invalidateAll();
+    }
+
+    @After
+    public void tearDown() {
+        SigningCredentialsCache.invalidateAll();
+        certificateFile.delete();
+    }
+
+    @Test
+    public void testCargaUnaSolaVez() throws Exception {
+        SifenConfig sifenConfig = createConfig(certificateFile.getAbsolutePath());
+
+        SigningCredentials first = SigningCredentialsCache.get(sifenConfig);
+        SigningCredentials second = SigningCredentialsCache.get(createConfig(certificateFile.getAbsolutePath()));
+
+        assertSame(first, second);
+        assertNotNull(first.getPrivateKey());
+        assertTrue(first.getCertificate().getSubjectDN().getName().contains("RUC80080553-4"));
+    }
+
+    @Test
+    public void testRecargaSiCambiaElArchivo() throws Exception {
+        SifenConfig sifenConfig = createConfig(certificateFile.getAbsolutePath());
+        SigningCredentials first = SigningCredentialsCache.get(sifenConfig);
+
+        assertTrue(certificateFile.setLastModified(certificateFile.lastModified() - 60 * 1000));
+        SigningCredentials second = SigningCredentialsCache.get(sifenConfig);
+
+        assertNotSame(first, second);
+        assertSame(second, SigningCredentialsCache.get(sifenConfig));
+    }
+
+    @Test
+    public void testInvalidacion() throws Exception {
+        SifenConfig sifenConfig = createConfig(certificateFile.getAbsolutePath());
+        SigningCredentials first = SigningCredentialsCache.get(sifenConfig);
+
+        SigningCredentialsCache.invalidate(sifenConfig);
+
+        assertNotSame(first, SigningCredentialsCache.get(sifenConfig));
+    }
+
+    @Test
+    public void testCertificadoEnBase64() throws Exception {
+        String base64 = Base64.getEncoder().encodeToString(Files.readAllBytes(certificateFile.toPath()));
+        SifenConfig sifenConfig = createConfig(base64);
+
+        SigningCredentials first = SigningCredentialsCache.get(sifenConfig);
+
+        assertSame(first, SigningCredentialsCache.get(sifenConfig));
+        assertNotSame(first, SigningCredentialsCache.get(createConfig(certificateFile.getAbsolutePath())));
+    }
+
+    private static SifenConfig createConfig(String certificado) {
+        return new SifenConfig(SifenConfig.TipoAmbiente.DEV, SifenConfig.TipoCertificadoCliente.PFX, certificado, CONTRASENA);
+    }
+}
@@ -0,0 +1,103 @@
+package com.roshka.sifen.test.signature;
+
+import com.roshka.sifen.ValidadorFirmasDE;
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.ValidezFirmaDigital;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.helpers.SignatureHelper;
+import com.roshka.sifen.test.de.DEFixtures;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class ValidadorFirmasDETest {
+    private static String xml1;
+    private static String xml2;
+
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        SifenConfig sifenConfig = DEFixtures.createSifenConfig();
+        GenerationCtx generationCtx = GenerationCtx.getDefaultFromConfig(sifenConfig);
+        xml1 = DEFixtures.createFacturaElectronica("0000001", 2).generarXml(generationCtx, sifenConfig);
+        xml2 = DEFixtures.createFacturaElectronica("0000002", 3).generarXml(generationCtx, sifenConfig);
+    }
+
+    @Test
+    public void testValidacionEnMemoria() {
+        ValidezFirmaDigital validez = SignatureHelper.validateSignature(xml1, "XML");
+        assertTrue(validez.getMotivoInvalidez(), validez.isValido());
+        assertFalse(validez.getSujetosCertificado().isEmpty());
+
+        // Los sujetos se obtienen de la caché, pero cada resultado tiene sus propias instancias
+        ValidezFirmaDigital otra = SignatureHelper.validateSignature(xml2, "XML");
+        assertTrue(otra.isValido());
+        assertNotSame(validez.getSujetosCertificado().get(0), otra.getSujetosCertificado().get(0));
+        assertEquals(validez.getSujetosCertificado().get(0).getNumeroDocumento(),
+                otra.getSujetosCertificado().get(0).getNumeroDocumento());
+    }
+
+    @Test
+    public void testDocumentoAlterado() {
+        String alterado = xml1.replace("<dCantProSer>1", "<dCantProSer>9");
+        assertNotEquals(xml1, alterado);
+
+        ValidezFirmaDigital validez = SignatureHelper.validateSignature(alterado, "XML");
+        assertFalse(validez.isValido());
+        assertEquals("La firma digital es inválida.", validez.getMotivoInvalidez());
+    }
+
+    @Test
+    public void testDocumentoSinFirma() {
+        ValidezFirmaDigital validez = SignatureHelper.validateSignature("<rDE><DE Id=\"1\"/></rDE>", "XML");
+        assertFalse(validez.isValido());
+        assertEquals("No se encontró la firma digital en el Documento Electrónico.", validez.getMotivoInvalidez());
+    }
+
+    @Test
+    public void testValidacionMasivaDesdeXml() throws Exception {
+        String alterado = xml2.replace("<dCantProSer>1", "<dCantProSer>9");
+
+        List<ValidadorFirmasDE.Resultado> resultados = new ValidadorFirmasDE(2)
+                .validarXml(Stream.of(xml1, alterado, xml2, "no es XML"));
+
+        assertEquals(4, resultados.size());
+        assertEquals(Arrays.asList("1", "2", "3", "4"), Arrays.asList(resultados.get(0).getOrigen(),
+                resultados.get(1).getOrigen(), resultados.get(2).getOrigen(), resultados.get(3).getOrigen()));
+        assertTrue(resultados.get(0).getValidez().isValido());
+        assertFalse(resultados.get(1).getValidez().isValido());
+        assertTrue(resultados.get(2).getValidez().isValido());
+        assertFalse(resultados.get(3).getValidez().isValido());
+        for (ValidadorFirmasDE.Resultado resultado : resultados) {
+            assertTrue(resultado.getDuracionMicros() >= 0);
+        }
+    }
+
+    @Test
+    public void testValidacionMasivaDeDirectorio() throws Exception {
+        Path directorio = carpeta.getRoot().toPath();
+        Files.write(directorio.resolve("b.xml"), xml2.getBytes(StandardCharsets.UTF_8));
+        Files.write(directorio.resolve("a.xml"), xml1.getBytes(StandardCharsets.UTF_8));
+        Files.write(directorio.resolve("notas.txt"), "no es un DE".getBytes(StandardCharsets.UTF_8));
+
+        List<ValidadorFirmasDE.Resultado> resultados = new ValidadorFirmasDE(2).validarDirectorio(directorio);
+
+        assertEquals(2, resultados.size());
+        assertEquals(directorio.resolve("a.xml").toString(), resultados.get(0).getOrigen());
+        assertEquals(directorio.resolve("b.xml").toString(), resultados.get(1).getOrigen());
+        assertTrue(resultados.get(0).getValidez().isValido());
+        assertTrue(resultados.get(1).getValidez().isValido());
+    }
+}
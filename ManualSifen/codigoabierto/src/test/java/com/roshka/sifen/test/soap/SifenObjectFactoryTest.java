@@ -0,0 +1,81 @@
+package com.roshka.sifen.test.soap;
+
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.internal.response.SifenObjectBase;
+import com.roshka.sifen.internal.response.SifenObjectFactory;
+import com.roshka.sifen.internal.util.ResponseUtil;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.*;
+
+public class SifenObjectFactoryTest {
+    public static class Campo extends SifenObjectBase {
+        String origen = "constructor";
+        String valor;
+
+        @Override
+        public void setValueFromChildNode(Node value) {
+            this.valor = ResponseUtil.getTextValue(value);
+        }
+    }
+
+    public static class CampoRegistrado extends Campo {
+    }
+
+    public static class CampoSinConstructor extends SifenObjectBase {
+        public CampoSinConstructor(String valor) {
+        }
+
+        @Override
+        public void setValueFromChildNode(Node value) {
+        }
+    }
+
+    private static Element crearNodo(String nombreHijo, String texto) throws Exception {
+        Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+        Element nodo = document.createElement("nodo");
+        Element hijo = document.createElement(nombreHijo);
+        hijo.setTextContent(texto);
+        nodo.appendChild(hijo);
+        return nodo;
+    }
+
+    @Test
+    public void testClaseNoRegistrada() throws Exception {
+        Campo campo = SifenObjectFactory.getFromNode(crearNodo("dValor", "123"), Campo.class);
+        assertEquals("constructor", campo.origen);
+        assertEquals("123", campo.valor);
+    }
+
+    @Test
+    public void testClaseRegistrada() throws Exception {
+        SifenObjectFactory.register(CampoRegistrado.class, () -> {
+            CampoRegistrado campo = new CampoRegistrado();
+            campo.origen = "proveedor";
+            return campo;
+        });
+
+        CampoRegistrado campo = SifenObjectFactory.getFromNode(crearNodo("dValor", "456"), CampoRegistrado.class);
+        assertEquals("proveedor", campo.origen);
+        assertEquals("456", campo.valor);
+    }
+
+    @Test(expected = SifenException.class)
+    public void testClaseSinConstructorVacio() throws Exception {
+        SifenObjectFactory.getFromNode(crearNodo("dValor", "789"), CampoSinConstructor.class);
+    }
+
+    @Test
+    public void testFechas() throws Exception {
+        assertEquals(LocalDateTime.of(2024, 5, 10, 9, 40), ResponseUtil.getDateTimeValue(crearNodo("dFecProc", "2024-05-10T09:40:00").getFirstChild()));
+        assertEquals(LocalDateTime.of(2024, 5, 10, 9, 40), ResponseUtil.getDateTimeValue(crearNodo("dFecProc", "2024-05-10T09:40:00-04:00").getFirstChild()));
+        assertEquals(LocalDate.of(2024, 5, 10), ResponseUtil.getDateValue(crearNodo("dFeIniT", "2024-05-10").getFirstChild()));
+    }
+}
@@ -0,0 +1,101 @@
+package com.roshka.sifen.test.soap;
+
+import com.roshka.sifen.core.SifenConfig;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.core.beans.response.RespuestaConsultaDE;
+import com.roshka.sifen.core.beans.response.RespuestaConsultaLoteDE;
+import com.roshka.sifen.core.beans.response.RespuestaRecepcionDE;
+import com.roshka.sifen.core.exceptions.SifenException;
+import com.roshka.sifen.core.fields.response.batch.TgResProcLote;
+import com.roshka.sifen.internal.ctx.GenerationCtx;
+import com.roshka.sifen.internal.response.SoapResponseReader;
+import com.roshka.sifen.test.de.DEFixtures;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class SoapResponseReaderTest {
+    private static final String ENVELOPE_START = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+            "<env:Envelope xmlns:env=\"http://www.w3.org/2003/05/soap-envelope\">\n" +
+            "  <env:Header/>\n" +
+            "  <env:Body>\n";
+    private static final String ENVELOPE_END = "\n  </env:Body>\n</env:Envelope>";
+
+    @Test
+    public void testRespuestaConsultaLote() throws Exception {
+        String xml = ENVELOPE_START +
+                "    <ns2:rResEnviConsLoteDe xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\">\n" +
+                "      <ns2:dFecProc>2024-05-10T09:40:00-04:00</ns2:dFecProc>\n" +
+                "      <ns2:dCodResLot>0362</ns2:dCodResLot>\n" +
+                "      <ns2:dMsgResLot>Procesamiento de lote {1} concluido</ns2:dMsgResLot>\n" +
+                "      <ns2:gResProcLote>\n" +
+                "        <ns2:id>01800805534001002000000812024051011234567892</ns2:id>\n" +
+                "        <ns2:dEstRes>Aprobado</ns2:dEstRes>\n" +
+                "        <ns2:gResProc><ns2:dCodRes>0260</ns2:dCodRes><ns2:dMsgRes>Autorización &amp; aprobación</ns2:dMsgRes></ns2:gResProc>\n" +
+                "      </ns2:gResProcLote>\n" +
+                "      <ns2:gResProcLote>\n" +
+                "        <ns2:id>01800805534001002000000912024051011234567899</ns2:id>\n" +
+                "        <ns2:dEstRes>Rechazado</ns2:dEstRes>\n" +
+                "      </ns2:gResProcLote>\n" +
+                "    </ns2:rResEnviConsLoteDe>" + ENVELOPE_END;
+
+        RespuestaConsultaLoteDE respuesta = new RespuestaConsultaLoteDE();
+        assertTrue(SoapResponseReader.readMainNode(xml.getBytes(StandardCharsets.UTF_8), "rResEnviConsLoteDe", respuesta, true));
+
+        assertEquals("0362", respuesta.getdCodResLot());
+        assertEquals("Procesamiento de lote {1} concluido", respuesta.getdMsgResLot());
+        assertEquals(2, respuesta.getgResProcLoteList().size());
+
+        TgResProcLote aprobado = respuesta.getgResProcLoteList().get(0);
+        assertEquals("01800805534001002000000812024051011234567892", aprobado.getId());
+        assertEquals("Aprobado", aprobado.getdEstRes());
+        assertEquals("Autorización & aprobación", aprobado.getgResProc().get(0).getdMsgRes());
+        assertEquals("Rechazado", respuesta.getgResProcLoteList().get(1).getdEstRes());
+    }
+
+    @Test
+    public void testRespuestaConsultaDEConXmlEscapado() throws Exception {
+        SifenConfig sifenConfig = DEFixtures.createSifenConfig();
+        DocumentoElectronico de = DEFixtures.createFacturaElectronica("0000008", 2);
+        String generado = de.generarXml(GenerationCtx.getDefaultFromConfig(sifenConfig), sifenConfig);
+        String rDE = generado.substring(generado.indexOf("<rDE "), generado.indexOf("</rDE>") + "</rDE>".length())
+                .replaceFirst("<rDE ", "<rDE xmlns=\"http://ekuatia.set.gov.py/sifen/xsd\" ");
+
+        String contenido = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" + rDE + "<dProtAut>1234567890</dProtAut>";
+        String xml = ENVELOPE_START +
+                "<ns2:rEnviConsDeResponse xmlns:ns2=\"http://ekuatia.set.gov.py/sifen/xsd\">" +
+                "<ns2:dCodRes>0422</ns2:dCodRes><ns2:dMsgRes>CDC encontrado</ns2:dMsgRes>" +
+                "<ns2:xContenDE>" + contenido.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;") + "</ns2:xContenDE>" +
+                "</ns2:rEnviConsDeResponse>" + ENVELOPE_END;
+
+        RespuestaConsultaDE respuesta = new RespuestaConsultaDE();
+        assertTrue(SoapResponseReader.readMainNode(xml.getBytes(StandardCharsets.UTF_8), "rEnviConsDeResponse", respuesta, true));
+
+        assertEquals("0422", respuesta.getdCodRes());
+        assertEquals("1234567890", respuesta.getxContenDE().getdProtAut());
+        DocumentoElectronico leido = respuesta.getxContenDE().getDE();
+        assertEquals(de.getId(), leido.getId());
+        assertEquals(de.getEnlaceQR(), leido.getEnlaceQR());
+        assertEquals("Mayor Bullo & Pai Pérez <esq.>", leido.getgDatGralOpe().getgEmis().getdDirEmi());
+        assertEquals(2, leido.getgDtipDE().getgCamItemList().size());
+    }
+
+    @Test
+    public void testSoapFault() throws Exception {
+        String xml = ENVELOPE_START +
+                "<env:Fault><env:Code><env:Value>env:Receiver</env:Value></env:Code>" +
+                "<env:Reason><env:Text xml:lang=\"es\">Error</env:Text></env:Reason></env:Fault>" + ENVELOPE_END;
+
+        RespuestaRecepcionDE respuesta = new RespuestaRecepcionDE();
+        assertFalse(SoapResponseReader.readMainNode(xml.getBytes(StandardCharsets.UTF_8), "rRetEnviDe", respuesta, false));
+        assertNull(respuesta.getdCodRes());
+    }
+
+    @Test(expected = SifenException.class)
+    public void testRespuestaInvalida() throws Exception {
+        byte[] html = "<html><body><p>502 Bad Gateway</body></html>".getBytes(StandardCharsets.UTF_8);
+        SoapResponseReader.readMainNode(html, "rRetEnviDe", new RespuestaRecepcionDE(), false);
+    }
+}
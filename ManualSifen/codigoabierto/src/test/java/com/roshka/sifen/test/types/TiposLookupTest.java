@@ -0,0 +1,89 @@
+package com.roshka.sifen.test.types;
+
+import com.roshka.sifen.core.types.*;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compara las búsquedas de los tipos con el recorrido lineal utilizado anteriormente, para todos los códigos y
+ * nombres posibles.
+ */
+public class TiposLookupTest {
+    private static final Class<?>[] TIPOS_POR_CODIGO = {
+            TDepartamento.class, TTImp.class, TTiDE.class, TTipEmi.class, TTipReg.class, TTipTra.class,
+            TcRelMerc.class, TcUniMed.class, TdCondTiCam.class, TdMotEv.class, TdTipCons.class,
+            TdTipIdenVeh.class, TiAfecIVA.class, TiCarCarga.class, TiCondAnt.class, TiCondCred.class,
+            TiCondOpe.class, TiDenTarj.class, TiForProPa.class, TiIndPres.class, TiModTrans.class,
+            TiMotEmi.class, TiMotivTras.class, TiNatRec.class, TiNatVen.class, TiRespEmiNR.class,
+            TiRespFlete.class, TiTIpoDoc.class, TiTTrans.class, TiTiOpe.class, TiTiPago.class, TiTipCom.class,
+            TiTipConf.class, TiTipCont.class, TiTipDoc.class, TiTipDocAso.class, TiTipDocRec.class,
+            TiTipIDRespDE.class, TiTipOpVN.class
+    };
+
+    private static Object getByValAnterior(Object[] values, Method getVal, short val) throws Exception {
+        for (Object value : values) {
+            if ((short) getVal.invoke(value) == val) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testGetByValIgualAlAnterior() throws Exception {
+        for (Class<?> tipo : TIPOS_POR_CODIGO) {
+            Object[] values = tipo.getEnumConstants();
+            Method getVal = tipo.getMethod("getVal");
+            Method getByVal = tipo.getMethod("getByVal", short.class);
+
+            short max = 0;
+            for (Object value : values) {
+                max = (short) Math.max(max, (short) getVal.invoke(value));
+            }
+            for (short val = -2; val <= max + 2; val++) {
+                assertSame(tipo.getSimpleName() + " " + val, getByValAnterior(values, getVal, val), getByVal.invoke(null, val));
+            }
+            assertNull(getByVal.invoke(null, Short.MIN_VALUE));
+            assertNull(getByVal.invoke(null, Short.MAX_VALUE));
+        }
+    }
+
+    @Test
+    public void testGetByName() {
+        for (PaisType pais : PaisType.values()) {
+            assertSame(pais, PaisType.getByName(pais.name()));
+            assertSame(pais, PaisType.getByName(pais.name().toLowerCase(Locale.ROOT)));
+        }
+        for (CMondT moneda : CMondT.values()) {
+            assertSame(moneda, CMondT.getByName(moneda.name()));
+            assertSame(moneda, CMondT.getByName(moneda.name().toLowerCase(Locale.ROOT)));
+        }
+        for (TcCondNeg condicion : TcCondNeg.values()) {
+            assertSame(condicion, TcCondNeg.getByDescription(condicion.name()));
+        }
+
+        assertSame(CMondT.PYG, CMondT.getByName("Pyg"));
+        assertSame(PaisType.PRY, PaisType.getByName("pRy"));
+        assertNull(CMondT.getByName(null));
+        assertNull(CMondT.getByName(""));
+        assertNull(PaisType.getByName("PRYX"));
+        assertNull(TcCondNeg.getByDescription("Costo y flete"));
+    }
+
+    @Test
+    public void testGetByNameSinDistinguirMayusculas() {
+        // Mismos resultados que equalsIgnoreCase, incluso con caracteres fuera de ASCII.
+        String[] nombres = {"usd", "USD", "uSd", "Kes", "prı", "ſgd", "ßR", "PRY\u0000", "PY"};
+        for (String nombre : nombres) {
+            assertSame(nombre, Arrays.stream(CMondT.values()).filter(e -> e.name().equalsIgnoreCase(nombre)).findFirst().orElse(null),
+                    CMondT.getByName(nombre));
+            assertSame(nombre, Arrays.stream(PaisType.values()).filter(e -> e.name().equalsIgnoreCase(nombre)).findFirst().orElse(null),
+                    PaisType.getByName(nombre));
+        }
+    }
+}
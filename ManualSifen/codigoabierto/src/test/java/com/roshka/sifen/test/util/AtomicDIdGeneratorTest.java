@@ -0,0 +1,61 @@
+package com.roshka.sifen.test.util;
+
+import com.roshka.sifen.core.AtomicDIdGenerator;
+import com.roshka.sifen.core.DIdGenerator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class AtomicDIdGeneratorTest {
+    @Test
+    public void testUnicosEntreHilos() throws Exception {
+        DIdGenerator generator = new AtomicDIdGenerator(7);
+        Set<Long> dIds = ConcurrentHashMap.newKeySet();
+        int threads = 8, perThread = 20000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < perThread; j++) {
+                        long dId = generator.generar();
+                        assertTrue(dId > 0 && dId <= DIdGenerator.DID_MAXIMO);
+                        dIds.add(dId);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(threads * perThread, dIds.size());
+    }
+
+    @Test
+    public void testNodoEnLosPrimerosDigitos() {
+        long dId = new AtomicDIdGenerator(42).generar();
+        assertEquals(15, String.valueOf(dId).length());
+        assertTrue(String.valueOf(dId).startsWith("42"));
+
+        // Una nueva instancia del mismo nodo continúa desde el reloj, por lo que no repite los dId anteriores
+        assertTrue(new AtomicDIdGenerator(42).generar() >= dId);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNodoInvalido() {
+        new AtomicDIdGenerator(AtomicDIdGenerator.NODO_MAXIMO + 1);
+    }
+}
@@ -0,0 +1,125 @@
+package com.roshka.sifen.test.util;
+
+import com.roshka.sifen.core.CDCBuilder;
+import com.roshka.sifen.core.beans.DocumentoElectronico;
+import com.roshka.sifen.internal.util.SifenUtil;
+import com.roshka.sifen.test.de.DEFixtures;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Compara el cálculo del CDC, del dígito verificador y del relleno con la implementación anterior, basada en
+ * String.format e Integer.parseInt, sobre valores generados al azar.
+ */
+public class CDCBuilderTest {
+    private static final int CASOS = 20000;
+
+    private static String leftPadAnterior(String string, char character, int length) {
+        return String.format("%" + length + "s", string).replace(' ', character);
+    }
+
+    private static String generateDvAnterior(String ruc) {
+        int baseMax = 11, k = 2, total = 0;
+
+        if (ruc.equals("88888801")) {
+            return "5";
+        }
+
+        for (int i = ruc.length() - 1; i >= 0; i--) {
+            k = k > baseMax ? 2 : k;
+            int n = Integer.parseInt(ruc.substring(i, i + 1));
+            total += n * k;
+            k++;
+        }
+        return String.valueOf((total % 11) > 1 ? 11 - (total % 11) : 0);
+    }
+
+    private static String cdcAnterior(int iTiDE, String dRucEm, String dDVEmi, String dEst, String dPunExp, String dNumDoc,
+                                      int iTipCont, LocalDate fecha, int iTipEmi, String dCodSeg) {
+        String cdc = leftPadAnterior(String.valueOf(iTiDE), '0', 2) +
+                leftPadAnterior(dRucEm, '0', 8) +
+                dDVEmi + dEst + dPunExp + dNumDoc + iTipCont +
+                fecha.format(DateTimeFormatter.ofPattern("yyyyMMdd")) +
+                iTipEmi + dCodSeg;
+        return cdc + generateDvAnterior(cdc);
+    }
+
+    private static String digitos(Random random, int longitud) {
+        char[] digitos = new char[longitud];
+        for (int i = 0; i < longitud; i++) {
+            digitos[i] = (char) ('0' + random.nextInt(10));
+        }
+        return new String(digitos);
+    }
+
+    @Test
+    public void testCDCIgualAlAnterior() {
+        Random random = new Random(20240510L);
+        CDCBuilder builder = new CDCBuilder();
+        for (int i = 0; i < CASOS; i++) {
+            int iTiDE = random.nextInt(10) == 0 ? random.nextInt(120) : 1 + random.nextInt(8);
+            String dRucEm = digitos(random, 1 + random.nextInt(9));
+            String dDVEmi = digitos(random, 1);
+            String dEst = digitos(random, 3);
+            String dPunExp = digitos(random, 3);
+            String dNumDoc = digitos(random, 7);
+            int iTipCont = 1 + random.nextInt(2);
+            LocalDate fecha = LocalDate.ofEpochDay(random.nextInt(80000) - 20000);
+            int iTipEmi = 1 + random.nextInt(2);
+            String dCodSeg = digitos(random, 9);
+
+            String cdc = builder.tipoDocumento(iTiDE).ruc(dRucEm, dDVEmi).establecimiento(dEst).puntoExpedicion(dPunExp)
+                    .numeroDocumento(dNumDoc).tipoContribuyente(iTipCont).fechaEmision(fecha).tipoEmision(iTipEmi)
+                    .codigoSeguridad(dCodSeg).generar();
+            assertEquals(cdcAnterior(iTiDE, dRucEm, dDVEmi, dEst, dPunExp, dNumDoc, iTipCont, fecha, iTipEmi, dCodSeg), cdc);
+        }
+    }
+
+    @Test
+    public void testCDCDelDocumentoElectronico() throws Exception {
+        DocumentoElectronico de = DEFixtures.createFacturaElectronica("0000008", 1);
+        String cdc = de.obtenerCDC();
+
+        assertEquals(CDCBuilder.LONGITUD_CDC, cdc.length());
+        assertEquals(cdcAnterior(1, de.getgDatGralOpe().getgEmis().getdRucEm(), de.getgDatGralOpe().getgEmis().getdDVEmi(),
+                de.getgTimb().getdEst(), de.getgTimb().getdPunExp(), de.getgTimb().getdNumDoc(),
+                de.getgDatGralOpe().getgEmis().getiTipCont().getVal(), de.getgDatGralOpe().getdFeEmiDE().toLocalDate(),
+                de.getgOpeDE().getiTipEmi().getVal(), de.getgOpeDE().getdCodSeg()), cdc);
+        assertEquals(cdc.substring(43), de.getdDVId());
+    }
+
+    @Test
+    public void testDvIgualAlAnterior() {
+        Random random = new Random(80089752L);
+        for (int i = 0; i < CASOS; i++) {
+            String ruc = digitos(random, 1 + random.nextInt(44));
+            assertEquals(generateDvAnterior(ruc), SifenUtil.generateDv(ruc));
+        }
+        assertEquals(generateDvAnterior("88888801"), SifenUtil.generateDv("88888801"));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testDvConCaracteresInvalidos() {
+        SifenUtil.generateDv("8008975A");
+    }
+
+    @Test
+    public void testLeftPadIgualAlAnterior() {
+        Random random = new Random(1234L);
+        String caracteres = "0123456789 abc";
+        for (int i = 0; i < CASOS; i++) {
+            StringBuilder texto = new StringBuilder();
+            for (int j = random.nextInt(12); j > 0; j--) {
+                texto.append(caracteres.charAt(random.nextInt(caracteres.length())));
+            }
+            int longitud = 1 + random.nextInt(10);
+            assertEquals(leftPadAnterior(texto.toString(), '0', longitud), SifenUtil.leftPad(texto.toString(), '0', longitud));
+        }
+        assertEquals(leftPadAnterior(null, '0', 6), SifenUtil.leftPad(null, '0', 6));
+    }
+}
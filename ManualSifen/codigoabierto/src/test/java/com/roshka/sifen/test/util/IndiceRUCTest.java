@@ -0,0 +1,193 @@
+package com.roshka.sifen.test.util;
+
+import com.roshka.sifen.core.IndiceRUC;
+import com.roshka.sifen.core.exceptions.SifenException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.*;
+
+public class IndiceRUCTest {
+    @Rule
+    public TemporaryFolder carpeta = new TemporaryFolder();
+
+    @Test
+    public void testConstruccionYBusqueda() throws Exception {
+        Path ruc0 = escribir("ruc0.txt",
+                "913871|SERVIN VILLALBA, LUIS ANTONIO|4|SEVL651200Z|ACTIVO|",
+                "80089752|ROSHKA S.A.|2|ROSH000000A|ACTIVO|",
+                "línea inválida",
+                "ABC|SIN RUC|1|X|ACTIVO|",
+                "1000|NUÑEZ, MARÍA|9|NUMA000000A|CANCELADO|");
+        Path ruc1 = escribirZip("ruc1.zip", "ruc1.txt",
+                "5000001|GÓMEZ, PEDRO|7|GOPE000000A|SUSPENSION TEMPORAL|",
+                "1000|NUÑEZ, MARÍA JOSÉ|9|NUMA000000A|ACTIVO|");
+        Path archivo = carpeta.getRoot().toPath().resolve("ruc.idx");
+
+        assertEquals(4, IndiceRUC.construir(Arrays.asList(ruc0, ruc1), archivo));
+
+        IndiceRUC indice = new IndiceRUC(archivo);
+        assertEquals(4, indice.getCantidad());
+
+        IndiceRUC.Contribuyente roshka = indice.buscar("80089752");
+        assertEquals("80089752", roshka.getRuc());
+        assertEquals(2, roshka.getDv());
+        assertEquals("ROSHKA S.A.", roshka.getRazonSocial());
+        assertEquals("ACTIVO", roshka.getEstado());
+        assertEquals("80089752-2", roshka.getRucConDv());
+
+        assertEquals("SUSPENSION TEMPORAL", indice.buscar("5000001").getEstado());
+        assertEquals("SERVIN VILLALBA, LUIS ANTONIO", indice.buscar(" 913871-4 ").getRazonSocial());
+
+        // Si un RUC se repite, se conserva la última línea
+        assertEquals("NUÑEZ, MARÍA JOSÉ", indice.buscar("1000").getRazonSocial());
+        assertEquals("ACTIVO", indice.buscar("1000").getEstado());
+
+        assertNull(indice.buscar("999"));
+        assertNull(indice.buscar("ABC"));
+        assertNull(indice.buscar(null));
+
+        assertTrue(indice.esValido("80089752-2"));
+        assertFalse(indice.esValido("80089752-3"));
+        assertFalse(indice.esValido("80089752"));
+        assertFalse(indice.esValido("999-1"));
+    }
+
+    @Test
+    public void testActualizacion() throws Exception {
+        Path ruc0 = escribir("ruc0.txt", "80089752|ROSHKA S.A.|2|ROSH000000A|ACTIVO|");
+        Path archivo = carpeta.getRoot().toPath().resolve("ruc.idx");
+
+        IndiceRUC indice = new IndiceRUC(archivo);
+        assertEquals(0, indice.getCantidad());
+        assertNull(indice.buscar("80089752"));
+
+        assertTrue(indice.actualizar(Collections.singletonList(ruc0)));
+        assertEquals("ROSHKA S.A.", indice.buscar("80089752").getRazonSocial());
+
+        // Sin cambios en la exportación, el índice no se reconstruye
+        assertFalse(indice.actualizar(Collections.singletonList(ruc0)));
+
+        Path nuevo = escribir("ruc0.txt",
+                "80089752|ROSHKA SOCIEDAD ANONIMA|2|ROSH000000A|ACTIVO|",
+                "913871|SERVIN VILLALBA, LUIS ANTONIO|4|SEVL651200Z|ACTIVO|");
+        Files.setLastModifiedTime(nuevo, FileTime.fromMillis(Files.getLastModifiedTime(indice.getArchivoActual()).toMillis() + 1000));
+
+        assertTrue(indice.actualizar(Collections.singletonList(nuevo)));
+        assertEquals(2, indice.getCantidad());
+        assertEquals("ROSHKA SOCIEDAD ANONIMA", indice.buscar("80089752").getRazonSocial());
+
+        // Otra instancia sobre el mismo archivo ve el índice nuevo
+        assertEquals(2, new IndiceRUC(archivo).getCantidad());
+    }
+
+    @Test
+    public void testReconstruccionConIndiceAbierto() throws Exception {
+        Path ruc0 = escribir("ruc0.txt", "80089752|ROSHKA S.A.|2|ROSH000000A|ACTIVO|");
+        Path archivo = carpeta.getRoot().toPath().resolve("ruc.idx");
+        IndiceRUC.construir(Collections.singletonList(ruc0), archivo);
+
+        IndiceRUC anterior = new IndiceRUC(archivo);
+        IndiceRUC indice = new IndiceRUC(archivo);
+        assertEquals(archivo, anterior.getArchivoActual());
+
+        Path nuevo = escribir("ruc1.txt",
+                "80089752|ROSHKA SOCIEDAD ANONIMA|2|ROSH000000A|ACTIVO|",
+                "913871|SERVIN VILLALBA, LUIS ANTONIO|4|SEVL651200Z|ACTIVO|");
+        Files.setLastModifiedTime(nuevo, FileTime.fromMillis(Files.getLastModifiedTime(archivo).toMillis() + 1000));
+
+        // El índice nuevo se escribe en otro archivo; el archivo mapeado por la otra instancia no se reemplaza
+        assertTrue(indice.actualizar(Collections.singletonList(nuevo)));
+        Path version = indice.getArchivoActual();
+        assertEquals(archivo.resolveSibling("ruc.idx.1"), version);
+        assertEquals(2, indice.getCantidad());
+
+        // La instancia anterior sigue respondiendo con su índice hasta que se recarga
+        assertEquals("ROSHKA S.A.", anterior.buscar("80089752").getRazonSocial());
+        assertNull(anterior.buscar("913871"));
+
+        assertTrue(anterior.recargar());
+        assertEquals(version, anterior.getArchivoActual());
+        assertEquals("ROSHKA SOCIEDAD ANONIMA", anterior.buscar("80089752").getRazonSocial());
+        assertFalse(Files.exists(archivo));
+
+        Files.setLastModifiedTime(nuevo, FileTime.fromMillis(Files.getLastModifiedTime(version).toMillis() + 1000));
+        assertTrue(indice.actualizar(Collections.singletonList(nuevo)));
+        assertEquals(archivo.resolveSibling("ruc.idx.2"), indice.getArchivoActual());
+        assertEquals(archivo.resolveSibling("ruc.idx.2"), new IndiceRUC(archivo).getArchivoActual());
+    }
+
+    @Test
+    public void testLineasOmitidasRegistradas() throws Exception {
+        Path ruc0 = escribir("ruc0.txt",
+                "80089752|ROSHKA S.A.|2|ROSH000000A|ACTIVO|",
+                "ABC|SIN RUC|1|X|ACTIVO|",
+                "99999999999|RUC FUERA DE RANGO|1|X|ACTIVO|");
+        List<String> mensajes = new ArrayList<>();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                if (record.getLevel() == Level.WARNING) {
+                    mensajes.add(record.getMessage());
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Logger logger = Logger.getLogger(IndiceRUC.class.toString());
+        logger.addHandler(handler);
+        try {
+            assertEquals(1, IndiceRUC.construir(Collections.singletonList(ruc0), carpeta.getRoot().toPath().resolve("ruc.idx")));
+        } finally {
+            logger.removeHandler(handler);
+        }
+
+        assertTrue(mensajes.stream().anyMatch(m -> m.startsWith("Línea 2 de ruc0.txt") && m.contains("ABC|SIN RUC")));
+        assertTrue(mensajes.stream().anyMatch(m -> m.startsWith("Línea 3 de ruc0.txt") && m.contains("99999999999")));
+        assertTrue(mensajes.stream().anyMatch(m -> m.contains("2 líneas omitidas")));
+    }
+
+    @Test(expected = SifenException.class)
+    public void testArchivoInvalido() throws Exception {
+        new IndiceRUC(escribir("ruc.idx", "80089752|ROSHKA S.A.|2|ROSH000000A|ACTIVO|"));
+    }
+
+    private Path escribir(String nombre, String... lineas) throws Exception {
+        Path path = carpeta.getRoot().toPath().resolve(nombre);
+        Files.write(path, Arrays.asList(lineas), StandardCharsets.UTF_8);
+        return path;
+    }
+
+    private Path escribirZip(String nombre, String entrada, String... lineas) throws Exception {
+        Path path = carpeta.getRoot().toPath().resolve(nombre);
+        try (OutputStream os = Files.newOutputStream(path); ZipOutputStream zip = new ZipOutputStream(os)) {
+            zip.putNextEntry(new ZipEntry(entrada));
+            zip.write(String.join("\n", lineas).getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return path;
+    }
+}
@@ -0,0 +1,81 @@
+package com.roshka.sifen.test.util;
+
+import com.roshka.sifen.internal.util.SifenUtil;
+import org.junit.Test;
+import org.w3c.dom.Document;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.Assert.*;
+
+public class SifenUtilTest {
+    @Test
+    public void testCompressXmlToZipBase64() throws Exception {
+        DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
+        builderFactory.setNamespaceAware(true);
+        Document document;
+        try (InputStream is = getClass().getResourceAsStream("/tests/factura-simple-00.xml")) {
+            document = builderFactory.newDocumentBuilder().parse(is);
+        }
+
+        StringWriter expected = new StringWriter();
+        TransformerFactory.newInstance().newTransformer().transform(new DOMSource(document.getDocumentElement()), new StreamResult(expected));
+
+        String rDE = expected.toString();
+        expected.getBuffer().insert(0, "<rLoteDE>").append("</rLoteDE>");
+
+        String base64 = SifenUtil.compressXmlToZipBase64(Arrays.asList("<rLoteDE>", rDE, "</rLoteDE>"));
+
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(base64)))) {
+            ZipEntry entry = zip.getNextEntry();
+            assertNotNull(entry);
+            assertTrue(entry.getName().matches("DE_\\d{8}\\.xml"));
+
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            for (int read; (read = zip.read(buffer)) != -1; ) {
+                content.write(buffer, 0, read);
+            }
+            assertEquals(expected.toString(), new String(content.toByteArray(), StandardCharsets.UTF_8));
+            assertNull(zip.getNextEntry());
+        }
+    }
+
+    @Test
+    public void testGetByteArrayFromInputStreamConTamano() throws Exception {
+        byte[] data = new byte[20000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        // Tamaño exacto, desconocido, menor y mayor al real
+        assertArrayEquals(data, SifenUtil.getByteArrayFromInputStream(new ByteArrayInputStream(data), data.length));
+        assertArrayEquals(data, SifenUtil.getByteArrayFromInputStream(new ByteArrayInputStream(data), -1));
+        assertArrayEquals(data, SifenUtil.getByteArrayFromInputStream(new ByteArrayInputStream(data), 100));
+        assertArrayEquals(data, SifenUtil.getByteArrayFromInputStream(new ByteArrayInputStream(data), 30000));
+        assertEquals(0, SifenUtil.getByteArrayFromInputStream(new ByteArrayInputStream(new byte[0]), 0).length);
+
+        // Un tamaño informado exagerado no reserva el arreglo completo
+        assertArrayEquals(data, SifenUtil.getByteArrayFromInputStream(new ByteArrayInputStream(data), 2_000_000_000L));
+        assertArrayEquals(data, SifenUtil.getByteArrayFromInputStream(new ByteArrayInputStream(data), Long.MAX_VALUE));
+
+        // El arreglo crece si el contenido supera el tamaño inicial
+        byte[] grande = new byte[20 * 1024 + 7];
+        new Random(1).nextBytes(grande);
+        assertArrayEquals(grande, SifenUtil.getByteArrayFromInputStream(new ByteArrayInputStream(grande), 1));
+        assertArrayEquals(grande, SifenUtil.getByteArrayFromInputStream(new ByteArrayInputStream(grande), -1));
+    }
+}